@@ -30,7 +30,7 @@ package org.logicng.configurations;
 
 /**
  * The different types of configurations in LogicNG.
- * @version 1.1
+ * @version 1.4.1
  * @since 1.1
  */
 public enum ConfigurationType {
@@ -41,5 +41,8 @@ public enum ConfigurationType {
   MAXSAT,
   MUS,
   CC_ENCODER,
-  PB_ENCODER
+  PB_ENCODER,
+  MODEL_COUNTER,
+  APPROXIMATE_MODEL_COUNTER,
+  SAMPLER
 }
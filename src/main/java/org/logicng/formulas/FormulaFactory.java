@@ -75,6 +75,7 @@ public class FormulaFactory {
   public static final String CC_PREFIX = "@RESERVED_CC_";
   public static final String PB_PREFIX = "@RESERVED_PB_";
   public static final String CNF_PREFIX = "@RESERVED_CNF_";
+  public static final String SCOPE_PREFIX = "@RESERVED_SCOPE_";
 
   private final String name;
 
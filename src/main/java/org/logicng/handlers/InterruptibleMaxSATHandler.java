@@ -0,0 +1,105 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.handlers;
+
+import org.logicng.datastructures.Assignment;
+
+/**
+ * A MaxSAT handler which cancels the solving process if the solving thread is interrupted, e.g. by cancelling the
+ * {@link java.util.concurrent.Future} of an asynchronous solver call.  Optionally, another MaxSAT handler can be
+ * wrapped, whose decisions are respected as well.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class InterruptibleMaxSATHandler implements MaxSATHandler {
+
+  private final MaxSATHandler handler;
+  private final SATHandler satHandler;
+  private long currentLb;
+  private long currentUb;
+
+  /**
+   * Constructs a new instance which only reacts on interrupts.
+   */
+  public InterruptibleMaxSATHandler() {
+    this(null);
+  }
+
+  /**
+   * Constructs a new instance which wraps a given MaxSAT handler.
+   * @param handler the wrapped MaxSAT handler, may be {@code null}
+   */
+  public InterruptibleMaxSATHandler(final MaxSATHandler handler) {
+    this.handler = handler;
+    this.satHandler = new InterruptibleSATHandler(handler == null ? null : handler.satHandler());
+    this.currentLb = -1;
+    this.currentUb = -1;
+  }
+
+  @Override
+  public SATHandler satHandler() {
+    return this.satHandler;
+  }
+
+  @Override
+  public boolean foundLowerBound(final long lowerBound, final Assignment model) {
+    this.currentLb = lowerBound;
+    final boolean cont = this.handler == null || this.handler.foundLowerBound(lowerBound, model);
+    return cont && !Thread.currentThread().isInterrupted();
+  }
+
+  @Override
+  public boolean foundUpperBound(final long upperBound, final Assignment model) {
+    this.currentUb = upperBound;
+    final boolean cont = this.handler == null || this.handler.foundUpperBound(upperBound, model);
+    return cont && !Thread.currentThread().isInterrupted();
+  }
+
+  @Override
+  public void startedSolving() {
+    if (this.handler != null)
+      this.handler.startedSolving();
+  }
+
+  @Override
+  public void finishedSolving() {
+    if (this.handler != null)
+      this.handler.finishedSolving();
+  }
+
+  @Override
+  public long lowerBoundApproximation() {
+    return this.handler != null ? this.handler.lowerBoundApproximation() : this.currentLb;
+  }
+
+  @Override
+  public long upperBoundApproximation() {
+    return this.handler != null ? this.handler.upperBoundApproximation() : this.currentUb;
+  }
+}
@@ -0,0 +1,75 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.handlers;
+
+/**
+ * A SAT handler which cancels the solving process if the solving thread is interrupted, e.g. by cancelling the
+ * {@link java.util.concurrent.Future} of an asynchronous solver call.  Optionally, another SAT handler can be
+ * wrapped, whose decisions are respected as well.
+ * <p>
+ * Note that the solver is canceled on its next call to {@code detectedConflict()}.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class InterruptibleSATHandler implements SATHandler {
+
+  private final SATHandler handler;
+
+  /**
+   * Constructs a new instance which only reacts on interrupts.
+   */
+  public InterruptibleSATHandler() {
+    this(null);
+  }
+
+  /**
+   * Constructs a new instance which wraps a given SAT handler.
+   * @param handler the wrapped SAT handler, may be {@code null}
+   */
+  public InterruptibleSATHandler(final SATHandler handler) {
+    this.handler = handler;
+  }
+
+  @Override
+  public boolean detectedConflict() {
+    return !Thread.currentThread().isInterrupted() && (this.handler == null || this.handler.detectedConflict());
+  }
+
+  @Override
+  public void startedSolving() {
+    if (this.handler != null)
+      this.handler.startedSolving();
+  }
+
+  @Override
+  public void finishedSolving() {
+    if (this.handler != null)
+      this.handler.finishedSolving();
+  }
+}
@@ -0,0 +1,48 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.handlers;
+
+import org.logicng.datastructures.Assignment;
+
+/**
+ * Interface for a handler for the enumeration of the best models of a MaxSAT problem.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public interface MaxSATEnumerationHandler {
+
+  /**
+   * This method is called every time a model is found.  The models are found in the order of their cost.
+   * @param model the model
+   * @param cost  the cost of the model, i.e. the weight of the unsatisfied soft clauses
+   * @return whether more models should be searched or not
+   */
+  boolean foundModel(final Assignment model, final long cost);
+}
@@ -32,7 +32,7 @@ import org.logicng.datastructures.Assignment;
 
 /**
  * Interface for a handler for MaxSAT solvers.
- * @version 1.0
+ * @version 1.4.1
  * @since 1.0
  */
 public interface MaxSATHandler {
@@ -49,7 +49,7 @@ public interface MaxSATHandler {
    * @param model      the model of the lower bound, may be null if not applicable
    * @return whether solving process should be continued or not
    */
-  boolean foundLowerBound(final int lowerBound, final Assignment model);
+  boolean foundLowerBound(final long lowerBound, final Assignment model);
 
   /**
    * This method is called when the MaxSAT solver found a new upper bound for a solution.
@@ -57,7 +57,7 @@ public interface MaxSATHandler {
    * @param model      the model of the upper bound, may be null if not applicable
    * @return whether solving process should be continued or not
    */
-  boolean foundUpperBound(final int upperBound, final Assignment model);
+  boolean foundUpperBound(final long upperBound, final Assignment model);
 
   /**
    * This method is called when the MaxSAT solver starts solving.
@@ -75,7 +75,7 @@ public interface MaxSATHandler {
    * method will return the optimal result. Use the respective method of the MaxSAT solver instead.
    * @return the last approximation of the result or -1 if no approximation is known
    */
-  int lowerBoundApproximation();
+  long lowerBoundApproximation();
 
   /**
    * Returns the last approximation of the result or -1 if there is no approximation for the lower bound.
@@ -83,5 +83,5 @@ public interface MaxSATHandler {
    * method will return the optimal result. Use the respective method of the MaxSAT solver instead.
    * @return the last approximation of the result or -1 if no approximation is known
    */
-  int upperBoundApproximation();
+  long upperBoundApproximation();
 }
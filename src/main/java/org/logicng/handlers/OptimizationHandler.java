@@ -0,0 +1,72 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.handlers;
+
+import org.logicng.datastructures.Assignment;
+
+/**
+ * Interface for a handler for the optimization of a linear objective on a SAT solver.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public interface OptimizationHandler {
+
+  /**
+   * Returns a SAT handler which can be used to cancel internal SAT calls of the optimization process.
+   * @return the SAT handler
+   */
+  SATHandler satHandler();
+
+  /**
+   * This method is called when the optimization found a new solution which is better than all solutions found before.
+   * @param value the value of the objective for the solution
+   * @param model the model of the solution
+   * @return whether the optimization process should be continued or not
+   */
+  boolean foundSolution(final long value, final Assignment model);
+
+  /**
+   * This method is called when the optimization proved a new bound of the optimal value, i.e. a lower bound for a
+   * minimization and an upper bound for a maximization.
+   * @param bound the bound
+   * @return whether the optimization process should be continued or not
+   */
+  boolean foundBound(final long bound);
+
+  /**
+   * This method is called when the optimization starts.
+   */
+  void startedSolving();
+
+  /**
+   * This method is called when the optimization finished.
+   */
+  void finishedSolving();
+}
@@ -0,0 +1,54 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.handlers;
+
+/**
+ * Interface for a MaxSAT handler which shares bounds found outside of the MaxSAT algorithm, e.g. by the other members
+ * of a {@link org.logicng.solvers.MaxSATPortfolio}, with the algorithm.
+ * <p>
+ * Algorithms which support shared bounds use a smaller shared upper bound to constrain their search and to harden
+ * soft clauses, and stop as soon as their own upper bound reaches the shared lower bound.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public interface SharedBoundsMaxSATHandler extends MaxSATHandler {
+
+  /**
+   * Returns the best lower bound for the optimum which is known outside of the algorithm.
+   * @return the best known lower bound or -1 if no lower bound is known
+   */
+  long sharedLowerBound();
+
+  /**
+   * Returns the best upper bound for the optimum which is known outside of the algorithm.  There must be a model for
+   * this upper bound.
+   * @return the best known upper bound or -1 if no upper bound is known
+   */
+  long sharedUpperBound();
+}
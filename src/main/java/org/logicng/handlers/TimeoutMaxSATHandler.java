@@ -32,7 +32,7 @@ import org.logicng.datastructures.Assignment;
 
 /**
  * A MaxSAT handler which cancels the solving process after a given timeout.
- * @version 1.0
+ * @version 1.4.1
  * @since 1.0
  */
 public final class TimeoutMaxSATHandler implements MaxSATHandler {
@@ -40,8 +40,8 @@ public final class TimeoutMaxSATHandler implements MaxSATHandler {
   private final long timeout;
   private final SATHandler satHandler;
   private long designatedEnd;
-  private int currentLb;
-  private int currentUb;
+  private long currentLb;
+  private long currentUb;
 
   /**
    * Constructs a new instance with a given timeout in milliseconds.
@@ -63,13 +63,13 @@ public final class TimeoutMaxSATHandler implements MaxSATHandler {
   }
 
   @Override
-  public boolean foundLowerBound(final int lowerBound, final Assignment model) {
+  public boolean foundLowerBound(final long lowerBound, final Assignment model) {
     this.currentLb = lowerBound;
     return System.currentTimeMillis() < designatedEnd;
   }
 
   @Override
-  public boolean foundUpperBound(final int upperBound, final Assignment model) {
+  public boolean foundUpperBound(final long upperBound, final Assignment model) {
     this.currentUb = upperBound;
     return System.currentTimeMillis() < designatedEnd;
   }
@@ -87,12 +87,12 @@ public final class TimeoutMaxSATHandler implements MaxSATHandler {
   }
 
   @Override
-  public int lowerBoundApproximation() {
+  public long lowerBoundApproximation() {
     return this.currentLb;
   }
 
   @Override
-  public int upperBoundApproximation() {
+  public long upperBoundApproximation() {
     return this.currentUb;
   }
 }
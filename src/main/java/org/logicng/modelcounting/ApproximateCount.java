@@ -0,0 +1,110 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.modelcounting;
+
+import java.math.BigInteger;
+
+/**
+ * The result of an approximate model count.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class ApproximateCount {
+
+  private final BigInteger estimate;
+  private final double epsilon;
+  private final double delta;
+  private final boolean exact;
+  private final int iterations;
+
+  /**
+   * Constructs a new approximate count.
+   * @param estimate   the estimated number of models
+   * @param epsilon    the tolerance
+   * @param delta      the confidence parameter
+   * @param exact      whether the estimate is the exact number of models
+   * @param iterations the number of hashing iterations
+   */
+  ApproximateCount(final BigInteger estimate, final double epsilon, final double delta, final boolean exact,
+                   final int iterations) {
+    this.estimate = estimate;
+    this.epsilon = epsilon;
+    this.delta = delta;
+    this.exact = exact;
+    this.iterations = iterations;
+  }
+
+  /**
+   * Returns the estimated number of models.
+   * @return the estimated number of models
+   */
+  public BigInteger estimate() {
+    return this.estimate;
+  }
+
+  /**
+   * Returns the tolerance of the estimate.
+   * @return the tolerance of the estimate
+   */
+  public double epsilon() {
+    return this.epsilon;
+  }
+
+  /**
+   * Returns the confidence parameter of the estimate.
+   * @return the confidence parameter of the estimate
+   */
+  public double delta() {
+    return this.delta;
+  }
+
+  /**
+   * Returns whether the estimate is the exact number of models.  This is the case if the formula has fewer models than
+   * the threshold of the counter.
+   * @return {@code true} if the estimate is exact, {@code false} otherwise
+   */
+  public boolean isExact() {
+    return this.exact;
+  }
+
+  /**
+   * Returns the number of hashing iterations which were performed.
+   * @return the number of hashing iterations
+   */
+  public int iterations() {
+    return this.iterations;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("ApproximateCount{estimate=%s, epsilon=%s, delta=%s, exact=%s, iterations=%d}",
+            this.estimate, this.epsilon, this.delta, this.exact, this.iterations);
+  }
+}
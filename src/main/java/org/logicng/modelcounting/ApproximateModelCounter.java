@@ -0,0 +1,261 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.modelcounting;
+
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.ModelIterator;
+import org.logicng.solvers.SolverPool;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An approximate model counter in the spirit of ApproxMC.
+ * <p>
+ * The solution space projected to the counting variables is partitioned into cells by random XOR constraints.  In
+ * each iteration the smallest number of XOR constraints is searched for which a cell contains fewer models than the
+ * threshold of the configuration.  Like in ApproxMC2, the search starts at the result of the previous iteration.  The
+ * number of models in the cell multiplied by the number of cells is the estimate of the iteration, the median of all
+ * iterations is the result.  With probability at least {@code 1 - delta} the result is within a factor of
+ * {@code 1 + epsilon} of the exact count.
+ * <p>
+ * Each iteration works on its own copy of the solver with its own formula factory, so the iterations can be executed
+ * in parallel by an {@link Executor}.  The XOR constraints are propagated natively by the MiniSat solver style.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class ApproximateModelCounter {
+
+  private final ApproximateModelCounterConfig config;
+
+  /**
+   * Constructs a new approximate model counter with the default configuration.
+   */
+  public ApproximateModelCounter() {
+    this(new ApproximateModelCounterConfig.Builder().build());
+  }
+
+  /**
+   * Constructs a new approximate model counter with a given configuration.
+   * @param config the configuration
+   */
+  public ApproximateModelCounter(final ApproximateModelCounterConfig config) {
+    this.config = config;
+  }
+
+  /**
+   * Approximately counts the models of the formula on the given solver projected to the given variables.  All
+   * iterations are executed in the calling thread.
+   * @param solver    the solver
+   * @param variables the variables to count over
+   * @return the approximate count
+   */
+  public ApproximateCount count(final MiniSat solver, final Collection<Variable> variables) {
+    return this.count(solver, variables, null);
+  }
+
+  /**
+   * Approximately counts the models of the formula on the given solver projected to the given variables.  The
+   * iterations are executed by the given executor.  The solver must not be changed during the count.
+   * @param solver    the solver
+   * @param variables the variables to count over
+   * @param executor  the executor for the iterations or {@code null} if they should be executed in the calling thread
+   * @return the approximate count
+   * @throws IllegalStateException if an iteration failed or the calling thread was interrupted
+   */
+  public ApproximateCount count(final MiniSat solver, final Collection<Variable> variables, final Executor executor) {
+    final SortedSet<Variable> known = solver.knownVariables();
+    final List<String> hashed = new ArrayList<>();
+    int free = 0;
+    for (final Variable var : new LinkedHashSet<>(variables))
+      if (known.contains(var))
+        hashed.add(var.name());
+      else
+        free++;
+    final int threshold = this.config.threshold();
+    final SolverPool pool = new SolverPool(solver, executor == null ? 1 : Runtime.getRuntime().availableProcessors());
+    final MiniSat copy = pool.acquire();
+    final int initial;
+    try {
+      initial = cellSize(copy, hashed, threshold);
+    } finally {
+      pool.release(copy);
+    }
+    if (initial < threshold)
+      return new ApproximateCount(BigInteger.valueOf(initial).shiftLeft(free), this.config.epsilon, this.config.delta, true, 0);
+    final int iterations = this.config.iterations();
+    final List<FutureTask<BigInteger>> tasks = new ArrayList<>(iterations);
+    final AtomicInteger hint = new AtomicInteger(1);
+    for (int i = 0; i < iterations; i++) {
+      final Random random = new Random(this.config.seed + i);
+      final FutureTask<BigInteger> task = new FutureTask<>(new Callable<BigInteger>() {
+        @Override
+        public BigInteger call() {
+          return iteration(pool, hashed, threshold, random, hint);
+        }
+      });
+      tasks.add(task);
+      if (executor == null)
+        task.run();
+      else
+        executor.execute(task);
+    }
+    final List<BigInteger> estimates = new ArrayList<>(iterations);
+    try {
+      for (final FutureTask<BigInteger> task : tasks)
+        estimates.add(task.get());
+    } catch (final InterruptedException e) {
+      for (final FutureTask<BigInteger> task : tasks)
+        task.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the approximate count", e);
+    } catch (final ExecutionException e) {
+      throw new IllegalStateException("An iteration of the approximate count failed", e.getCause());
+    }
+    Collections.sort(estimates);
+    final BigInteger median = estimates.get(iterations / 2);
+    return new ApproximateCount(median.shiftLeft(free), this.config.epsilon, this.config.delta, false, iterations);
+  }
+
+  /**
+   * Performs a single hashing iteration on a copy of the solver.  The iteration determines the smallest number of XOR
+   * constraints of a random family for which the cell contains fewer models than the threshold.  The search starts at
+   * the result of the previous iteration and gallops or bisects from there.  Each XOR constraint is added in its own
+   * scope of the solver, so moving between two probes only adds or removes the XOR constraints in between.
+   * @param pool      the solver pool
+   * @param hashed    the names of the variables to hash
+   * @param threshold the threshold for the cell size
+   * @param random    the random generator for the hash functions
+   * @param hint      the number of XOR constraints found by the last iteration
+   * @return the estimate of this iteration
+   */
+  private static BigInteger iteration(final SolverPool pool, final List<String> hashed, final int threshold,
+                                      final Random random, final AtomicInteger hint) {
+    final int n = hashed.size();
+    final MiniSat solver = pool.acquire();
+    try {
+      final FormulaFactory f = solver.factory();
+      final List<List<Literal>> xors = new ArrayList<>(n);
+      final boolean[] rhs = new boolean[n];
+      for (int i = 0; i < n; i++) {
+        final List<Literal> xor = new ArrayList<>();
+        for (final String name : hashed)
+          if (random.nextBoolean())
+            xor.add(f.variable(name));
+        xors.add(xor);
+        rhs[i] = random.nextBoolean();
+      }
+      final int[] sizes = new int[n + 1];
+      int level = 0;
+      int lo = 0;
+      int hi = n + 1;
+      int probe = Math.max(1, Math.min(n, hint.get()));
+      int step = 1;
+      boolean first = true;
+      while (hi - lo > 1) {
+        for (; level > probe; level--)
+          solver.pop();
+        for (; level < probe; level++) {
+          solver.push();
+          solver.addXor(xors.get(level), rhs[level]);
+        }
+        sizes[probe] = cellSize(solver, hashed, threshold);
+        if (sizes[probe] >= threshold) {
+          lo = probe;
+          if (hi > n) {
+            probe = Math.min(n, lo + step);
+            step *= 2;
+            if (probe == lo)
+              break;
+            first = false;
+            continue;
+          }
+        } else {
+          hi = probe;
+          if (first && probe - 1 > lo) {
+            probe--;
+            first = false;
+            continue;
+          }
+        }
+        first = false;
+        probe = (lo + hi) >>> 1;
+      }
+      for (; level > 0; level--)
+        solver.pop();
+      if (hi > n)
+        return BigInteger.valueOf(threshold).shiftLeft(n);
+      hint.set(hi);
+      return BigInteger.valueOf(sizes[hi]).shiftLeft(hi);
+    } finally {
+      pool.release(solver);
+    }
+  }
+
+  /**
+   * Counts the models of the solver projected to the given variables up to a given threshold.
+   * @param solver    the solver
+   * @param names     the names of the variables
+   * @param threshold the threshold
+   * @return the number of models or the threshold if there are at least as many models
+   */
+  private static int cellSize(final MiniSat solver, final List<String> names, final int threshold) {
+    final List<Variable> variables = new ArrayList<>(names.size());
+    for (final String name : names)
+      variables.add(solver.factory().variable(name));
+    int count = 0;
+    try (final ModelIterator models = solver.modelIterator(variables)) {
+      while (count < threshold && models.hasNext()) {
+        models.next();
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName();
+  }
+}
@@ -0,0 +1,163 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.modelcounting;
+
+import org.logicng.configurations.Configuration;
+import org.logicng.configurations.ConfigurationType;
+
+/**
+ * The configuration object for the approximate model counter.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class ApproximateModelCounterConfig extends Configuration {
+
+  final double epsilon;
+  final double delta;
+  final long seed;
+
+  /**
+   * Constructs a new configuration with a given type.
+   * @param builder the builder
+   */
+  private ApproximateModelCounterConfig(final Builder builder) {
+    super(ConfigurationType.APPROXIMATE_MODEL_COUNTER);
+    this.epsilon = builder.epsilon;
+    this.delta = builder.delta;
+    this.seed = builder.seed;
+  }
+
+  /**
+   * Returns the tolerance of the counter.
+   * @return the tolerance
+   */
+  public double epsilon() {
+    return this.epsilon;
+  }
+
+  /**
+   * Returns the confidence parameter of the counter.
+   * @return the confidence parameter
+   */
+  public double delta() {
+    return this.delta;
+  }
+
+  /**
+   * Returns the seed for the random hash functions.
+   * @return the seed
+   */
+  public long seed() {
+    return this.seed;
+  }
+
+  /**
+   * Returns the maximal size of a cell of the hashed solution space.  A cell with fewer models is considered small
+   * enough to be counted.
+   * @return the threshold for the cell size
+   */
+  public int threshold() {
+    return 1 + (int) Math.ceil(9.84 * (1 + this.epsilon / (1 + this.epsilon)) * (1 + 1 / this.epsilon) * (1 + 1 / this.epsilon));
+  }
+
+  /**
+   * Returns the number of hashing iterations which are required for the confidence parameter.
+   * @return the number of hashing iterations
+   */
+  public int iterations() {
+    return (int) Math.ceil(17 * Math.log(3 / this.delta) / Math.log(2));
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("ApproximateModelCounterConfig{").append(System.lineSeparator());
+    sb.append("epsilon=").append(this.epsilon).append(System.lineSeparator());
+    sb.append("delta=").append(this.delta).append(System.lineSeparator());
+    sb.append("seed=").append(this.seed).append(System.lineSeparator());
+    sb.append("}").append(System.lineSeparator());
+    return sb.toString();
+  }
+
+  /**
+   * The builder for an approximate model counter configuration.
+   */
+  public static class Builder {
+
+    private double epsilon = 0.8;
+    private double delta = 0.2;
+    private long seed = 42;
+
+    /**
+     * Sets the tolerance of the counter.  With probability at least {@code 1 - delta} the estimate {@code c} of the
+     * counter satisfies {@code count / (1 + epsilon) <= c <= count * (1 + epsilon)}.  The default value is 0.8.
+     * @param epsilon the tolerance
+     * @return the builder
+     * @throws IllegalArgumentException if the tolerance is not positive
+     */
+    public Builder epsilon(final double epsilon) {
+      if (!(epsilon > 0))
+        throw new IllegalArgumentException("The tolerance must be positive: " + epsilon);
+      this.epsilon = epsilon;
+      return this;
+    }
+
+    /**
+     * Sets the confidence parameter of the counter.  The estimate is within the tolerance with probability at least
+     * {@code 1 - delta}.  The default value is 0.2.
+     * @param delta the confidence parameter
+     * @return the builder
+     * @throws IllegalArgumentException if the confidence parameter is not in the open interval (0, 1)
+     */
+    public Builder delta(final double delta) {
+      if (!(delta > 0 && delta < 1))
+        throw new IllegalArgumentException("The confidence parameter must be in (0, 1): " + delta);
+      this.delta = delta;
+      return this;
+    }
+
+    /**
+     * Sets the seed for the random hash functions.  The default value is 42.
+     * @param seed the seed
+     * @return the builder
+     */
+    public Builder seed(final long seed) {
+      this.seed = seed;
+      return this;
+    }
+
+    /**
+     * Builds the configuration.
+     * @return the configuration.
+     */
+    public ApproximateModelCounterConfig build() {
+      return new ApproximateModelCounterConfig(this);
+    }
+  }
+}
@@ -0,0 +1,386 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.modelcounting;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.solvers.datastructures.MSVariable;
+import org.logicng.solvers.sat.MiniSat2Solver;
+import org.logicng.solvers.sat.MiniSatConfig;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The search engine of the exact model counter.
+ * <p>
+ * Literals are encoded like in the MiniSat style solvers: {@code 2 * var} for the positive and {@code 2 * var + 1} for
+ * the negative literal of a variable.  All clauses are loaded once into a MiniSat solver whose variables are no
+ * decision variables.  Decisions are only made on projected variables.  They are passed to the solver as one decision
+ * level per literal and propagated by its watched literals, the levels of a common prefix of decisions are reused
+ * between the steps of the search.  After each decision the residual clauses are split into connected components via
+ * a union-find structure over their unassigned variables.  A component is identified by its sorted variables and its
+ * sorted clause indices - the residual of a clause is determined by these two - which serves as key for the component
+ * cache.
+ * <p>
+ * The search itself does not learn from conflicts, so the whole formula is first checked for satisfiability by a
+ * solver call.  Components without projected variables are only checked for satisfiability by a solver call under the
+ * current decisions in which only the variables of the component are decision variables.  Learnt clauses could connect
+ * different components and thus spoil the cached counts.  Therefore they are removed after each check.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+final class ComponentCounter {
+
+  private final int numVars;
+  private final int[][] clauses;
+  private final boolean[] projected;
+  private final int[] occurrences;
+  private final CountingSolver solver;
+  private final LNGIntVector decisions;
+  private final int[] parent;
+  private final int[] stamp;
+  private int currentStamp;
+  private final ComponentCache cache;
+
+  /**
+   * Constructs a new component counter.
+   * @param numVars   the number of variables
+   * @param clauses   the clauses
+   * @param projected the projected variables
+   * @param cacheSize the maximum number of entries in the component cache
+   */
+  ComponentCounter(final int numVars, final List<int[]> clauses, final boolean[] projected, final int cacheSize) {
+    this.numVars = numVars;
+    this.clauses = clauses.toArray(new int[clauses.size()][]);
+    this.projected = projected;
+    this.occurrences = new int[2 * numVars];
+    this.solver = new CountingSolver(numVars);
+    for (final int[] clause : this.clauses) {
+      for (final int lit : clause)
+        this.occurrences[lit]++;
+      this.solver.addClause(new LNGIntVector(clause), null);
+    }
+    this.decisions = new LNGIntVector();
+    this.parent = new int[numVars];
+    this.stamp = new int[numVars];
+    this.cache = new ComponentCache(cacheSize);
+  }
+
+  /**
+   * Counts the models projected to the projected variables.
+   * @return the number of models
+   */
+  BigInteger count() {
+    final int[] allVars = new int[this.numVars];
+    for (int i = 0; i < allVars.length; i++)
+      allVars[i] = i;
+    if (!this.solver.satisfiable(allVars, this.decisions) || !this.solver.propagate(this.decisions))
+      return BigInteger.ZERO;
+    final int[] allClauses = new int[this.clauses.length];
+    for (int i = 0; i < allClauses.length; i++)
+      allClauses[i] = i;
+    return countResidual(allVars, allClauses);
+  }
+
+  /**
+   * Counts the models of the residual of the given clauses under the current decisions.  The given variables must
+   * contain all unassigned variables of the clauses.
+   * @param vars    the variables
+   * @param clauses the clause indices
+   * @return the number of models of the residual
+   */
+  private BigInteger countResidual(final int[] vars, final int[] clauses) {
+    this.currentStamp++;
+    final LNGIntVector active = new LNGIntVector();
+    for (final int c : clauses) {
+      if (satisfied(c))
+        continue;
+      active.push(c);
+      int first = -1;
+      for (final int lit : this.clauses[c]) {
+        final int var = lit >> 1;
+        if (this.solver.assigned(var))
+          continue;
+        if (this.stamp[var] != this.currentStamp) {
+          this.stamp[var] = this.currentStamp;
+          this.parent[var] = var;
+        }
+        if (first == -1)
+          first = var;
+        else
+          union(first, var);
+      }
+    }
+    int free = 0;
+    final Map<Integer, LNGIntVector> componentVars = new LinkedHashMap<>();
+    for (final int var : vars) {
+      if (this.solver.assigned(var))
+        continue;
+      if (this.stamp[var] != this.currentStamp) {
+        if (this.projected[var])
+          free++;
+        continue;
+      }
+      final int root = find(var);
+      LNGIntVector compVars = componentVars.get(root);
+      if (compVars == null) {
+        compVars = new LNGIntVector();
+        componentVars.put(root, compVars);
+      }
+      compVars.push(var);
+    }
+    final Map<Integer, LNGIntVector> componentClauses = new LinkedHashMap<>();
+    for (int i = 0; i < active.size(); i++) {
+      final int c = active.get(i);
+      final int root = find(firstUnassigned(c));
+      LNGIntVector compClauses = componentClauses.get(root);
+      if (compClauses == null) {
+        compClauses = new LNGIntVector();
+        componentClauses.put(root, compClauses);
+      }
+      compClauses.push(c);
+    }
+    BigInteger result = BigInteger.ONE.shiftLeft(free);
+    for (final Map.Entry<Integer, LNGIntVector> entry : componentVars.entrySet()) {
+      final BigInteger count = countComponent(entry.getValue().toArray(), componentClauses.get(entry.getKey()).toArray());
+      if (count.signum() == 0)
+        return BigInteger.ZERO;
+      result = result.multiply(count);
+    }
+    return result;
+  }
+
+  /**
+   * Counts the models of a single connected component.
+   * @param vars    the sorted unassigned variables of the component
+   * @param clauses the sorted indices of the unsatisfied clauses of the component
+   * @return the number of models of the component
+   */
+  private BigInteger countComponent(final int[] vars, final int[] clauses) {
+    final ComponentKey key = new ComponentKey(vars, clauses);
+    final BigInteger cached = this.cache.get(key);
+    if (cached != null)
+      return cached;
+    int branchVar = -1;
+    int bestScore = -1;
+    for (final int var : vars) {
+      if (!this.projected[var])
+        continue;
+      final int score = this.occurrences[2 * var] + this.occurrences[2 * var + 1];
+      if (score > bestScore) {
+        bestScore = score;
+        branchVar = var;
+      }
+    }
+    BigInteger result;
+    if (branchVar == -1)
+      result = this.solver.satisfiable(vars, this.decisions) ? BigInteger.ONE : BigInteger.ZERO;
+    else {
+      result = BigInteger.ZERO;
+      final int first = this.occurrences[2 * branchVar] >= this.occurrences[2 * branchVar + 1] ? 2 * branchVar : 2 * branchVar + 1;
+      for (final int lit : new int[]{first, first ^ 1}) {
+        this.decisions.push(lit);
+        if (this.solver.propagate(this.decisions))
+          result = result.add(countResidual(vars, clauses));
+        this.decisions.pop();
+      }
+    }
+    this.cache.put(key, result);
+    return result;
+  }
+
+  private boolean satisfied(final int clause) {
+    for (final int lit : this.clauses[clause])
+      if (this.solver.satisfied(lit))
+        return true;
+    return false;
+  }
+
+  private int firstUnassigned(final int clause) {
+    for (final int lit : this.clauses[clause])
+      if (!this.solver.assigned(lit >> 1))
+        return lit >> 1;
+    throw new IllegalStateException("Clause without unassigned literals in a component");
+  }
+
+  private int find(final int var) {
+    int v = var;
+    while (this.parent[v] != v) {
+      this.parent[v] = this.parent[this.parent[v]];
+      v = this.parent[v];
+    }
+    return v;
+  }
+
+  private void union(final int v1, final int v2) {
+    final int r1 = find(v1);
+    final int r2 = find(v2);
+    if (r1 != r2)
+      this.parent[r2] = r1;
+  }
+
+  /**
+   * The MiniSat solver of the counter.  It propagates the decisions of the counter on reused decision levels and
+   * checks the satisfiability of components without projected variables.
+   */
+  private static final class CountingSolver extends MiniSat2Solver {
+
+    /**
+     * Constructs a new solver with the given number of variables which are no decision variables.
+     * @param numVars the number of variables
+     */
+    private CountingSolver(final int numVars) {
+      super(new MiniSatConfig.Builder().reuseTrail(true).build());
+      for (int i = 0; i < numVars; i++)
+        this.newVar(true, false);
+    }
+
+    /**
+     * Propagates the given decisions, one decision level per decision.  The decision levels of the longest common
+     * prefix with the decisions of the last call are kept.
+     * @param decisions the decisions
+     * @return {@code false} if the propagation leads to a conflict, {@code true} otherwise
+     */
+    private boolean propagate(final LNGIntVector decisions) {
+      if (!this.ok)
+        return false;
+      this.assumptions = decisions;
+      this.backtrackForAssumptions();
+      this.assumptions = new LNGIntVector();
+      this.trailAssumptions.shrinkTo(decisionLevel());
+      if (decisionLevel() == 0 && propagate() != null) {
+        this.ok = false;
+        return false;
+      }
+      for (int i = decisionLevel(); i < decisions.size(); i++) {
+        final int lit = decisions.get(i);
+        this.trailLim.push(this.trail.size());
+        this.trailAssumptions.push(lit);
+        if (value(lit) == Tristate.FALSE || value(lit) == Tristate.UNDEF && enqueueAndPropagate(lit)) {
+          cancelUntil(decisionLevel() - 1);
+          this.trailAssumptions.pop();
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Assigns a decision and propagates it.
+     * @param lit the decision
+     * @return {@code true} if the propagation leads to a conflict, {@code false} otherwise
+     */
+    private boolean enqueueAndPropagate(final int lit) {
+      uncheckedEnqueue(lit, null);
+      return propagate() != null;
+    }
+
+    /**
+     * Checks whether the given variables can be assigned such that all clauses are satisfied under the given
+     * decisions.  Only the given variables are decision variables during the solver call.
+     * @param vars      the variables
+     * @param decisions the decisions
+     * @return {@code true} if the variables can be assigned, {@code false} otherwise
+     */
+    private boolean satisfiable(final int[] vars, final LNGIntVector decisions) {
+      for (final int var : vars) {
+        this.vars.get(var).setDecision(true);
+        insertVarOrder(var);
+      }
+      final boolean sat = this.solve(null, decisions) == Tristate.TRUE;
+      for (final int var : vars)
+        this.vars.get(var).setDecision(false);
+      if (!this.learnts.empty()) {
+        cancelUntil(0);
+        this.trailAssumptions.clear();
+        for (int i = 0; i < this.learnts.size(); i++)
+          removeClause(this.learnts.get(i));
+        this.learnts.clear();
+      }
+      return sat;
+    }
+
+    private boolean assigned(final int var) {
+      return this.vars.get(var).assignment() != Tristate.UNDEF;
+    }
+
+    private boolean satisfied(final int lit) {
+      final MSVariable var = this.vars.get(lit >> 1);
+      return var.assignment() == ((lit & 1) == 0 ? Tristate.TRUE : Tristate.FALSE);
+    }
+  }
+
+  /**
+   * The key of a component in the component cache.
+   */
+  private static final class ComponentKey {
+    private final int[] data;
+    private final int hashCode;
+
+    private ComponentKey(final int[] vars, final int[] clauses) {
+      this.data = new int[vars.length + clauses.length + 1];
+      System.arraycopy(vars, 0, this.data, 0, vars.length);
+      this.data[vars.length] = -1;
+      System.arraycopy(clauses, 0, this.data, vars.length + 1, clauses.length);
+      this.hashCode = Arrays.hashCode(this.data);
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      return other instanceof ComponentKey && this.hashCode == ((ComponentKey) other).hashCode
+              && Arrays.equals(this.data, ((ComponentKey) other).data);
+    }
+  }
+
+  /**
+   * A bounded cache of component counts with least recently used eviction.
+   */
+  private static final class ComponentCache extends LinkedHashMap<ComponentKey, BigInteger> {
+    private final int maxSize;
+
+    private ComponentCache(final int maxSize) {
+      super(16, 0.75f, true);
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<ComponentKey, BigInteger> eldest) {
+      return this.size() > this.maxSize;
+    }
+  }
+}
@@ -0,0 +1,158 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.modelcounting;
+
+import org.logicng.formulas.FType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An exact model counter in the spirit of sharpSAT.
+ * <p>
+ * The formulas are converted to CNF and counted by a DPLL-style search which decomposes the residual formula into
+ * independent connected components after each decision.  The counts of the components are multiplied and cached in a
+ * bounded component cache.  The counter supports projected counting: only the projections of the models to a given
+ * set of variables are counted.  All other variables - e.g. auxiliary variables introduced by the CNF conversion - are
+ * existentially quantified.  Components which do not contain any projected variable are therefore only checked for
+ * satisfiability by a {@link org.logicng.solvers.sat.MiniSat2Solver}.
+ * <p>
+ * In contrast to {@link org.logicng.bdds.datastructures.BDD#modelCount()} the counter does not have to build a
+ * canonical representation of the whole formula and thus works for formulas with many loosely connected parts.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class ModelCounter {
+
+  private final ModelCounterConfig config;
+
+  /**
+   * Constructs a new model counter with the default configuration.
+   */
+  public ModelCounter() {
+    this(new ModelCounterConfig.Builder().build());
+  }
+
+  /**
+   * Constructs a new model counter with a given configuration.
+   * @param config the configuration
+   */
+  public ModelCounter(final ModelCounterConfig config) {
+    this.config = config;
+  }
+
+  /**
+   * Counts the models of the conjunction of the given formulas over their variables.
+   * @param formulas the formulas
+   * @return the number of models
+   */
+  public BigInteger count(final Collection<? extends Formula> formulas) {
+    final List<Variable> variables = new ArrayList<>();
+    for (final Formula formula : formulas)
+      variables.addAll(formula.variables());
+    return count(formulas, variables);
+  }
+
+  /**
+   * Counts the models of the conjunction of the given formulas projected to the given variables.  Variables of the
+   * formulas which are not in the given collection are existentially quantified, variables of the collection which do
+   * not occur in the formulas can be assigned arbitrarily.
+   * @param formulas  the formulas
+   * @param variables the variables to count over
+   * @return the number of models projected to the given variables
+   */
+  public BigInteger count(final Collection<? extends Formula> formulas, final Collection<Variable> variables) {
+    final Map<Variable, Integer> indices = new LinkedHashMap<>();
+    for (final Variable var : variables)
+      index(indices, var);
+    final int numProjected = indices.size();
+    final List<int[]> clauses = new ArrayList<>();
+    for (final Formula formula : formulas) {
+      final Formula cnf = formula.cnf();
+      if (cnf.type() == FType.FALSE)
+        return BigInteger.ZERO;
+      if (cnf.type() == FType.AND) {
+        for (final Formula clause : cnf)
+          if (!addClause(clauses, indices, clause))
+            return BigInteger.ZERO;
+      } else if (cnf.type() != FType.TRUE && !addClause(clauses, indices, cnf))
+        return BigInteger.ZERO;
+    }
+    final boolean[] projected = new boolean[indices.size()];
+    for (int i = 0; i < numProjected; i++)
+      projected[i] = true;
+    return new ComponentCounter(indices.size(), clauses, projected, this.config.cacheSize).count();
+  }
+
+  private static int index(final Map<Variable, Integer> indices, final Variable var) {
+    Integer index = indices.get(var);
+    if (index == null) {
+      index = indices.size();
+      indices.put(var, index);
+    }
+    return index;
+  }
+
+  /**
+   * Adds a clause of the CNF to the given clause list.  Tautological clauses are omitted.
+   * @param clauses the clause list
+   * @param indices the variable indices
+   * @param clause  the clause
+   * @return {@code false} if the clause is empty, {@code true} otherwise
+   */
+  private static boolean addClause(final List<int[]> clauses, final Map<Variable, Integer> indices, final Formula clause) {
+    final Collection<Literal> literals = clause.literals();
+    if (literals.isEmpty())
+      return false;
+    final int[] lits = new int[literals.size()];
+    int i = 0;
+    for (final Literal lit : literals) {
+      final int l = 2 * index(indices, lit.variable()) + (lit.phase() ? 0 : 1);
+      for (int j = 0; j < i; j++)
+        if (lits[j] == (l ^ 1))
+          return true;
+      lits[i++] = l;
+    }
+    clauses.add(lits);
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName();
+  }
+}
@@ -0,0 +1,97 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.modelcounting;
+
+import org.logicng.configurations.Configuration;
+import org.logicng.configurations.ConfigurationType;
+
+/**
+ * The configuration object for the exact model counter.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class ModelCounterConfig extends Configuration {
+
+  final int cacheSize;
+
+  /**
+   * Constructs a new configuration with a given type.
+   * @param builder the builder
+   */
+  private ModelCounterConfig(final Builder builder) {
+    super(ConfigurationType.MODEL_COUNTER);
+    this.cacheSize = builder.cacheSize;
+  }
+
+  /**
+   * Returns the maximum number of entries in the component cache.
+   * @return the maximum number of entries in the component cache
+   */
+  public int cacheSize() {
+    return this.cacheSize;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("ModelCounterConfig{").append(System.lineSeparator());
+    sb.append("cacheSize=").append(this.cacheSize).append(System.lineSeparator());
+    sb.append("}").append(System.lineSeparator());
+    return sb.toString();
+  }
+
+  /**
+   * The builder for a model counter configuration.
+   */
+  public static class Builder {
+
+    private int cacheSize = 100000;
+
+    /**
+     * Sets the maximum number of entries in the component cache.  If the cache is full, the least recently used
+     * component count is evicted.  A size of 0 disables the cache.  The default value is 100.000.
+     * @param cacheSize the maximum number of cache entries
+     * @return the builder
+     */
+    public Builder cacheSize(final int cacheSize) {
+      if (cacheSize < 0)
+        throw new IllegalArgumentException("The cache size must not be negative: " + cacheSize);
+      this.cacheSize = cacheSize;
+      return this;
+    }
+
+    /**
+     * Builds the configuration.
+     * @return the configuration.
+     */
+    public ModelCounterConfig build() {
+      return new ModelCounterConfig(this);
+    }
+  }
+}
@@ -48,7 +48,7 @@ import java.util.List;
 
 /**
  * An encoder for pseudo-Boolean constraints.
- * @version 1.1
+ * @version 1.4.1
  * @since 1.0
  */
 public class PBEncoder {
@@ -176,11 +176,7 @@ public class PBEncoder {
         simplifiedCoeffs.push(coeffs[i]);
       } else
         result.add(lits[i].negate());
-    if (simplifiedLits.size() == 1) {
-      result.add(simplifiedLits.get(0).negate());
-      return result;
-    }
-    if (simplifiedLits.size() == 0)
+    if (simplifiedLits.size() <= 1)
       return result;
     switch (this.config().pbEncoder) {
       case SWC:
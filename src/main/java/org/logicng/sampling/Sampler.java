@@ -0,0 +1,338 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.sampling;
+
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.modelcounting.ApproximateModelCounter;
+import org.logicng.modelcounting.ApproximateModelCounterConfig;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.Model;
+import org.logicng.solvers.ModelIterator;
+import org.logicng.solvers.SolverPool;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * A sampler for models of a formula.
+ * <p>
+ * In the {@link SamplerConfig.Mode#HASHING hashing mode} the samples are drawn near-uniformly from the models projected
+ * to the sampling variables in the style of UniGen2: an approximate model count determines the number of random XOR
+ * constraints for which a cell of the solution space has a suitable size.  For each sample a random cell is
+ * enumerated and a random model of the cell is picked.  Formulas with only few models are sampled exactly uniformly
+ * from all their models.  In the {@link SamplerConfig.Mode#RANDOM_PHASE random phase mode} each sample is the model
+ * of a solver call with randomized decision heuristics.
+ * <p>
+ * The samples are generated in batches on copies of the solver with their own formula factories.  If an executor is
+ * given, the batches are generated in parallel.  Samples are drawn with replacement, so a sample may occur several
+ * times.  For a fixed seed and batch size, the samples of the hashing mode do not depend on the executor, since each cell
+ * is sorted before the samples are picked from it.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class Sampler {
+
+  private static final int MAX_FAILURES = 100;
+
+  private static final Comparator<boolean[]> MODEL_ORDER = new Comparator<boolean[]>() {
+    @Override
+    public int compare(final boolean[] m1, final boolean[] m2) {
+      for (int i = 0; i < m1.length; i++)
+        if (m1[i] != m2[i])
+          return m1[i] ? 1 : -1;
+      return 0;
+    }
+  };
+
+  private final SamplerConfig config;
+
+  /**
+   * Constructs a new sampler with the default configuration.
+   */
+  public Sampler() {
+    this(new SamplerConfig.Builder().build());
+  }
+
+  /**
+   * Constructs a new sampler with a given configuration.
+   * @param config the configuration
+   */
+  public Sampler(final SamplerConfig config) {
+    this.config = config;
+  }
+
+  /**
+   * Generates samples of the models of the formula on the given solver projected to the given variables.  All batches
+   * are generated in the calling thread.
+   * @param solver    the solver
+   * @param variables the sampling variables
+   * @param number    the number of samples
+   * @return the samples or an empty list if the formula is unsatisfiable
+   */
+  public List<Assignment> sample(final MiniSat solver, final Collection<Variable> variables, final int number) {
+    return this.sample(solver, variables, number, null);
+  }
+
+  /**
+   * Generates samples of the models of the formula on the given solver projected to the given variables.  The batches
+   * are generated by the given executor.  The solver must not be changed during the sampling.
+   * <p>
+   * In the hashing mode a batch gives up after {@value #MAX_FAILURES} consecutive cells of unsuitable size, so in very
+   * rare cases fewer samples than requested are returned.
+   * @param solver    the solver
+   * @param variables the sampling variables
+   * @param number    the number of samples
+   * @param executor  the executor for the batches or {@code null} if they should be generated in the calling thread
+   * @return the samples or an empty list if the formula is unsatisfiable
+   * @throws IllegalArgumentException if the number of samples is negative
+   * @throws IllegalStateException    if a batch failed or the calling thread was interrupted
+   */
+  public List<Assignment> sample(final MiniSat solver, final Collection<Variable> variables, final int number,
+                                 final Executor executor) {
+    if (number < 0)
+      throw new IllegalArgumentException("The number of samples must not be negative: " + number);
+    final SortedSet<Variable> known = solver.knownVariables();
+    final List<Variable> hashedVars = new ArrayList<>();
+    final List<Variable> freeVars = new ArrayList<>();
+    for (final Variable var : new LinkedHashSet<>(variables))
+      if (known.contains(var))
+        hashedVars.add(var);
+      else
+        freeVars.add(var);
+    final List<String> names = new ArrayList<>(hashedVars.size());
+    for (final Variable var : hashedVars)
+      names.add(var.name());
+    final SolverPool pool = new SolverPool(solver, executor == null ? 1 : Runtime.getRuntime().availableProcessors());
+    final int hiThreshold = this.config.hiThreshold();
+    List<boolean[]> allModels = null;
+    int minXors = 0;
+    int maxXors = 0;
+    if (this.config.mode == SamplerConfig.Mode.HASHING) {
+      final MiniSat copy = pool.acquire();
+      try {
+        allModels = cell(copy, names, hiThreshold + 1);
+      } finally {
+        pool.release(copy);
+      }
+      if (allModels.isEmpty())
+        return new ArrayList<>();
+      Collections.sort(allModels, MODEL_ORDER);
+      if (allModels.size() > hiThreshold) {
+        allModels = null;
+        final BigInteger estimate = new ApproximateModelCounter(new ApproximateModelCounterConfig.Builder()
+                .seed(this.config.seed).build()).count(solver, hashedVars, executor).estimate();
+        final int q = (int) Math.ceil(log2(estimate) + (Math.log(1.8) - Math.log(this.config.pivot())) / Math.log(2));
+        maxXors = Math.max(1, Math.min(names.size(), q));
+        minXors = Math.max(1, maxXors - 3);
+      }
+    }
+    final List<FutureTask<List<boolean[]>>> tasks = new ArrayList<>();
+    for (int start = 0, batch = 0; start < number; start += this.config.batchSize, batch++) {
+      final int size = Math.min(this.config.batchSize, number - start);
+      final Random random = new Random(this.config.seed + batch);
+      final List<boolean[]> models = allModels;
+      final int min = minXors;
+      final int max = maxXors;
+      final FutureTask<List<boolean[]>> task = new FutureTask<>(new Callable<List<boolean[]>>() {
+        @Override
+        public List<boolean[]> call() {
+          if (config.mode == SamplerConfig.Mode.RANDOM_PHASE)
+            return randomPhaseBatch(pool, names, size, random);
+          if (models != null) {
+            final List<boolean[]> samples = new ArrayList<>(size);
+            for (int i = 0; i < size; i++)
+              samples.add(models.get(random.nextInt(models.size())));
+            return samples;
+          }
+          return hashingBatch(pool, names, size, random, min, max);
+        }
+      });
+      tasks.add(task);
+      if (executor == null)
+        task.run();
+      else
+        executor.execute(task);
+    }
+    final Random random = new Random(this.config.seed);
+    final List<Assignment> samples = new ArrayList<>(number);
+    try {
+      for (final FutureTask<List<boolean[]>> task : tasks)
+        for (final boolean[] values : task.get()) {
+          final Assignment assignment = new Assignment();
+          for (int i = 0; i < values.length; i++)
+            assignment.addLiteral(values[i] ? hashedVars.get(i) : hashedVars.get(i).negate());
+          for (final Variable var : freeVars)
+            assignment.addLiteral(random.nextBoolean() ? var : var.negate());
+          samples.add(assignment);
+        }
+    } catch (final InterruptedException e) {
+      for (final FutureTask<List<boolean[]>> task : tasks)
+        task.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the samples", e);
+    } catch (final ExecutionException e) {
+      throw new IllegalStateException("A batch of the sampling failed", e.getCause());
+    }
+    return samples;
+  }
+
+  /**
+   * Generates a batch of samples with the hashing mode on a copy of the solver.
+   * @param pool    the solver pool
+   * @param names   the names of the sampling variables
+   * @param size    the number of samples
+   * @param random  the random generator
+   * @param minXors the minimal number of XOR constraints
+   * @param maxXors the maximal number of XOR constraints
+   * @return the samples
+   */
+  private List<boolean[]> hashingBatch(final SolverPool pool, final List<String> names, final int size,
+                                       final Random random, final int minXors, final int maxXors) {
+    final int loThreshold = this.config.loThreshold();
+    final int hiThreshold = this.config.hiThreshold();
+    final List<boolean[]> samples = new ArrayList<>(size);
+    final MiniSat solver = pool.acquire();
+    try {
+      final FormulaFactory f = solver.factory();
+      int failures = 0;
+      while (samples.size() < size && failures < MAX_FAILURES) {
+        solver.push();
+        boolean success = false;
+        for (int m = 1; m <= maxXors && !success; m++) {
+          final List<Literal> xor = new ArrayList<>();
+          for (final String name : names)
+            if (random.nextBoolean())
+              xor.add(f.variable(name));
+          solver.addXor(xor, random.nextBoolean());
+          if (m < minXors)
+            continue;
+          final List<boolean[]> cell = cell(solver, names, hiThreshold + 1);
+          if (cell.size() < loThreshold)
+            break;
+          if (cell.size() <= hiThreshold) {
+            success = true;
+            Collections.sort(cell, MODEL_ORDER);
+            Collections.shuffle(cell, random);
+            final int picks = Math.min(this.config.samplesPerCell, Math.min(cell.size(), size - samples.size()));
+            samples.addAll(cell.subList(0, picks));
+          }
+        }
+        solver.pop();
+        failures = success ? 0 : failures + 1;
+      }
+      return samples;
+    } finally {
+      pool.release(solver);
+    }
+  }
+
+  /**
+   * Generates a batch of samples with the random phase mode on a copy of the solver.
+   * @param pool   the solver pool
+   * @param names  the names of the sampling variables
+   * @param size   the number of samples
+   * @param random the random generator
+   * @return the samples or an empty list if the formula is unsatisfiable
+   */
+  private static List<boolean[]> randomPhaseBatch(final SolverPool pool, final List<String> names, final int size,
+                                                  final Random random) {
+    final List<boolean[]> samples = new ArrayList<>(size);
+    final MiniSat solver = pool.acquire();
+    try {
+      final List<Variable> variables = variables(solver, names);
+      for (int i = 0; i < size; i++) {
+        solver.underlyingSolver().randomizeHeuristics(random);
+        solver.setSolverToUndef();
+        if (solver.sat() != Tristate.TRUE)
+          return samples;
+        samples.add(values(solver.modelView(variables), variables));
+      }
+      return samples;
+    } finally {
+      pool.release(solver);
+    }
+  }
+
+  /**
+   * Enumerates the models of the solver projected to the given variables up to a given limit.
+   * @param solver the solver
+   * @param names  the names of the variables
+   * @param limit  the limit
+   * @return the models
+   */
+  private static List<boolean[]> cell(final MiniSat solver, final List<String> names, final int limit) {
+    final List<Variable> variables = variables(solver, names);
+    final List<boolean[]> models = new ArrayList<>();
+    try (final ModelIterator iterator = solver.modelIterator(variables)) {
+      while (models.size() < limit && iterator.hasNext())
+        models.add(values(iterator.next(), variables));
+    }
+    return models;
+  }
+
+  private static List<Variable> variables(final MiniSat solver, final List<String> names) {
+    final List<Variable> variables = new ArrayList<>(names.size());
+    for (final String name : names)
+      variables.add(solver.factory().variable(name));
+    return variables;
+  }
+
+  private static boolean[] values(final Model model, final List<Variable> variables) {
+    final boolean[] values = new boolean[variables.size()];
+    for (int i = 0; i < values.length; i++)
+      values[i] = model.value(variables.get(i)) == Tristate.TRUE;
+    return values;
+  }
+
+  private static double log2(final BigInteger value) {
+    final int shift = Math.max(0, value.bitLength() - 60);
+    return shift + Math.log(value.shiftRight(shift).doubleValue()) / Math.log(2);
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName();
+  }
+}
@@ -0,0 +1,230 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.sampling;
+
+import org.logicng.configurations.Configuration;
+import org.logicng.configurations.ConfigurationType;
+
+/**
+ * The configuration object for the solution sampler.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class SamplerConfig extends Configuration {
+
+  /**
+   * The sampling mode.
+   * <p>
+   * {@code HASHING} samples near-uniformly in the style of UniGen2: the solution space is partitioned into cells by
+   * random XOR constraints and the samples are drawn from a random cell of suitable size.  {@code RANDOM_PHASE} is a
+   * much cheaper mode which just randomizes the polarities and activities of the solver before each solver call.  Its
+   * samples are more diverse than the models of plain solver calls, but there is no guarantee on their distribution.
+   */
+  public enum Mode {
+    HASHING, RANDOM_PHASE
+  }
+
+  final Mode mode;
+  final double kappa;
+  final int samplesPerCell;
+  final int batchSize;
+  final long seed;
+
+  /**
+   * Constructs a new configuration with a given type.
+   * @param builder the builder
+   */
+  private SamplerConfig(final Builder builder) {
+    super(ConfigurationType.SAMPLER);
+    this.mode = builder.mode;
+    this.kappa = builder.kappa;
+    this.samplesPerCell = builder.samplesPerCell;
+    this.batchSize = builder.batchSize;
+    this.seed = builder.seed;
+  }
+
+  /**
+   * Returns the sampling mode.
+   * @return the sampling mode
+   */
+  public Mode mode() {
+    return this.mode;
+  }
+
+  /**
+   * Returns the uniformity tolerance of the hashing mode.
+   * @return the uniformity tolerance
+   */
+  public double kappa() {
+    return this.kappa;
+  }
+
+  /**
+   * Returns the maximal number of samples drawn from a single cell in the hashing mode.
+   * @return the maximal number of samples drawn from a single cell
+   */
+  public int samplesPerCell() {
+    return this.samplesPerCell;
+  }
+
+  /**
+   * Returns the number of samples generated by a single task.
+   * @return the number of samples generated by a single task
+   */
+  public int batchSize() {
+    return this.batchSize;
+  }
+
+  /**
+   * Returns the seed for the random generators.
+   * @return the seed
+   */
+  public long seed() {
+    return this.seed;
+  }
+
+  /**
+   * Returns the target cell size of the hashing mode.
+   * @return the target cell size
+   */
+  int pivot() {
+    return (int) Math.ceil(4.03 * (1 + 1 / this.kappa) * (1 + 1 / this.kappa));
+  }
+
+  /**
+   * Returns the maximal cell size of the hashing mode.
+   * @return the maximal cell size
+   */
+  int hiThreshold() {
+    return 1 + (int) Math.ceil((1 + this.kappa) * Math.sqrt(2) * this.pivot());
+  }
+
+  /**
+   * Returns the minimal cell size of the hashing mode.
+   * @return the minimal cell size
+   */
+  int loThreshold() {
+    return (int) Math.floor(this.pivot() / ((1 + this.kappa) * Math.sqrt(2)));
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("SamplerConfig{").append(System.lineSeparator());
+    sb.append("mode=").append(this.mode).append(System.lineSeparator());
+    sb.append("kappa=").append(this.kappa).append(System.lineSeparator());
+    sb.append("samplesPerCell=").append(this.samplesPerCell).append(System.lineSeparator());
+    sb.append("batchSize=").append(this.batchSize).append(System.lineSeparator());
+    sb.append("seed=").append(this.seed).append(System.lineSeparator());
+    sb.append("}").append(System.lineSeparator());
+    return sb.toString();
+  }
+
+  /**
+   * The builder for a sampler configuration.
+   */
+  public static class Builder {
+
+    private Mode mode = Mode.HASHING;
+    private double kappa = 0.638;
+    private int samplesPerCell = 1;
+    private int batchSize = 16;
+    private long seed = 42;
+
+    /**
+     * Sets the sampling mode.  The default value is {@code HASHING}.
+     * @param mode the sampling mode
+     * @return the builder
+     */
+    public Builder mode(final Mode mode) {
+      this.mode = mode;
+      return this;
+    }
+
+    /**
+     * Sets the uniformity tolerance of the hashing mode.  Smaller values yield a distribution closer to the uniform
+     * distribution, but larger cells which have to be enumerated for each sample.  The default value is 0.638.
+     * @param kappa the uniformity tolerance
+     * @return the builder
+     * @throws IllegalArgumentException if the tolerance is not in the open interval (0, 1)
+     */
+    public Builder kappa(final double kappa) {
+      if (!(kappa > 0 && kappa < 1))
+        throw new IllegalArgumentException("The uniformity tolerance must be in (0, 1): " + kappa);
+      this.kappa = kappa;
+      return this;
+    }
+
+    /**
+     * Sets the maximal number of samples drawn from a single cell in the hashing mode.  Larger values increase the
+     * throughput, but the samples of a cell are not independent.  The default value is 1.
+     * @param samplesPerCell the maximal number of samples drawn from a single cell
+     * @return the builder
+     * @throws IllegalArgumentException if the number is not positive
+     */
+    public Builder samplesPerCell(final int samplesPerCell) {
+      if (samplesPerCell <= 0)
+        throw new IllegalArgumentException("The number of samples per cell must be positive: " + samplesPerCell);
+      this.samplesPerCell = samplesPerCell;
+      return this;
+    }
+
+    /**
+     * Sets the number of samples generated by a single task.  The tasks are executed in parallel if an executor is
+     * given.  The default value is 16.
+     * @param batchSize the number of samples generated by a single task
+     * @return the builder
+     * @throws IllegalArgumentException if the batch size is not positive
+     */
+    public Builder batchSize(final int batchSize) {
+      if (batchSize <= 0)
+        throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+      this.batchSize = batchSize;
+      return this;
+    }
+
+    /**
+     * Sets the seed for the random generators.  The default value is 42.
+     * @param seed the seed
+     * @return the builder
+     */
+    public Builder seed(final long seed) {
+      this.seed = seed;
+      return this;
+    }
+
+    /**
+     * Builds the configuration.
+     * @return the configuration.
+     */
+    public SamplerConfig build() {
+      return new SamplerConfig(this);
+    }
+  }
+}
@@ -0,0 +1,161 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.solvers;
+
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * The backbone of a formula wrt. a set of variables.
+ * <p>
+ * The backbone consists of the literals which are satisfied by all models of the formula.  Each relevant variable is
+ * either in the positive backbone, in the negative backbone, or optional.  If the formula is unsatisfiable, there is
+ * no backbone.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class Backbone {
+
+  private final boolean sat;
+  private final SortedSet<Variable> positiveBackbone;
+  private final SortedSet<Variable> negativeBackbone;
+  private final SortedSet<Variable> optionalVariables;
+
+  /**
+   * Constructs a new backbone of a satisfiable formula.
+   * @param positiveBackbone  the variables which are true in all models
+   * @param negativeBackbone  the variables which are false in all models
+   * @param optionalVariables the variables which are true in some and false in other models
+   */
+  public Backbone(final Collection<Variable> positiveBackbone, final Collection<Variable> negativeBackbone,
+                  final Collection<Variable> optionalVariables) {
+    this.sat = true;
+    this.positiveBackbone = Collections.unmodifiableSortedSet(new TreeSet<>(positiveBackbone));
+    this.negativeBackbone = Collections.unmodifiableSortedSet(new TreeSet<>(negativeBackbone));
+    this.optionalVariables = Collections.unmodifiableSortedSet(new TreeSet<>(optionalVariables));
+  }
+
+  private Backbone() {
+    this.sat = false;
+    this.positiveBackbone = Collections.unmodifiableSortedSet(new TreeSet<Variable>());
+    this.negativeBackbone = Collections.unmodifiableSortedSet(new TreeSet<Variable>());
+    this.optionalVariables = Collections.unmodifiableSortedSet(new TreeSet<Variable>());
+  }
+
+  /**
+   * Returns the backbone of an unsatisfiable formula.
+   * @return the backbone of an unsatisfiable formula
+   */
+  public static Backbone unsatBackbone() {
+    return new Backbone();
+  }
+
+  /**
+   * Returns whether the formula is satisfiable.
+   * @return {@code true} if the formula is satisfiable, {@code false} otherwise
+   */
+  public boolean isSat() {
+    return this.sat;
+  }
+
+  /**
+   * Returns the variables which are true in all models.
+   * @return the positive backbone
+   */
+  public SortedSet<Variable> positiveBackbone() {
+    return this.positiveBackbone;
+  }
+
+  /**
+   * Returns the variables which are false in all models.
+   * @return the negative backbone
+   */
+  public SortedSet<Variable> negativeBackbone() {
+    return this.negativeBackbone;
+  }
+
+  /**
+   * Returns the relevant variables which are not in the backbone.
+   * @return the optional variables
+   */
+  public SortedSet<Variable> optionalVariables() {
+    return this.optionalVariables;
+  }
+
+  /**
+   * Returns the literals of the backbone.
+   * @return the literals of the backbone
+   */
+  public SortedSet<Literal> completeBackbone() {
+    final SortedSet<Literal> literals = new TreeSet<Literal>(this.positiveBackbone);
+    for (final Variable var : this.negativeBackbone)
+      literals.add(var.negate());
+    return Collections.unmodifiableSortedSet(literals);
+  }
+
+  /**
+   * Returns the backbone as a conjunction of its literals or {@code $false} if the formula is unsatisfiable.
+   * @param f the formula factory
+   * @return the formula of the backbone
+   */
+  public Formula toFormula(final FormulaFactory f) {
+    return this.sat ? f.and(this.completeBackbone()) : f.falsum();
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * (31 * (this.sat ? 1 : 0) + this.positiveBackbone.hashCode()) + this.negativeBackbone.hashCode())
+            + this.optionalVariables.hashCode();
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (this == other)
+      return true;
+    if (!(other instanceof Backbone))
+      return false;
+    final Backbone o = (Backbone) other;
+    return this.sat == o.sat && this.positiveBackbone.equals(o.positiveBackbone)
+            && this.negativeBackbone.equals(o.negativeBackbone) && this.optionalVariables.equals(o.optionalVariables);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Backbone{sat=%s, positiveBackbone=%s, negativeBackbone=%s, optionalVariables=%s}",
+            this.sat, this.positiveBackbone, this.negativeBackbone, this.optionalVariables);
+  }
+}
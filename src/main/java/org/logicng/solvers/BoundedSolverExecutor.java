@@ -0,0 +1,133 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * An executor which caps the number of solver calls running at the same time.
+ * <p>
+ * Tasks are handed over to an underlying executor, but at most {@code maxRunning} of them are running at the same
+ * time.  All further tasks are queued (without blocking the caller) and dispatched as soon as a running task
+ * finishes.  A single instance can be shared by all parts of an application in order to bound the overall number
+ * of solver calls, e.g. for asynchronous calls via {@link SATSolver#satAsync(Executor)} or
+ * {@link MaxSATSolver#solveAsync(Executor)}.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class BoundedSolverExecutor implements Executor {
+
+  private final Executor executor;
+  private final int maxRunning;
+  private final Semaphore permits;
+  private final ConcurrentLinkedQueue<Runnable> queue;
+
+  /**
+   * Constructs a new bounded executor.
+   * @param executor   the underlying executor
+   * @param maxRunning the maximal number of tasks running at the same time
+   * @throws IllegalArgumentException if the maximal number of running tasks is not positive
+   */
+  public BoundedSolverExecutor(final Executor executor, final int maxRunning) {
+    if (maxRunning < 1)
+      throw new IllegalArgumentException("The maximal number of running tasks must be positive: " + maxRunning);
+    this.executor = executor;
+    this.maxRunning = maxRunning;
+    this.permits = new Semaphore(maxRunning);
+    this.queue = new ConcurrentLinkedQueue<>();
+  }
+
+  @Override
+  public void execute(final Runnable task) {
+    if (task == null)
+      throw new NullPointerException("The task must not be null");
+    this.queue.offer(task);
+    this.dispatch(true);
+  }
+
+  /**
+   * Returns the number of tasks which are currently running.
+   * @return the number of tasks which are currently running
+   */
+  public int running() {
+    return this.maxRunning - this.permits.availablePermits();
+  }
+
+  /**
+   * Returns the number of tasks which are waiting to be dispatched.
+   * @return the number of tasks which are waiting to be dispatched
+   */
+  public int queued() {
+    return this.queue.size();
+  }
+
+  /**
+   * Dispatches queued tasks to the underlying executor as long as there are free slots.  If the underlying executor
+   * rejects a task which is a future, the future is canceled.
+   * @param rethrow whether an exception of the underlying executor should be rethrown
+   */
+  private void dispatch(final boolean rethrow) {
+    while (!this.queue.isEmpty() && this.permits.tryAcquire()) {
+      final Runnable task = this.queue.poll();
+      if (task == null) {
+        this.permits.release();
+        continue;
+      }
+      try {
+        this.executor.execute(new Runnable() {
+          @Override
+          public void run() {
+            try {
+              task.run();
+            } finally {
+              BoundedSolverExecutor.this.permits.release();
+              BoundedSolverExecutor.this.dispatch(false);
+            }
+          }
+        });
+      } catch (final RejectedExecutionException e) {
+        this.permits.release();
+        if (task instanceof Future)
+          ((Future<?>) task).cancel(false);
+        if (rethrow)
+          throw e;
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format("BoundedSolverExecutor{maxRunning=%d, running=%d, queued=%d}", this.maxRunning, this.running(),
+            this.queued());
+  }
+}
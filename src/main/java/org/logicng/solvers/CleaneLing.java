@@ -31,6 +31,7 @@ package org.logicng.solvers;
 import org.logicng.cardinalityconstraints.CCEncoder;
 import org.logicng.cardinalityconstraints.CCIncrementalData;
 import org.logicng.collections.LNGBooleanVector;
+import org.logicng.collections.LNGIntVector;
 import org.logicng.datastructures.Assignment;
 import org.logicng.datastructures.EncodingResult;
 import org.logicng.datastructures.Tristate;
@@ -72,6 +73,7 @@ public final class CleaneLing extends SATSolver {
 
   public static final int CLAUSE_TERMINATOR = 0;
   private final CCEncoder ccEncoder;
+  private final CleaneLingConfig config;
   private final CleaneLingStyleSolver solver;
   private SolverStyle solverStyle;
   private boolean plain;
@@ -99,6 +101,7 @@ public final class CleaneLing extends SATSolver {
         throw new IllegalArgumentException("Unknown solver style: " + solverStyle);
     }
     this.result = UNDEF;
+    this.config = config;
     this.solverStyle = solverStyle;
     this.plain = config.plain();
     this.name2idx = new TreeMap<>();
@@ -144,6 +147,32 @@ public final class CleaneLing extends SATSolver {
     return new CleaneLing(f, SolverStyle.FULL, config);
   }
 
+  /**
+   * Returns a copy of this solver which uses a given formula factory.  The original clauses and the name mapping of
+   * this solver are replayed on a new solver with the same configuration.  In contrast to {@link MiniSat#copy()},
+   * learnt clauses and variable heuristics are not copied.
+   * @param f the formula factory of the copy
+   * @return a copy of this solver
+   */
+  public CleaneLing copy(final FormulaFactory f) {
+    final CleaneLing copy = new CleaneLing(f, this.solverStyle, this.config);
+    copy.name2idx.putAll(this.name2idx);
+    copy.idx2name.putAll(this.idx2name);
+    final LNGIntVector literals = this.solver.originalLiterals();
+    for (int i = 0; i < literals.size(); i++)
+      copy.solver.addlit(literals.get(i));
+    return copy;
+  }
+
+  /**
+   * Returns a copy of this solver which uses the same formula factory as this solver.
+   * @return a copy of this solver
+   * @see #copy(FormulaFactory)
+   */
+  public CleaneLing copy() {
+    return this.copy(this.f);
+  }
+
   @Override
   public void add(final Formula formula, Proposition proposition) {
     if (formula.type() == FType.PBC) {
@@ -284,6 +313,16 @@ public final class CleaneLing extends SATSolver {
     throw new UnsupportedOperationException("The CleaneLing solver does not support state loading/saving");
   }
 
+  @Override
+  public void push() {
+    throw new UnsupportedOperationException("The CleaneLing solver does not support assertion scopes");
+  }
+
+  @Override
+  public void pop() {
+    throw new UnsupportedOperationException("The CleaneLing solver does not support assertion scopes");
+  }
+
   @Override
   public SortedSet<Variable> knownVariables() {
     final SortedSet<Variable> result = new TreeSet<>();
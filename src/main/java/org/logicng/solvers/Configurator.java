@@ -0,0 +1,299 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers;
+
+import static org.logicng.datastructures.Tristate.UNDEF;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.mkLit;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.sign;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.var;
+
+import org.logicng.collections.LNGBooleanVector;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * A configurator for the interactive configuration of the formula of a MiniSat solver.
+ * <p>
+ * For a set of decisions the configurator computes the valid domains of a fixed set of variables, i.e. which
+ * variables are forced to a value by the decisions and which variables can still be chosen freely.  Since decisions
+ * are usually made one after another, the configurator keeps state between the calls:
+ * <ul>
+ * <li>the literals implied by unit propagation of the decisions are forced without any solver call</li>
+ * <li>the forced literals of the previous call are reused if the new decisions extend the previous ones</li>
+ * <li>a pool of recent models is reused as witnesses for both values of a variable</li>
+ * <li>the remaining variables are tested in chunks by the backbone computation of the underlying solver</li>
+ * <li>the results of recent decision sets are cached</li>
+ * </ul>
+ * The formula of the solver must not change while the configurator is in use.  If it is changed, the configurator
+ * has to be {@link #reset() reset}.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class Configurator {
+
+  private static final int MAX_MODELS = 32;
+  private static final int MAX_CACHED_RESULTS = 64;
+
+  private final MiniSat solver;
+  private final FormulaFactory f;
+  private final MiniSatStyleSolver core;
+  private final LNGIntVector relevantIndices;
+  private final List<Variable> unknownVariables;
+  private final LinkedList<LNGBooleanVector> models;
+  private final ResultCache cache;
+  private List<Integer> lastDecisions;
+  private LNGIntVector lastForced;
+
+  /**
+   * Constructs a new configurator.
+   * @param solver    the solver
+   * @param variables the variables whose valid domains are computed
+   */
+  Configurator(final MiniSat solver, final Collection<Variable> variables) {
+    this.solver = solver;
+    this.f = solver.factory();
+    this.core = solver.underlyingSolver();
+    this.relevantIndices = new LNGIntVector(variables.size());
+    this.unknownVariables = new ArrayList<>();
+    for (final Variable var : new LinkedHashSet<>(variables)) {
+      final int index = this.core.idxForName(var.name());
+      if (index == -1)
+        this.unknownVariables.add(var);
+      else
+        this.relevantIndices.push(index);
+    }
+    this.models = new LinkedList<>();
+    this.cache = new ResultCache();
+  }
+
+  /**
+   * Computes the valid domains of the variables of this configurator for a given set of decisions.  The positive and
+   * negative backbone of the result contain the variables which are forced to true and false resp., the optional
+   * variables can still be set to both values.  Decisions on variables which are unknown to the solver simply force
+   * these variables.  If the decisions are not compatible with the formula, the unsatisfiable backbone is returned.
+   * @param decisions the decisions
+   * @return the valid domains
+   */
+  public Backbone validDomains(final Collection<? extends Literal> decisions) {
+    final TreeSet<Integer> sortedAssumptions = new TreeSet<>();
+    final Map<Variable, Boolean> unknownDecisions = new HashMap<>();
+    for (final Literal lit : decisions) {
+      final int index = this.core.idxForName(lit.name());
+      if (index != -1)
+        sortedAssumptions.add(mkLit(index, !lit.phase()));
+      else {
+        final Boolean previous = unknownDecisions.put(lit.variable(), lit.phase());
+        if (previous != null && previous != lit.phase())
+          return Backbone.unsatBackbone();
+      }
+    }
+    final List<Integer> key = new ArrayList<>(sortedAssumptions);
+    final LNGIntVector forced;
+    if (this.cache.containsKey(key))
+      forced = this.cache.get(key);
+    else {
+      forced = this.computeForced(key);
+      this.cache.put(key, forced);
+      this.lastDecisions = key;
+      this.lastForced = forced;
+    }
+    return forced == null ? Backbone.unsatBackbone() : this.createBackbone(forced, unknownDecisions);
+  }
+
+  /**
+   * Clears all cached results and models.  This method has to be called if the formula of the solver was changed.
+   */
+  public void reset() {
+    this.models.clear();
+    this.cache.clear();
+    this.lastDecisions = null;
+    this.lastForced = null;
+  }
+
+  /**
+   * Computes the forced literals of the relevant variables for a set of decisions.
+   * @param decisions the sorted solver literals of the decisions
+   * @return the forced literals or {@code null} if the decisions are not compatible with the formula
+   */
+  private LNGIntVector computeForced(final List<Integer> decisions) {
+    final LNGIntVector assumptions = new LNGIntVector(decisions.size());
+    for (final int lit : decisions)
+      assumptions.push(lit);
+    final boolean extendsLast = this.lastDecisions != null && isSubset(this.lastDecisions, decisions);
+    if (extendsLast && this.lastForced == null)
+      return null;
+    final LNGIntVector implied = this.core.impliedLiterals(assumptions);
+    if (implied == null)
+      return null;
+    final int numVars = this.core.nVars();
+    final byte[] assigned = new byte[2 * numVars];
+    for (int i = 0; i < implied.size(); i++)
+      assigned[implied.get(i)] = 1;
+    if (extendsLast)
+      for (int i = 0; i < this.lastForced.size(); i++)
+        assigned[this.lastForced.get(i)] = 1;
+    final boolean witnessFound = this.applyWitnesses(assumptions, assigned);
+    final LNGIntVector uncertain = new LNGIntVector();
+    for (int i = 0; i < this.relevantIndices.size(); i++) {
+      final int index = this.relevantIndices.get(i);
+      final int pos = mkLit(index, false);
+      final int neg = mkLit(index, true);
+      if (assigned[pos] != 1 && assigned[neg] != 1 && (assigned[pos] != 2 || assigned[neg] != 2))
+        uncertain.push(index);
+    }
+    if (!witnessFound || !uncertain.empty()) {
+      final LNGIntVector backbone = this.core.computeBackbone(uncertain, assumptions, this.solver.backboneChunkSize());
+      this.solver.result = UNDEF;
+      if (backbone == null)
+        return null;
+      for (int i = 0; i < backbone.size(); i++)
+        assigned[backbone.get(i)] = 1;
+      this.models.addFirst(new LNGBooleanVector(this.core.model()));
+      if (this.models.size() > MAX_MODELS)
+        this.models.removeLast();
+    }
+    final LNGIntVector forced = new LNGIntVector();
+    for (int i = 0; i < this.relevantIndices.size(); i++) {
+      final int index = this.relevantIndices.get(i);
+      if (assigned[mkLit(index, false)] == 1)
+        forced.push(mkLit(index, false));
+      else if (assigned[mkLit(index, true)] == 1)
+        forced.push(mkLit(index, true));
+    }
+    return forced;
+  }
+
+  /**
+   * Marks the literals of all stored models which satisfy the given assumptions as possible (with value 2) unless
+   * they are already forced.  A variable whose literals are both possible is free.
+   * @param assumptions the assumptions
+   * @param assigned    the state of the literals
+   * @return {@code true} if at least one stored model satisfies the assumptions
+   */
+  private boolean applyWitnesses(final LNGIntVector assumptions, final byte[] assigned) {
+    boolean witnessFound = false;
+    final Iterator<LNGBooleanVector> it = this.models.iterator();
+    while (it.hasNext()) {
+      final LNGBooleanVector model = it.next();
+      if (!satisfies(model, assumptions))
+        continue;
+      witnessFound = true;
+      for (int i = 0; i < this.relevantIndices.size(); i++) {
+        final int index = this.relevantIndices.get(i);
+        if (index < model.size()) {
+          final int lit = mkLit(index, !model.get(index));
+          if (assigned[lit] == 0)
+            assigned[lit] = 2;
+        }
+      }
+    }
+    return witnessFound;
+  }
+
+  /**
+   * Creates the valid domains from the forced literals and the decisions on unknown variables.
+   * @param forced           the forced literals of the relevant variables
+   * @param unknownDecisions the decisions on variables which are unknown to the solver
+   * @return the valid domains
+   */
+  private Backbone createBackbone(final LNGIntVector forced, final Map<Variable, Boolean> unknownDecisions) {
+    final List<Variable> positive = new ArrayList<>();
+    final List<Variable> negative = new ArrayList<>();
+    final List<Variable> optional = new ArrayList<>();
+    final Map<Integer, Boolean> phases = new HashMap<>();
+    for (int i = 0; i < forced.size(); i++)
+      phases.put(var(forced.get(i)), !sign(forced.get(i)));
+    for (int i = 0; i < this.relevantIndices.size(); i++) {
+      final int index = this.relevantIndices.get(i);
+      addVariable(this.f.variable(this.core.nameForIdx(index)), phases.get(index), positive, negative, optional);
+    }
+    for (final Variable var : this.unknownVariables)
+      addVariable(var, unknownDecisions.get(var), positive, negative, optional);
+    return new Backbone(positive, negative, optional);
+  }
+
+  private static void addVariable(final Variable var, final Boolean phase, final List<Variable> positive,
+                                  final List<Variable> negative, final List<Variable> optional) {
+    if (phase == null)
+      optional.add(var);
+    else if (phase)
+      positive.add(var);
+    else
+      negative.add(var);
+  }
+
+  private static boolean satisfies(final LNGBooleanVector model, final LNGIntVector assumptions) {
+    for (int i = 0; i < assumptions.size(); i++) {
+      final int lit = assumptions.get(i);
+      if (var(lit) >= model.size() || model.get(var(lit)) == sign(lit))
+        return false;
+    }
+    return true;
+  }
+
+  private static boolean isSubset(final List<Integer> sub, final List<Integer> sup) {
+    int j = 0;
+    for (final int elem : sub) {
+      while (j < sup.size() && sup.get(j) < elem)
+        j++;
+      if (j == sup.size() || sup.get(j) != elem)
+        return false;
+      j++;
+    }
+    return true;
+  }
+
+  /**
+   * An LRU cache for the forced literals of recent decision sets.
+   */
+  private static final class ResultCache extends LinkedHashMap<List<Integer>, LNGIntVector> {
+    private ResultCache() {
+      super(16, 0.75f, true);
+    }
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<List<Integer>, LNGIntVector> eldest) {
+      return this.size() > MAX_CACHED_RESULTS;
+    }
+  }
+}
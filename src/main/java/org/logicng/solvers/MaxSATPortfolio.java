@@ -0,0 +1,421 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers;
+
+import org.logicng.collections.LNGBooleanVector;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.Formula;
+import org.logicng.handlers.MaxSATHandler;
+import org.logicng.handlers.SATHandler;
+import org.logicng.handlers.SharedBoundsMaxSATHandler;
+import org.logicng.solvers.maxsat.algorithms.MaxSAT;
+import org.logicng.solvers.maxsat.algorithms.MaxSATConfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.logicng.solvers.maxsat.algorithms.MaxSAT.MaxSATResult.OPTIMUM;
+import static org.logicng.solvers.maxsat.algorithms.MaxSAT.MaxSATResult.UNDEF;
+import static org.logicng.solvers.maxsat.algorithms.MaxSAT.MaxSATResult.UNSATISFIABLE;
+
+/**
+ * A parallel portfolio of MaxSAT solvers.
+ * <p>
+ * All formulas are added to each member of the portfolio and the members solve the formula at the same time, each in
+ * an own task of the given executor.  The members share their bounds via their MaxSAT handlers: the best lower bound
+ * and the best upper bound with its model are collected in the portfolio, and all members are stopped as soon as the
+ * bounds meet, a member has found the optimum, or a member has proven the hard clauses unsatisfiable.
+ * <p>
+ * The shared bounds are also fed back into the members: their handlers are {@link SharedBoundsMaxSATHandler shared
+ * bounds handlers}.  All algorithms which harden soft clauses use the shared upper bound for hardening, LinearSU
+ * additionally excludes all models which are not better than the shared upper bound, and OLL and LinearSU stop as
+ * soon as their own upper bound reaches the shared lower bound.  The default portfolio runs the core-guided
+ * algorithms OLL and WBO, which improve the lower bound, and LinearSU, which improves the upper bound.
+ * <p>
+ * The members must not be used on their own.  The formulas are converted to CNF when they are added, i.e. in the
+ * thread calling this portfolio; the members do not create formulas during the search.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class MaxSATPortfolio {
+
+  private final List<MaxSATSolver> members;
+  private final Executor executor;
+  private MaxSAT.MaxSATResult result;
+  private boolean solved;
+  private Bounds bounds;
+
+  /**
+   * Constructs a new portfolio with OLL, WBO, and LinearSU as members.
+   * @param executor the executor for the members
+   */
+  public MaxSATPortfolio(final Executor executor) {
+    this(executor, MaxSATSolver.oll(), MaxSATSolver.wbo(), MaxSATSolver.linearSU(new MaxSATConfig.Builder()
+            .cardinality(MaxSATConfig.CardinalityEncoding.MTOTALIZER).build()));
+  }
+
+  /**
+   * Constructs a new portfolio with the given members.  The members must be fresh solvers.
+   * @param executor the executor for the members
+   * @param members  the members
+   * @throws IllegalArgumentException if no member is given
+   */
+  public MaxSATPortfolio(final Executor executor, final MaxSATSolver... members) {
+    if (members.length == 0)
+      throw new IllegalArgumentException("A MaxSAT portfolio requires at least one member");
+    this.executor = executor;
+    this.members = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(members)));
+    this.reset();
+  }
+
+  /**
+   * Resets the portfolio and all its members.
+   */
+  public void reset() {
+    for (final MaxSATSolver member : this.members)
+      member.reset();
+    this.result = UNDEF;
+    this.solved = false;
+    this.bounds = null;
+  }
+
+  /**
+   * Adds a new hard formula to all members of the portfolio.
+   * @param formula the formula
+   * @throws IllegalStateException if a formula is added to a portfolio which is already solved
+   */
+  public void addHardFormula(final Formula formula) {
+    this.checkNotSolved();
+    final Formula cnf = formula.cnf();
+    for (final MaxSATSolver member : this.members)
+      member.addHardFormula(cnf);
+  }
+
+  /**
+   * Adds a new soft formula to all members of the portfolio.
+   * @param formula the formula
+   * @param weight  the weight
+   * @throws IllegalStateException    if a formula is added to a portfolio which is already solved
+   * @throws IllegalArgumentException if the weight is &lt;1
+   */
+  public void addSoftFormula(final Formula formula, final long weight) {
+    this.checkNotSolved();
+    final Formula cnf = formula.cnf();
+    for (final MaxSATSolver member : this.members)
+      member.addSoftFormula(cnf, weight);
+  }
+
+  private void checkNotSolved() {
+    if (this.solved)
+      throw new IllegalStateException("The MaxSAT portfolio does not support an incremental interface.  Reset the portfolio.");
+  }
+
+  /**
+   * Solves the formula with all members of the portfolio and returns the result.
+   * @return the result (UNSAT, Optimum found)
+   */
+  public MaxSAT.MaxSATResult solve() {
+    return this.solve(null);
+  }
+
+  /**
+   * Solves the formula with all members of the portfolio and returns the result.  The given handler is informed about
+   * each improvement of the shared bounds and its SAT handler is asked on the conflicts of all members.  Since the
+   * members run in different threads, the calls to the handler are synchronized.
+   * @param handler a MaxSAT handler
+   * @return the result (UNSAT, Optimum found, or UNDEF if canceled by the handler)
+   * @throws IllegalStateException if a member failed with an exception
+   */
+  public MaxSAT.MaxSATResult solve(final MaxSATHandler handler) {
+    if (this.solved)
+      return this.result;
+    this.bounds = new Bounds(handler);
+    if (handler != null)
+      handler.startedSolving();
+    final CountDownLatch finished = new CountDownLatch(this.members.size());
+    final AtomicReference<Throwable> error = new AtomicReference<>();
+    for (final MaxSATSolver member : this.members) {
+      this.executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            final MaxSAT.MaxSATResult memberResult = member.solve(new MemberHandler(member, MaxSATPortfolio.this.bounds));
+            if (memberResult == OPTIMUM)
+              MaxSATPortfolio.this.bounds.optimum(member.result(), member);
+            else if (memberResult == UNSATISFIABLE)
+              MaxSATPortfolio.this.bounds.unsatisfiable();
+          } catch (final RuntimeException e) {
+            error.compareAndSet(null, e);
+            MaxSATPortfolio.this.bounds.stop();
+          } finally {
+            finished.countDown();
+          }
+        }
+      });
+    }
+    boolean interrupted = false;
+    while (finished.getCount() > 0) {
+      try {
+        finished.await();
+      } catch (final InterruptedException e) {
+        interrupted = true;
+        this.bounds.stop();
+      }
+    }
+    if (interrupted)
+      Thread.currentThread().interrupt();
+    if (handler != null)
+      handler.finishedSolving();
+    if (error.get() != null)
+      throw new IllegalStateException("A member of the MaxSAT portfolio failed", error.get());
+    this.result = this.bounds.result();
+    this.solved = true;
+    return this.result;
+  }
+
+  /**
+   * Returns the minimum weight (or number of clauses if unweighted) of clauses which have to be unsatisfied.
+   * @return the minimum weight of clauses which have to be unsatisfied or -1 if the formula is not satisfiable
+   * @throws IllegalStateException if the formula is not yet solved
+   */
+  public long result() {
+    if (this.result == UNDEF)
+      throw new IllegalStateException("Cannot get a result as long as the formula is not solved.  Call 'solve' first.");
+    return this.result == OPTIMUM ? this.bounds.upperBound : -1;
+  }
+
+  /**
+   * Returns the model of the current result.
+   * @return the model of the current result or {@code null} if the formula is not satisfiable
+   * @throws IllegalStateException if the formula is not yet solved
+   */
+  public Assignment model() {
+    if (this.result == UNDEF)
+      throw new IllegalStateException("Cannot get a model as long as the formula is not solved.  Call 'solve' first.");
+    return this.result == OPTIMUM ? this.bounds.modelOwner.createAssignment(this.bounds.model) : null;
+  }
+
+  /**
+   * Returns the members of this portfolio.
+   * @return the members of this portfolio
+   */
+  public List<MaxSATSolver> members() {
+    return this.members;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("MaxSATPortfolio{result=%s, members=%d}", this.result, this.members.size());
+  }
+
+  /**
+   * The bounds shared by all members of the portfolio.
+   */
+  private static final class Bounds {
+    private final MaxSATHandler handler;
+    private final SATHandler satHandler;
+    private volatile boolean stopped;
+    private boolean unsatisfiable;
+    private long lowerBound;
+    private long upperBound;
+    private LNGBooleanVector model;
+    private MaxSATSolver modelOwner;
+
+    private Bounds(final MaxSATHandler handler) {
+      this.handler = handler;
+      this.satHandler = handler == null ? null : handler.satHandler();
+      this.stopped = false;
+      this.unsatisfiable = false;
+      this.lowerBound = 0;
+      this.upperBound = -1;
+    }
+
+    private synchronized boolean foundLowerBound(final long lb) {
+      if (lb > this.lowerBound) {
+        this.lowerBound = lb;
+        if (this.handler != null && !this.handler.foundLowerBound(lb, null))
+          this.stop();
+        this.checkBounds();
+      }
+      return !this.stopped;
+    }
+
+    private synchronized boolean foundUpperBound(final long ub, final MaxSATSolver member) {
+      final LNGBooleanVector currentModel = member.currentModel();
+      if (!currentModel.empty() && (this.upperBound == -1 || ub < this.upperBound)) {
+        this.upperBound = ub;
+        this.model = currentModel;
+        this.modelOwner = member;
+        if (this.handler != null && !this.handler.foundUpperBound(ub, null))
+          this.stop();
+        this.checkBounds();
+      }
+      return !this.stopped;
+    }
+
+    private boolean detectedConflict() {
+      if (this.stopped)
+        return false;
+      if (this.satHandler == null)
+        return true;
+      synchronized (this) {
+        if (!this.stopped && !this.satHandler.detectedConflict())
+          this.stop();
+        return !this.stopped;
+      }
+    }
+
+    private synchronized long lowerBound() {
+      return this.lowerBound;
+    }
+
+    private synchronized long upperBound() {
+      return this.upperBound;
+    }
+
+    private synchronized void optimum(final long cost, final MaxSATSolver member) {
+      if (this.upperBound == -1 || cost <= this.upperBound) {
+        this.upperBound = cost;
+        this.model = member.currentModel();
+        this.modelOwner = member;
+      }
+      this.lowerBound = Math.max(this.lowerBound, cost);
+      this.stopped = true;
+    }
+
+    private synchronized void unsatisfiable() {
+      this.unsatisfiable = true;
+      this.stopped = true;
+    }
+
+    private void stop() {
+      this.stopped = true;
+    }
+
+    private void checkBounds() {
+      if (this.upperBound != -1 && this.lowerBound >= this.upperBound)
+        this.stopped = true;
+    }
+
+    private synchronized MaxSAT.MaxSATResult result() {
+      if (this.unsatisfiable)
+        return UNSATISFIABLE;
+      if (this.upperBound != -1 && this.lowerBound >= this.upperBound)
+        return OPTIMUM;
+      return UNDEF;
+    }
+  }
+
+  /**
+   * The MaxSAT handler of a single member which reports the bounds of the member to the shared bounds and shares the
+   * bounds of the other members with the member.
+   */
+  private static final class MemberHandler implements SharedBoundsMaxSATHandler {
+    private final MaxSATSolver member;
+    private final Bounds bounds;
+    private final SATHandler satHandler;
+    private long currentLb;
+    private long currentUb;
+
+    private MemberHandler(final MaxSATSolver member, final Bounds bounds) {
+      this.member = member;
+      this.bounds = bounds;
+      this.satHandler = new SATHandler() {
+        @Override
+        public boolean detectedConflict() {
+          return bounds.detectedConflict();
+        }
+
+        @Override
+        public void startedSolving() {
+          // nothing to do here
+        }
+
+        @Override
+        public void finishedSolving() {
+          // nothing to do here
+        }
+      };
+      this.currentLb = -1;
+      this.currentUb = -1;
+    }
+
+    @Override
+    public SATHandler satHandler() {
+      return this.satHandler;
+    }
+
+    @Override
+    public boolean foundLowerBound(final long lowerBound, final Assignment model) {
+      this.currentLb = lowerBound;
+      return this.bounds.foundLowerBound(lowerBound);
+    }
+
+    @Override
+    public boolean foundUpperBound(final long upperBound, final Assignment model) {
+      this.currentUb = upperBound;
+      return this.bounds.foundUpperBound(upperBound, this.member);
+    }
+
+    @Override
+    public void startedSolving() {
+      // nothing to do here
+    }
+
+    @Override
+    public void finishedSolving() {
+      // nothing to do here
+    }
+
+    @Override
+    public long lowerBoundApproximation() {
+      return this.currentLb;
+    }
+
+    @Override
+    public long upperBoundApproximation() {
+      return this.currentUb;
+    }
+
+    @Override
+    public long sharedLowerBound() {
+      return this.bounds.lowerBound();
+    }
+
+    @Override
+    public long sharedUpperBound() {
+      return this.bounds.upperBound();
+    }
+  }
+}
@@ -31,21 +31,41 @@ package org.logicng.solvers;
 import org.logicng.collections.LNGBooleanVector;
 import org.logicng.collections.LNGIntVector;
 import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.FType;
 import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
 import org.logicng.formulas.Literal;
 import org.logicng.formulas.Variable;
+import org.logicng.handlers.InterruptibleMaxSATHandler;
+import org.logicng.handlers.MaxSATEnumerationHandler;
 import org.logicng.handlers.MaxSATHandler;
+import org.logicng.solvers.maxsat.algorithms.IHS;
 import org.logicng.solvers.maxsat.algorithms.IncWBO;
 import org.logicng.solvers.maxsat.algorithms.LinearSU;
 import org.logicng.solvers.maxsat.algorithms.LinearUS;
 import org.logicng.solvers.maxsat.algorithms.MSU3;
 import org.logicng.solvers.maxsat.algorithms.MaxSAT;
 import org.logicng.solvers.maxsat.algorithms.MaxSATConfig;
+import org.logicng.solvers.maxsat.algorithms.OLL;
 import org.logicng.solvers.maxsat.algorithms.WBO;
 import org.logicng.solvers.maxsat.algorithms.WMSU3;
+import org.logicng.solvers.sat.MiniSatConfig;
+import org.logicng.util.Pair;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.SortedMap;
+import java.util.SortedSet;
 import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import static org.logicng.solvers.maxsat.algorithms.MaxSAT.MaxSATResult.OPTIMUM;
 import static org.logicng.solvers.maxsat.algorithms.MaxSAT.MaxSATResult.UNDEF;
@@ -53,19 +73,44 @@ import static org.logicng.solvers.maxsat.algorithms.MaxSAT.MaxSATResult.UNSATISF
 
 /**
  * A wrapper for the OpenWBO solver.
- * @version 1.3
+ * <p>
+ * If the algorithm supports incremental solving (currently only OLL), formulas can be added after the formula was
+ * solved and the formula can be solved under assumptions.  The solver keeps its learnt clauses, cores, and encodings
+ * between the calls.
+ * <p>
+ * Soft formulas can be assigned to levels of a lexicographic objective, where level 0 is the most important one.  The
+ * levels are optimized one after another on the same solver, the optimum of each level is frozen before the next level
+ * is added.  This requires an incremental algorithm and avoids encoding the levels by huge weights.
+ * <p>
+ * Besides a single optimal model, all optimal models or the k best models can be enumerated.  Since this requires the
+ * original formulas, they are only recorded if the enumeration is turned on in the configuration.
+ * <p>
+ * Weights are long values.  However, WMSU3, LinearSU without BMO, and the enumeration encode the objective by
+ * pseudo-Boolean constraints with integer coefficients.  Therefore, they only accept soft formulas as long as the sum
+ * of all soft clause weights fits into an integer.
+ * @version 1.4.1
  * @since 1.0
  */
 public final class MaxSATSolver {
 
-  private enum Algorithm {WBO, INC_WBO, LINEAR_SU, LINEAR_US, MSU3, WMSU3}
+  private enum Algorithm {WBO, INC_WBO, LINEAR_SU, LINEAR_US, MSU3, WMSU3, OLL, IHS}
 
   private final MaxSATConfig configuration;
   private final Algorithm algorithm;
   private MaxSAT.MaxSATResult result;
+  private boolean resultUnderAssumptions;
   private MaxSAT solver;
   private SortedMap<Variable, Integer> var2index;
   private SortedMap<Integer, Variable> index2var;
+  private SortedMap<Integer, List<Pair<Formula, Long>>> pendingLevels;
+  private SortedMap<Integer, Long> levelResults;
+  private SortedSet<Integer> softLevels;
+  private int currentLevel;
+  private boolean lexicographic;
+  private FormulaFactory f;
+  private List<Formula> hardClauses;
+  private List<Pair<Formula, Long>> softClauses;
+  private long intWeightSum;
 
   /**
    * Constructs a new MaxSAT solver with a given configuration.
@@ -181,14 +226,58 @@ public final class MaxSATSolver {
     return new MaxSATSolver(config, Algorithm.WMSU3);
   }
 
+  /**
+   * Returns a new MaxSAT solver using OLL as algorithm with the default configuration.
+   * @return the MaxSAT solver
+   */
+  public static MaxSATSolver oll() {
+    return new MaxSATSolver(new MaxSATConfig.Builder().build(), Algorithm.OLL);
+  }
+
+  /**
+   * Returns a new MaxSAT solver using OLL as algorithm with the given configuration.
+   * @param config the configuration
+   * @return the MaxSAT solver
+   */
+  public static MaxSATSolver oll(final MaxSATConfig config) {
+    return new MaxSATSolver(config, Algorithm.OLL);
+  }
+
+  /**
+   * Returns a new MaxSAT solver using an implicit hitting set algorithm with the default configuration.
+   * @return the MaxSAT solver
+   */
+  public static MaxSATSolver ihs() {
+    return new MaxSATSolver(new MaxSATConfig.Builder().build(), Algorithm.IHS);
+  }
+
+  /**
+   * Returns a new MaxSAT solver using an implicit hitting set algorithm with the given configuration.
+   * @param config the configuration
+   * @return the MaxSAT solver
+   */
+  public static MaxSATSolver ihs(final MaxSATConfig config) {
+    return new MaxSATSolver(config, Algorithm.IHS);
+  }
+
   /**
    * Resets the solver.
    * @throws IllegalArgumentException if the algorithm was unknown
    */
   public void reset() {
     this.result = UNDEF;
+    this.resultUnderAssumptions = false;
     this.var2index = new TreeMap<>();
     this.index2var = new TreeMap<>();
+    this.pendingLevels = new TreeMap<>();
+    this.levelResults = new TreeMap<>();
+    this.softLevels = new TreeSet<>();
+    this.currentLevel = 0;
+    this.lexicographic = false;
+    this.f = null;
+    this.hardClauses = new ArrayList<>();
+    this.softClauses = new ArrayList<>();
+    this.intWeightSum = 0;
     switch (this.algorithm) {
       case WBO:
         this.solver = new WBO(this.configuration);
@@ -208,6 +297,12 @@ public final class MaxSATSolver {
       case WMSU3:
         this.solver = new WMSU3(this.configuration);
         break;
+      case OLL:
+        this.solver = new OLL(this.configuration);
+        break;
+      case IHS:
+        this.solver = new IHS(this.configuration);
+        break;
       default:
         throw new IllegalArgumentException("Unknown MaxSAT algorithm: " + this.algorithm);
     }
@@ -216,11 +311,11 @@ public final class MaxSATSolver {
   /**
    * Adds a new hard formula to the solver.  Hard formulas must always be true.
    * @param formula the formula
-   * @throws IllegalStateException if a formula is added to a solver which is already solved.
+   * @throws IllegalStateException if a formula is added to a solver which is already solved and the algorithm does not
+   *                               support incremental solving
    */
   public void addHardFormula(final Formula formula) {
-    if (this.result != UNDEF)
-      throw new IllegalStateException("The MaxSAT solver does currently not support an incremental interface.  Reset the solver.");
+    this.checkIncremental();
     this.addCNF(formula.cnf(), -1);
   }
 
@@ -228,15 +323,87 @@ public final class MaxSATSolver {
    * Adds a new soft formula to the solver.
    * @param formula the formula
    * @param weight  the weight
-   * @throws IllegalStateException    if a formula is added to a solver which is already solved.
-   * @throws IllegalArgumentException if the weight is &lt;1
+   * @throws IllegalStateException    if a formula is added to a solver which is already solved and the algorithm does
+   *                                  not support incremental solving
+   * @throws IllegalArgumentException if the weight is &lt;1 or if the sum of all soft clause weights exceeds the
+   *                                  integer range for WMSU3, LinearSU without BMO, or a solver with enumeration
    */
-  public void addSoftFormula(final Formula formula, int weight) {
-    if (this.result != UNDEF)
-      throw new IllegalStateException("The MaxSAT solver does currently not support an incremental interface.  Reset the solver.");
+  public void addSoftFormula(final Formula formula, long weight) {
+    this.checkIncremental();
     if (weight < 1)
       throw new IllegalArgumentException("The weight of a formula must be > 0");
-    this.addCNF(formula.cnf(), weight);
+    final Formula cnf = formula.cnf();
+    this.checkIntWeights(cnf, weight);
+    this.softLevels.add(this.currentLevel);
+    this.addCNF(cnf, weight);
+  }
+
+  /**
+   * Adds a new soft formula to a level of a lexicographic objective.  Level 0 is the most important level and equal
+   * to {@link #addSoftFormula(Formula, long)}, the soft formulas of a higher level are only optimized among the
+   * optimal solutions of all lower levels.
+   * @param formula the formula
+   * @param weight  the weight within the level
+   * @param level   the level
+   * @throws IllegalStateException         if a formula is added to a solver which is already solved and the algorithm
+   *                                       does not support incremental solving or the lexicographic objective was
+   *                                       already optimized
+   * @throws IllegalArgumentException      if the weight is &lt;1 or the level is negative
+   * @throws UnsupportedOperationException if the level is greater than 0 and the algorithm does not support
+   *                                       incremental solving
+   */
+  public void addSoftFormula(final Formula formula, long weight, int level) {
+    if (level < 0)
+      throw new IllegalArgumentException("The level of a formula must be >= 0");
+    if (level == 0) {
+      this.addSoftFormula(formula, weight);
+      return;
+    }
+    this.checkIncremental();
+    if (weight < 1)
+      throw new IllegalArgumentException("The weight of a formula must be > 0");
+    if (!this.solver.supportsIncrementalSolving())
+      throw new UnsupportedOperationException("The MaxSAT algorithm does not support lexicographic objectives: " + this.algorithm);
+    List<Pair<Formula, Long>> formulas = this.pendingLevels.get(level);
+    if (formulas == null) {
+      formulas = new ArrayList<>();
+      this.pendingLevels.put(level, formulas);
+    }
+    formulas.add(new Pair<>(formula.cnf(), weight));
+    this.softLevels.add(level);
+    this.lexicographic = true;
+    this.result = UNDEF;
+  }
+
+  /**
+   * Checks whether the sum of all soft clause weights still fits into an integer if the clauses of the given soft
+   * formula are added.  This is required by WMSU3 and LinearSU without BMO since they encode the objective function
+   * by pseudo-Boolean constraints with integer coefficients, and by the enumeration of models.
+   * @param cnf    the CNF of the soft formula
+   * @param weight the weight of the soft formula
+   * @throws IllegalArgumentException if the sum of the weights exceeds the integer range
+   */
+  private void checkIntWeights(final Formula cnf, final long weight) {
+    if (this.algorithm != Algorithm.WMSU3 && (this.algorithm != Algorithm.LINEAR_SU || this.configuration.bmo())
+            && !this.configuration.enumeration())
+      return;
+    final int clauses = cnf.type() == FType.TRUE ? 0 : cnf.type() == FType.AND ? cnf.numberOfOperands() : 1;
+    if (clauses > 0 && weight > (Integer.MAX_VALUE - this.intWeightSum) / clauses)
+      throw new IllegalArgumentException(String.format("The sum of the soft clause weights exceeds the integer range which is supported by %s",
+              this.configuration.enumeration() ? "the enumeration of models" : "the algorithm " + this.algorithm));
+    this.intWeightSum += clauses * weight;
+  }
+
+  /**
+   * Checks whether formulas can be added to the solver.
+   * @throws IllegalStateException if the solver is already solved and the algorithm does not support incremental
+   *                               solving
+   */
+  private void checkIncremental() {
+    if (this.result != UNDEF && !this.solver.supportsIncrementalSolving())
+      throw new IllegalStateException("The MaxSAT algorithm does not support an incremental interface.  Reset the solver.");
+    if (this.lexicographic && (this.currentLevel > 0 || this.result != UNDEF))
+      throw new IllegalStateException("The lexicographic objective was already optimized.  Reset the solver.");
   }
 
   /**
@@ -244,7 +411,7 @@ public final class MaxSATSolver {
    * @param formula the formula in CNF
    * @param weight  the weight of this CNF (or -1 for a hard constraint)
    */
-  private void addCNF(final Formula formula, int weight) {
+  private void addCNF(final Formula formula, long weight) {
     switch (formula.type()) {
       case TRUE:
         break;
@@ -267,34 +434,48 @@ public final class MaxSATSolver {
    * @param formula the clause
    * @param weight  the weight of the clause (or -1 for a hard clause)
    */
-  private void addClause(final Formula formula, int weight) {
+  private void addClause(final Formula formula, long weight) {
     this.result = UNDEF;
     final LNGIntVector clauseVec = new LNGIntVector((int) formula.numberOfAtoms());
-    for (Literal lit : formula.literals()) {
-      Integer index = this.var2index.get(lit.variable());
-      if (index == null) {
-        index = this.solver.newLiteral(false) >> 1;
-        this.var2index.put(lit.variable(), index);
-        this.index2var.put(index, lit.variable());
-      }
-      int litNum = lit.phase() ? index * 2 : (index * 2) ^ 1;
-      clauseVec.push(litNum);
+    for (Literal lit : formula.literals())
+      clauseVec.push(this.literalIndex(lit));
+    if (this.configuration.enumeration()) {
+      this.f = formula.factory();
+      if (weight == -1)
+        this.hardClauses.add(formula);
+      else
+        this.softClauses.add(new Pair<>(formula, weight));
     }
-    if (weight == -1) {
+    if (weight == -1)
       this.solver.addHardClause(clauseVec);
-    } else {
+    else {
       this.solver.setCurrentWeight(weight);
       this.solver.updateSumWeights(weight);
       this.solver.addSoftClause(weight, clauseVec);
     }
   }
 
+  /**
+   * Returns the solver literal for a given literal.  Unknown variables are added to the solver.
+   * @param lit the literal
+   * @return the solver literal
+   */
+  private int literalIndex(final Literal lit) {
+    Integer index = this.var2index.get(lit.variable());
+    if (index == null) {
+      index = this.solver.newLiteral(false) >> 1;
+      this.var2index.put(lit.variable(), index);
+      this.index2var.put(index, lit.variable());
+    }
+    return lit.phase() ? index * 2 : (index * 2) ^ 1;
+  }
+
   /**
    * Solves the formula on the solver and returns the result.
    * @return the result (SAT, UNSAT, Optimum found)
    */
   public MaxSAT.MaxSATResult solve() {
-    return solve(null);
+    return this.solve((MaxSATHandler) null);
   }
 
   /**
@@ -303,26 +484,274 @@ public final class MaxSATSolver {
    * @return the result (SAT, UNSAT, Optimum found, or UNDEF if canceled by the handler)
    */
   public MaxSAT.MaxSATResult solve(final MaxSATHandler handler) {
-    if (this.result != UNDEF)
+    if (this.result != UNDEF && !this.resultUnderAssumptions)
       return this.result;
+    if (this.lexicographic)
+      return this.lexicographicSearch(handler);
+    return this.search(handler, new LNGIntVector());
+  }
+
+  /**
+   * Solves the formula on the solver under the given assumptions and returns the result.  The result and the model
+   * refer to the formula under the assumptions, they are not cached for later calls without assumptions.
+   * @param assumptions the assumption literals
+   * @return the result (SAT, UNSAT, Optimum found)
+   * @throws UnsupportedOperationException if the algorithm does not support incremental solving
+   */
+  public MaxSAT.MaxSATResult solve(final Collection<? extends Literal> assumptions) {
+    return this.solve(null, assumptions);
+  }
+
+  /**
+   * Solves the formula on the solver under the given assumptions and returns the result.  The result and the model
+   * refer to the formula under the assumptions, they are not cached for later calls without assumptions.
+   * @param handler     a MaxSAT handler
+   * @param assumptions the assumption literals
+   * @return the result (SAT, UNSAT, Optimum found, or UNDEF if canceled by the handler)
+   * @throws UnsupportedOperationException if the algorithm does not support incremental solving
+   */
+  public MaxSAT.MaxSATResult solve(final MaxSATHandler handler, final Collection<? extends Literal> assumptions) {
+    if (!this.solver.supportsIncrementalSolving())
+      throw new UnsupportedOperationException("The MaxSAT algorithm does not support solving under assumptions: " + this.algorithm);
+    if (this.lexicographic)
+      throw new UnsupportedOperationException("A lexicographic objective cannot be solved under assumptions");
+    final LNGIntVector assumptionVec = new LNGIntVector(assumptions.size());
+    for (final Literal lit : assumptions)
+      assumptionVec.push(this.literalIndex(lit));
+    return this.search(handler, assumptionVec);
+  }
+
+  /**
+   * Performs the search of the underlying algorithm.
+   * @param handler     a MaxSAT handler
+   * @param assumptions the assumptions, may be empty
+   * @return the result
+   */
+  private MaxSAT.MaxSATResult search(final MaxSATHandler handler, final LNGIntVector assumptions) {
     if (this.solver.currentWeight() == 1)
       this.solver.setProblemType(MaxSAT.ProblemType.UNWEIGHTED);
     else
       this.solver.setProblemType(MaxSAT.ProblemType.WEIGHTED);
+    this.solver.setAssumptions(assumptions);
     this.result = this.solver.search(handler);
+    this.resultUnderAssumptions = !assumptions.empty();
+    if (this.resultUnderAssumptions)
+      this.solver.setAssumptions(new LNGIntVector());
     return this.result;
   }
 
+  /**
+   * Optimizes the levels of the lexicographic objective one after another.  After the optimum of a level is found, it
+   * is frozen and the soft formulas of the next level are added to the solver.  If the handler aborts the search, a
+   * later call continues with the current level.
+   * @param handler a MaxSAT handler
+   * @return the result (SAT, UNSAT, Optimum found, or UNDEF if canceled by the handler)
+   */
+  private MaxSAT.MaxSATResult lexicographicSearch(final MaxSATHandler handler) {
+    while (true) {
+      final MaxSAT.MaxSATResult levelResult = this.search(handler, new LNGIntVector());
+      if (levelResult != OPTIMUM)
+        return levelResult;
+      if (this.softLevels.contains(this.currentLevel))
+        this.levelResults.put(this.currentLevel, this.solver.result());
+      if (this.pendingLevels.isEmpty())
+        return levelResult;
+      this.solver.freezeObjective();
+      this.currentLevel = this.pendingLevels.firstKey();
+      for (final Pair<Formula, Long> formula : this.pendingLevels.remove(this.currentLevel))
+        this.addCNF(formula.first(), formula.second());
+    }
+  }
+
+  /**
+   * Asynchronously solves the formula on the solver on a given executor.
+   * @param executor the executor
+   * @return the future of the result
+   * @see #solveAsync(Executor, MaxSATHandler)
+   */
+  public Future<MaxSAT.MaxSATResult> solveAsync(final Executor executor) {
+    return this.solveAsync(executor, null);
+  }
+
+  /**
+   * Asynchronously solves the formula on the solver on a given executor.  The result of the future is the same as the
+   * result of {@link #solve(MaxSATHandler)}.
+   * <p>
+   * Cancelling the future with {@code mayInterruptIfRunning} set to {@code true} interrupts the solving thread which
+   * cancels the solving process on the next conflict or the next new bound.  The given MaxSAT handler is respected as
+   * well.  The solver must not be used in any other way until the future is done.
+   * @param executor the executor
+   * @param handler  the MaxSAT handler, may be {@code null}
+   * @return the future of the result
+   */
+  public Future<MaxSAT.MaxSATResult> solveAsync(final Executor executor, final MaxSATHandler handler) {
+    final FutureTask<MaxSAT.MaxSATResult> task = new FutureTask<>(new Callable<MaxSAT.MaxSATResult>() {
+      @Override
+      public MaxSAT.MaxSATResult call() {
+        return solve(new InterruptibleMaxSATHandler(handler));
+      }
+    });
+    executor.execute(task);
+    return task;
+  }
+
   /**
    * Returns the minimum weight (or number of clauses if unweighted) of clauses which have to be unsatisfied.
-   * Therefore, if the minimum number of weights is 0, the formula is satisfiable.
+   * Therefore, if the minimum number of weights is 0, the formula is satisfiable.  For a lexicographic objective, the
+   * result is the optimal cost of the most important level, see {@link #lexicographicResult()} for all levels.
    * @return the minimum weight of clauses which have to be unsatisfied
    * @throws IllegalStateException if the formula is not yet solved
    */
-  public int result() {
+  public long result() {
+    if (this.result == UNDEF)
+      throw new IllegalStateException("Cannot get a result as long as the formula is not solved.  Call 'solve' first.");
+    if (this.result != OPTIMUM)
+      return -1;
+    if (this.lexicographic)
+      return this.levelResults.isEmpty() ? 0 : this.levelResults.get(this.levelResults.firstKey());
+    return this.solver.result();
+  }
+
+  /**
+   * Returns the optimal cost of each level of a lexicographic objective.  For a formula without levels, the result
+   * only contains level 0.
+   * @return the mapping from the levels to their optimal cost or an empty mapping if the formula is not satisfiable
+   * @throws IllegalStateException if the formula is not yet solved
+   */
+  public SortedMap<Integer, Long> lexicographicResult() {
     if (this.result == UNDEF)
       throw new IllegalStateException("Cannot get a result as long as the formula is not solved.  Call 'solve' first.");
-    return this.result == OPTIMUM ? this.solver.result() : -1;
+    if (this.result != OPTIMUM)
+      return new TreeMap<>();
+    if (this.lexicographic)
+      return Collections.unmodifiableSortedMap(this.levelResults);
+    final SortedMap<Integer, Long> result = new TreeMap<>();
+    result.put(0, this.solver.result());
+    return result;
+  }
+
+  /**
+   * Enumerates all optimal models of the formula wrt. a given set of variables.
+   * @param variables the variables of the models (if {@code null}, all variables of the solver are considered)
+   * @return all optimal models of the formula
+   * @see #enumerateBestModels(int, Collection, MaxSATEnumerationHandler)
+   */
+  public List<Assignment> enumerateOptimalModels(final Collection<Variable> variables) {
+    return this.enumerateOptimalModels(variables, null);
+  }
+
+  /**
+   * Enumerates all optimal models of the formula wrt. a given set of variables.  Each model is reported to the handler
+   * as soon as it is found.
+   * @param variables the variables of the models (if {@code null}, all variables of the solver are considered)
+   * @param handler   the enumeration handler (can be {@code null})
+   * @return all optimal models of the formula or the optimal models found until the handler aborted the enumeration
+   * @see #enumerateBestModels(int, Collection, MaxSATEnumerationHandler)
+   */
+  public List<Assignment> enumerateOptimalModels(final Collection<Variable> variables, final MaxSATEnumerationHandler handler) {
+    return this.enumerate(variables, Integer.MAX_VALUE, true, handler);
+  }
+
+  /**
+   * Enumerates the {@code k} best models of the formula wrt. a given set of variables.
+   * @param k         the maximal number of models
+   * @param variables the variables of the models (if {@code null}, all variables of the solver are considered)
+   * @return the {@code k} best models of the formula (or all models if there are less than {@code k})
+   * @see #enumerateBestModels(int, Collection, MaxSATEnumerationHandler)
+   */
+  public List<Assignment> enumerateBestModels(final int k, final Collection<Variable> variables) {
+    return this.enumerateBestModels(k, variables, null);
+  }
+
+  /**
+   * Enumerates the {@code k} best models of the formula wrt. a given set of variables.  The models are found and
+   * reported to the handler in the order of their cost.
+   * <p>
+   * The enumeration first solves the MaxSAT problem (if it is not solved yet).  Then the hard clauses and the relaxed
+   * soft clauses are loaded once into a SAT solver with native pseudo-Boolean propagation.  The optimum is fixed by a
+   * cost constraint and the models of this cost are enumerated with blocking clauses.  If more models are required,
+   * the next best cost among the remaining models is computed on the same solver by
+   * {@link SATSolver#optimize(Objective, Optimizer.Direction)} and the enumeration continues with this cost.
+   * <p>
+   * The models are projected to the given variables, a projected model is reported once with the lowest cost of its
+   * extensions.  Variables which are unknown to the solver are ignored.  The enumeration must be turned on in the
+   * configuration of the solver, see {@link MaxSATConfig.Builder#enumeration(boolean)}.
+   * @param k         the maximal number of models
+   * @param variables the variables of the models (if {@code null}, all variables of the solver are considered)
+   * @param handler   the enumeration handler (can be {@code null})
+   * @return the {@code k} best models of the formula (or all models if there are less than {@code k}) or the models
+   * found until the handler aborted the enumeration
+   * @throws IllegalArgumentException      if {@code k} is not positive
+   * @throws UnsupportedOperationException if the objective is lexicographic
+   * @throws IllegalStateException         if the enumeration is not turned on in the configuration
+   */
+  public List<Assignment> enumerateBestModels(final int k, final Collection<Variable> variables, final MaxSATEnumerationHandler handler) {
+    if (k < 1)
+      throw new IllegalArgumentException("The number of models must be positive: " + k);
+    return this.enumerate(variables, k, false, handler);
+  }
+
+  /**
+   * Enumerates the best models of the formula.
+   * @param variables   the variables of the models (if {@code null}, all variables of the solver are considered)
+   * @param k           the maximal number of models
+   * @param onlyOptimal whether only optimal models should be enumerated
+   * @param handler     the enumeration handler (can be {@code null})
+   * @return the models
+   */
+  private List<Assignment> enumerate(final Collection<Variable> variables, final int k, final boolean onlyOptimal,
+                                     final MaxSATEnumerationHandler handler) {
+    if (!this.configuration.enumeration())
+      throw new IllegalStateException("Cannot enumerate models if the enumeration is not turned on in the configuration");
+    if (this.lexicographic)
+      throw new UnsupportedOperationException("The models of a lexicographic objective cannot be enumerated");
+    final List<Assignment> models = new ArrayList<>();
+    if (this.solve() != OPTIMUM)
+      return models;
+    if (this.f == null) {
+      models.add(new Assignment());
+      if (handler != null)
+        handler.foundModel(models.get(0), 0);
+      return models;
+    }
+    final List<Variable> relevantVariables = new ArrayList<>();
+    for (final Variable var : variables == null ? this.var2index.keySet() : variables)
+      if (this.var2index.containsKey(var))
+        relevantVariables.add(var);
+    final SATSolver satSolver = MiniSat.miniSat(this.f, new MiniSatConfig.Builder().pbPropagation(true).build());
+    satSolver.add(this.hardClauses);
+    final List<Literal> relaxationLiterals = new ArrayList<>(this.softClauses.size());
+    final List<Integer> weights = new ArrayList<>(this.softClauses.size());
+    for (final Pair<Formula, Long> softClause : this.softClauses) {
+      final Variable relaxationVar = this.f.newPBVariable();
+      satSolver.add(this.f.or(softClause.first(), relaxationVar));
+      relaxationLiterals.add(relaxationVar);
+      weights.add(softClause.second().intValue());
+    }
+    long cost = this.solver.result();
+    boolean proceed = true;
+    while (true) {
+      final List<Formula> blockingClauses = new ArrayList<>();
+      satSolver.push();
+      if (!relaxationLiterals.isEmpty())
+        satSolver.add(this.f.pbc(CType.LE, (int) cost, relaxationLiterals, weights));
+      while (proceed && models.size() < k && satSolver.sat() == Tristate.TRUE) {
+        final Assignment model = satSolver.model(relevantVariables);
+        models.add(model);
+        proceed = handler == null || handler.foundModel(model, cost);
+        final Formula blockingClause = model.blockingClause(this.f, null);
+        satSolver.add(blockingClause);
+        blockingClauses.add(blockingClause);
+      }
+      satSolver.pop();
+      if (!proceed || models.size() >= k || onlyOptimal)
+        return models;
+      satSolver.add(blockingClauses);
+      final OptimizationResult next = satSolver.optimize(new Objective(relaxationLiterals, weights), Optimizer.Direction.MINIMIZE);
+      if (next.result() != Tristate.TRUE)
+        return models;
+      cost = next.value();
+    }
   }
 
   /**
@@ -336,12 +765,21 @@ public final class MaxSATSolver {
     return this.result != UNSATISFIABLE ? this.createAssignment(this.solver.model()) : null;
   }
 
+  /**
+   * Returns a copy of the best model the underlying algorithm has found so far.  This method can be called by a
+   * handler during the search, in contrast to {@link #model()} it does not create any formulas.
+   * @return the best model found so far in terms of the solver variables
+   */
+  LNGBooleanVector currentModel() {
+    return new LNGBooleanVector(this.solver.model());
+  }
+
   /**
    * Creates an assignment from a Boolean vector of the solver.
    * @param vec the vector of the solver
    * @return the assignment
    */
-  private Assignment createAssignment(final LNGBooleanVector vec) {
+  Assignment createAssignment(final LNGBooleanVector vec) {
     final Assignment model = new Assignment();
     for (int i = 0; i < vec.size(); i++) {
       final Literal lit = this.index2var.get(i);
@@ -32,6 +32,7 @@ import org.logicng.cardinalityconstraints.CCEncoder;
 import org.logicng.cardinalityconstraints.CCIncrementalData;
 import org.logicng.collections.LNGBooleanVector;
 import org.logicng.collections.LNGIntVector;
+import org.logicng.collections.LNGLongVector;
 import org.logicng.collections.LNGVector;
 import org.logicng.datastructures.Assignment;
 import org.logicng.datastructures.EncodingResult;
@@ -61,6 +62,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -68,13 +70,17 @@ import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 import static org.logicng.datastructures.Tristate.TRUE;
 import static org.logicng.datastructures.Tristate.UNDEF;
 
 /**
  * Wrapper for the MiniSAT-style SAT solvers.
- * @version 1.3.1
+ * @version 1.4.1
  * @since 1.0
  */
 public final class MiniSat extends SATSolver {
@@ -86,6 +92,7 @@ public final class MiniSat extends SATSolver {
   private final CCEncoder ccEncoder;
   private final SolverStyle style;
   private final LNGIntVector validStates;
+  private final LNGVector<SolverState> scopeStates;
   private final boolean initialPhase;
   private final boolean incremental;
   private int nextStateId;
@@ -118,10 +125,32 @@ public final class MiniSat extends SATSolver {
     this.result = UNDEF;
     this.incremental = miniSatConfig.incremental();
     this.validStates = new LNGIntVector();
+    this.scopeStates = new LNGVector<>();
     this.nextStateId = 0;
     this.ccEncoder = new CCEncoder(f);
   }
 
+  /**
+   * Constructs a copy of a given SAT solver instance.
+   * @param f     the formula factory of the copy
+   * @param other the solver to copy
+   */
+  private MiniSat(final FormulaFactory f, final MiniSat other) {
+    super(f);
+    this.config = other.config;
+    this.style = other.style;
+    this.initialPhase = other.initialPhase;
+    this.solver = other.solver.copy();
+    this.result = other.result;
+    this.incremental = other.incremental;
+    this.validStates = new LNGIntVector(other.validStates);
+    this.scopeStates = new LNGVector<>(other.scopeStates.size());
+    for (final SolverState state : other.scopeStates)
+      this.scopeStates.push(state);
+    this.nextStateId = other.nextStateId;
+    this.ccEncoder = new CCEncoder(f);
+  }
+
   /**
    * Returns a new MiniSat solver.
    * @param f the formula factory
@@ -181,13 +210,36 @@ public final class MiniSat extends SATSolver {
     return new MiniSat(f, SolverStyle.MINICARD, config, null);
   }
 
+  /**
+   * Returns a copy of this solver.  The copy contains the same clause database, learnt clauses, variable heuristics,
+   * and name mapping as this solver, but is completely independent of it.  Solver states saved on this solver are
+   * also valid on the copy.  The copy uses the same formula factory as this solver.
+   * @return a copy of this solver
+   */
+  public MiniSat copy() {
+    return new MiniSat(this.f, this);
+  }
+
+  /**
+   * Returns a copy of this solver which uses a given formula factory.  Since formula factories are not thread-safe,
+   * this method should be used in order to work with the copy in another thread.
+   * @param f the formula factory of the copy
+   * @return a copy of this solver
+   */
+  public MiniSat copy(final FormulaFactory f) {
+    return new MiniSat(f, this);
+  }
+
   @Override
   public void add(final Formula formula, final Proposition proposition) {
     if (formula.type() == FType.PBC) {
       final PBConstraint constraint = (PBConstraint) formula;
       this.result = UNDEF;
-      if (constraint.isCC()) {
-        if (this.style == SolverStyle.MINICARD) {
+      if (this.style == SolverStyle.MINISAT && this.config.pbPropagation() && !this.config.proofGeneration()
+              && this.solver.scopes() == 0)
+        this.addNativePB(constraint);
+      else if (constraint.isCC()) {
+        if (this.style == SolverStyle.MINICARD && this.solver.scopes() == 0) {
           if (constraint.comparator() == CType.LE)
             ((MiniCard) this.solver).addAtMost(generateClauseVector(Arrays.asList(constraint.operands())), constraint.rhs());
           else if (constraint.comparator() == CType.LT && constraint.rhs() > 3)
@@ -207,6 +259,107 @@ public final class MiniSat extends SATSolver {
       this.addClauseSet(formula.cnf(), proposition);
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The MiniSat solver style supports XOR constraints natively (outside of scopes and without proof generation).  All
+   * other solver styles use the default encoding.
+   */
+  @Override
+  public void addXor(final Collection<? extends Literal> literals, final boolean rhs) {
+    if (this.style != SolverStyle.MINISAT || this.config.proofGeneration() || this.solver.scopes() > 0) {
+      super.addXor(literals, rhs);
+      return;
+    }
+    this.result = UNDEF;
+    boolean parity = rhs;
+    final LNGIntVector vars = new LNGIntVector(literals.size());
+    for (final Literal lit : literals) {
+      int index = this.solver.idxForName(lit.name());
+      if (index == -1) {
+        index = this.solver.newVar(!this.initialPhase, true);
+        this.solver.addName(lit.name(), index);
+      }
+      vars.push(index);
+      if (!lit.phase())
+        parity = !parity;
+    }
+    ((MiniSat2Solver) this.solver).addXor(vars, parity);
+  }
+
+  /**
+   * Adds a pseudo-Boolean constraint to the native pseudo-Boolean propagation of the MiniSat solver style.  Equivalences
+   * are split into two constraints.
+   * @param constraint the pseudo-Boolean constraint
+   */
+  private void addNativePB(final PBConstraint constraint) {
+    final long rhs = constraint.rhs();
+    switch (constraint.comparator()) {
+      case GE:
+        this.addNativePB(constraint, 1, rhs);
+        break;
+      case GT:
+        this.addNativePB(constraint, 1, rhs + 1);
+        break;
+      case LE:
+        this.addNativePB(constraint, -1, -rhs);
+        break;
+      case LT:
+        this.addNativePB(constraint, -1, -rhs + 1);
+        break;
+      case EQ:
+        this.addNativePB(constraint, 1, rhs);
+        this.addNativePB(constraint, -1, -rhs);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown pseudo-Boolean comparator: " + constraint.comparator());
+    }
+  }
+
+  /**
+   * Normalizes the constraint {@code factor * (c_1 * l_1 + ... + c_n * l_n) >= rhs} to positive coefficients with each
+   * variable occurring only once and adds it to the solver.
+   * @param constraint the pseudo-Boolean constraint
+   * @param factor     the factor of the coefficients ({@code 1} or {@code -1})
+   * @param rhs        the right-hand side
+   */
+  private void addNativePB(final PBConstraint constraint, final long factor, final long rhs) {
+    final Literal[] operands = constraint.operands();
+    final int[] coefficients = constraint.coefficients();
+    final Map<Integer, Long> varCoeffs = new LinkedHashMap<>();
+    long k = rhs;
+    for (int i = 0; i < operands.length; i++) {
+      final long coeff = factor * coefficients[i];
+      int index = this.solver.idxForName(operands[i].name());
+      if (index == -1) {
+        index = this.solver.newVar(!this.initialPhase, true);
+        this.solver.addName(operands[i].name(), index);
+      }
+      final Long current = varCoeffs.get(index);
+      final long sum = current == null ? 0 : current;
+      if (operands[i].phase())
+        varCoeffs.put(index, sum + coeff);
+      else {
+        varCoeffs.put(index, sum - coeff);
+        k -= coeff;
+      }
+    }
+    final LNGIntVector lits = new LNGIntVector(varCoeffs.size());
+    final LNGLongVector coeffs = new LNGLongVector(varCoeffs.size());
+    for (final Map.Entry<Integer, Long> entry : varCoeffs.entrySet()) {
+      final long coeff = entry.getValue();
+      if (coeff > 0) {
+        lits.push(entry.getKey() * 2);
+        coeffs.push(coeff);
+      } else if (coeff < 0) {
+        lits.push(entry.getKey() * 2 + 1);
+        coeffs.push(-coeff);
+        k -= coeff;
+      }
+    }
+    ((MiniSat2Solver) this.solver).addPB(lits, coeffs, k);
+  }
+
   @Override
   public void addWithoutUnknown(final Formula formula) {
     final int nVars = this.solver.nVars();
@@ -246,7 +399,7 @@ public final class MiniSat extends SATSolver {
   public Tristate sat(final SATHandler handler) {
     if (this.result != UNDEF)
       return this.result;
-    this.result = this.solver.solve(handler);
+    this.result = this.solver.scopes() == 0 ? this.solver.solve(handler) : this.solver.solve(handler, new LNGIntVector());
     return this.result;
   }
 
@@ -281,23 +434,63 @@ public final class MiniSat extends SATSolver {
     return this.result;
   }
 
+  @Override
+  public SortedSet<Literal> failedAssumptions() {
+    if (this.result != Tristate.FALSE)
+      throw new IllegalStateException("Failed assumptions can only be computed if the last solver call was unsatisfiable");
+    final SortedSet<Literal> failed = new TreeSet<>();
+    final LNGIntVector conflict = this.solver.conflict();
+    for (int i = 0; i < conflict.size(); i++) {
+      final int lit = conflict.get(i);
+      final String name = this.solver.nameForIdx(MiniSatStyleSolver.var(lit));
+      if (name != null && !name.startsWith(FormulaFactory.SCOPE_PREFIX))
+        failed.add(this.f.literal(name, MiniSatStyleSolver.sign(lit)));
+    }
+    return failed;
+  }
+
   @Override
   public void reset() {
     this.solver.reset();
+    this.scopeStates.clear();
     this.result = UNDEF;
   }
 
   @Override
   public Assignment model(final Collection<Variable> variables) {
+    final Model view = this.modelView(variables);
+    return view == null ? null : view.assignment();
+  }
+
+  /**
+   * Returns a lazy view of the model of the current formula on the solver.  In contrast to {@link #model()}, no
+   * assignment is created until it is requested on the view.  If the formula is UNSAT, {@code null} will be returned.
+   * @return a view of the model of the current formula
+   * @throws IllegalStateException if the formula is not solved yet
+   */
+  public Model modelView() {
+    return this.modelView(null);
+  }
+
+  /**
+   * Returns a lazy view of the model of the current formula on the solver wrt. a given set of variables.  If the set
+   * is {@code null}, all variables are considered relevant.  If the formula is UNSAT, {@code null} will be returned.
+   * @param variables the set of variables
+   * @return a view of the model of the current formula
+   * @throws IllegalStateException if the formula is not solved yet
+   */
+  public Model modelView(final Collection<Variable> variables) {
     if (this.result == UNDEF)
       throw new IllegalStateException("Cannot get a model as long as the formula is not solved.  Call 'sat' first.");
-    final LNGIntVector relevantIndices = variables == null ? null : new LNGIntVector(variables.size());
-    if (relevantIndices != null) {
-      for (final Variable var : variables) {
+    if (this.result != TRUE)
+      return null;
+    LNGIntVector relevantIndices = null;
+    if (variables != null) {
+      relevantIndices = new LNGIntVector(variables.size());
+      for (final Variable var : variables)
         relevantIndices.push(this.solver.idxForName(var.name()));
-      }
     }
-    return this.result == TRUE ? this.createAssignment(this.solver.model(), relevantIndices) : null;
+    return new Model(this.f, this.solver, this.solver.model(), relevantIndices);
   }
 
   @Override
@@ -344,7 +537,7 @@ public final class MiniSat extends SATSolver {
     }
     while (proceed && this.sat((SATHandler) null) == TRUE) {
       final LNGBooleanVector modelFromSolver = this.solver.model();
-      final Assignment model = this.createAssignment(modelFromSolver, relevantAllIndices);
+      final Assignment model = new Model(this.f, this.solver, modelFromSolver, relevantAllIndices).assignment();
       assert model != null;
       models.add(model);
       proceed = handler == null || handler.foundModel(model);
@@ -361,6 +554,266 @@ public final class MiniSat extends SATSolver {
     return models;
   }
 
+  /**
+   * Returns an iterator over all models of the current formula wrt. a given set of variables.  If the set is
+   * {@code null}, all variables of the solver are considered relevant.  The models are computed lazily, and the
+   * blocking clauses are removed from the solver when the iterator is closed (see {@link ModelIterator}).
+   * @param variables the set of variables
+   * @return the model iterator
+   */
+  public ModelIterator modelIterator(final Collection<Variable> variables) {
+    return this.modelIterator(variables, Collections.<Variable>emptyList());
+  }
+
+  /**
+   * Returns an iterator over all models of the current formula wrt. a given set of variables.  The models are
+   * projected to the given variables, but additionally contain the values of the additional variables.  If the set is
+   * {@code null}, all variables of the solver are considered relevant.  The models are computed lazily, and the
+   * blocking clauses are removed from the solver when the iterator is closed (see {@link ModelIterator}).
+   * @param variables           the set of variables
+   * @param additionalVariables the set of additional variables
+   * @return the model iterator
+   */
+  public ModelIterator modelIterator(final Collection<Variable> variables, final Collection<Variable> additionalVariables) {
+    final LNGIntVector relevantIndices;
+    LNGIntVector relevantAllIndices;
+    if (variables == null) {
+      relevantIndices = new LNGIntVector(this.solver.nVars());
+      for (int i = 0; i < this.solver.nVars(); i++)
+        relevantIndices.push(i);
+      relevantAllIndices = relevantIndices;
+    } else {
+      relevantIndices = new LNGIntVector(variables.size());
+      for (final Variable var : variables)
+        relevantIndices.push(this.solver.idxForName(var.name()));
+      relevantAllIndices = relevantIndices;
+      if (!additionalVariables.isEmpty()) {
+        final SortedSet<Variable> allVariables = new TreeSet<>(variables);
+        allVariables.addAll(additionalVariables);
+        relevantAllIndices = new LNGIntVector(allVariables.size());
+        for (final Variable var : allVariables)
+          relevantAllIndices.push(this.solver.idxForName(var.name()));
+      }
+    }
+    return new ModelIterator(this, relevantIndices, relevantAllIndices);
+  }
+
+  /**
+   * Enumerates all models of the current formula wrt. a given set of variables as cubes with don't-cares.  If the set
+   * is {@code null}, all variables of the solver are considered relevant.
+   * <p>
+   * Each model found by the solver is shrunk to a cube of the relevant variables (see
+   * {@link MiniSatStyleSolver#shrinkModel(LNGIntVector)}) before the cube is blocked.  The cubes are disjoint and
+   * together cover exactly the models of {@link #enumerateAllModels(Collection)}, so functions with many don't-cares
+   * require far fewer solver calls.  Relevant variables which are unknown to the solver are ignored, as in the model
+   * enumeration.  The blocking clauses are removed from the solver afterwards.
+   * @param variables the set of variables
+   * @return the list of cubes
+   */
+  public List<ModelCube> enumerateAllCubes(final Collection<Variable> variables) {
+    return this.enumerateAllCubes(variables, null);
+  }
+
+  /**
+   * Enumerates all models of the current formula wrt. a given set of variables as cubes with don't-cares.  If the set
+   * is {@code null}, all variables of the solver are considered relevant.  The handler is informed about the partial
+   * assignment of each cube and can stop the enumeration.
+   * @param variables the set of variables
+   * @param handler   the model enumeration handler
+   * @return the list of cubes
+   * @see #enumerateAllCubes(Collection)
+   */
+  public List<ModelCube> enumerateAllCubes(final Collection<Variable> variables, final ModelEnumerationHandler handler) {
+    final LNGIntVector relevantIndices;
+    if (variables == null) {
+      relevantIndices = new LNGIntVector(this.solver.nVars());
+      for (int i = 0; i < this.solver.nVars(); i++)
+        relevantIndices.push(i);
+    } else {
+      final Set<Variable> variableSet = new LinkedHashSet<>(variables);
+      relevantIndices = new LNGIntVector(variableSet.size());
+      for (final Variable var : variableSet) {
+        final int index = this.solver.idxForName(var.name());
+        if (index != -1)
+          relevantIndices.push(index);
+      }
+    }
+    final List<ModelCube> cubes = new LinkedList<>();
+    this.push();
+    boolean proceed = true;
+    while (proceed && this.sat((SATHandler) null) == TRUE) {
+      final LNGIntVector cube = this.solver.shrinkModel(relevantIndices);
+      final Assignment assignment = new Assignment();
+      final LNGIntVector blockingClause = new LNGIntVector(cube.size());
+      for (int i = 0; i < cube.size(); i++) {
+        final int lit = cube.get(i);
+        assignment.addLiteral(this.f.literal(this.solver.nameForIdx(lit >> 1), (lit & 1) == 0));
+        blockingClause.push(lit ^ 1);
+      }
+      cubes.add(new ModelCube(assignment, relevantIndices.size() - cube.size()));
+      proceed = handler == null || handler.foundModel(assignment);
+      if (cube.empty())
+        break;
+      this.solver.addClause(blockingClause, null);
+      this.result = UNDEF;
+    }
+    this.pop();
+    return cubes;
+  }
+
+  /**
+   * Computes the backbone of the current formula wrt. a given set of variables.  Variables which are unknown to the
+   * solver are optional.  If the set is {@code null}, all variables of the solver are considered relevant.
+   * <p>
+   * The backbone is computed on the underlying solver with model-based filtering, the level 0 assignments of the
+   * trail after each solver call, and chunked tests of the candidates (see
+   * {@link MiniSatStyleSolver#computeBackbone(LNGIntVector, int)}).
+   * @param variables the set of variables
+   * @return the backbone
+   */
+  @Override
+  public Backbone backbone(final Collection<Variable> variables) {
+    final List<Variable> optional = new ArrayList<>();
+    final LNGIntVector relevantIndices = this.backboneIndices(variables, optional);
+    final LNGIntVector backbone = this.solver.computeBackbone(relevantIndices, this.backboneChunkSize());
+    this.result = UNDEF;
+    return this.createBackbone(relevantIndices, backbone, optional);
+  }
+
+  /**
+   * Computes the backbone of the current formula wrt. a given set of variables in parallel.  The relevant variables
+   * are distributed over several copies of the underlying solver which compute the backbone of their variables
+   * independently.  This pays off for very large sets of variables.
+   * @param variables the set of variables
+   * @param executor  the executor for the copies
+   * @return the backbone
+   * @throws IllegalStateException if a computation failed or the calling thread was interrupted
+   */
+  public Backbone backbone(final Collection<Variable> variables, final Executor executor) {
+    final List<Variable> optional = new ArrayList<>();
+    final LNGIntVector relevantIndices = this.backboneIndices(variables, optional);
+    final int parts = Math.max(1, Math.min(relevantIndices.size(), 2 * Runtime.getRuntime().availableProcessors()));
+    final int chunkSize = this.backboneChunkSize();
+    final List<FutureTask<LNGIntVector>> tasks = new ArrayList<>(parts);
+    for (int p = 0; p < parts; p++) {
+      final LNGIntVector part = new LNGIntVector();
+      for (int i = p; i < relevantIndices.size(); i += parts)
+        part.push(relevantIndices.get(i));
+      final MiniSatStyleSolver copy = this.solver.copy();
+      final FutureTask<LNGIntVector> task = new FutureTask<>(new Callable<LNGIntVector>() {
+        @Override
+        public LNGIntVector call() {
+          return copy.computeBackbone(part, chunkSize);
+        }
+      });
+      tasks.add(task);
+      executor.execute(task);
+    }
+    LNGIntVector backbone = new LNGIntVector();
+    try {
+      for (final FutureTask<LNGIntVector> task : tasks) {
+        final LNGIntVector partBackbone = task.get();
+        if (partBackbone == null)
+          backbone = null;
+        else if (backbone != null)
+          for (int i = 0; i < partBackbone.size(); i++)
+            backbone.push(partBackbone.get(i));
+      }
+    } catch (final InterruptedException e) {
+      for (final FutureTask<LNGIntVector> task : tasks)
+        task.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the backbone computation", e);
+    } catch (final ExecutionException e) {
+      throw new IllegalStateException("The backbone computation failed", e.getCause());
+    }
+    return this.createBackbone(relevantIndices, backbone, optional);
+  }
+
+  /**
+   * Returns a new configurator which computes the valid domains of the given variables for sets of decisions.  The
+   * formula of this solver must not be changed while the configurator is in use.
+   * @param variables the variables whose valid domains are computed
+   * @return the configurator
+   */
+  public Configurator configurator(final Collection<Variable> variables) {
+    return new Configurator(this, variables);
+  }
+
+  /**
+   * Returns the solver indices of the relevant variables of a backbone computation and collects the variables which
+   * are unknown to the solver.
+   * @param variables the variables or {@code null} for all variables of the solver
+   * @param optional  the list for the unknown variables
+   * @return the solver indices of the relevant variables
+   */
+  private LNGIntVector backboneIndices(final Collection<Variable> variables, final List<Variable> optional) {
+    final Collection<Variable> relevant = variables == null ? this.knownVariables() : new LinkedHashSet<>(variables);
+    final LNGIntVector relevantIndices = new LNGIntVector(relevant.size());
+    for (final Variable var : relevant) {
+      final int index = this.solver.idxForName(var.name());
+      if (index == -1)
+        optional.add(var);
+      else
+        relevantIndices.push(index);
+    }
+    return relevantIndices;
+  }
+
+  /**
+   * Returns the maximal chunk size for the backbone computation.  Chunks are tested with clauses in assertion scopes,
+   * which is not compatible with the proof generation.
+   * @return the maximal chunk size
+   */
+  int backboneChunkSize() {
+    return this.config.proofGeneration() ? 1 : 64;
+  }
+
+  /**
+   * Creates the backbone from the backbone literals of the underlying solver.
+   * @param relevantIndices the solver indices of the relevant variables
+   * @param backbone        the backbone literals or {@code null} if the formula is unsatisfiable
+   * @param optional        the optional variables which are unknown to the solver
+   * @return the backbone
+   */
+  private Backbone createBackbone(final LNGIntVector relevantIndices, final LNGIntVector backbone,
+                                  final List<Variable> optional) {
+    if (backbone == null)
+      return Backbone.unsatBackbone();
+    final Map<Integer, Boolean> phases = new HashMap<>();
+    for (int i = 0; i < backbone.size(); i++)
+      phases.put(backbone.get(i) >> 1, (backbone.get(i) & 1) == 0);
+    final List<Variable> positive = new ArrayList<>();
+    final List<Variable> negative = new ArrayList<>();
+    for (int i = 0; i < relevantIndices.size(); i++) {
+      final int index = relevantIndices.get(i);
+      final Variable var = this.f.variable(this.solver.nameForIdx(index));
+      final Boolean phase = phases.get(index);
+      if (phase == null)
+        optional.add(var);
+      else if (phase)
+        positive.add(var);
+      else
+        negative.add(var);
+    }
+    return new Backbone(positive, negative, optional);
+  }
+
+  /**
+   * Computes the next model of a model enumeration and blocks it.
+   * @param relevantIndices    the solver indices of the variables which are used for the blocking clause
+   * @param relevantAllIndices the solver indices of all variables of the model
+   * @return the model or {@code null} if there are no further models
+   */
+  Model nextModel(final LNGIntVector relevantIndices, final LNGIntVector relevantAllIndices) {
+    if (this.sat((SATHandler) null) != TRUE)
+      return null;
+    final LNGBooleanVector modelFromSolver = this.solver.model();
+    this.solver.addClause(generateBlockingClause(modelFromSolver, relevantIndices), null);
+    this.result = UNDEF;
+    return new Model(this.f, this.solver, modelFromSolver, relevantAllIndices);
+  }
+
   /**
    * Generates a blocking clause from a given model and a set of relevant variables.
    * @param modelFromSolver the current model for which the blocking clause should be generated
@@ -404,16 +857,59 @@ public final class MiniSat extends SATSolver {
     if (index == -1)
       throw new IllegalArgumentException("The given solver state is not valid anymore.");
     this.validStates.shrinkTo(index + 1);
+    while (!this.scopeStates.empty() && this.scopeStates.back().id() > state.id())
+      this.scopeStates.pop();
     this.solver.loadState(state.state());
     this.result = UNDEF;
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * For MiniSat and MiniCard in incremental mode, a scope is implemented by a saved solver state.  Closing the scope
+   * loads this state again and therefore physically removes all clauses, learnt clauses, and variables which were
+   * added within the scope.  Thus, loading a state which was saved before the scope was opened also closes the
+   * scope.  For all other solver styles, each scope gets an activation literal which is added to all clauses of the
+   * scope and assumed in each solver call.  Closing the scope fixes the activation literal to false and deletes all
+   * clauses and learnt clauses which depend on it.
+   */
+  @Override
+  public void push() {
+    if (this.supportsSolverStates())
+      this.scopeStates.push(this.saveState());
+    else
+      this.solver.push();
+    this.result = UNDEF;
+  }
+
+  @Override
+  public void pop() {
+    if (this.supportsSolverStates()) {
+      if (this.scopeStates.empty())
+        throw new IllegalStateException("There is no open scope which could be closed.");
+      final SolverState state = this.scopeStates.back();
+      this.scopeStates.pop();
+      this.loadState(state);
+    } else
+      this.solver.pop();
+    this.result = UNDEF;
+  }
+
+  /**
+   * Returns whether this solver supports saving and loading solver states.  This is only the case for MiniSat and
+   * MiniCard in incremental mode.
+   * @return {@code true} if this solver supports saving and loading solver states, {@code false} otherwise
+   */
+  boolean supportsSolverStates() {
+    return this.style != SolverStyle.GLUCOSE && this.incremental;
+  }
+
   @Override
   public SortedSet<Variable> knownVariables() {
     final SortedSet<Variable> result = new TreeSet<>();
     final int nVars = this.solver.nVars();
     for (final Map.Entry<String, Integer> entry : this.solver.name2idx().entrySet())
-      if (entry.getValue() < nVars)
+      if (entry.getValue() < nVars && !entry.getKey().startsWith(FormulaFactory.SCOPE_PREFIX))
         result.add(this.f.variable(entry.getKey()));
     return result;
   }
@@ -478,30 +974,6 @@ public final class MiniSat extends SATSolver {
     return clauseVec;
   }
 
-  /**
-   * Creates an assignment from a Boolean vector of the solver.
-   * @param vec             the vector of the solver
-   * @param relevantIndices the solver's indices of the relevant variables for the model.  If {@code null}, all
-   *                        variables are relevant.
-   * @return the assignment
-   */
-  private Assignment createAssignment(final LNGBooleanVector vec, final LNGIntVector relevantIndices) {
-    final Assignment model = new Assignment();
-    if (relevantIndices == null) {
-      for (int i = 0; i < vec.size(); i++) {
-        model.addLiteral(this.f.literal(this.solver.nameForIdx(i), vec.get(i)));
-      }
-    } else {
-      for (int i = 0; i < relevantIndices.size(); i++) {
-        final int index = relevantIndices.get(i);
-        if (index != -1) {
-          model.addLiteral(this.f.literal(this.solver.nameForIdx(index), vec.get(index)));
-        }
-      }
-    }
-    return model;
-  }
-
   /**
    * Returns the underlying core solver.
    * <p>
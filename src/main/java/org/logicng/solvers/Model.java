@@ -0,0 +1,148 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.solvers;
+
+import org.logicng.collections.LNGBooleanVector;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+/**
+ * A lazy view of a model of a MiniSAT-style solver.
+ * <p>
+ * In contrast to an {@link Assignment}, a model view does not create any variables or literals.  It only holds the
+ * primitive value vector of the solver and looks up the value of a variable via the variable index of the solver.  An
+ * assignment is only created on request by {@link #assignment()}.  The relevant variables of the view only restrict the
+ * variables of the created assignment; values can be looked up for all variables of the solver.
+ * <p>
+ * The view uses the variable mapping of the solver at the time of the lookup.  It remains valid when new formulas are
+ * added to the solver or the solver is called again, but not after loading an earlier solver state or resetting the
+ * solver.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class Model {
+
+  private final FormulaFactory f;
+  private final MiniSatStyleSolver solver;
+  private final LNGBooleanVector values;
+  private final LNGIntVector relevantIndices;
+
+  /**
+   * Constructs a new model view.
+   * @param f               the formula factory
+   * @param solver          the solver
+   * @param values          the value vector of the model
+   * @param relevantIndices the solver indices of the relevant variables or {@code null} if all variables are relevant
+   */
+  Model(final FormulaFactory f, final MiniSatStyleSolver solver, final LNGBooleanVector values,
+        final LNGIntVector relevantIndices) {
+    this.f = f;
+    this.solver = solver;
+    this.values = values;
+    this.relevantIndices = relevantIndices;
+  }
+
+  /**
+   * Returns the value of a given variable in this model.
+   * @param variable the variable
+   * @return {@code TRUE} or {@code FALSE} for the value of the variable or {@code UNDEF} if the variable is unknown
+   * to the model
+   */
+  public Tristate value(final Variable variable) {
+    final int index = this.solver.idxForName(variable.name());
+    if (index == -1 || index >= this.values.size())
+      return Tristate.UNDEF;
+    return Tristate.fromBool(this.values.get(index));
+  }
+
+  /**
+   * Evaluates a given literal in this model.  As for an {@link Assignment}, variables which are unknown to the model
+   * are considered to be false.
+   * @param lit the literal
+   * @return the evaluation of the literal
+   */
+  public boolean evaluateLit(final Literal lit) {
+    final int index = this.solver.idxForName(lit.name());
+    final boolean value = index != -1 && index < this.values.size() && this.values.get(index);
+    return value == lit.phase();
+  }
+
+  /**
+   * Returns the number of relevant variables of this model.
+   * @return the number of relevant variables of this model
+   */
+  public int size() {
+    if (this.relevantIndices == null)
+      return this.values.size();
+    int size = 0;
+    for (int i = 0; i < this.relevantIndices.size(); i++)
+      if (this.relevantIndices.get(i) != -1)
+        size++;
+    return size;
+  }
+
+  /**
+   * Creates an assignment of the relevant variables of this model.
+   * @return the assignment
+   */
+  public Assignment assignment() {
+    return this.assignment(false);
+  }
+
+  /**
+   * Creates an assignment of the relevant variables of this model.
+   * @param fastEvaluable indicates whether the assignment should be evaluable fast
+   * @return the assignment
+   */
+  public Assignment assignment(final boolean fastEvaluable) {
+    final Assignment assignment = new Assignment(fastEvaluable);
+    if (this.relevantIndices == null) {
+      for (int i = 0; i < this.values.size(); i++)
+        assignment.addLiteral(this.f.literal(this.solver.nameForIdx(i), this.values.get(i)));
+    } else {
+      for (int i = 0; i < this.relevantIndices.size(); i++) {
+        final int index = this.relevantIndices.get(i);
+        if (index != -1)
+          assignment.addLiteral(this.f.literal(this.solver.nameForIdx(index), this.values.get(index)));
+      }
+    }
+    return assignment;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Model{size=%d}", this.size());
+  }
+}
@@ -0,0 +1,87 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.solvers;
+
+import org.logicng.datastructures.Assignment;
+
+import java.math.BigInteger;
+
+/**
+ * A cube of a model enumeration with don't-cares.
+ * <p>
+ * A cube is a partial assignment of the relevant variables of the enumeration.  Each extension of the cube to the
+ * don't-care variables is a model of the formula (projected to the relevant variables).
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class ModelCube {
+
+  private final Assignment cube;
+  private final int dontCares;
+
+  /**
+   * Constructs a new model cube.
+   * @param cube      the partial assignment
+   * @param dontCares the number of relevant variables which are not assigned by the cube
+   */
+  public ModelCube(final Assignment cube, final int dontCares) {
+    this.cube = cube;
+    this.dontCares = dontCares;
+  }
+
+  /**
+   * Returns the partial assignment of this cube.
+   * @return the partial assignment of this cube
+   */
+  public Assignment cube() {
+    return this.cube;
+  }
+
+  /**
+   * Returns the number of relevant variables which are not assigned by this cube.
+   * @return the number of don't-care variables
+   */
+  public int dontCares() {
+    return this.dontCares;
+  }
+
+  /**
+   * Returns the number of models covered by this cube, i.e. {@code 2^dontCares}.
+   * @return the number of models covered by this cube
+   */
+  public BigInteger numberOfModels() {
+    return BigInteger.ONE.shiftLeft(this.dontCares);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("ModelCube{cube=%s, dontCares=%d}", this.cube, this.dontCares);
+  }
+}
@@ -0,0 +1,115 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.solvers;
+
+import org.logicng.collections.LNGIntVector;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An iterator over the models of a MiniSat solver.
+ * <p>
+ * In contrast to {@link MiniSat#enumerateAllModels(java.util.Collection)}, the models are not collected in a list but
+ * computed one at a time when they are requested.  So the consumer controls the pace of the enumeration and can stop
+ * it at any point.  The blocking clauses of the enumeration are added within an own scope of the solver (see
+ * {@link SATSolver#push()}), which is closed again by {@link #close()}.  The iterator is closed automatically when
+ * there are no further models.  Therefore an iterator should always be used in a try-with-resources statement or
+ * closed explicitly if it is not consumed completely.
+ * <p>
+ * The solver must not be modified while the iterator is open.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class ModelIterator implements Iterator<Model>, AutoCloseable {
+
+  private final MiniSat solver;
+  private final LNGIntVector relevantIndices;
+  private final LNGIntVector relevantAllIndices;
+  private Model next;
+  private boolean closed;
+
+  /**
+   * Constructs a new model iterator and opens a new scope on the solver.
+   * @param solver             the solver
+   * @param relevantIndices    the solver indices of the variables which are used for the blocking clauses
+   * @param relevantAllIndices the solver indices of all variables of the models
+   */
+  ModelIterator(final MiniSat solver, final LNGIntVector relevantIndices, final LNGIntVector relevantAllIndices) {
+    this.solver = solver;
+    this.relevantIndices = relevantIndices;
+    this.relevantAllIndices = relevantAllIndices;
+    this.solver.push();
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (this.next == null && !this.closed) {
+      this.next = this.solver.nextModel(this.relevantIndices, this.relevantAllIndices);
+      if (this.next == null)
+        this.close();
+    }
+    return this.next != null;
+  }
+
+  @Override
+  public Model next() {
+    if (!this.hasNext())
+      throw new NoSuchElementException("There are no further models");
+    final Model model = this.next;
+    this.next = null;
+    return model;
+  }
+
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException("Models cannot be removed");
+  }
+
+  /**
+   * Returns whether this iterator is closed.
+   * @return {@code true} if this iterator is closed, {@code false} otherwise
+   */
+  public boolean isClosed() {
+    return this.closed;
+  }
+
+  /**
+   * Closes this iterator and removes all blocking clauses from the solver.  Closing an iterator twice has no effect.
+   */
+  @Override
+  public void close() {
+    if (!this.closed) {
+      this.closed = true;
+      this.next = null;
+      this.solver.pop();
+    }
+  }
+}
@@ -0,0 +1,128 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.solvers;
+
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.Literal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A linear objective over literals: the sum of the coefficients of all literals which are satisfied by an assignment.
+ * Coefficients can be negative and literals can occur more than once.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class Objective {
+
+  private final List<Literal> literals;
+  private final List<Integer> coefficients;
+
+  /**
+   * Constructs a new objective.
+   * @param literals     the literals
+   * @param coefficients the coefficients of the literals
+   * @throws IllegalArgumentException if the number of literals and coefficients do not correspond
+   */
+  public Objective(final List<? extends Literal> literals, final List<Integer> coefficients) {
+    if (literals.size() != coefficients.size())
+      throw new IllegalArgumentException("The number of literals and coefficients of an objective must be equal");
+    this.literals = Collections.unmodifiableList(new ArrayList<>(literals));
+    this.coefficients = Collections.unmodifiableList(new ArrayList<>(coefficients));
+  }
+
+  /**
+   * Returns a new objective which counts the satisfied literals of the given collection.
+   * @param literals the literals
+   * @return the objective
+   */
+  public static Objective sum(final Collection<? extends Literal> literals) {
+    return new Objective(new ArrayList<>(literals), Collections.nCopies(literals.size(), 1));
+  }
+
+  /**
+   * Returns the literals of this objective.
+   * @return the literals of this objective
+   */
+  public List<Literal> literals() {
+    return this.literals;
+  }
+
+  /**
+   * Returns the coefficients of this objective.
+   * @return the coefficients of this objective
+   */
+  public List<Integer> coefficients() {
+    return this.coefficients;
+  }
+
+  /**
+   * Returns the value of this objective for a given assignment.  The literals are evaluated by
+   * {@link Assignment#evaluateLit(Literal)}.
+   * @param assignment the assignment
+   * @return the value of this objective
+   */
+  public long value(final Assignment assignment) {
+    long value = 0;
+    for (int i = 0; i < this.literals.size(); i++)
+      if (assignment.evaluateLit(this.literals.get(i)))
+        value += this.coefficients.get(i);
+    return value;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * this.literals.hashCode() + this.coefficients.hashCode();
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (this == other)
+      return true;
+    if (!(other instanceof Objective))
+      return false;
+    final Objective o = (Objective) other;
+    return this.literals.equals(o.literals) && this.coefficients.equals(o.coefficients);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("Objective{");
+    for (int i = 0; i < this.literals.size(); i++) {
+      if (i > 0)
+        sb.append(" + ");
+      sb.append(this.coefficients.get(i)).append('*').append(this.literals.get(i));
+    }
+    return sb.append('}').toString();
+  }
+}
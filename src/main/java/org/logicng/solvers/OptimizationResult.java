@@ -0,0 +1,93 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.solvers;
+
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Tristate;
+
+/**
+ * The result of the optimization of a linear objective on a SAT solver.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class OptimizationResult {
+
+  private final Tristate result;
+  private final Assignment model;
+  private final long value;
+
+  /**
+   * Constructs a new optimization result.
+   * @param result the result: {@code TRUE} if an optimal model was found, {@code FALSE} if the formula is
+   *               unsatisfiable, and {@code UNDEF} if the optimization was aborted
+   * @param model  the best model found or {@code null} if no model was found
+   * @param value  the value of the objective for the best model
+   */
+  OptimizationResult(final Tristate result, final Assignment model, final long value) {
+    this.result = result;
+    this.model = model;
+    this.value = value;
+  }
+
+  /**
+   * Returns the result of the optimization: {@code TRUE} if an optimal model was found, {@code FALSE} if the
+   * formula is unsatisfiable, and {@code UNDEF} if the optimization was aborted by the handler.
+   * @return the result of the optimization
+   */
+  public Tristate result() {
+    return this.result;
+  }
+
+  /**
+   * Returns the best model found.  If the result is {@code TRUE}, this is an optimal model.  If the optimization was
+   * aborted, this is the best model found so far (or {@code null} if no model was found before the abort).
+   * @return the best model found or {@code null} if no model was found
+   */
+  public Assignment model() {
+    return this.model;
+  }
+
+  /**
+   * Returns the value of the objective for the best model found.
+   * @return the value of the objective for the best model found
+   * @throws IllegalStateException if no model was found
+   */
+  public long value() {
+    if (this.model == null)
+      throw new IllegalStateException("There is no value since no model was found");
+    return this.value;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("OptimizationResult{result=%s, value=%s, model=%s}", this.result,
+            this.model == null ? "-" : this.value, this.model);
+  }
+}
@@ -0,0 +1,355 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.solvers;
+
+import org.logicng.cardinalityconstraints.CCIncrementalData;
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.handlers.OptimizationHandler;
+import org.logicng.handlers.SATHandler;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+
+/**
+ * An optimizer for a linear objective on a SAT solver.
+ * <p>
+ * The objective is normalized to the minimization of a sum of positive weights of distinct literals plus a constant
+ * offset.  Objective variables which are unknown to the solver are not constrained by the formula and are simply set
+ * to their optimal value.  The models of the optimization contain all variables known to the solver before the
+ * optimization except auxiliary variables of encodings which do not occur in the objective.  All constraints of the
+ * optimization are added in a new scope of the solver which is closed again at the end, so the formula on the solver
+ * is unchanged and the solver can be used further.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class Optimizer {
+
+  /**
+   * The direction of an optimization.
+   */
+  public enum Direction {
+    MINIMIZE, MAXIMIZE
+  }
+
+  /**
+   * The strategy of an optimization.
+   * <p>
+   * {@code LINEAR} performs a SAT-UNSAT search: each model is excluded by tightening an upper bound on the objective.
+   * Cardinality objectives are bounded by an incremental cardinality constraint, all other objectives by
+   * pseudo-Boolean constraints (which are propagated natively if the solver is configured for it).
+   * <p>
+   * {@code BINARY} performs a binary search between the best known lower and upper bound.  Each probe is solved in
+   * its own scope.
+   * <p>
+   * {@code CORE_GUIDED} performs an UNSAT-SAT search: all objective literals are assumed to be false and the failed
+   * assumptions of the solver are used as cores which are relaxed in a pseudo-Boolean constraint whose bound is only
+   * raised if no new core is found.  This strategy requires a solver which supports failed assumptions.
+   */
+  public enum Strategy {
+    LINEAR, BINARY, CORE_GUIDED
+  }
+
+  private final SATSolver solver;
+  private final FormulaFactory f;
+  private final Objective objective;
+  private final OptimizationHandler handler;
+  private final SATHandler satHandler;
+  private final long sign;
+  private final List<Variable> relevantVariables;
+  private final List<Literal> freeLiterals;
+  private final List<Literal> literals;
+  private final List<Integer> weights;
+  private long offset;
+  private Assignment bestModel;
+  private long bestCost;
+
+  /**
+   * Constructs a new optimizer.
+   * @param solver    the solver
+   * @param objective the objective
+   * @param direction the direction of the optimization
+   * @param handler   the optimization handler (can be {@code null})
+   * @throws IllegalArgumentException if the sum of the absolute values of the coefficients exceeds the integer range
+   */
+  Optimizer(final SATSolver solver, final Objective objective, final Direction direction, final OptimizationHandler handler) {
+    this.solver = solver;
+    this.f = solver.factory();
+    this.objective = objective;
+    this.handler = handler;
+    this.satHandler = handler == null ? null : handler.satHandler();
+    this.sign = direction == Direction.MINIMIZE ? 1 : -1;
+    final SortedSet<Variable> known = solver.knownVariables();
+    final Set<Variable> objectiveVariables = new HashSet<>();
+    for (final Literal lit : objective.literals())
+      objectiveVariables.add(lit.variable());
+    this.relevantVariables = new ArrayList<>(known.size());
+    for (final Variable var : known)
+      if (!isAuxiliary(var) || objectiveVariables.contains(var))
+        this.relevantVariables.add(var);
+    this.freeLiterals = new ArrayList<>();
+    this.literals = new ArrayList<>();
+    this.weights = new ArrayList<>();
+    this.normalize(known);
+  }
+
+  /**
+   * Normalizes the objective to the minimization of the sum of positive weights of distinct literals plus an offset.
+   * @param known the variables known by the solver
+   */
+  private void normalize(final SortedSet<Variable> known) {
+    final Map<Variable, Long> coefficients = new LinkedHashMap<>();
+    long sum = 0;
+    for (int i = 0; i < this.objective.literals().size(); i++) {
+      final Literal lit = this.objective.literals().get(i);
+      final long coefficient = this.sign * this.objective.coefficients().get(i);
+      sum += Math.abs(coefficient);
+      final Long current = coefficients.get(lit.variable());
+      final long value = current == null ? 0 : current;
+      if (lit.phase())
+        coefficients.put(lit.variable(), value + coefficient);
+      else {
+        this.offset += coefficient;
+        coefficients.put(lit.variable(), value - coefficient);
+      }
+    }
+    if (sum > Integer.MAX_VALUE)
+      throw new IllegalArgumentException("The sum of the absolute coefficients of the objective exceeds the integer range: " + sum);
+    for (final Map.Entry<Variable, Long> entry : coefficients.entrySet()) {
+      final long weight = entry.getValue();
+      if (weight == 0)
+        continue;
+      final Literal lit = weight > 0 ? entry.getKey() : entry.getKey().negate();
+      if (weight < 0)
+        this.offset += weight;
+      if (known.contains(entry.getKey())) {
+        this.literals.add(lit);
+        this.weights.add((int) Math.abs(weight));
+      } else
+        this.freeLiterals.add(lit.negate());
+    }
+  }
+
+  /**
+   * Optimizes the objective with the given strategy.
+   * @param strategy the strategy
+   * @return the result of the optimization
+   * @throws UnsupportedOperationException if the solver does not support scopes or the strategy
+   */
+  OptimizationResult optimize(final Strategy strategy) {
+    this.solver.push();
+    if (this.handler != null)
+      this.handler.startedSolving();
+    try {
+      final Tristate result;
+      switch (strategy) {
+        case LINEAR:
+          result = this.linearSearch();
+          break;
+        case BINARY:
+          result = this.binarySearch();
+          break;
+        case CORE_GUIDED:
+          result = this.coreGuidedSearch();
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown optimization strategy: " + strategy);
+      }
+      return new OptimizationResult(result, this.bestModel, this.bestModel == null ? 0 : this.objective.value(this.bestModel));
+    } finally {
+      this.solver.pop();
+      if (this.handler != null)
+        this.handler.finishedSolving();
+    }
+  }
+
+  private Tristate linearSearch() {
+    final Tristate first = this.solver.sat(this.satHandler);
+    if (first != Tristate.TRUE)
+      return first;
+    if (!this.foundModel())
+      return Tristate.UNDEF;
+    final boolean cardinality = this.isCardinality();
+    CCIncrementalData incData = null;
+    while (this.bestCost > 0) {
+      final int bound = (int) this.bestCost - 1;
+      if (incData != null)
+        incData.newUpperBoundForSolver(bound);
+      else if (cardinality && bound > 1)
+        incData = this.solver.addIncrementalCC(this.f.cc(CType.LE, bound, this.variables()));
+      else
+        this.solver.add(this.f.pbc(CType.LE, bound, this.literals, this.weights));
+      final Tristate result = this.solver.sat(this.satHandler);
+      if (result == Tristate.UNDEF)
+        return Tristate.UNDEF;
+      if (result == Tristate.FALSE)
+        break;
+      if (!this.foundModel())
+        return Tristate.UNDEF;
+    }
+    return Tristate.TRUE;
+  }
+
+  private Tristate binarySearch() {
+    final Tristate first = this.solver.sat(this.satHandler);
+    if (first != Tristate.TRUE)
+      return first;
+    if (!this.foundModel())
+      return Tristate.UNDEF;
+    long lowerBound = 0;
+    while (lowerBound < this.bestCost) {
+      final long mid = lowerBound + (this.bestCost - 1 - lowerBound) / 2;
+      this.solver.push();
+      this.solver.add(this.f.pbc(CType.LE, (int) mid, this.literals, this.weights));
+      final Tristate result = this.solver.sat(this.satHandler);
+      final boolean proceed = result != Tristate.TRUE || this.foundModel();
+      this.solver.pop();
+      if (result == Tristate.UNDEF || !proceed)
+        return Tristate.UNDEF;
+      if (result == Tristate.FALSE) {
+        lowerBound = mid + 1;
+        if (lowerBound < this.bestCost && !this.foundBound(lowerBound))
+          return Tristate.UNDEF;
+      }
+    }
+    return Tristate.TRUE;
+  }
+
+  private Tristate coreGuidedSearch() {
+    final List<Literal> relaxedLiterals = new ArrayList<>();
+    final List<Integer> relaxedWeights = new ArrayList<>();
+    final Set<Literal> relaxed = new HashSet<>();
+    long relaxedSum = 0;
+    long gcd = 0;
+    long bound = 0;
+    while (true) {
+      final List<Literal> assumptions = new ArrayList<>();
+      for (final Literal lit : this.literals)
+        if (!relaxed.contains(lit))
+          assumptions.add(lit.negate());
+      this.solver.push();
+      if (!relaxedLiterals.isEmpty())
+        this.solver.add(this.f.pbc(CType.LE, (int) bound, relaxedLiterals, relaxedWeights));
+      final Tristate result = this.solver.sat(this.satHandler, assumptions);
+      final boolean proceed = result != Tristate.TRUE || this.foundModel();
+      final Set<Literal> core = new HashSet<>();
+      if (result == Tristate.FALSE) {
+        final Set<Literal> assumptionSet = new HashSet<>(assumptions);
+        for (final Literal lit : this.solver.failedAssumptions())
+          if (assumptionSet.contains(lit))
+            core.add(lit.negate());
+      }
+      this.solver.pop();
+      if (result == Tristate.UNDEF || !proceed)
+        return Tristate.UNDEF;
+      if (result == Tristate.TRUE)
+        return Tristate.TRUE;
+      if (!core.isEmpty()) {
+        for (int i = 0; i < this.literals.size(); i++)
+          if (core.contains(this.literals.get(i))) {
+            final int weight = this.weights.get(i);
+            relaxedLiterals.add(this.literals.get(i));
+            relaxedWeights.add(weight);
+            relaxed.add(this.literals.get(i));
+            relaxedSum += weight;
+            gcd = gcd(gcd, weight);
+          }
+      } else if (bound >= relaxedSum)
+        return Tristate.FALSE;
+      else {
+        bound = (bound / gcd + 1) * gcd;
+        if (!this.foundBound(bound))
+          return Tristate.UNDEF;
+      }
+    }
+  }
+
+  /**
+   * Records the current model of the solver if it is better than the best model found so far.
+   * @return whether the optimization should be continued or not
+   */
+  private boolean foundModel() {
+    final Assignment model = this.solver.model(this.relevantVariables);
+    for (final Literal lit : this.freeLiterals)
+      model.addLiteral(lit);
+    final Set<Literal> trueLiterals = new HashSet<Literal>(model.positiveLiterals());
+    trueLiterals.addAll(model.negativeLiterals());
+    long cost = 0;
+    for (int i = 0; i < this.literals.size(); i++)
+      if (trueLiterals.contains(this.literals.get(i)))
+        cost += this.weights.get(i);
+    if (this.bestModel != null && cost >= this.bestCost)
+      return true;
+    this.bestModel = model;
+    this.bestCost = cost;
+    return this.handler == null || this.handler.foundSolution(this.objective.value(model), model);
+  }
+
+  /**
+   * Reports a new lower bound of the normalized objective to the handler.
+   * @param lowerBound the lower bound of the normalized objective
+   * @return whether the optimization should be continued or not
+   */
+  private boolean foundBound(final long lowerBound) {
+    return this.handler == null || this.handler.foundBound(this.sign * (lowerBound + this.offset));
+  }
+
+  private boolean isCardinality() {
+    for (int i = 0; i < this.literals.size(); i++)
+      if (this.weights.get(i) != 1 || !this.literals.get(i).phase())
+        return false;
+    return true;
+  }
+
+  private List<Variable> variables() {
+    final List<Variable> variables = new ArrayList<>(this.literals.size());
+    for (final Literal lit : this.literals)
+      variables.add(lit.variable());
+    return variables;
+  }
+
+  private static boolean isAuxiliary(final Variable var) {
+    return var.name().startsWith(FormulaFactory.CC_PREFIX) || var.name().startsWith(FormulaFactory.PB_PREFIX)
+            || var.name().startsWith(FormulaFactory.CNF_PREFIX);
+  }
+
+  private static long gcd(final long a, final long b) {
+    return b == 0 ? a : gcd(b, a % b);
+  }
+}
@@ -0,0 +1,394 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.solvers;
+
+import org.logicng.collections.LNGBooleanVector;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Variable;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A parallel projected model enumeration of a MiniSat solver.
+ * <p>
+ * The projection space is divided into parts by fixing the values of split variables.  Each part is enumerated by an
+ * own copy of the solver in a task of the given executor, and the models of all parts are merged into this iterator.
+ * A work-stealing executor like a {@link java.util.concurrent.ForkJoinPool} is recommended.  Initially the first
+ * {@code initialSplitDepth} split variables are fixed, which yields {@code 2^initialSplitDepth} parts.  Whenever a
+ * part has produced {@code rebalanceThreshold} models since its last split, it is split again on its next split
+ * variable: the copy of the solver including all blocking clauses found so far is given the negative value of the
+ * variable and enumerated in a new task, and the part itself continues with the positive value.  So parts with many
+ * models are distributed over more tasks, while small parts finish early.
+ * <p>
+ * Split variables must be relevant variables of the projection; otherwise models would be found several times.  If no
+ * split variables are given, the relevant variables with the highest activity in the solver are used.  The models are
+ * lazy {@link Model} views with the formula factory of the solver; the factory is only used when an assignment is
+ * created from a model, i.e. in the thread consuming this iterator.  The workers only use copies of the core solver.
+ * <p>
+ * The given solver is not changed by the enumeration.  The parts are submitted to the executor when the first model is
+ * requested.  The models are buffered in a bounded queue, so the workers wait if the consumer is slower.  Parts which
+ * the executor runs in the consuming thread itself, e.g. with a direct executor or a caller-runs policy, cannot wait
+ * for the consumer; they buffer all their models without bound instead.  An enumeration which is not consumed
+ * completely should be closed, which stops all workers.  The enumeration must be consumed by a single thread.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class ParallelModelEnumeration implements Iterator<Model>, AutoCloseable {
+
+  private static final Object END = new Object();
+  private static final int BUFFER_SIZE = 1024;
+
+  private final FormulaFactory f;
+  private final Executor executor;
+  private final LNGIntVector relevantIndices;
+  private final LNGIntVector splitVars;
+  private final int rebalanceThreshold;
+  private final MiniSatStyleSolver template;
+  private final int initialSplitDepth;
+  private final LinkedBlockingQueue<Object> buffer;
+  private final ArrayDeque<Object> overflow;
+  private final AtomicInteger activeParts;
+  private final AtomicReference<Throwable> error;
+  private volatile boolean closed;
+  private volatile Thread consumer;
+  private Model next;
+  private boolean ended;
+  private boolean finished;
+
+  /**
+   * Constructs a new parallel model enumeration.  The split variables are chosen by their activity in the
+   * solver, such that there are four parts per available processor, and a part is split again every 1000 models.
+   * @param solver    the solver
+   * @param variables the relevant variables of the projection
+   * @param executor  the executor for the enumeration tasks
+   */
+  public ParallelModelEnumeration(final MiniSat solver, final Collection<Variable> variables, final Executor executor) {
+    this(solver, variables, null, 32 - Integer.numberOfLeadingZeros(Runtime.getRuntime().availableProcessors() * 4 - 1),
+            1000, executor);
+  }
+
+  /**
+   * Constructs a new parallel model enumeration.
+   * @param solver             the solver
+   * @param variables          the relevant variables of the projection
+   * @param splitVariables     the split variables in the order in which they are used or {@code null} if they should
+   *                           be chosen by their activity in the solver
+   * @param initialSplitDepth  the number of split variables which are fixed initially
+   * @param rebalanceThreshold the number of models after which a part is split again
+   * @param executor           the executor for the enumeration tasks
+   * @throws IllegalArgumentException if a split variable is not a relevant variable known to the solver or one of the
+   *                                  numbers is negative
+   */
+  public ParallelModelEnumeration(final MiniSat solver, final Collection<Variable> variables,
+                                  final List<Variable> splitVariables, final int initialSplitDepth,
+                                  final int rebalanceThreshold, final Executor executor) {
+    if (initialSplitDepth < 0 || rebalanceThreshold < 1)
+      throw new IllegalArgumentException("Illegal split depth or rebalance threshold");
+    this.f = solver.factory();
+    this.executor = executor;
+    this.rebalanceThreshold = rebalanceThreshold;
+    this.buffer = new LinkedBlockingQueue<>(BUFFER_SIZE);
+    this.overflow = new ArrayDeque<>();
+    this.activeParts = new AtomicInteger();
+    this.error = new AtomicReference<>();
+    final MiniSatStyleSolver core = solver.underlyingSolver();
+    final Set<Variable> variableSet = new LinkedHashSet<>(variables);
+    this.relevantIndices = new LNGIntVector(variableSet.size());
+    for (final Variable var : variableSet) {
+      final int index = core.idxForName(var.name());
+      if (index != -1)
+        this.relevantIndices.push(index);
+    }
+    this.splitVars = splitVariables == null ? this.splitVarsByActivity(core) : this.splitVars(core, splitVariables);
+    this.template = core.copy();
+    this.initialSplitDepth = Math.min(initialSplitDepth, this.splitVars.size());
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (this.consumer == null && !this.finished)
+      this.start();
+    while (this.next == null && !this.finished) {
+      Object element = this.overflow.poll();
+      if (element == null)
+        element = this.ended ? this.buffer.poll() : this.take();
+      if (element == null) {
+        this.finished = true;
+        this.closed = true;
+        if (this.error.get() != null)
+          throw new IllegalStateException("The model enumeration failed", this.error.get());
+      } else if (element == END)
+        this.ended = true;
+      else
+        this.next = (Model) element;
+    }
+    return this.next != null;
+  }
+
+  @Override
+  public Model next() {
+    if (!this.hasNext())
+      throw new NoSuchElementException("There are no further models");
+    final Model model = this.next;
+    this.next = null;
+    return model;
+  }
+
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException("Models cannot be removed");
+  }
+
+  /**
+   * Returns the number of parts which are currently enumerated.
+   * @return the number of parts which are currently enumerated
+   */
+  public int activeParts() {
+    return this.activeParts.get();
+  }
+
+  /**
+   * Closes this enumeration and stops all workers.  Closing an enumeration twice has no effect.
+   */
+  @Override
+  public void close() {
+    this.closed = true;
+    this.finished = true;
+    this.next = null;
+    this.buffer.clear();
+    this.overflow.clear();
+  }
+
+  /**
+   * Returns the indices of the split variables for a given list of variables.
+   * @param core           the core solver
+   * @param splitVariables the split variables
+   * @return the indices of the split variables
+   */
+  private LNGIntVector splitVars(final MiniSatStyleSolver core, final List<Variable> splitVariables) {
+    final LNGIntVector result = new LNGIntVector(splitVariables.size());
+    for (final Variable var : splitVariables) {
+      final int index = core.idxForName(var.name());
+      boolean relevant = false;
+      for (int i = 0; !relevant && i < this.relevantIndices.size(); i++)
+        relevant = this.relevantIndices.get(i) == index;
+      if (index == -1 || !relevant)
+        throw new IllegalArgumentException("Split variable is not a relevant variable known to the solver: " + var);
+      result.push(index);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the indices of the relevant variables ordered by their activity in the solver.
+   * @param core the core solver
+   * @return the indices of the split variables
+   */
+  private LNGIntVector splitVarsByActivity(final MiniSatStyleSolver core) {
+    final List<Integer> indices = new ArrayList<>(this.relevantIndices.size());
+    for (int i = 0; i < this.relevantIndices.size(); i++)
+      indices.add(this.relevantIndices.get(i));
+    Collections.sort(indices, new Comparator<Integer>() {
+      @Override
+      public int compare(final Integer x, final Integer y) {
+        return core.lt(x, y) ? -1 : core.lt(y, x) ? 1 : Integer.compare(x, y);
+      }
+    });
+    final LNGIntVector result = new LNGIntVector(indices.size());
+    for (final int index : indices)
+      result.push(index);
+    return result;
+  }
+
+  /**
+   * Creates the initial parts by fixing the first split variables in all combinations and submits them.  The current
+   * thread becomes the consumer of the enumeration.
+   */
+  private void start() {
+    this.consumer = Thread.currentThread();
+    final int depth = this.initialSplitDepth;
+    final int parts = 1 << depth;
+    this.activeParts.set(parts);
+    for (int part = 0; part < parts; part++) {
+      final MiniSatStyleSolver core = part == parts - 1 ? this.template : this.template.copy();
+      for (int i = 0; i < depth; i++)
+        core.addClause(MiniSatStyleSolver.mkLit(this.splitVars.get(i), (part & (1 << i)) != 0), null);
+      try {
+        this.executor.execute(new Part(core, depth));
+      } catch (final RejectedExecutionException e) {
+        this.close();
+        this.activeParts.set(0);
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Takes the next element from the buffer and waits until one is available.
+   * @return the element
+   */
+  private Object take() {
+    try {
+      return this.buffer.take();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      this.close();
+      throw new IllegalStateException("The model enumeration was interrupted", e);
+    }
+  }
+
+  /**
+   * Adds an element to the buffer.  Waits as long as the buffer is full and the enumeration is not closed.  In the
+   * consuming thread, the element is added to the unbounded overflow buffer instead of waiting, since no one else
+   * could take elements from the buffer.
+   * @param element the element
+   * @return {@code true} if the element was added, {@code false} if the enumeration was closed
+   * @throws InterruptedException if the thread was interrupted while waiting
+   */
+  private boolean offer(final Object element) throws InterruptedException {
+    if (Thread.currentThread() == this.consumer) {
+      if (!this.closed && !this.buffer.offer(element))
+        this.overflow.add(element);
+      return !this.closed;
+    }
+    while (!this.closed)
+      if (this.buffer.offer(element, 10, TimeUnit.MILLISECONDS))
+        return true;
+    return false;
+  }
+
+  /**
+   * Marks a part as finished and signals the end of the enumeration after the last part.
+   */
+  private void finishPart() {
+    if (this.activeParts.decrementAndGet() == 0) {
+      try {
+        this.offer(END);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format("ParallelModelEnumeration{splitVars=%d, rebalanceThreshold=%d, activeParts=%d}",
+            this.splitVars.size(), this.rebalanceThreshold, this.activeParts());
+  }
+
+  /**
+   * The enumeration of one part of the projection space with an own copy of the core solver.
+   */
+  private final class Part implements Runnable {
+
+    private final MiniSatStyleSolver core;
+    private int nextSplit;
+
+    /**
+     * Constructs a new part.
+     * @param core      the core solver of the part
+     * @param nextSplit the position of the next split variable
+     */
+    private Part(final MiniSatStyleSolver core, final int nextSplit) {
+      this.core = core;
+      this.nextSplit = nextSplit;
+    }
+
+    @Override
+    public void run() {
+      try {
+        int models = 0;
+        while (!closed && error.get() == null && this.solve() == Tristate.TRUE) {
+          final LNGBooleanVector model = this.core.model();
+          final LNGIntVector blockingClause = new LNGIntVector(relevantIndices.size());
+          for (int i = 0; i < relevantIndices.size(); i++)
+            blockingClause.push(MiniSatStyleSolver.mkLit(relevantIndices.get(i), model.get(relevantIndices.get(i))));
+          if (!offer(new Model(f, this.core, model, relevantIndices)) || blockingClause.empty())
+            break;
+          this.core.addClause(blockingClause, null);
+          if (++models >= rebalanceThreshold && this.nextSplit < splitVars.size()) {
+            this.split();
+            models = 0;
+          }
+        }
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (final RuntimeException e) {
+        error.compareAndSet(null, e);
+      } finally {
+        finishPart();
+      }
+    }
+
+    /**
+     * Solves the core solver of this part.
+     * @return the result of the solver
+     */
+    private Tristate solve() {
+      return this.core.scopes() == 0 ? this.core.solve(null) : this.core.solve(null, new LNGIntVector());
+    }
+
+    /**
+     * Splits off the negative half of this part on the next split variable as a new part.  If the executor rejects
+     * the new part, this part is not split.
+     */
+    private void split() {
+      final int var = splitVars.get(this.nextSplit++);
+      final MiniSatStyleSolver copy = this.core.copy();
+      copy.addClause(MiniSatStyleSolver.mkLit(var, true), null);
+      activeParts.incrementAndGet();
+      try {
+        executor.execute(new Part(copy, this.nextSplit));
+      } catch (final RejectedExecutionException e) {
+        activeParts.decrementAndGet();
+        return;
+      }
+      this.core.addClause(MiniSatStyleSolver.mkLit(var, false), null);
+    }
+  }
+}
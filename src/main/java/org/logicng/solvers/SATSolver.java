@@ -38,18 +38,28 @@ import org.logicng.formulas.FormulaFactory;
 import org.logicng.formulas.Literal;
 import org.logicng.formulas.PBConstraint;
 import org.logicng.formulas.Variable;
+import org.logicng.handlers.InterruptibleSATHandler;
 import org.logicng.handlers.ModelEnumerationHandler;
+import org.logicng.handlers.OptimizationHandler;
 import org.logicng.handlers.SATHandler;
 import org.logicng.propositions.Proposition;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.SortedSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 /**
  * A generic interface for LogicNG's SAT solvers.
- * @version 1.3
+ * @version 1.4.1
  * @since 1.0
  */
 public abstract class SATSolver {
@@ -131,6 +141,41 @@ public abstract class SATSolver {
       this.add(formula);
   }
 
+  /**
+   * Adds a XOR constraint to the solver.  The constraint is satisfied if the number of satisfied literals is odd (if
+   * the right-hand side is {@code true}) or even (if the right-hand side is {@code false}).
+   * <p>
+   * By default, the constraint is encoded as a chain of binary XORs with auxiliary variables.  Solvers with native
+   * support for XOR constraints override this method.
+   * @param literals the literals of the constraint
+   * @param rhs      the right-hand side of the constraint
+   */
+  public void addXor(final Collection<? extends Literal> literals, final boolean rhs) {
+    if (literals.isEmpty()) {
+      if (rhs)
+        this.add(this.f.falsum());
+      return;
+    }
+    final Iterator<? extends Literal> it = literals.iterator();
+    Literal current = it.next();
+    while (it.hasNext()) {
+      final Literal next = it.next();
+      if (!it.hasNext()) {
+        final Literal other = rhs ? next : next.negate();
+        this.add(this.f.clause(current, other));
+        this.add(this.f.clause(current.negate(), other.negate()));
+        return;
+      }
+      final Variable aux = this.f.newCNFVariable();
+      this.add(this.f.clause(aux.negate(), current, next));
+      this.add(this.f.clause(aux.negate(), current.negate(), next.negate()));
+      this.add(this.f.clause(aux, current.negate(), next));
+      this.add(this.f.clause(aux, current, next.negate()));
+      current = aux;
+    }
+    this.add(rhs ? current : current.negate());
+  }
+
   /**
    * Adds a formula to the solver and relaxes the given CNF with the given relaxation variable.
    * @param relaxationVar the relaxation variable
@@ -303,6 +348,57 @@ public abstract class SATSolver {
    */
   public abstract Tristate sat(final SATHandler handler, final Collection<? extends Literal> assumptions);
 
+  /**
+   * Asynchronously computes the satisfiability of the current formula in the solver on a given executor.
+   * @param executor the executor
+   * @return the future of the satisfiability of the formula in the solver
+   * @see #satAsync(Executor, SATHandler, Collection)
+   */
+  public Future<Tristate> satAsync(final Executor executor) {
+    return this.satAsync(executor, null, Collections.<Literal>emptyList());
+  }
+
+  /**
+   * Asynchronously computes the satisfiability of the current formula in the solver and a given collection of assumed
+   * literals on a given executor.
+   * @param executor    the executor
+   * @param assumptions a collection of literals
+   * @return the future of the satisfiability of the formula in the solver
+   * @see #satAsync(Executor, SATHandler, Collection)
+   */
+  public Future<Tristate> satAsync(final Executor executor, final Collection<? extends Literal> assumptions) {
+    return this.satAsync(executor, null, assumptions);
+  }
+
+  /**
+   * Asynchronously computes the satisfiability of the current formula in the solver and a given collection of assumed
+   * literals on a given executor.  The result of the future is the same as the result of
+   * {@link #sat(SATHandler, Collection)}.
+   * <p>
+   * Cancelling the future with {@code mayInterruptIfRunning} set to {@code true} interrupts the solving thread which
+   * cancels the solving process on the next conflict.  The given SAT handler is respected as well.
+   * <p>
+   * The solver is not thread-safe, so it must not be used in any other way until the future is done.  Since formula
+   * factories are not thread-safe either, the formula factory of the solver should not be used concurrently.
+   * @param executor    the executor
+   * @param handler     the SAT handler, may be {@code null}
+   * @param assumptions a collection of literals
+   * @return the future of the satisfiability of the formula in the solver
+   */
+  public Future<Tristate> satAsync(final Executor executor, final SATHandler handler,
+                                   final Collection<? extends Literal> assumptions) {
+    final List<Literal> assumptionList = new ArrayList<>(assumptions);
+    final FutureTask<Tristate> task = new FutureTask<>(new Callable<Tristate>() {
+      @Override
+      public Tristate call() {
+        final SATHandler interruptibleHandler = new InterruptibleSATHandler(handler);
+        return assumptionList.isEmpty() ? sat(interruptibleHandler) : sat(interruptibleHandler, assumptionList);
+      }
+    });
+    executor.execute(task);
+    return task;
+  }
+
   /**
    * Resets the SAT solver.
    */
@@ -413,6 +509,96 @@ public abstract class SATSolver {
    */
   public abstract List<Assignment> enumerateAllModels(final Collection<Variable> variables, final Collection<Variable> additionalVariables, final ModelEnumerationHandler handler);
 
+  /**
+   * Computes the backbone of the current formula wrt. a given set of variables.  Variables which are unknown to the
+   * solver are optional.  If the set is {@code null}, all variables of the solver are considered relevant.
+   * <p>
+   * The backbone is computed by iterative model-based filtering: each candidate literal of an initial model is tested
+   * by solving under the assumption of the negated literal.  Each model found on the way removes all candidates which
+   * it does not satisfy.  Solvers with a more efficient backbone computation override this method.
+   * @param variables the set of variables
+   * @return the backbone
+   * @throws UnsupportedOperationException if the solver does not support solving with assumptions
+   */
+  public Backbone backbone(final Collection<Variable> variables) {
+    if (this.sat() != Tristate.TRUE)
+      return Backbone.unsatBackbone();
+    final SortedSet<Variable> known = this.knownVariables();
+    final List<Variable> relevant = new ArrayList<>();
+    final List<Variable> optional = new ArrayList<>();
+    for (final Variable var : variables == null ? known : new LinkedHashSet<>(variables))
+      if (known.contains(var))
+        relevant.add(var);
+      else
+        optional.add(var);
+    Assignment model = this.model(relevant);
+    List<Literal> candidates = new ArrayList<>(relevant.size());
+    for (final Variable var : relevant)
+      candidates.add(model.evaluateLit(var) ? var : var.negate());
+    final List<Variable> positive = new ArrayList<>();
+    final List<Variable> negative = new ArrayList<>();
+    while (!candidates.isEmpty()) {
+      final Literal lit = candidates.remove(candidates.size() - 1);
+      if (this.sat(lit.negate()) == Tristate.TRUE) {
+        model = this.model(relevant);
+        optional.add(lit.variable());
+        final List<Literal> filtered = new ArrayList<>(candidates.size());
+        for (final Literal candidate : candidates)
+          if (model.evaluateLit(candidate))
+            filtered.add(candidate);
+          else
+            optional.add(candidate.variable());
+        candidates = filtered;
+      } else if (lit.phase())
+        positive.add(lit.variable());
+      else
+        negative.add(lit.variable());
+    }
+    return new Backbone(positive, negative, optional);
+  }
+
+  /**
+   * Optimizes a linear objective on the current formula with a linear search.
+   * @param objective the objective
+   * @param direction the direction of the optimization
+   * @return the result of the optimization
+   * @see #optimize(Objective, Optimizer.Direction, Optimizer.Strategy, OptimizationHandler)
+   */
+  public OptimizationResult optimize(final Objective objective, final Optimizer.Direction direction) {
+    return this.optimize(objective, direction, Optimizer.Strategy.LINEAR, null);
+  }
+
+  /**
+   * Optimizes a linear objective on the current formula.  The optimization is performed in a new scope of the solver
+   * which is closed again at the end, so the formula on the solver is unchanged afterwards.  The handler is informed
+   * about each improving solution and each new bound of the optimum and can abort the optimization, in which case
+   * the result is {@code UNDEF} and the best model found so far is returned.
+   * @param objective the objective
+   * @param direction the direction of the optimization
+   * @param strategy  the optimization strategy
+   * @param handler   the optimization handler (can be {@code null})
+   * @return the result of the optimization
+   * @throws UnsupportedOperationException if the solver does not support scopes or the strategy
+   * @throws IllegalArgumentException      if the sum of the absolute values of the coefficients exceeds the integer
+   *                                       range
+   */
+  public OptimizationResult optimize(final Objective objective, final Optimizer.Direction direction,
+                                     final Optimizer.Strategy strategy, final OptimizationHandler handler) {
+    return new Optimizer(this, objective, direction, handler).optimize(strategy);
+  }
+
+  /**
+   * Returns the failed assumptions of the last solver call, i.e. a subset of the assumptions of the last call which
+   * cannot be satisfied together with the current formula.  If the formula is unsatisfiable without assumptions, the
+   * result is empty.
+   * @return the failed assumptions of the last solver call
+   * @throws UnsupportedOperationException if the solver does not support failed assumptions
+   * @throws IllegalStateException         if the last solver call was not unsatisfiable
+   */
+  public SortedSet<Literal> failedAssumptions() {
+    throw new UnsupportedOperationException("The solver does not support failed assumptions");
+  }
+
   /**
    * Saves the current solver state.
    * @return the current solver state
@@ -430,6 +616,25 @@ public abstract class SATSolver {
    */
   public abstract void loadState(final SolverState state);
 
+  /**
+   * Opens a new assertion scope.  All formulas which are added to the solver after this call are removed again by the
+   * corresponding call of {@link #pop()}.  Scopes can be nested.
+   * @throws UnsupportedOperationException if the solver does not support assertion scopes
+   */
+  public void push() {
+    throw new UnsupportedOperationException("The solver does not support assertion scopes");
+  }
+
+  /**
+   * Closes the innermost assertion scope and removes all formulas which were added since the corresponding call of
+   * {@link #push()}.
+   * @throws UnsupportedOperationException if the solver does not support assertion scopes
+   * @throws IllegalStateException         if there is no open scope
+   */
+  public void pop() {
+    throw new UnsupportedOperationException("The solver does not support assertion scopes");
+  }
+
   /**
    * Sets the solver state to UNDEF (required if you fiddle e.g. with the underlying solver).
    */
@@ -452,4 +657,12 @@ public abstract class SATSolver {
    * @return the unsat core
    */
   public abstract UNSATCore<Proposition> unsatCore();
+
+  /**
+   * Returns the formula factory of this solver.
+   * @return the formula factory of this solver
+   */
+  public FormulaFactory factory() {
+    return this.f;
+  }
 }
@@ -0,0 +1,138 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers;
+
+import org.logicng.formulas.FormulaFactory;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * A pool of warm copies of a template MiniSat solver.
+ * <p>
+ * Each copy of the pool has its own formula factory (accessible via {@link SATSolver#factory()}), so different copies
+ * can be used in different threads.  A copy acquired from the pool can be extended by further formulas and solved
+ * under assumptions.  When it is released, it is reset to the state of the template.  For MiniSat and MiniCard in
+ * incremental mode this is done by loading the solver state of the copy at the time of its creation, all other copies
+ * are discarded and replaced by a fresh copy of the template on the next acquisition.
+ * <p>
+ * The template solver must not be changed as long as the pool is in use.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class SolverPool {
+
+  private final MiniSat template;
+  private final int size;
+  private final LinkedBlockingQueue<MiniSat> idle;
+  private final Map<MiniSat, SolverState> initialStates;
+
+  /**
+   * Constructs a new solver pool for a given template solver and pre-warms the given number of copies.
+   * @param template the template solver
+   * @param size     the maximal number of idle copies in the pool
+   * @throws IllegalArgumentException if the size is negative
+   */
+  public SolverPool(final MiniSat template, final int size) {
+    if (size < 0)
+      throw new IllegalArgumentException("The size of a solver pool must not be negative: " + size);
+    this.template = template;
+    this.size = size;
+    this.idle = new LinkedBlockingQueue<>();
+    this.initialStates = new IdentityHashMap<>();
+    for (int i = 0; i < size; i++)
+      this.idle.offer(this.newCopy());
+  }
+
+  /**
+   * Returns a copy of the template solver.  If there is an idle copy in the pool, it is returned, otherwise a new copy
+   * of the template solver is generated.
+   * @return a copy of the template solver
+   */
+  public MiniSat acquire() {
+    final MiniSat solver = this.idle.poll();
+    return solver != null ? solver : this.newCopy();
+  }
+
+  /**
+   * Releases a copy which was acquired from this pool.  If possible, the copy is reset to the state of the template
+   * solver and returned to the pool.
+   * @param solver the copy
+   * @throws IllegalArgumentException if the solver was not acquired from this pool
+   */
+  public void release(final MiniSat solver) {
+    final SolverState state;
+    synchronized (this.initialStates) {
+      if (!this.initialStates.containsKey(solver))
+        throw new IllegalArgumentException("The given solver was not acquired from this pool.");
+      state = this.initialStates.get(solver);
+      if (state == null || this.idle.size() >= this.size) {
+        this.initialStates.remove(solver);
+        return;
+      }
+    }
+    solver.loadState(state);
+    synchronized (this.initialStates) {
+      if (this.idle.size() >= this.size)
+        this.initialStates.remove(solver);
+      else
+        this.idle.offer(solver);
+    }
+  }
+
+  /**
+   * Returns the number of idle copies in this pool.
+   * @return the number of idle copies in this pool
+   */
+  public int idle() {
+    return this.idle.size();
+  }
+
+  /**
+   * Generates a new copy of the template with its own formula factory and records its initial state.
+   * @return the new copy
+   */
+  private MiniSat newCopy() {
+    final MiniSat copy;
+    synchronized (this.template) {
+      copy = this.template.copy(new FormulaFactory());
+    }
+    final SolverState state = copy.supportsSolverStates() ? copy.saveState() : null;
+    synchronized (this.initialStates) {
+      this.initialStates.put(copy, state);
+    }
+    return copy;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("SolverPool{size=%d, idle=%d}", this.size, this.idle.size());
+  }
+}
@@ -69,6 +69,17 @@ public final class LNGHeap {
     this.indices = new LNGIntVector(1000);
   }
 
+  /**
+   * Constructs a copy of a given heap for a given solver.  The solver must be a copy of the solver of the given heap.
+   * @param solver the solver
+   * @param other  the heap to copy
+   */
+  public LNGHeap(final MiniSatStyleSolver solver, final LNGHeap other) {
+    this.s = solver;
+    this.heap = new LNGIntVector(other.heap);
+    this.indices = new LNGIntVector(other.indices);
+  }
+
   /**
    * Returns the left position on the heap for a given position.
    * @param pos the position
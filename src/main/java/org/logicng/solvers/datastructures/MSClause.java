@@ -125,6 +125,23 @@ public class MSClause {
     this.atMostWatchers = -1;
   }
 
+  /**
+   * Constructs a copy of a given clause.
+   * @param other the clause to copy
+   */
+  public MSClause(final MSClause other) {
+    this.data = new LNGIntVector(other.data);
+    this.learnt = other.learnt;
+    this.isAtMost = other.isAtMost;
+    this.activity = other.activity;
+    this.szWithoutSelectors = other.szWithoutSelectors;
+    this.seen = other.seen;
+    this.lbd = other.lbd;
+    this.canBeDel = other.canBeDel;
+    this.oneWatched = other.oneWatched;
+    this.atMostWatchers = other.atMostWatchers;
+  }
+
   /**
    * Returns the size (number of literals) of this clause.
    * @return the size
@@ -0,0 +1,165 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.solvers.datastructures;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.collections.LNGLongVector;
+
+/**
+ * A pseudo-Boolean constraint {@code a_1 * l_1 + ... + a_n * l_n >= k} of a MiniSAT-style solver with positive
+ * coefficients {@code a_i} and literals {@code l_i}.
+ * <p>
+ * The constraint is propagated by its slack, i.e. the sum of the coefficients of all literals which are not yet false
+ * minus the right-hand side.  A negative slack is a conflict, and each unassigned literal with a coefficient greater
+ * than the slack is implied.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class MSPBConstraint {
+
+  private final LNGIntVector lits;
+  private final LNGLongVector coeffs;
+  private final long rhs;
+  private final long maxCoeff;
+  private final long initialSlack;
+  private long slack;
+
+  /**
+   * Constructs a new pseudo-Boolean constraint.
+   * @param lits   the literals
+   * @param coeffs the positive coefficients of the literals
+   * @param rhs    the right-hand side
+   */
+  public MSPBConstraint(final LNGIntVector lits, final LNGLongVector coeffs, long rhs) {
+    this.lits = new LNGIntVector(lits);
+    this.coeffs = new LNGLongVector(coeffs);
+    this.rhs = rhs;
+    long sum = 0;
+    long max = 0;
+    for (int i = 0; i < coeffs.size(); i++) {
+      sum += coeffs.get(i);
+      max = Math.max(max, coeffs.get(i));
+    }
+    this.maxCoeff = max;
+    this.initialSlack = sum - rhs;
+    this.slack = this.initialSlack;
+  }
+
+  /**
+   * Constructs a copy of a given pseudo-Boolean constraint.
+   * @param other the constraint to copy
+   */
+  public MSPBConstraint(final MSPBConstraint other) {
+    this.lits = new LNGIntVector(other.lits);
+    this.coeffs = new LNGLongVector(other.coeffs);
+    this.rhs = other.rhs;
+    this.maxCoeff = other.maxCoeff;
+    this.initialSlack = other.initialSlack;
+    this.slack = other.slack;
+  }
+
+  /**
+   * Returns the number of literals of this constraint.
+   * @return the number of literals of this constraint
+   */
+  public int size() {
+    return this.lits.size();
+  }
+
+  /**
+   * Returns the literal at a given position.
+   * @param i the position
+   * @return the literal at the position
+   */
+  public int lit(int i) {
+    return this.lits.get(i);
+  }
+
+  /**
+   * Returns the coefficient at a given position.
+   * @param i the position
+   * @return the coefficient at the position
+   */
+  public long coeff(int i) {
+    return this.coeffs.get(i);
+  }
+
+  /**
+   * Returns the right-hand side of this constraint.
+   * @return the right-hand side of this constraint
+   */
+  public long rhs() {
+    return this.rhs;
+  }
+
+  /**
+   * Returns the maximal coefficient of this constraint.
+   * @return the maximal coefficient of this constraint
+   */
+  public long maxCoeff() {
+    return this.maxCoeff;
+  }
+
+  /**
+   * Returns the current slack of this constraint.
+   * @return the current slack of this constraint
+   */
+  public long slack() {
+    return this.slack;
+  }
+
+  /**
+   * Adds a given value to the slack of this constraint.  A negative value is used when a literal becomes false, a
+   * positive value when it is unassigned again.
+   * @param delta the value
+   */
+  public void updateSlack(long delta) {
+    this.slack += delta;
+  }
+
+  /**
+   * Resets the slack of this constraint to its value without any assigned literals.
+   */
+  public void resetSlack() {
+    this.slack = this.initialSlack;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("MSPBConstraint{");
+    for (int i = 0; i < this.lits.size(); i++) {
+      if (i > 0)
+        sb.append(" + ");
+      sb.append(this.coeffs.get(i)).append("*").append((this.lits.get(i) & 1) == 1 ? "-" : "").append(this.lits.get(i) >> 1);
+    }
+    sb.append(" >= ").append(this.rhs).append(", slack=").append(this.slack).append("}");
+    return sb.toString();
+  }
+}
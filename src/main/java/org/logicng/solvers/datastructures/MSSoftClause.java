@@ -53,14 +53,14 @@ import org.logicng.collections.LNGIntVector;
 
 /**
  * A soft clause for the MaxSAT solver.
- * @version 1.0
+ * @version 1.4.1
  * @since 1.0
  */
 public final class MSSoftClause {
 
   private final LNGIntVector clause;
   private final LNGIntVector relaxationVars;
-  private int weight;
+  private long weight;
   private int assumptionVar;
 
   /**
@@ -70,7 +70,7 @@ public final class MSSoftClause {
    * @param assumptionVar  the assumption variables of this clause
    * @param relaxationVars the relaxation variables
    */
-  public MSSoftClause(final LNGIntVector clause, int weight, int assumptionVar, final LNGIntVector relaxationVars) {
+  public MSSoftClause(final LNGIntVector clause, long weight, int assumptionVar, final LNGIntVector relaxationVars) {
     this.clause = new LNGIntVector(clause);
     this.weight = weight;
     this.assumptionVar = assumptionVar;
@@ -89,7 +89,7 @@ public final class MSSoftClause {
    * Returns the weight of this soft clause.
    * @return the weight
    */
-  public int weight() {
+  public long weight() {
     return this.weight;
   }
 
@@ -97,7 +97,7 @@ public final class MSSoftClause {
    * Sets the weight
    * @param weight the weight
    */
-  public void setWeight(int weight) {
+  public void setWeight(long weight) {
     this.weight = weight;
   }
 
@@ -74,6 +74,20 @@ public class MSVariable {
     this.decision = false;
   }
 
+  /**
+   * Constructs a copy of a given variable.  The reason of the copy still points to the reason clause of the given
+   * variable and has to be replaced by the caller.
+   * @param other the variable to copy
+   */
+  public MSVariable(final MSVariable other) {
+    this.assignment = other.assignment;
+    this.level = other.level;
+    this.reason = other.reason;
+    this.activity = other.activity;
+    this.polarity = other.polarity;
+    this.decision = other.decision;
+  }
+
   /**
    * Sets the decision level of this variable.
    * @param level the decision level
@@ -0,0 +1,395 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.datastructures;
+
+import org.logicng.collections.LNGBooleanVector;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.collections.LNGVector;
+import org.logicng.datastructures.Tristate;
+
+import java.util.Arrays;
+
+/**
+ * A set of XOR constraints of a MiniSAT-style solver.
+ * <p>
+ * Each XOR constraint is a row {@code x_1 + ... + x_n = rhs} over GF(2).  The bit-packed matrix of all rows is kept in
+ * a reduced form wrt. the unassigned variables: each row either has a pivot column of an unassigned variable which
+ * occurs in no other row, or has no unassigned variables at all.  In this form each row with exactly one unassigned
+ * variable implies this variable, and each row without unassigned variables and an odd parity is a conflict.  Since
+ * the elimination keeps the columns of assigned variables, each such row directly yields the reason clause for the
+ * implication or the conflict.
+ * <p>
+ * The form is maintained incrementally.  When the variable of a pivot column is assigned, only its row searches for a
+ * new pivot which is then eliminated from the rows containing it, and only the rows containing a newly assigned
+ * variable are checked for implications and conflicts.  Row operations do not change the solutions of the matrix and
+ * are therefore never undone.  On backtracking, only the pivot columns and the assignment masks are recomputed:
+ * rows without pivot get a new one if one of their variables became unassigned, and all rows are checked again.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class MSXorMatrix {
+
+  private final LNGVector<LNGIntVector> rows;
+  private final LNGBooleanVector rhs;
+  private final LNGIntVector colVars;
+  private final LNGIntVector varCols;
+  private long[][] matrix;
+  private boolean[] matrixRhs;
+  private int[] pivotCols;
+  private int[] pivotRows;
+  private long[] unassigned;
+  private long[] trueMask;
+  private boolean[] marked;
+  private LNGIntVector markedRows;
+  private LNGIntVector pivotless;
+  private int words;
+  private boolean refresh;
+
+  /**
+   * Constructs a new empty XOR matrix.
+   */
+  public MSXorMatrix() {
+    this.rows = new LNGVector<>();
+    this.rhs = new LNGBooleanVector();
+    this.colVars = new LNGIntVector();
+    this.varCols = new LNGIntVector();
+  }
+
+  /**
+   * Constructs a copy of a given XOR matrix.
+   * @param other the XOR matrix to copy
+   */
+  public MSXorMatrix(final MSXorMatrix other) {
+    this.rows = new LNGVector<>(other.rows.size());
+    for (final LNGIntVector row : other.rows)
+      this.rows.push(new LNGIntVector(row));
+    this.rhs = new LNGBooleanVector(other.rhs);
+    this.colVars = new LNGIntVector(other.colVars);
+    this.varCols = new LNGIntVector(other.varCols);
+  }
+
+  /**
+   * Adds a new row to the matrix.
+   * @param vars the sorted variables of the row, each variable may occur only once
+   * @param rhs  the right-hand side of the row
+   */
+  public void addRow(final LNGIntVector vars, boolean rhs) {
+    final LNGIntVector row = new LNGIntVector(vars);
+    for (int i = 0; i < row.size(); i++) {
+      final int var = row.get(i);
+      if (var >= this.varCols.size())
+        this.varCols.growTo(var + 1, -1);
+      if (this.varCols.get(var) == -1) {
+        this.varCols.set(var, this.colVars.size());
+        this.colVars.push(var);
+      }
+    }
+    this.rows.push(row);
+    this.rhs.push(rhs);
+    this.matrix = null;
+  }
+
+  /**
+   * Returns the number of rows of this matrix.
+   * @return the number of rows of this matrix
+   */
+  public int size() {
+    return this.rows.size();
+  }
+
+  /**
+   * Returns {@code true} if this matrix has no rows, {@code false} otherwise.
+   * @return {@code true} if this matrix has no rows
+   */
+  public boolean empty() {
+    return this.rows.empty();
+  }
+
+  /**
+   * Removes all rows with an index greater or equal to the given size.
+   * @param newSize the new number of rows
+   */
+  public void shrinkTo(int newSize) {
+    if (newSize >= this.rows.size())
+      return;
+    this.rows.shrinkTo(newSize);
+    this.rhs.shrinkTo(newSize);
+    this.matrix = null;
+    this.colVars.clear();
+    this.varCols.clear();
+    final LNGVector<LNGIntVector> oldRows = new LNGVector<>(this.rows.size());
+    final LNGBooleanVector oldRhs = new LNGBooleanVector(this.rhs);
+    for (final LNGIntVector row : this.rows)
+      oldRows.push(row);
+    this.rows.clear();
+    this.rhs.clear();
+    for (int i = 0; i < oldRows.size(); i++)
+      this.addRow(oldRows.get(i), oldRhs.get(i));
+  }
+
+  /**
+   * Returns {@code true} if the given variable occurs in a row of this matrix, {@code false} otherwise.
+   * @param var the variable
+   * @return {@code true} if the given variable occurs in a row of this matrix
+   */
+  public boolean contains(int var) {
+    return var < this.varCols.size() && this.varCols.get(var) != -1;
+  }
+
+  /**
+   * Notifies the matrix that the solver backtracked and variables were unassigned.  The next propagation recomputes
+   * the pivot columns and checks all rows.
+   */
+  public void backtrack() {
+    this.refresh = true;
+  }
+
+  /**
+   * Computes all implications and conflicts of the XOR constraints wrt. the current assignment of the given variables.
+   * <p>
+   * The literals on the trail starting at the given position are the assignments since the last propagation.  The
+   * reason clauses of all implied literals are stored in the given vector.  The first literal of each reason clause is
+   * the implied literal, all other literals are false under the current assignment.  If a conflict is detected, the
+   * conflict clause is returned and the reasons are incomplete.
+   * @param vars    the variables of the solver
+   * @param trail   the trail of the solver
+   * @param from    the first position on the trail which was not propagated yet
+   * @param reasons the vector for the reason clauses of the implied literals
+   * @return the conflict clause or {@code null} if there is no conflict
+   */
+  public LNGIntVector propagate(final LNGVector<MSVariable> vars, final LNGIntVector trail, int from,
+                                final LNGVector<LNGIntVector> reasons) {
+    if (this.matrix == null) {
+      this.pack();
+      this.refresh = true;
+    }
+    if (this.refresh) {
+      this.refresh = false;
+      this.refreshPivots(vars);
+    } else
+      for (int i = from; i < trail.size(); i++) {
+        final int lit = trail.get(i);
+        final int var = lit >> 1;
+        if (this.contains(var))
+          this.assign(this.varCols.get(var), (lit & 1) == 0);
+      }
+    for (int i = 0; i < this.pivotless.size(); i++)
+      this.findPivot(this.pivotless.get(i));
+    this.pivotless.clear();
+    LNGIntVector conflict = null;
+    for (int i = 0; i < this.markedRows.size(); i++) {
+      final int r = this.markedRows.get(i);
+      this.marked[r] = false;
+      if (conflict == null)
+        conflict = this.checkRow(r, reasons);
+    }
+    this.markedRows.clear();
+    return conflict;
+  }
+
+  /**
+   * Updates the matrix for a newly assigned column.  If the column was a pivot column, its row has to find a new pivot.
+   * All rows containing the column are marked for checking.
+   * @param col   the column
+   * @param value the assigned value
+   */
+  private void assign(int col, boolean value) {
+    final int w = col >>> 6;
+    final long bit = 1L << (col & 63);
+    if ((this.unassigned[w] & bit) == 0)
+      return;
+    this.unassigned[w] &= ~bit;
+    if (value)
+      this.trueMask[w] |= bit;
+    final int pivotRow = this.pivotRows[col];
+    if (pivotRow != -1) {
+      this.pivotRows[col] = -1;
+      this.pivotCols[pivotRow] = -1;
+      this.pivotless.push(pivotRow);
+    }
+    for (int r = 0; r < this.matrix.length; r++)
+      if ((this.matrix[r][w] & bit) != 0)
+        this.mark(r);
+  }
+
+  /**
+   * Recomputes the assignment masks from the given variables, removes the pivots of assigned columns, and marks all
+   * rows for checking.
+   * @param vars the variables of the solver
+   */
+  private void refreshPivots(final LNGVector<MSVariable> vars) {
+    Arrays.fill(this.unassigned, 0L);
+    Arrays.fill(this.trueMask, 0L);
+    for (int col = 0; col < this.colVars.size(); col++) {
+      final Tristate value = vars.get(this.colVars.get(col)).assignment();
+      if (value == Tristate.UNDEF)
+        this.unassigned[col >>> 6] |= 1L << (col & 63);
+      else {
+        if (value == Tristate.TRUE)
+          this.trueMask[col >>> 6] |= 1L << (col & 63);
+        if (this.pivotRows[col] != -1) {
+          this.pivotCols[this.pivotRows[col]] = -1;
+          this.pivotRows[col] = -1;
+        }
+      }
+    }
+    this.pivotless.clear();
+    for (int r = 0; r < this.matrix.length; r++) {
+      if (this.pivotCols[r] == -1)
+        this.pivotless.push(r);
+      this.mark(r);
+    }
+  }
+
+  /**
+   * Chooses an unassigned column of a row without pivot as its new pivot and eliminates it from all other rows.  Since
+   * pivot columns occur only in their own row, every unassigned column of the row is a valid pivot.
+   * @param r the row
+   */
+  private void findPivot(int r) {
+    if (this.pivotCols[r] != -1)
+      return;
+    final long[] pivotRow = this.matrix[r];
+    int col = -1;
+    for (int i = 0; i < this.words && col == -1; i++)
+      if ((pivotRow[i] & this.unassigned[i]) != 0)
+        col = (i << 6) + Long.numberOfTrailingZeros(pivotRow[i] & this.unassigned[i]);
+    this.mark(r);
+    if (col == -1)
+      return;
+    this.pivotCols[r] = col;
+    this.pivotRows[col] = r;
+    final int w = col >>> 6;
+    final long bit = 1L << (col & 63);
+    for (int q = 0; q < this.matrix.length; q++) {
+      final long[] row = this.matrix[q];
+      if (q != r && (row[w] & bit) != 0) {
+        for (int i = 0; i < this.words; i++)
+          row[i] ^= pivotRow[i];
+        this.matrixRhs[q] ^= this.matrixRhs[r];
+        this.mark(q);
+      }
+    }
+  }
+
+  /**
+   * Marks a row for checking.
+   * @param r the row
+   */
+  private void mark(int r) {
+    if (!this.marked[r]) {
+      this.marked[r] = true;
+      this.markedRows.push(r);
+    }
+  }
+
+  /**
+   * Checks a row for a conflict or an implication.
+   * @param r       the row
+   * @param reasons the vector for the reason clauses of the implied literals
+   * @return the conflict clause or {@code null} if the row is no conflict
+   */
+  private LNGIntVector checkRow(int r, final LNGVector<LNGIntVector> reasons) {
+    final long[] row = this.matrix[r];
+    int numUnassigned = 0;
+    int numTrue = 0;
+    for (int i = 0; i < this.words; i++) {
+      numUnassigned += Long.bitCount(row[i] & this.unassigned[i]);
+      numTrue += Long.bitCount(row[i] & this.trueMask[i]);
+    }
+    final boolean parity = this.matrixRhs[r] ^ ((numTrue & 1) == 1);
+    if (numUnassigned == 0 && parity)
+      return this.clauseForRow(row, -1, false);
+    if (numUnassigned == 1)
+      reasons.push(this.clauseForRow(row, this.pivotCols[r], parity));
+    return null;
+  }
+
+  /**
+   * Generates the clause for a given row of the reduced matrix.
+   * @param row         the row
+   * @param impliedCol  the column of the implied variable or -1 if the row is a conflict
+   * @param impliedSign the implied value of the implied variable
+   * @return the clause for the row, the implied literal (if any) is the first literal
+   */
+  private LNGIntVector clauseForRow(final long[] row, int impliedCol, boolean impliedSign) {
+    final LNGIntVector clause = new LNGIntVector();
+    if (impliedCol != -1)
+      clause.push(this.colVars.get(impliedCol) * 2 + (impliedSign ? 0 : 1));
+    for (int i = 0; i < this.words; i++) {
+      long assigned = row[i] & ~this.unassigned[i];
+      while (assigned != 0) {
+        final int bit = Long.numberOfTrailingZeros(assigned);
+        assigned &= assigned - 1;
+        final int var = this.colVars.get((i << 6) + bit);
+        clause.push(var * 2 + ((this.trueMask[i] & (1L << bit)) != 0 ? 1 : 0));
+      }
+    }
+    return clause;
+  }
+
+  /**
+   * Builds the bit-packed representation of the rows.  No row has a pivot yet.
+   */
+  private void pack() {
+    final int numRows = this.rows.size();
+    final int numCols = this.colVars.size();
+    this.words = Math.max(1, (numCols + 63) >>> 6);
+    this.matrix = new long[numRows][this.words];
+    this.matrixRhs = new boolean[numRows];
+    for (int r = 0; r < numRows; r++) {
+      final LNGIntVector row = this.rows.get(r);
+      for (int i = 0; i < row.size(); i++) {
+        final int col = this.varCols.get(row.get(i));
+        this.matrix[r][col >>> 6] |= 1L << (col & 63);
+      }
+      this.matrixRhs[r] = this.rhs.get(r);
+    }
+    this.pivotCols = new int[numRows];
+    Arrays.fill(this.pivotCols, -1);
+    this.pivotRows = new int[numCols];
+    Arrays.fill(this.pivotRows, -1);
+    this.unassigned = new long[this.words];
+    this.trueMask = new long[this.words];
+    this.marked = new boolean[numRows];
+    this.markedRows = new LNGIntVector(numRows);
+    this.pivotless = new LNGIntVector(numRows);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("MSXorMatrix{");
+    for (int i = 0; i < this.rows.size(); i++) {
+      sb.append(this.rows.get(i)).append("=").append(this.rhs.get(i) ? 1 : 0);
+      if (i < this.rows.size() - 1)
+        sb.append(", ");
+    }
+    return sb.append("}").toString();
+  }
+}
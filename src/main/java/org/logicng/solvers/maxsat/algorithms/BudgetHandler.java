@@ -0,0 +1,83 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.maxsat.algorithms;
+
+import org.logicng.handlers.SATHandler;
+
+/**
+ * A SAT handler which aborts the solver after a number of conflicts and forwards all calls to an optional outer
+ * handler.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+final class BudgetHandler implements SATHandler {
+  private final SATHandler outer;
+  private int budget;
+  private boolean aborted;
+
+  /**
+   * Constructs a new budget handler.
+   * @param outer  the outer handler, may be {@code null}
+   * @param budget the maximal number of conflicts
+   */
+  BudgetHandler(final SATHandler outer, final int budget) {
+    this.outer = outer;
+    this.budget = budget;
+    this.aborted = false;
+  }
+
+  /**
+   * Returns whether the outer handler aborted the computation.  An exceeded budget is not reported here.
+   * @return {@code true} if the outer handler aborted the computation, {@code false} otherwise
+   */
+  boolean aborted() {
+    return this.aborted;
+  }
+
+  @Override
+  public boolean detectedConflict() {
+    if (this.outer != null && !this.outer.detectedConflict()) {
+      this.aborted = true;
+      return false;
+    }
+    return --this.budget > 0;
+  }
+
+  @Override
+  public void startedSolving() {
+    if (this.outer != null)
+      this.outer.startedSolving();
+  }
+
+  @Override
+  public void finishedSolving() {
+    if (this.outer != null)
+      this.outer.finishedSolving();
+  }
+}
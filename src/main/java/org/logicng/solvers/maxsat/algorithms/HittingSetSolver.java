@@ -0,0 +1,237 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.maxsat.algorithms;
+
+import org.logicng.collections.LNGBooleanVector;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.collections.LNGLongVector;
+import org.logicng.collections.LNGVector;
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Tristate;
+import org.logicng.handlers.MaxSATHandler;
+import org.logicng.handlers.SATHandler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.logicng.solvers.maxsat.algorithms.MaxSATConfig.SolverType;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.mkLit;
+
+/**
+ * A solver for the weighted hitting set problem.
+ * <p>
+ * Given a set of weighted elements and a set of cores, i.e. sets of elements, a hitting set is a set of elements which
+ * contains at least one element of each core.  The solver computes hitting sets greedily or with minimum weight.  A
+ * minimum hitting set is computed by an incremental OLL instance over the cores: each element is a variable with a
+ * soft unit clause stating that the element is not chosen, each core is a hard clause.  Cores can be added between
+ * the calls.  The OLL instance keeps its cores, totalizers, and lower bound, and the greedy hitting set extends the
+ * last hitting set.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+final class HittingSetSolver {
+
+  private final long[] weights;
+  private final List<int[]> cores;
+  private final LNGVector<LNGIntVector> occurrences;
+  private final OLL oll;
+  private boolean[] best;
+  private long bestCost;
+
+  /**
+   * Constructs a new hitting set solver.
+   * @param weights    the weights of the elements, the elements are the indices of this vector
+   * @param solverType the SAT solver type of the OLL instance
+   */
+  HittingSetSolver(final LNGLongVector weights, final SolverType solverType) {
+    this.weights = weights.toArray();
+    this.cores = new ArrayList<>();
+    this.occurrences = new LNGVector<>(this.weights.length);
+    this.oll = new OLL(new MaxSATConfig.Builder().solver(solverType).build());
+    for (int i = 0; i < this.weights.length; i++) {
+      this.occurrences.push(new LNGIntVector());
+      this.oll.newVar();
+    }
+    for (int i = 0; i < this.weights.length; i++) {
+      final LNGIntVector clause = new LNGIntVector(1);
+      clause.push(mkLit(i, true));
+      this.oll.setCurrentWeight(this.weights[i]);
+      this.oll.updateSumWeights(this.weights[i]);
+      this.oll.addSoftClause(this.weights[i], clause);
+    }
+    this.oll.setProblemType(this.oll.currentWeight() == 1 ? MaxSAT.ProblemType.UNWEIGHTED : MaxSAT.ProblemType.WEIGHTED);
+    this.best = new boolean[this.weights.length];
+    this.bestCost = 0;
+  }
+
+  /**
+   * Adds a new core.
+   * @param core the elements of the core, must not be empty
+   */
+  void addCore(final LNGIntVector core) {
+    final int index = this.cores.size();
+    this.cores.add(core.toArray());
+    final LNGIntVector clause = new LNGIntVector(core.size());
+    for (int i = 0; i < core.size(); i++) {
+      this.occurrences.get(core.get(i)).push(index);
+      clause.push(mkLit(core.get(i), false));
+    }
+    this.oll.addHardClause(clause);
+  }
+
+  /**
+   * Returns the number of cores.
+   * @return the number of cores
+   */
+  int nbCores() {
+    return this.cores.size();
+  }
+
+  /**
+   * Computes a hitting set of all cores greedily.  The last hitting set is extended by the element with the smallest
+   * weight per newly hit core until all cores are hit.
+   * @return the hitting set
+   */
+  boolean[] greedy() {
+    final boolean[] hit = new boolean[this.cores.size()];
+    int unhit = 0;
+    for (int c = 0; c < this.cores.size(); c++) {
+      for (final int e : this.cores.get(c))
+        hit[c] |= this.best[e];
+      if (!hit[c])
+        unhit++;
+    }
+    while (unhit > 0) {
+      int bestElement = -1;
+      double bestRatio = Double.MAX_VALUE;
+      for (int e = 0; e < this.weights.length; e++) {
+        if (this.best[e])
+          continue;
+        int count = 0;
+        for (int i = 0; i < this.occurrences.get(e).size(); i++)
+          if (!hit[this.occurrences.get(e).get(i)])
+            count++;
+        if (count > 0 && (double) this.weights[e] / count < bestRatio) {
+          bestRatio = (double) this.weights[e] / count;
+          bestElement = e;
+        }
+      }
+      this.best[bestElement] = true;
+      this.bestCost += this.weights[bestElement];
+      for (int i = 0; i < this.occurrences.get(bestElement).size(); i++) {
+        final int c = this.occurrences.get(bestElement).get(i);
+        if (!hit[c]) {
+          hit[c] = true;
+          unhit--;
+        }
+      }
+    }
+    return Arrays.copyOf(this.best, this.best.length);
+  }
+
+  /**
+   * Computes a hitting set of all cores with minimum weight.
+   * @param handler a SAT handler for the solver calls, may be {@code null}
+   * @return {@code TRUE} if a minimum hitting set was found, {@code UNDEF} if the handler aborted the computation
+   */
+  Tristate solve(final SATHandler handler) {
+    final MaxSAT.MaxSATResult result = this.oll.search(new ForwardingHandler(handler));
+    if (result == MaxSAT.MaxSATResult.UNDEF)
+      return Tristate.UNDEF;
+    assert result == MaxSAT.MaxSATResult.OPTIMUM;
+    final LNGBooleanVector model = this.oll.model();
+    for (int i = 0; i < this.weights.length; i++)
+      this.best[i] = model.get(i);
+    this.bestCost = this.oll.result();
+    return Tristate.TRUE;
+  }
+
+  /**
+   * Returns the last hitting set.
+   * @return the last hitting set
+   */
+  boolean[] hittingSet() {
+    return Arrays.copyOf(this.best, this.best.length);
+  }
+
+  /**
+   * Returns the weight of the last hitting set.
+   * @return the weight of the last hitting set
+   */
+  long cost() {
+    return this.bestCost;
+  }
+
+  /**
+   * A MaxSAT handler which only forwards the SAT handler.  The bounds of the hitting set problem are not reported.
+   */
+  private static final class ForwardingHandler implements MaxSATHandler {
+    private final SATHandler satHandler;
+
+    private ForwardingHandler(final SATHandler satHandler) {
+      this.satHandler = satHandler;
+    }
+
+    @Override
+    public SATHandler satHandler() {
+      return this.satHandler;
+    }
+
+    @Override
+    public boolean foundLowerBound(final long lowerBound, final Assignment model) {
+      return true;
+    }
+
+    @Override
+    public boolean foundUpperBound(final long upperBound, final Assignment model) {
+      return true;
+    }
+
+    @Override
+    public void startedSolving() {
+      // nothing to do here
+    }
+
+    @Override
+    public void finishedSolving() {
+      // nothing to do here
+    }
+
+    @Override
+    public long lowerBoundApproximation() {
+      return -1;
+    }
+
+    @Override
+    public long upperBoundApproximation() {
+      return -1;
+    }
+  }
+}
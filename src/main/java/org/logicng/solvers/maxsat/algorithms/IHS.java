@@ -0,0 +1,270 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.maxsat.algorithms;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.collections.LNGLongVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.solvers.datastructures.MSSoftClause;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+import java.io.PrintStream;
+
+import static org.logicng.datastructures.Tristate.FALSE;
+import static org.logicng.datastructures.Tristate.TRUE;
+import static org.logicng.datastructures.Tristate.UNDEF;
+import static org.logicng.solvers.maxsat.algorithms.MaxSATConfig.Verbosity;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.not;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.var;
+
+/**
+ * An implicit hitting set algorithm in the style of MaxHS.
+ * <p>
+ * The algorithm alternates between a SAT solver and a hitting set solver.  The SAT solver extracts cores of soft
+ * clauses which are not in the current hitting set.  Within one round, the soft clauses of each core are removed from
+ * the assumptions, so the cores of a round are disjoint.  Small cores are minimized with a conflict budget per solver
+ * call.  The hitting set solver then computes a new hitting set of all cores found so far.  As long as new cores are
+ * found, the hitting set is extended greedily.  Only if a greedy hitting set yields no new core, a hitting set of
+ * minimum weight is computed by an incremental OLL instance over the cores.  Its weight is a lower bound for the
+ * optimum.  If the SAT solver finds no core for a minimum hitting set, its model is optimal.  Each model of the SAT
+ * solver is an upper bound.
+ * <p>
+ * The SAT solver with its learnt clauses, all cores, the OLL instance of the hitting set solver, and the last hitting
+ * set are kept between the rounds.  The algorithm performs best on instances with many small cores.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class IHS extends MaxSAT {
+
+  private static final int MINIMIZATION_BUDGET = 1000;
+  private static final int MAX_MINIMIZATION_SIZE = 64;
+
+  private final PrintStream output;
+  private final LNGIntVector assumptionLiterals;
+  private final LNGIntVector softIndices;
+  private MiniSatStyleSolver solver;
+  private HittingSetSolver hittingSetSolver;
+
+  /**
+   * Constructs a new solver with default values.
+   */
+  public IHS() {
+    this(new MaxSATConfig.Builder().build());
+  }
+
+  /**
+   * Constructs a new solver with a given configuration.
+   * @param config the configuration
+   */
+  public IHS(final MaxSATConfig config) {
+    super(config);
+    this.solver = null;
+    this.verbosity = config.verbosity;
+    this.output = config.output;
+    this.assumptionLiterals = new LNGIntVector();
+    this.softIndices = new LNGIntVector();
+  }
+
+  @Override
+  public MaxSATResult search() {
+    nbInitialVariables = nVars();
+    this.initialize();
+    final Tristate initial = searchSATSolver(this.solver, satHandler());
+    if (initial == UNDEF)
+      return MaxSATResult.UNDEF;
+    else if (initial == FALSE)
+      return MaxSATResult.UNSATISFIABLE;
+    nbSatisfiable++;
+    if (!this.updateModel())
+      return MaxSATResult.UNDEF;
+    boolean[] hittingSet = new boolean[nSoft()];
+    boolean exact = false;
+    while (true) {
+      if (ubCost == lbCost)
+        return MaxSATResult.OPTIMUM;
+      final Tristate res = this.extractCores(hittingSet);
+      if (res == UNDEF)
+        return MaxSATResult.UNDEF;
+      if (ubCost == lbCost || res == FALSE && exact)
+        return MaxSATResult.OPTIMUM;
+      exact = res == FALSE;
+      if (!exact)
+        hittingSet = this.hittingSetSolver.greedy();
+      else {
+        if (this.hittingSetSolver.solve(satHandler()) == UNDEF)
+          return MaxSATResult.UNDEF;
+        hittingSet = this.hittingSetSolver.hittingSet();
+        lbCost = this.hittingSetSolver.cost();
+        if (verbosity != Verbosity.NONE)
+          this.output.println("c LB : " + lbCost);
+        if (!foundLowerBound(lbCost, null))
+          return MaxSATResult.UNDEF;
+      }
+    }
+  }
+
+  /**
+   * Creates the SAT solver with the hard clauses and the soft clauses.  Each soft clause gets a fresh relaxation
+   * variable whose negation is assumed.
+   */
+  private void initialize() {
+    this.solver = newSATSolver();
+    for (int i = 0; i < nVars(); i++)
+      newSATVariable(this.solver);
+    for (int i = 0; i < nHard(); i++)
+      this.solver.addClause(hardClauses.get(i).clause(), null);
+    final LNGLongVector weights = new LNGLongVector(nSoft());
+    this.assumptionLiterals.clear();
+    this.softIndices.clear();
+    this.softIndices.growTo(nVars(), -1);
+    for (int i = 0; i < nSoft(); i++) {
+      final MSSoftClause softClause = softClauses.get(i);
+      final int l = newLiteral(false);
+      newSATVariable(this.solver);
+      softClause.relaxationVars().push(l);
+      softClause.setAssumptionVar(l);
+      final LNGIntVector clause = new LNGIntVector(softClause.clause());
+      clause.push(l);
+      this.solver.addClause(clause, null);
+      this.assumptionLiterals.push(not(l));
+      this.softIndices.push(i);
+      weights.push(softClause.weight());
+    }
+    this.hittingSetSolver = new HittingSetSolver(weights, solverType);
+  }
+
+  /**
+   * Extracts disjoint cores of the soft clauses which are not in the given hitting set and adds them to the hitting
+   * set solver.
+   * @param hittingSet the hitting set
+   * @return {@code TRUE} if cores were found, {@code FALSE} if the SAT solver found a model without extracting a core,
+   * and {@code UNDEF} if the handler aborted the computation
+   */
+  private Tristate extractCores(final boolean[] hittingSet) {
+    final boolean[] removed = new boolean[nSoft()];
+    for (int i = 0; i < nSoft(); i++)
+      removed[i] = hittingSet[i];
+    boolean found = false;
+    while (true) {
+      final LNGIntVector assumptions = new LNGIntVector();
+      for (int i = 0; i < nSoft(); i++)
+        if (!removed[i])
+          assumptions.push(this.assumptionLiterals.get(i));
+      final Tristate res = searchSATSolver(this.solver, satHandler(), assumptions);
+      if (res == UNDEF)
+        return UNDEF;
+      else if (res == TRUE) {
+        nbSatisfiable++;
+        return !this.updateModel() ? UNDEF : found ? TRUE : FALSE;
+      }
+      nbCores++;
+      final LNGIntVector core = this.minimizeCore(this.conflictCore());
+      if (core == null)
+        return UNDEF;
+      assert !core.empty();
+      sumSizeCores += core.size();
+      this.hittingSetSolver.addCore(core);
+      for (int i = 0; i < core.size(); i++)
+        removed[core.get(i)] = true;
+      found = true;
+    }
+  }
+
+  /**
+   * Returns the soft clauses of the conflict of the SAT solver.
+   * @return the indices of the soft clauses
+   */
+  private LNGIntVector conflictCore() {
+    final LNGIntVector core = new LNGIntVector(this.solver.conflict().size());
+    for (int i = 0; i < this.solver.conflict().size(); i++)
+      core.push(this.softIndices.get(var(this.solver.conflict().get(i))));
+    return core;
+  }
+
+  /**
+   * Minimizes a core by trying to remove each of its soft clauses.  Each solver call is limited by a conflict budget,
+   * if the budget is exceeded, the soft clause is kept.  Large cores are not minimized, since one solver call per soft
+   * clause is too expensive for them.
+   * @param core the indices of the soft clauses of the core
+   * @return the minimized core or {@code null} if the handler aborted the computation
+   */
+  private LNGIntVector minimizeCore(final LNGIntVector core) {
+    if (core.size() > MAX_MINIMIZATION_SIZE)
+      return core;
+    LNGIntVector current = core;
+    int i = 0;
+    while (current.size() > 1 && i < current.size()) {
+      final LNGIntVector assumptions = new LNGIntVector(current.size() - 1);
+      for (int j = 0; j < current.size(); j++)
+        if (j != i)
+          assumptions.push(this.assumptionLiterals.get(current.get(j)));
+      final BudgetHandler budgetHandler = new BudgetHandler(satHandler(), MINIMIZATION_BUDGET);
+      final Tristate res = searchSATSolver(this.solver, budgetHandler, assumptions);
+      if (budgetHandler.aborted())
+        return null;
+      if (res == FALSE) {
+        final LNGIntVector conflict = this.conflictCore();
+        final LNGIntVector reduced = new LNGIntVector(conflict.size());
+        for (int j = 0; j < current.size(); j++)
+          if (j != i && contains(conflict, current.get(j)))
+            reduced.push(current.get(j));
+        current = reduced;
+      } else
+        i++;
+    }
+    return current;
+  }
+
+  /**
+   * Computes the cost of the current model of the SAT solver and updates the upper bound.
+   * @return {@code false} if the handler aborted the computation, {@code true} otherwise
+   */
+  private boolean updateModel() {
+    final long newCost = computeCostModel(this.solver.model(), Long.MAX_VALUE);
+    if (newCost < ubCost || model.empty()) {
+      saveModel(this.solver.model());
+      if (verbosity != Verbosity.NONE)
+        this.output.println("o " + newCost);
+      ubCost = newCost;
+    }
+    return foundUpperBound(ubCost, null);
+  }
+
+  private static boolean contains(final LNGIntVector vector, final int element) {
+    for (int i = 0; i < vector.size(); i++)
+      if (vector.get(i) == element)
+        return true;
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName();
+  }
+}
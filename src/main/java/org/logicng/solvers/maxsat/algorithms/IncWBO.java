@@ -70,7 +70,7 @@ import static org.logicng.solvers.sat.MiniSatStyleSolver.var;
 
 /**
  * Incremental WBO solver.
- * @version 1.3
+ * @version 1.4.1
  * @since 1.0
  */
 public final class IncWBO extends WBO {
@@ -159,7 +159,7 @@ public final class IncWBO extends WBO {
     }
   }
 
-  private void relaxCore(final LNGIntVector conflict, int weightCore) {
+  private void relaxCore(final LNGIntVector conflict, long weightCore) {
     assert conflict.size() > 0;
     assert weightCore > 0;
     LNGIntVector lits = new LNGIntVector();
@@ -330,7 +330,7 @@ public final class IncWBO extends WBO {
       else if (res == FALSE) {
         nbCores++;
         assert solver.conflict().size() > 0;
-        int coreCost = computeCostCore(solver.conflict());
+        long coreCost = computeCostCore(solver.conflict());
         lbCost += coreCost;
         if (verbosity != Verbosity.NONE)
           this.output.println(String.format("c LB : %d CS : %d W : %d", lbCost, solver.conflict().size(), coreCost));
@@ -353,7 +353,7 @@ public final class IncWBO extends WBO {
           return MaxSATResult.OPTIMUM;
         } else {
           updateCurrentWeight(weightStrategy);
-          int cost = this.incComputeCostModel(solver.model());
+          long cost = this.incComputeCostModel(solver.model());
           if (cost < ubCost) {
             ubCost = cost;
             saveModel(solver.model());
@@ -366,15 +366,18 @@ public final class IncWBO extends WBO {
             return MaxSATResult.OPTIMUM;
           } else if (!foundUpperBound(ubCost, null))
             return MaxSATResult.UNDEF;
+          final int nbHardened = hardenSoftClauses(solver, lbCost, false, this.incSoft);
+          if (nbHardened > 0 && verbosity != Verbosity.NONE)
+            this.output.println("c Hardened soft clauses : " + nbHardened);
           this.incrementalBuildWeightSolver(weightStrategy);
         }
       }
     }
   }
 
-  private int incComputeCostModel(final LNGBooleanVector currentModel) {
+  private long incComputeCostModel(final LNGBooleanVector currentModel) {
     assert currentModel.size() != 0;
-    int currentCost = 0;
+    long currentCost = 0;
     for (int i = 0; i < nSoft(); i++) {
       boolean unsatisfied = true;
       for (int j = 0; j < softClauses.get(i).clause().size(); j++) {
@@ -415,7 +418,7 @@ public final class IncWBO extends WBO {
       else if (res == FALSE) {
         nbCores++;
         assert solver.conflict().size() > 0;
-        int coreCost = computeCostCore(solver.conflict());
+        long coreCost = computeCostCore(solver.conflict());
         lbCost += coreCost;
         if (verbosity != Verbosity.NONE)
           this.output.println(String.format("c LB : %d CS : %d W : %d", lbCost, solver.conflict().size(), coreCost));
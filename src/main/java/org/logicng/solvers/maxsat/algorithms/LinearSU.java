@@ -64,18 +64,23 @@ import static org.logicng.solvers.maxsat.algorithms.MaxSATConfig.Verbosity;
 
 /**
  * Linear search solver with Boolean Multilevel Optimization (BMO)
- * @version 1.3
+ * @version 1.4.1
  * @since 1.0
  */
 public final class LinearSU extends MaxSAT {
 
+  private static final long LOCAL_SEARCH_SEED = 42;
+
   private final Encoder encoder;
   private final boolean bmoMode;  // Enables BMO mode.
   private final LNGIntVector objFunction; // Literals to be used in the constraint that excludes models.
   private final LNGIntVector coeffs; // Coefficients of the literals that are used in the constraint that excludes models.
   private final PrintStream output;
+  private final int localSearchFlips;
   private MiniSatStyleSolver solver;
   private boolean isBmo; // Stores if the formula is BMO or not.
+  private long excludedCost; // All models with this cost or more are excluded.
+  private boolean sharedExclusion; // Stores if the excluded cost is a shared upper bound of the handler.
 
   /**
    * Constructs a new solver with default values.
@@ -99,6 +104,7 @@ public final class LinearSU extends MaxSAT {
     this.objFunction = new LNGIntVector();
     this.coeffs = new LNGIntVector();
     this.output = config.output;
+    this.localSearchFlips = config.localSearchFlips;
   }
 
   @Override
@@ -111,8 +117,9 @@ public final class LinearSU extends MaxSAT {
     if (problemType == ProblemType.WEIGHTED) {
       if (this.bmoMode && this.isBmo)
         return this.bmoSearch();
-      else
-        return this.normalSearch();
+      if (ubCost > Integer.MAX_VALUE)
+        throw new IllegalStateException("Error: Currently LinearSU only supports weighted MaxSAT instances whose sum of weights fits into an integer.");
+      return this.normalSearch();
     } else
       return this.normalSearch();
   }
@@ -121,13 +128,13 @@ public final class LinearSU extends MaxSAT {
     assert orderWeights.size() > 0;
     Tristate res;
     this.initRelaxation();
-    int currentWeight = orderWeights.get(0);
-    int minWeight = orderWeights.get(orderWeights.size() - 1);
+    long currentWeight = orderWeights.get(0);
+    long minWeight = orderWeights.get(orderWeights.size() - 1);
     int posWeight = 0;
     LNGVector<LNGIntVector> functions = new LNGVector<>();
     LNGIntVector weights = new LNGIntVector();
     this.solver = this.rebuildBMO(functions, weights, currentWeight);
-    int localCost = 0;
+    long localCost = 0;
     ubCost = 0;
     while (true) {
       res = searchSATSolver(this.solver, satHandler());
@@ -135,7 +142,7 @@ public final class LinearSU extends MaxSAT {
         return MaxSATResult.UNDEF;
       if (res == Tristate.TRUE) {
         nbSatisfiable++;
-        int newCost = computeCostModel(this.solver.model(), currentWeight);
+        long newCost = computeCostModel(this.solver.model(), currentWeight);
         if (currentWeight == minWeight) {
           saveModel(this.solver.model());
           if (verbosity != Verbosity.NONE)
@@ -151,7 +158,7 @@ public final class LinearSU extends MaxSAT {
           if (newCost == 0) {
             functions.push(new LNGIntVector(this.objFunction));
             localCost = newCost;
-            weights.push(localCost / currentWeight);
+            weights.push((int) (localCost / currentWeight));
             posWeight++;
             currentWeight = orderWeights.get(posWeight);
             localCost = 0;
@@ -160,9 +167,9 @@ public final class LinearSU extends MaxSAT {
               this.output.println("c LB : " + lbCost);
           } else {
             if (localCost == 0)
-              this.encoder.encodeCardinality(this.solver, this.objFunction, newCost / currentWeight - 1);
+              this.encoder.encodeCardinality(this.solver, this.objFunction, (int) (newCost / currentWeight - 1));
             else
-              this.encoder.updateCardinality(this.solver, newCost / currentWeight - 1);
+              this.encoder.updateCardinality(this.solver, (int) (newCost / currentWeight - 1));
             localCost = newCost;
           }
         }
@@ -176,7 +183,7 @@ public final class LinearSU extends MaxSAT {
             return MaxSATResult.OPTIMUM;
         } else {
           functions.push(new LNGIntVector(this.objFunction));
-          weights.push(localCost / currentWeight);
+          weights.push((int) (localCost / currentWeight));
           lbCost += localCost;
           posWeight++;
           currentWeight = orderWeights.get(posWeight);
@@ -195,13 +202,29 @@ public final class LinearSU extends MaxSAT {
     Tristate res;
     this.initRelaxation();
     this.solver = this.rebuildSolver(1);
+    this.excludedCost = Long.MAX_VALUE;
+    this.sharedExclusion = false;
+    if (this.localSearchFlips > 0) {
+      res = this.localSearch();
+      if (res == Tristate.UNDEF)
+        return MaxSATResult.UNDEF;
+      else if (res == Tristate.TRUE) {
+        if (ubCost == 0)
+          return MaxSATResult.OPTIMUM;
+        this.excludeCost(ubCost);
+        final int nbHardened = hardenSoftClauses(this.solver, 0, true, null);
+        if (nbHardened > 0 && verbosity != Verbosity.NONE)
+          this.output.println("c Hardened soft clauses : " + nbHardened);
+      }
+    }
     while (true) {
+      this.excludeSharedUpperBound();
       res = searchSATSolver(this.solver, satHandler());
       if (res == Tristate.UNDEF)
         return MaxSATResult.UNDEF;
       else if (res == Tristate.TRUE) {
         nbSatisfiable++;
-        int newCost = computeCostModel(this.solver.model(), Integer.MAX_VALUE);
+        long newCost = computeCostModel(this.solver.model(), Long.MAX_VALUE);
         saveModel(this.solver.model());
         if (verbosity != Verbosity.NONE)
           this.output.println("o " + newCost);
@@ -209,23 +232,22 @@ public final class LinearSU extends MaxSAT {
           ubCost = newCost;
           return MaxSATResult.OPTIMUM;
         } else {
-          if (problemType == ProblemType.WEIGHTED) {
-            if (!this.encoder.hasPBEncoding())
-              this.encoder.encodePB(this.solver, this.objFunction, this.coeffs, newCost - 1);
-            else
-              this.encoder.updatePB(this.solver, newCost - 1);
-          } else {
-            if (!this.encoder.hasCardEncoding())
-              this.encoder.encodeCardinality(this.solver, this.objFunction, newCost - 1);
-            else
-              this.encoder.updateCardinality(this.solver, newCost - 1);
-          }
+          this.excludeCost(newCost);
           ubCost = newCost;
           if (!foundUpperBound(ubCost, null))
             return MaxSATResult.UNDEF;
+          if (ubCost <= sharedLowerBound())
+            return MaxSATResult.OPTIMUM;
+          final int nbHardened = hardenSoftClauses(this.solver, 0, true, null);
+          if (nbHardened > 0 && verbosity != Verbosity.NONE)
+            this.output.println("c Hardened soft clauses : " + nbHardened);
         }
       } else {
         nbCores++;
+        if (this.sharedExclusion) {
+          foundLowerBound(this.excludedCost, null);
+          return MaxSATResult.UNDEF;
+        }
         if (model.size() == 0) {
           assert nbSatisfiable == 0;
           return MaxSATResult.UNSATISFIABLE;
@@ -240,7 +262,7 @@ public final class LinearSU extends MaxSAT {
    * @param minWeight the minimal weight
    * @return the rebuilt solver
    */
-  private MiniSatStyleSolver rebuildSolver(int minWeight) {
+  private MiniSatStyleSolver rebuildSolver(long minWeight) {
     final LNGBooleanVector seen = new LNGBooleanVector(nVars());
     seen.growTo(nVars(), false);
     final MiniSatStyleSolver s = newSATSolver();
@@ -259,6 +281,70 @@ public final class LinearSU extends MaxSAT {
     return s;
   }
 
+  /**
+   * Excludes all models which are not better than the shared upper bound of the handler if it is smaller than the
+   * currently excluded cost.  If the search then finds no model, the shared upper bound is optimal, but the model for
+   * it is not known to this solver.
+   */
+  private void excludeSharedUpperBound() {
+    final long shared = sharedUpperBound();
+    if (shared > 0 && shared < this.excludedCost) {
+      this.excludeCost(shared);
+      this.sharedExclusion = true;
+      final int nbHardened = hardenSoftClauses(this.solver, 0, true, null);
+      if (nbHardened > 0 && verbosity != Verbosity.NONE)
+        this.output.println("c Hardened soft clauses : " + nbHardened);
+    }
+  }
+
+  /**
+   * Adds the constraint that the cost of a model must be smaller than the given cost.
+   * @param cost the cost
+   */
+  private void excludeCost(final long cost) {
+    this.excludedCost = cost;
+    this.sharedExclusion = false;
+    if (problemType == ProblemType.WEIGHTED) {
+      if (!this.encoder.hasPBEncoding())
+        this.encoder.encodePB(this.solver, this.objFunction, this.coeffs, (int) (cost - 1));
+      else
+        this.encoder.updatePB(this.solver, (int) (cost - 1));
+    } else {
+      if (!this.encoder.hasCardEncoding())
+        this.encoder.encodeCardinality(this.solver, this.objFunction, (int) (cost - 1));
+      else
+        this.encoder.updateCardinality(this.solver, (int) (cost - 1));
+    }
+  }
+
+  /**
+   * Runs the local search on the original formula.  Each improvement is saved as model and reported as upper bound.
+   * The best model of the local search is used as phase hint for the SAT solver.
+   * @return {@code TRUE} if the local search found a model, {@code FALSE} if not, and {@code UNDEF} if the handler
+   * aborted the computation
+   */
+  private Tristate localSearch() {
+    final SATLike localSearch = new SATLike(nbInitialVariables, hardClauses, softClauses, null, this.localSearchFlips,
+            LOCAL_SEARCH_SEED);
+    Tristate res;
+    while ((res = localSearch.improve(satHandler())) == Tristate.TRUE) {
+      saveModel(localSearch.bestModel());
+      ubCost = localSearch.bestCost();
+      if (verbosity != Verbosity.NONE)
+        this.output.println(String.format("c LS-UB : %d (%d flips)", ubCost, localSearch.flips()));
+      if (!foundUpperBound(ubCost, null))
+        return Tristate.UNDEF;
+    }
+    if (res == Tristate.UNDEF)
+      return Tristate.UNDEF;
+    final LNGBooleanVector hint = localSearch.bestModel();
+    if (hint == null)
+      return Tristate.FALSE;
+    for (int v = 0; v < nbInitialVariables; v++)
+      this.solver.setPolarity(v, !hint.get(v));
+    return Tristate.TRUE;
+  }
+
   /**
    * Rebuilds a SAT solver with the current MaxSAT formula
    * @param functions     the functions
@@ -266,16 +352,14 @@ public final class LinearSU extends MaxSAT {
    * @param currentWeight the current weight
    * @return the rebuilt solver
    */
-  private MiniSatStyleSolver rebuildBMO(final LNGVector<LNGIntVector> functions, final LNGIntVector rhs, int currentWeight) {
+  private MiniSatStyleSolver rebuildBMO(final LNGVector<LNGIntVector> functions, final LNGIntVector rhs, long currentWeight) {
     assert functions.size() == rhs.size();
     final MiniSatStyleSolver s = this.rebuildSolver(currentWeight);
     this.objFunction.clear();
     this.coeffs.clear();
     for (int i = 0; i < nSoft(); i++) {
-      if (softClauses.get(i).weight() == currentWeight) {
+      if (softClauses.get(i).weight() == currentWeight)
         this.objFunction.push(softClauses.get(i).relaxationVars().get(0));
-        this.coeffs.push(softClauses.get(i).weight());
-      }
     }
     for (int i = 0; i < functions.size(); i++)
       this.encoder.encodeCardinality(s, functions.get(i), rhs.get(i));
@@ -290,7 +374,8 @@ public final class LinearSU extends MaxSAT {
       final int l = newLiteral(false);
       softClause.relaxationVars().push(l);
       this.objFunction.push(l);
-      this.coeffs.push(softClause.weight());
+      if (problemType == ProblemType.WEIGHTED)
+        this.coeffs.push((int) softClause.weight());
     }
   }
 
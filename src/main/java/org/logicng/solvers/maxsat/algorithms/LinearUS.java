@@ -60,7 +60,7 @@ import static org.logicng.solvers.sat.MiniSatStyleSolver.not;
 
 /**
  * Linear search solver.
- * @version 1.3
+ * @version 1.4.1
  * @since 1.0
  */
 public final class LinearUS extends MaxSAT {
@@ -121,7 +121,7 @@ public final class LinearUS extends MaxSAT {
         return MaxSATResult.UNDEF;
       else if (res == Tristate.TRUE) {
         nbSatisfiable++;
-        int newCost = computeCostModel(this.solver.model(), Integer.MAX_VALUE);
+        long newCost = computeCostModel(this.solver.model(), Long.MAX_VALUE);
         saveModel(this.solver.model());
         if (verbosity != MaxSATConfig.Verbosity.NONE)
           this.output.println("o " + newCost);
@@ -150,7 +150,7 @@ public final class LinearUS extends MaxSAT {
         } else if (!foundLowerBound(lbCost, null))
           return MaxSATResult.UNDEF;
         this.solver = this.rebuildSolver();
-        this.encoder.encodeCardinality(this.solver, this.objFunction, lbCost);
+        this.encoder.encodeCardinality(this.solver, this.objFunction, (int) lbCost);
       }
     }
   }
@@ -169,7 +169,7 @@ public final class LinearUS extends MaxSAT {
         return MaxSATResult.UNDEF;
       else if (res == Tristate.TRUE) {
         nbSatisfiable++;
-        int newCost = computeCostModel(this.solver.model(), Integer.MAX_VALUE);
+        long newCost = computeCostModel(this.solver.model(), Long.MAX_VALUE);
         saveModel(this.solver.model());
         if (verbosity != MaxSATConfig.Verbosity.NONE)
           this.output.println("o " + newCost);
@@ -201,9 +201,9 @@ public final class LinearUS extends MaxSAT {
         if (!foundLowerBound(lbCost, null))
           return MaxSATResult.UNDEF;
         if (!this.encoder.hasCardEncoding())
-          this.encoder.buildCardinality(this.solver, this.objFunction, lbCost);
+          this.encoder.buildCardinality(this.solver, this.objFunction, (int) lbCost);
         final LNGIntVector join = new LNGIntVector();
-        this.encoder.incUpdateCardinality(this.solver, join, this.objFunction, lbCost, assumptions);
+        this.encoder.incUpdateCardinality(this.solver, join, this.objFunction, (int) lbCost, assumptions);
       }
     }
   }
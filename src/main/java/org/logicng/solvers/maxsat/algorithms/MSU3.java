@@ -66,7 +66,7 @@ import static org.logicng.solvers.sat.MiniSatStyleSolver.not;
 
 /**
  * Non-incremental MSU3 solver.
- * @version 1.3
+ * @version 1.4.1
  * @since 1.0
  */
 public final class MSU3 extends MaxSAT {
@@ -135,7 +135,7 @@ public final class MSU3 extends MaxSAT {
         return MaxSATResult.UNDEF;
       else if (res == Tristate.TRUE) {
         nbSatisfiable++;
-        int newCost = computeCostModel(this.solver.model(), Integer.MAX_VALUE);
+        long newCost = computeCostModel(this.solver.model(), Long.MAX_VALUE);
         saveModel(this.solver.model());
         if (verbosity != Verbosity.NONE)
           this.output.println("o " + newCost);
@@ -177,7 +177,7 @@ public final class MSU3 extends MaxSAT {
         if (verbosity != Verbosity.NONE)
           this.output.println(String.format("c Relaxed soft clauses %d / %d", currentObjFunction.size(), this.objFunction.size()));
         this.solver = this.rebuildSolver();
-        this.encoder.encodeCardinality(this.solver, currentObjFunction, lbCost);
+        this.encoder.encodeCardinality(this.solver, currentObjFunction, (int) lbCost);
       }
     }
   }
@@ -203,7 +203,7 @@ public final class MSU3 extends MaxSAT {
         return MaxSATResult.UNDEF;
       else if (res == Tristate.TRUE) {
         nbSatisfiable++;
-        int newCost = computeCostModel(this.solver.model(), Integer.MAX_VALUE);
+        long newCost = computeCostModel(this.solver.model(), Long.MAX_VALUE);
         saveModel(this.solver.model());
         if (verbosity != Verbosity.NONE)
           this.output.println("o " + newCost);
@@ -254,12 +254,12 @@ public final class MSU3 extends MaxSAT {
           this.output.println(String.format("c Relaxed soft clauses %d / %d", currentObjFunction.size(), this.objFunction.size()));
         if (!this.encoder.hasCardEncoding()) {
           if (lbCost != currentObjFunction.size()) {
-            this.encoder.buildCardinality(this.solver, currentObjFunction, lbCost);
+            this.encoder.buildCardinality(this.solver, currentObjFunction, (int) lbCost);
             joinObjFunction.clear();
-            this.encoder.incUpdateCardinality(this.solver, joinObjFunction, currentObjFunction, lbCost, encodingAssumptions);
+            this.encoder.incUpdateCardinality(this.solver, joinObjFunction, currentObjFunction, (int) lbCost, encodingAssumptions);
           }
         } else
-          this.encoder.incUpdateCardinality(this.solver, joinObjFunction, currentObjFunction, lbCost, encodingAssumptions);
+          this.encoder.incUpdateCardinality(this.solver, joinObjFunction, currentObjFunction, (int) lbCost, encodingAssumptions);
         for (int i = 0; i < encodingAssumptions.size(); i++)
           assumptions.push(encodingAssumptions.get(i));
       }
@@ -51,11 +51,13 @@ package org.logicng.solvers.maxsat.algorithms;
 
 import org.logicng.collections.LNGBooleanVector;
 import org.logicng.collections.LNGIntVector;
+import org.logicng.collections.LNGLongVector;
 import org.logicng.collections.LNGVector;
 import org.logicng.datastructures.Assignment;
 import org.logicng.datastructures.Tristate;
 import org.logicng.handlers.MaxSATHandler;
 import org.logicng.handlers.SATHandler;
+import org.logicng.handlers.SharedBoundsMaxSATHandler;
 import org.logicng.solvers.datastructures.MSHardClause;
 import org.logicng.solvers.datastructures.MSSoftClause;
 import org.logicng.solvers.sat.GlucoseConfig;
@@ -72,14 +74,16 @@ import java.util.TreeSet;
 
 import static org.logicng.solvers.maxsat.algorithms.MaxSATConfig.SolverType;
 import static org.logicng.solvers.maxsat.algorithms.MaxSATConfig.Verbosity;
+import static org.logicng.solvers.maxsat.algorithms.MaxSATConfig.WeightStrategy;
 import static org.logicng.solvers.sat.MiniSatStyleSolver.LIT_UNDEF;
 import static org.logicng.solvers.sat.MiniSatStyleSolver.mkLit;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.not;
 import static org.logicng.solvers.sat.MiniSatStyleSolver.sign;
 import static org.logicng.solvers.sat.MiniSatStyleSolver.var;
 
 /**
  * Super class for the MaxSAT solvers.
- * @version 1.3
+ * @version 1.4.1
  * @since 1.0
  */
 public abstract class MaxSAT {
@@ -101,11 +105,14 @@ public abstract class MaxSAT {
   protected final LNGBooleanVector model;
   final LNGVector<MSSoftClause> softClauses;
   final LNGVector<MSHardClause> hardClauses;
-  final LNGIntVector orderWeights;
+  final LNGLongVector orderWeights;
+  final LNGBooleanVector hardened;
+  final LNGIntVector externalAssumptions;
   final SolverType solverType;
+  final boolean preprocessing;
   protected Verbosity verbosity;
   protected MaxSATHandler handler;
-  int hardWeight;
+  long hardWeight;
   ProblemType problemType;
   int nbVars;
   int nbSoft;
@@ -115,9 +122,11 @@ public abstract class MaxSAT {
   int nbSymmetryClauses;
   long sumSizeCores;
   int nbSatisfiable;
-  int ubCost;
-  int lbCost;
-  int currentWeight;
+  long ubCost;
+  long lbCost;
+  long currentWeight;
+  private MaxSATPreprocessor preprocessor;
+  private boolean preprocessingConflict;
 
   /**
    * Constructor.
@@ -127,7 +136,7 @@ public abstract class MaxSAT {
     this.hardWeight = 0;
     this.hardClauses = new LNGVector<>();
     this.softClauses = new LNGVector<>();
-    this.hardWeight = Integer.MAX_VALUE;
+    this.hardWeight = Long.MAX_VALUE;
     this.problemType = ProblemType.UNWEIGHTED;
     this.nbVars = 0;
     this.nbSoft = 0;
@@ -141,8 +150,11 @@ public abstract class MaxSAT {
     this.nbCores = 0;
     this.nbSatisfiable = 0;
     this.sumSizeCores = 0;
-    this.orderWeights = new LNGIntVector();
+    this.orderWeights = new LNGLongVector();
+    this.hardened = new LNGBooleanVector();
+    this.externalAssumptions = new LNGIntVector();
     this.solverType = config.solverType;
+    this.preprocessing = config.preprocessing;
     this.handler = null;
   }
 
@@ -185,7 +197,7 @@ public abstract class MaxSAT {
     this.handler = handler;
     if (handler != null)
       handler.startedSolving();
-    final MaxSATResult result = search();
+    final MaxSATResult result = this.preprocessing ? this.preprocessedSearch() : search();
     if (handler != null)
       handler.finishedSolving();
     this.handler = null;
@@ -199,6 +211,89 @@ public abstract class MaxSAT {
    */
   public abstract MaxSATResult search();
 
+  /**
+   * Preprocesses the working formula on the first call and searches on the preprocessed formula.
+   * @return the result of the solving process
+   */
+  private MaxSATResult preprocessedSearch() {
+    if (this.preprocessor == null) {
+      this.preprocessor = new MaxSATPreprocessor(this);
+      this.preprocessingConflict = !this.preprocessor.preprocess(this.problemType == ProblemType.WEIGHTED);
+    }
+    if (this.preprocessingConflict)
+      return MaxSATResult.UNSATISFIABLE;
+    return this.nSoft() == 0 ? this.searchHardClauses() : search();
+  }
+
+  /**
+   * Solves a working formula without soft clauses with a single SAT call.
+   * @return the result of the solving process
+   */
+  private MaxSATResult searchHardClauses() {
+    final MiniSatStyleSolver s = this.newSATSolver();
+    for (int i = 0; i < this.nVars(); i++)
+      newSATVariable(s);
+    for (int i = 0; i < this.nHard(); i++)
+      s.addClause(this.hardClauses.get(i).clause(), null);
+    final Tristate res = searchSATSolver(s, this.satHandler());
+    if (res == Tristate.UNDEF)
+      return MaxSATResult.UNDEF;
+    if (res == Tristate.FALSE)
+      return MaxSATResult.UNSATISFIABLE;
+    this.ubCost = 0;
+    this.nbInitialVariables = this.nVars();
+    if (this.nbInitialVariables > 0)
+      this.saveModel(s.model());
+    return MaxSATResult.OPTIMUM;
+  }
+
+  /**
+   * Returns whether this algorithm supports incremental solving, i.e. adding hard and soft clauses after a search and
+   * searching under assumptions.
+   * @return {@code true} if the algorithm supports incremental solving, {@code false} otherwise
+   */
+  public boolean supportsIncrementalSolving() {
+    return false;
+  }
+
+  /**
+   * Freezes the optimum of the current objective after a search found it: the working formula is extended by hard
+   * clauses which enforce the optimal cost and all soft clauses are removed, such that the next objective of a
+   * lexicographic optimization can be added and optimized on the same solver.  The lower and upper bound are reset.
+   * @throws UnsupportedOperationException if the algorithm does not support incremental solving
+   * @throws IllegalStateException         if no optimum was found for the current objective
+   */
+  public void freezeObjective() {
+    throw new UnsupportedOperationException("Freezing an objective is not supported by " + this);
+  }
+
+  /**
+   * Removes all soft clauses from the working formula and resets the bounds and the weight level.
+   */
+  void clearObjective() {
+    this.softClauses.clear();
+    this.nbSoft = 0;
+    this.hardened.clear();
+    this.orderWeights.clear();
+    this.ubCost = 0;
+    this.lbCost = 0;
+    this.currentWeight = 1;
+    this.problemType = ProblemType.UNWEIGHTED;
+  }
+
+  /**
+   * Sets the assumptions for the next searches.  An empty vector removes all assumptions.
+   * @param assumptions the assumption literals
+   * @throws UnsupportedOperationException if the algorithm does not support incremental solving
+   */
+  public void setAssumptions(final LNGIntVector assumptions) {
+    if (!this.supportsIncrementalSolving() && !assumptions.empty())
+      throw new UnsupportedOperationException("Assumptions are not supported by " + this);
+    this.externalAssumptions.clear();
+    for (int i = 0; i < assumptions.size(); i++)
+      this.externalAssumptions.push(assumptions.get(i));
+  }
+
   /**
    * Returns the number of variables in the working MaxSAT formula.
    * @return the number of variables in the working MaxSAT formula
@@ -244,7 +339,7 @@ public abstract class MaxSAT {
    * @param weight the weight of the soft clause
    * @param lits   the literals of the soft clause
    */
-  public void addSoftClause(int weight, final LNGIntVector lits) {
+  public void addSoftClause(long weight, final LNGIntVector lits) {
     final LNGIntVector rVars = new LNGIntVector();
     this.softClauses.push(new MSSoftClause(lits, weight, LIT_UNDEF, rVars));
     this.nbSoft++;
@@ -256,7 +351,7 @@ public abstract class MaxSAT {
    * @param lits   the literals of the soft clause
    * @param vars   the relaxation variables of the soft clause
    */
-  public void addSoftClause(int weight, final LNGIntVector lits, final LNGIntVector vars) {
+  public void addSoftClause(long weight, final LNGIntVector lits, final LNGIntVector vars) {
     this.softClauses.push(new MSSoftClause(lits, weight, LIT_UNDEF, vars));
     this.nbSoft++;
   }
@@ -284,7 +379,7 @@ public abstract class MaxSAT {
    * Initializes 'ubCost' to the sum of weights of the soft clauses
    * @param weight the weight
    */
-  public void updateSumWeights(int weight) {
+  public void updateSumWeights(long weight) {
     if (weight != this.hardWeight)
       this.ubCost += weight;
   }
@@ -293,7 +388,7 @@ public abstract class MaxSAT {
    * Initializes the current weight to the maximum weight of the soft clauses.
    * @param weight the weight
    */
-  public void setCurrentWeight(int weight) {
+  public void setCurrentWeight(long weight) {
     if (weight > this.currentWeight && weight != this.hardWeight)
       this.currentWeight = weight;
   }
@@ -302,7 +397,7 @@ public abstract class MaxSAT {
    * Returns the current weight.
    * @return the current weight
    */
-  public int currentWeight() {
+  public long currentWeight() {
     return this.currentWeight;
   }
 
@@ -332,6 +427,8 @@ public abstract class MaxSAT {
     this.model.clear();
     for (int i = 0; i < nbInitialVariables; i++)
       this.model.push(currentModel.get(i));
+    if (this.preprocessor != null)
+      this.preprocessor.reconstruct(this.model);
   }
 
   /**
@@ -342,13 +439,13 @@ public abstract class MaxSAT {
    * @param weight       the weight
    * @return the cost of the given model
    */
-  public int computeCostModel(final LNGBooleanVector currentModel, int weight) {
+  public long computeCostModel(final LNGBooleanVector currentModel, long weight) {
     assert currentModel.size() != 0;
-    int currentCost = 0;
+    long currentCost = 0;
     for (int i = 0; i < nSoft(); i++) {
       boolean unsatisfied = true;
       for (int j = 0; j < softClauses.get(i).clause().size(); j++) {
-        if (weight != Integer.MAX_VALUE && softClauses.get(i).weight() != weight) {
+        if (weight != Long.MAX_VALUE && softClauses.get(i).weight() != weight) {
           unsatisfied = false;
           continue;
         }
@@ -365,6 +462,104 @@ public abstract class MaxSAT {
     return currentCost;
   }
 
+  /**
+   * Updates the current weight to the next weight level of the stratification.
+   * @param strategy the weight strategy, either {@code NORMAL} or {@code DIVERSIFY}
+   */
+  void updateCurrentWeight(final WeightStrategy strategy) {
+    assert strategy == WeightStrategy.NORMAL || strategy == WeightStrategy.DIVERSIFY;
+    if (strategy == WeightStrategy.NORMAL)
+      currentWeight = this.findNextWeight(currentWeight);
+    else if (strategy == WeightStrategy.DIVERSIFY)
+      currentWeight = this.findNextWeightDiversity(currentWeight);
+  }
+
+  /**
+   * Returns the largest weight of a soft clause which is smaller than the given weight or 1 if there is none.
+   * @param weight the weight
+   * @return the next weight level
+   */
+  long findNextWeight(long weight) {
+    long nextWeight = 1;
+    for (int i = 0; i < nSoft(); i++) {
+      if (softClauses.get(i).weight() > nextWeight && softClauses.get(i).weight() < weight)
+        nextWeight = softClauses.get(i).weight();
+    }
+    return nextWeight;
+  }
+
+  /**
+   * Returns the next weight level with diversity-based selection: levels are skipped as long as the ratio of soft
+   * clauses to distinct weights above the level is small.
+   * @param weight the weight
+   * @return the next weight level
+   */
+  long findNextWeightDiversity(long weight) {
+    assert nbSatisfiable > 0;
+    long nextWeight = weight;
+    int nbClauses;
+    final SortedSet<Long> nbWeights = new TreeSet<>();
+    double alpha = 1.25;
+    boolean findNext = false;
+    while (true) {
+      if (nbSatisfiable > 1 || findNext)
+        nextWeight = this.findNextWeight(nextWeight);
+      nbClauses = 0;
+      nbWeights.clear();
+      for (int i = 0; i < nSoft(); i++) {
+        if (softClauses.get(i).weight() >= nextWeight) {
+          nbClauses++;
+          nbWeights.add(softClauses.get(i).weight());
+        }
+      }
+      if ((double) nbClauses / nbWeights.size() > alpha || nbClauses == nSoft())
+        break;
+      if (nbSatisfiable == 1 && !findNext)
+        findNext = true;
+    }
+    return nextWeight;
+  }
+
+  /**
+   * Hardens all soft clauses whose weight exceeds the gap between the upper bound and the given lower bound.  Such a
+   * soft clause is satisfied in every optimal solution.  The upper bound is the own upper bound or a smaller shared
+   * upper bound of the handler.  The hardened clause is added as hard clause and to the given solver.
+   * <p>
+   * If {@code ownRelaxation} is set, the first relaxation variable of each soft clause indicates the falsification of
+   * the clause itself and the clause is hardened by the negation of this variable.  Otherwise, the relaxation
+   * variables belong to relaxed cores and the clause is hardened together with them.
+   * @param s             the solver, may be {@code null} if the solver is rebuilt from the hard clauses anyway
+   * @param lowerBound    the lower bound which is already extracted from the working formula
+   * @param ownRelaxation whether the first relaxation variable is the relaxation variable of the clause itself
+   * @param inactive      the soft clauses which are not part of the working formula anymore, may be {@code null}
+   * @return the number of hardened soft clauses
+   */
+  int hardenSoftClauses(final MiniSatStyleSolver s, long lowerBound, boolean ownRelaxation, final LNGBooleanVector inactive) {
+    final long gap = hardeningUpperBound() - lowerBound;
+    this.hardened.growTo(nSoft(), false);
+    int nbHardened = 0;
+    for (int i = 0; i < nSoft(); i++) {
+      final MSSoftClause softClause = softClauses.get(i);
+      if (softClause.weight() <= gap || this.hardened.get(i) || (inactive != null && i < inactive.size() && inactive.get(i)))
+        continue;
+      final LNGIntVector clause = new LNGIntVector();
+      if (ownRelaxation)
+        clause.push(not(softClause.relaxationVars().get(0)));
+      else {
+        for (int j = 0; j < softClause.clause().size(); j++)
+          clause.push(softClause.clause().get(j));
+        for (int j = 0; j < softClause.relaxationVars().size(); j++)
+          clause.push(softClause.relaxationVars().get(j));
+      }
+      addHardClause(clause);
+      if (s != null)
+        s.addClause(clause, null);
+      this.hardened.set(i, true);
+      nbHardened++;
+    }
+    return nbHardened;
+  }
+
   /**
    * Tests if the MaxSAT formula has lexicographical optimization criterion.
    * @param cache is indicates whether the result should be cached.
@@ -373,10 +568,10 @@ public abstract class MaxSAT {
   public boolean isBMO(boolean cache) {
     assert orderWeights.size() == 0;
     boolean bmo = true;
-    final SortedSet<Integer> partitionWeights = new TreeSet<>();
-    final SortedMap<Integer, Integer> nbPartitionWeights = new TreeMap<>();
+    final SortedSet<Long> partitionWeights = new TreeSet<>();
+    final SortedMap<Long, Integer> nbPartitionWeights = new TreeMap<>();
     for (int i = 0; i < nSoft(); i++) {
-      final int weight = softClauses.get(i).weight();
+      final long weight = softClauses.get(i).weight();
       partitionWeights.add(weight);
       final Integer foundNB = nbPartitionWeights.get(weight);
       if (foundNB == null)
@@ -384,7 +579,7 @@ public abstract class MaxSAT {
       else
         nbPartitionWeights.put(weight, foundNB + 1);
     }
-    for (final int i : partitionWeights)
+    for (final long i : partitionWeights)
       orderWeights.push(i);
     orderWeights.sortReverse();
     long totalWeights = 0;
@@ -414,8 +609,8 @@ public abstract class MaxSAT {
    * Returns the optimal result of the solver.
    * @return the optimal result of the solver
    */
-  public int result() {
-    return this.ubCost;
+  public long result() {
+    return this.ubCost + this.costOffset();
   }
 
   /**
@@ -434,19 +629,59 @@ public abstract class MaxSAT {
     return handler == null ? null : handler.satHandler();
   }
 
-  boolean foundLowerBound(final int lowerBound, final Assignment model) {
-    return handler == null || handler.foundLowerBound(lowerBound, model);
+  boolean foundLowerBound(final long lowerBound, final Assignment model) {
+    return handler == null || handler.foundLowerBound(lowerBound + this.costOffset(), model);
+  }
+
+  boolean foundUpperBound(final long upperBound, final Assignment model) {
+    return handler == null || handler.foundUpperBound(upperBound + this.costOffset(), model);
   }
 
-  boolean foundUpperBound(final int upperBound, final Assignment model) {
-    return handler == null || handler.foundUpperBound(upperBound, model);
+  /**
+   * Returns the shared lower bound of the handler in terms of the working formula.
+   * @return the shared lower bound or -1 if the handler does not share bounds or knows no lower bound
+   */
+  long sharedLowerBound() {
+    if (!(handler instanceof SharedBoundsMaxSATHandler))
+      return -1;
+    final long lb = ((SharedBoundsMaxSATHandler) handler).sharedLowerBound();
+    return lb == -1 ? -1 : lb - this.costOffset();
+  }
+
+  /**
+   * Returns the shared upper bound of the handler in terms of the working formula.
+   * @return the shared upper bound or -1 if the handler does not share bounds or knows no upper bound
+   */
+  long sharedUpperBound() {
+    if (!(handler instanceof SharedBoundsMaxSATHandler))
+      return -1;
+    final long ub = ((SharedBoundsMaxSATHandler) handler).sharedUpperBound();
+    return ub == -1 ? -1 : ub - this.costOffset();
+  }
+
+  /**
+   * Returns the upper bound for hardening soft clauses.  This is the own upper bound or a smaller shared upper bound.
+   * Since there is a model for the shared upper bound, hardening with it keeps all optimal solutions.
+   * @return the upper bound for hardening soft clauses
+   */
+  long hardeningUpperBound() {
+    final long shared = this.sharedUpperBound();
+    return shared == -1 ? ubCost : Math.min(ubCost, shared);
+  }
+
+  /**
+   * Returns the constant cost which was removed from the working formula by the preprocessing.
+   * @return the constant cost
+   */
+  long costOffset() {
+    return this.preprocessor == null ? 0 : this.preprocessor.costOffset();
   }
 
   /**
    * The MaxSAT solver statistics.
    */
   public final class Stats {
-    private final int ubC;
+    private final long ubC;
     private final int nbS;
     private final int nbC;
     private final double avgCS;
@@ -464,7 +699,7 @@ public abstract class MaxSAT {
      * Returns the best solution or -1 if there is none.
      * @return the best solution or -1 if there is none
      */
-    public int bestSolution() {
+    public long bestSolution() {
       return this.ubC;
     }
 
@@ -35,7 +35,7 @@ import java.io.PrintStream;
 
 /**
  * The configuration object for a MaxSAT solver.
- * @version 1.1
+ * @version 1.4.1
  * @since 1.0
  */
 public final class MaxSATConfig extends Configuration {
@@ -100,6 +100,9 @@ public final class MaxSATConfig extends Configuration {
   final boolean symmetry;
   final int limit;
   final boolean bmo;
+  final int localSearchFlips;
+  final boolean preprocessing;
+  final boolean enumeration;
 
   /**
    * Constructor for a MaxSAT configuration.
@@ -118,6 +121,25 @@ public final class MaxSATConfig extends Configuration {
     this.symmetry = builder.symmetry;
     this.limit = builder.limit;
     this.bmo = builder.bmo;
+    this.localSearchFlips = builder.localSearchFlips;
+    this.preprocessing = builder.preprocessing;
+    this.enumeration = builder.enumeration;
+  }
+
+  /**
+   * Returns whether BMO (Boolean Multilevel Optimization) is enabled.
+   * @return whether BMO is enabled
+   */
+  public boolean bmo() {
+    return this.bmo;
+  }
+
+  /**
+   * Returns whether the formulas are recorded for the enumeration of optimal and best models.
+   * @return whether the formulas are recorded for the enumeration of optimal and best models
+   */
+  public boolean enumeration() {
+    return this.enumeration;
   }
 
   @Override
@@ -133,6 +155,9 @@ public final class MaxSATConfig extends Configuration {
     sb.append("symmetry=").append(this.symmetry).append(System.lineSeparator());
     sb.append("limit=").append(this.limit).append(System.lineSeparator());
     sb.append("bmo=").append(this.bmo).append(System.lineSeparator());
+    sb.append("localSearchFlips=").append(this.localSearchFlips).append(System.lineSeparator());
+    sb.append("preprocessing=").append(this.preprocessing).append(System.lineSeparator());
+    sb.append("enumeration=").append(this.enumeration).append(System.lineSeparator());
     sb.append("}").append(System.lineSeparator());
     return sb.toString();
   }
@@ -152,6 +177,9 @@ public final class MaxSATConfig extends Configuration {
     private boolean symmetry = true;
     private int limit = Integer.MAX_VALUE;
     private boolean bmo = true;
+    private int localSearchFlips = 0;
+    private boolean preprocessing = false;
+    private boolean enumeration = false;
 
     /**
      * Constructor for the builder.
@@ -231,6 +259,41 @@ public final class MaxSATConfig extends Configuration {
       return this;
     }
 
+    /**
+     * Sets the maximal number of flips of the local search which computes an initial upper bound and phase hints for
+     * the linear search (LinearSU without BMO).  The default value is {@code 0}, which disables the local search.
+     * @param flips the maximal number of flips
+     * @return the builder
+     */
+    public Builder localSearch(final int flips) {
+      this.localSearchFlips = flips;
+      return this;
+    }
+
+    /**
+     * Sets whether the formula should be preprocessed before the search.  The preprocessing performs unit propagation,
+     * subsumption and bounded variable elimination on the hard clauses, groups identical soft clauses and matches
+     * soft clauses to common labels.  A solver with preprocessing does not support incremental solving.  The default
+     * value is {@code false}.
+     * @param preprocessing {@code true} if the formula should be preprocessed, {@code false} otherwise
+     * @return the builder
+     */
+    public Builder preprocessing(final boolean preprocessing) {
+      this.preprocessing = preprocessing;
+      return this;
+    }
+
+    /**
+     * Sets whether the hard and soft formulas should be recorded for the enumeration of optimal and best models.  The
+     * models can only be enumerated if this is turned on.  The default value is {@code false}.
+     * @param enumeration {@code true} if the formulas should be recorded for the enumeration, {@code false} otherwise
+     * @return the builder
+     */
+    public Builder enumeration(final boolean enumeration) {
+      this.enumeration = enumeration;
+      return this;
+    }
+
     /**
      * Sets the verbosity. The default value is {@code NONE}.  If you set the verbosity to {@code SOME} you have also to
      * set an output stream.
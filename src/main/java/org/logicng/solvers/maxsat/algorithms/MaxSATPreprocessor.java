@@ -0,0 +1,591 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.maxsat.algorithms;
+
+import org.logicng.collections.LNGBooleanVector;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.collections.LNGLongVector;
+import org.logicng.collections.LNGVector;
+import org.logicng.solvers.datastructures.MSHardClause;
+import org.logicng.solvers.datastructures.MSSoftClause;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.logicng.solvers.sat.MiniSatStyleSolver.LIT_UNDEF;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.mkLit;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.not;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.sign;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.var;
+
+/**
+ * A preprocessor for the working formula of a MaxSAT solver.
+ * <p>
+ * The preprocessor replaces the hard and soft clauses of the solver by an equivalent formula.  It performs
+ * <ul>
+ * <li>unit propagation on the hard clauses, satisfied soft clauses are removed and falsified soft clauses are added to
+ * a constant cost</li>
+ * <li>subsumption: hard clauses subsumed by a hard clause and soft clauses subsumed by a hard clause are removed</li>
+ * <li>bounded variable elimination of variables which do not occur in soft clauses, as long as the number of hard
+ * clauses does not increase</li>
+ * <li>grouping of identical soft clauses by summing their weights (only for weighted formulas) and cancellation of
+ * complementary soft unit clauses</li>
+ * <li>label matching: two soft clauses with the same weight which cannot be falsified at the same time are replaced by
+ * a single soft unit clause on a new label variable which is implied by both clauses</li>
+ * </ul>
+ * The cost of a model of the preprocessed formula plus the constant cost of the preprocessor is the cost of the
+ * reconstructed model in the original formula.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+final class MaxSATPreprocessor {
+
+  private static final int MAX_RESOLVENT_SIZE = 20;
+  private static final int MAX_RESOLUTION_PAIRS = 256;
+
+  private final MaxSAT maxSAT;
+  private final int nVars;
+  private final List<int[]> hards;
+  private final List<int[]> softs;
+  private final LNGLongVector weights;
+  private final LNGIntVector[] hardOccurrences;
+  private final int[] values;
+  private final LNGVector<int[]> reconstructionClauses;
+  private final LNGIntVector reconstructionWitnesses;
+  private long costOffset;
+  private int nbFixed;
+  private int nbSubsumed;
+  private int nbEliminated;
+  private int nbGrouped;
+  private int nbMatched;
+
+  /**
+   * Constructs a new preprocessor for the working formula of the given MaxSAT solver.
+   * @param maxSAT the MaxSAT solver
+   */
+  MaxSATPreprocessor(final MaxSAT maxSAT) {
+    this.maxSAT = maxSAT;
+    this.nVars = maxSAT.nVars();
+    this.hards = new ArrayList<>();
+    this.softs = new ArrayList<>();
+    this.weights = new LNGLongVector();
+    this.hardOccurrences = new LNGIntVector[2 * this.nVars];
+    for (int i = 0; i < this.hardOccurrences.length; i++)
+      this.hardOccurrences[i] = new LNGIntVector();
+    this.values = new int[this.nVars];
+    Arrays.fill(this.values, -1);
+    this.reconstructionClauses = new LNGVector<>();
+    this.reconstructionWitnesses = new LNGIntVector();
+  }
+
+  /**
+   * Preprocesses the working formula of the MaxSAT solver and replaces its hard and soft clauses.
+   * @param grouping whether identical soft clauses should be grouped, which changes their weights
+   * @return {@code false} if the hard clauses are unsatisfiable, {@code true} otherwise
+   */
+  boolean preprocess(final boolean grouping) {
+    for (final MSHardClause hard : this.maxSAT.hardClauses) {
+      final int[] clause = normalize(hard.clause());
+      if (clause != null)
+        this.addHard(clause);
+    }
+    for (final MSSoftClause soft : this.maxSAT.softClauses) {
+      final int[] clause = normalize(soft.clause());
+      if (clause == null)
+        continue;
+      if (clause.length == 0)
+        this.costOffset += soft.weight();
+      else {
+        this.softs.add(clause);
+        this.weights.push(soft.weight());
+      }
+    }
+    if (!this.propagate())
+      return false;
+    this.subsume();
+    if (!this.eliminate() || !this.propagate())
+      return false;
+    this.subsume();
+    this.group(grouping);
+    this.matchLabels();
+    this.write();
+    return true;
+  }
+
+  /**
+   * Reconstructs a model of the original formula from a model of the preprocessed formula.
+   * @param model the model, it is changed in place
+   */
+  void reconstruct(final LNGBooleanVector model) {
+    for (int i = this.reconstructionClauses.size() - 1; i >= 0; i--) {
+      if (!satisfied(this.reconstructionClauses.get(i), model)) {
+        final int witness = this.reconstructionWitnesses.get(i);
+        model.set(var(witness), !sign(witness));
+      }
+    }
+  }
+
+  /**
+   * Returns the constant cost which has to be added to the cost of the preprocessed formula.
+   * @return the constant cost
+   */
+  long costOffset() {
+    return this.costOffset;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("MaxSATPreprocessor{fixed=%d, subsumed=%d, eliminated=%d, grouped=%d, matched=%d, offset=%d}",
+            this.nbFixed, this.nbSubsumed, this.nbEliminated, this.nbGrouped, this.nbMatched, this.costOffset);
+  }
+
+  /**
+   * Returns the sorted literals of a clause without duplicates or {@code null} if the clause is a tautology.
+   * @param clause the clause
+   * @return the normalized clause or {@code null}
+   */
+  private static int[] normalize(final LNGIntVector clause) {
+    final int[] lits = clause.toArray();
+    Arrays.sort(lits);
+    int size = 0;
+    for (int i = 0; i < lits.length; i++) {
+      if (size > 0 && lits[size - 1] == lits[i])
+        continue;
+      if (size > 0 && lits[size - 1] == not(lits[i]))
+        return null;
+      lits[size++] = lits[i];
+    }
+    return Arrays.copyOf(lits, size);
+  }
+
+  private static boolean satisfied(final int[] clause, final LNGBooleanVector model) {
+    for (final int lit : clause)
+      if (model.get(var(lit)) != sign(lit))
+        return true;
+    return false;
+  }
+
+  private static boolean contains(final int[] clause, final int lit) {
+    return Arrays.binarySearch(clause, lit) >= 0;
+  }
+
+  /**
+   * Returns whether the first sorted clause is a subset of the second sorted clause.
+   * @param c the first clause
+   * @param d the second clause
+   * @return {@code true} if c is a subset of d
+   */
+  private static boolean subset(final int[] c, final int[] d) {
+    if (c.length > d.length)
+      return false;
+    int j = 0;
+    for (final int lit : c) {
+      while (j < d.length && d[j] < lit)
+        j++;
+      if (j == d.length || d[j] != lit)
+        return false;
+      j++;
+    }
+    return true;
+  }
+
+  private int addHard(final int[] clause) {
+    final int index = this.hards.size();
+    this.hards.add(clause);
+    for (final int lit : clause)
+      if (var(lit) < this.nVars)
+        this.hardOccurrences[lit].push(index);
+    return index;
+  }
+
+  /**
+   * Returns the indices of the active hard clauses which contain the given literal and removes outdated entries.
+   * @param lit the literal
+   * @return the hard clauses containing the literal
+   */
+  private LNGIntVector occurrences(final int lit) {
+    final LNGIntVector occs = this.hardOccurrences[lit];
+    int j = 0;
+    for (int i = 0; i < occs.size(); i++) {
+      final int[] clause = this.hards.get(occs.get(i));
+      if (clause != null && contains(clause, lit))
+        occs.set(j++, occs.get(i));
+    }
+    occs.shrinkTo(j);
+    return occs;
+  }
+
+  private int value(final int lit) {
+    final int value = this.values[var(lit)];
+    return value == -1 ? -1 : (value == 1) != sign(lit) ? 1 : 0;
+  }
+
+  /**
+   * Performs unit propagation on the hard clauses and simplifies the soft clauses.
+   * @return {@code false} if a conflict was found, {@code true} otherwise
+   */
+  private boolean propagate() {
+    final LNGIntVector queue = new LNGIntVector();
+    for (final int[] clause : this.hards) {
+      if (clause != null && clause.length == 0)
+        return false;
+      if (clause != null && clause.length == 1)
+        queue.push(clause[0]);
+    }
+    if (queue.empty())
+      return true;
+    for (int q = 0; q < queue.size(); q++) {
+      final int lit = queue.get(q);
+      if (value(lit) == 1)
+        continue;
+      if (value(lit) == 0)
+        return false;
+      this.values[var(lit)] = sign(lit) ? 0 : 1;
+      this.reconstructionClauses.push(new int[]{lit});
+      this.reconstructionWitnesses.push(lit);
+      this.nbFixed++;
+      final LNGIntVector satisfied = this.occurrences(lit);
+      for (int i = 0; i < satisfied.size(); i++)
+        this.hards.set(satisfied.get(i), null);
+      final LNGIntVector strengthened = this.occurrences(not(lit));
+      for (int i = 0; i < strengthened.size(); i++) {
+        final int[] clause = this.hards.get(strengthened.get(i));
+        final int[] reduced = new int[clause.length - 1];
+        int k = 0;
+        for (final int l : clause)
+          if (l != not(lit))
+            reduced[k++] = l;
+        this.hards.set(strengthened.get(i), reduced);
+        if (reduced.length == 0)
+          return false;
+        if (reduced.length == 1)
+          queue.push(reduced[0]);
+      }
+    }
+    for (int i = 0; i < this.softs.size(); i++) {
+      final int[] clause = this.softs.get(i);
+      if (clause == null)
+        continue;
+      final LNGIntVector reduced = new LNGIntVector(clause.length);
+      boolean sat = false;
+      for (final int lit : clause) {
+        final int value = var(lit) < this.nVars ? value(lit) : -1;
+        if (value == 1) {
+          sat = true;
+          break;
+        } else if (value == -1)
+          reduced.push(lit);
+      }
+      if (sat)
+        this.softs.set(i, null);
+      else if (reduced.empty()) {
+        this.costOffset += this.weights.get(i);
+        this.softs.set(i, null);
+      } else if (reduced.size() < clause.length)
+        this.softs.set(i, reduced.toArray());
+    }
+    return true;
+  }
+
+  /**
+   * Removes hard clauses and soft clauses which are subsumed by a hard clause.
+   */
+  private void subsume() {
+    final List<Integer> order = new ArrayList<>();
+    for (int i = 0; i < this.hards.size(); i++)
+      if (this.hards.get(i) != null)
+        order.add(i);
+    Collections.sort(order, new Comparator<Integer>() {
+      @Override
+      public int compare(final Integer i1, final Integer i2) {
+        return Integer.compare(MaxSATPreprocessor.this.hards.get(i1).length, MaxSATPreprocessor.this.hards.get(i2).length);
+      }
+    });
+    final Map<Integer, LNGIntVector> softOccurrences = new HashMap<>();
+    for (int i = 0; i < this.softs.size(); i++) {
+      if (this.softs.get(i) == null)
+        continue;
+      for (final int lit : this.softs.get(i)) {
+        LNGIntVector occs = softOccurrences.get(lit);
+        if (occs == null) {
+          occs = new LNGIntVector();
+          softOccurrences.put(lit, occs);
+        }
+        occs.push(i);
+      }
+    }
+    for (final int c : order) {
+      final int[] clause = this.hards.get(c);
+      if (clause == null)
+        continue;
+      int minLit = clause[0];
+      for (final int lit : clause)
+        if (this.occurrences(lit).size() < this.occurrences(minLit).size())
+          minLit = lit;
+      final LNGIntVector candidates = this.occurrences(minLit);
+      for (int i = 0; i < candidates.size(); i++) {
+        final int d = candidates.get(i);
+        if (d != c && subset(clause, this.hards.get(d))) {
+          this.hards.set(d, null);
+          this.nbSubsumed++;
+        }
+      }
+      final LNGIntVector softCandidates = softOccurrences.get(clause[0]);
+      if (softCandidates == null)
+        continue;
+      for (int i = 0; i < softCandidates.size(); i++) {
+        final int d = softCandidates.get(i);
+        if (this.softs.get(d) != null && subset(clause, this.softs.get(d))) {
+          this.softs.set(d, null);
+          this.nbSubsumed++;
+        }
+      }
+    }
+  }
+
+  /**
+   * Performs bounded variable elimination on all variables which do not occur in soft clauses.
+   * @return {@code false} if a conflict was found, {@code true} otherwise
+   */
+  private boolean eliminate() {
+    final boolean[] softVars = new boolean[this.nVars];
+    for (final int[] clause : this.softs)
+      if (clause != null)
+        for (final int lit : clause)
+          if (var(lit) < this.nVars)
+            softVars[var(lit)] = true;
+    for (int v = 0; v < this.nVars; v++) {
+      if (softVars[v] || this.values[v] != -1)
+        continue;
+      final LNGIntVector pos = new LNGIntVector(this.occurrences(mkLit(v, false)));
+      final LNGIntVector neg = new LNGIntVector(this.occurrences(mkLit(v, true)));
+      if (pos.size() + neg.size() == 0 || pos.size() * neg.size() > MAX_RESOLUTION_PAIRS)
+        continue;
+      final List<int[]> resolvents = this.resolvents(v, pos, neg);
+      if (resolvents == null)
+        continue;
+      for (int i = 0; i < pos.size(); i++)
+        this.removeForReconstruction(pos.get(i), mkLit(v, false));
+      for (int i = 0; i < neg.size(); i++)
+        this.removeForReconstruction(neg.get(i), mkLit(v, true));
+      for (final int[] resolvent : resolvents) {
+        if (resolvent.length == 0)
+          return false;
+        this.addHard(resolvent);
+      }
+      this.nbEliminated++;
+    }
+    return true;
+  }
+
+  /**
+   * Returns all non-tautological resolvents of the given clauses on the given variable or {@code null} if there are
+   * more resolvents than clauses or a resolvent is too long.
+   * @param v   the variable
+   * @param pos the clauses with the positive literal
+   * @param neg the clauses with the negative literal
+   * @return the resolvents or {@code null}
+   */
+  private List<int[]> resolvents(final int v, final LNGIntVector pos, final LNGIntVector neg) {
+    final List<int[]> resolvents = new ArrayList<>();
+    for (int i = 0; i < pos.size(); i++) {
+      for (int j = 0; j < neg.size(); j++) {
+        final LNGIntVector lits = new LNGIntVector();
+        for (final int lit : this.hards.get(pos.get(i)))
+          if (var(lit) != v)
+            lits.push(lit);
+        for (final int lit : this.hards.get(neg.get(j)))
+          if (var(lit) != v)
+            lits.push(lit);
+        final int[] resolvent = normalize(lits);
+        if (resolvent == null)
+          continue;
+        if (resolvent.length > MAX_RESOLVENT_SIZE || resolvents.size() == pos.size() + neg.size())
+          return null;
+        resolvents.add(resolvent);
+      }
+    }
+    return resolvents;
+  }
+
+  private void removeForReconstruction(final int index, final int witness) {
+    this.reconstructionClauses.push(this.hards.get(index));
+    this.reconstructionWitnesses.push(witness);
+    this.hards.set(index, null);
+  }
+
+  /**
+   * Groups identical soft clauses and cancels complementary soft unit clauses.
+   * @param grouping whether identical soft clauses should be grouped
+   */
+  private void group(final boolean grouping) {
+    final Map<Clause, Integer> first = new HashMap<>();
+    for (int i = 0; i < this.softs.size(); i++) {
+      final int[] clause = this.softs.get(i);
+      if (clause == null)
+        continue;
+      final Clause key = new Clause(clause);
+      final Integer j = first.get(key);
+      if (j == null)
+        first.put(key, i);
+      else if (grouping && this.weights.get(j) < Long.MAX_VALUE - this.weights.get(i)) {
+        this.weights.set(j, this.weights.get(j) + this.weights.get(i));
+        this.softs.set(i, null);
+        this.nbGrouped++;
+      }
+    }
+    for (int i = 0; i < this.softs.size(); i++) {
+      final int[] clause = this.softs.get(i);
+      if (clause == null || clause.length != 1)
+        continue;
+      final Integer j = first.get(new Clause(new int[]{not(clause[0])}));
+      if (j == null || this.softs.get(j) == null || (!grouping && this.weights.get(i) != this.weights.get(j)))
+        continue;
+      final long min = Math.min(this.weights.get(i), this.weights.get(j));
+      this.costOffset += min;
+      this.cancel(i, min);
+      this.cancel(j, min);
+      this.nbGrouped++;
+    }
+  }
+
+  private void cancel(final int soft, final long weight) {
+    this.weights.set(soft, this.weights.get(soft) - weight);
+    if (this.weights.get(soft) == 0)
+      this.softs.set(soft, null);
+  }
+
+  /**
+   * Replaces pairs of soft clauses with the same weight which cannot be falsified at the same time by a single label.
+   */
+  private void matchLabels() {
+    final Map<Integer, LNGIntVector> softOccurrences = new HashMap<>();
+    for (int i = 0; i < this.softs.size(); i++) {
+      if (this.softs.get(i) == null || this.softs.get(i).length < 2)
+        continue;
+      for (final int lit : this.softs.get(i)) {
+        LNGIntVector occs = softOccurrences.get(lit);
+        if (occs == null) {
+          occs = new LNGIntVector();
+          softOccurrences.put(lit, occs);
+        }
+        occs.push(i);
+      }
+    }
+    final int nbSofts = this.softs.size();
+    for (int i = 0; i < nbSofts; i++) {
+      final int[] clause = this.softs.get(i);
+      if (clause == null || clause.length < 2)
+        continue;
+      final int partner = this.findPartner(i, softOccurrences);
+      if (partner == -1)
+        continue;
+      final int label = this.maxSAT.newLiteral(false);
+      this.addHard(extend(clause, label));
+      this.addHard(extend(this.softs.get(partner), label));
+      this.softs.add(new int[]{not(label)});
+      this.weights.push(this.weights.get(i));
+      this.softs.set(i, null);
+      this.softs.set(partner, null);
+      this.nbMatched++;
+    }
+  }
+
+  private int findPartner(final int soft, final Map<Integer, LNGIntVector> softOccurrences) {
+    for (final int lit : this.softs.get(soft)) {
+      final LNGIntVector candidates = softOccurrences.get(not(lit));
+      if (candidates == null)
+        continue;
+      for (int k = 0; k < candidates.size(); k++) {
+        final int j = candidates.get(k);
+        if (j != soft && this.softs.get(j) != null && this.weights.get(j) == this.weights.get(soft))
+          return j;
+      }
+    }
+    return -1;
+  }
+
+  private static int[] extend(final int[] clause, final int lit) {
+    final int[] extended = Arrays.copyOf(clause, clause.length + 1);
+    extended[clause.length] = lit;
+    return extended;
+  }
+
+  /**
+   * Writes the preprocessed formula back to the MaxSAT solver.
+   */
+  private void write() {
+    this.maxSAT.hardClauses.clear();
+    for (final int[] clause : this.hards)
+      if (clause != null)
+        this.maxSAT.hardClauses.push(new MSHardClause(new LNGIntVector(clause)));
+    this.maxSAT.nbHard = this.maxSAT.hardClauses.size();
+    this.maxSAT.softClauses.clear();
+    long sumWeights = 0;
+    long maxWeight = 1;
+    for (int i = 0; i < this.softs.size(); i++) {
+      if (this.softs.get(i) == null)
+        continue;
+      final long weight = this.weights.get(i);
+      this.maxSAT.softClauses.push(new MSSoftClause(new LNGIntVector(this.softs.get(i)), weight, LIT_UNDEF,
+              new LNGIntVector()));
+      sumWeights += weight;
+      maxWeight = Math.max(maxWeight, weight);
+    }
+    this.maxSAT.nbSoft = this.maxSAT.softClauses.size();
+    this.maxSAT.ubCost = sumWeights;
+    this.maxSAT.currentWeight = maxWeight;
+  }
+
+  /**
+   * A wrapper for a sorted clause with value semantics.
+   */
+  private static final class Clause {
+    private final int[] lits;
+
+    private Clause(final int[] lits) {
+      this.lits = lits;
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(this.lits);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      return other instanceof Clause && Arrays.equals(this.lits, ((Clause) other).lits);
+    }
+  }
+}
@@ -0,0 +1,511 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.maxsat.algorithms;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.collections.LNGLongVector;
+import org.logicng.collections.LNGVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.solvers.datastructures.MSSoftClause;
+import org.logicng.solvers.maxsat.encodings.Encoder;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.logicng.datastructures.Tristate.FALSE;
+import static org.logicng.datastructures.Tristate.TRUE;
+import static org.logicng.datastructures.Tristate.UNDEF;
+import static org.logicng.solvers.maxsat.algorithms.MaxSATConfig.CardinalityEncoding;
+import static org.logicng.solvers.maxsat.algorithms.MaxSATConfig.IncrementalStrategy;
+import static org.logicng.solvers.maxsat.algorithms.MaxSATConfig.Verbosity;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.not;
+
+/**
+ * The OLL algorithm in the style of RC2.
+ * <p>
+ * OLL is a core-guided algorithm for weighted and unweighted MaxSAT.  Each core is relaxed by an incremental totalizer
+ * over its literals whose outputs become new soft literals with the minimal weight of the core.  Further outputs are
+ * only added when the previous output appears in a core.  The algorithm additionally uses
+ * <ul>
+ * <li>stratification: only the soft literals of the current weight level and above are assumed</li>
+ * <li>weight-aware core extraction: cores are only relaxed when the solver finds a model for the current
+ * assumptions, until then the weights of the core literals are only reduced</li>
+ * <li>core exhaustion: the bound of a new totalizer is increased as long as the hard clauses enforce it</li>
+ * <li>core minimization: deletion-based minimization of each core with a conflict budget per solver call</li>
+ * <li>hardening: soft literals whose residual weight exceeds the gap between the bounds are hardened</li>
+ * </ul>
+ * The algorithm is incremental: hard and soft clauses can be added after a search, the next search keeps the SAT
+ * solver with its learnt clauses, all totalizers, and the lower bound.  A search can also be performed under
+ * assumptions.  In this case the cores and totalizers found during the search remain in the solver, but the weights
+ * and the lower bound are restored afterwards, since they are only valid under the assumptions.  With preprocessing
+ * the algorithm is not incremental, since new clauses could contain variables eliminated by the preprocessing.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public final class OLL extends MaxSAT {
+
+  private static final int MINIMIZATION_BUDGET = 1000;
+  private static final int EXHAUSTION_BUDGET = 1000;
+
+  private final PrintStream output;
+  private final SortedMap<Integer, Long> weights;
+  private final Map<Integer, Sum> sums;
+  private final Set<Integer> hardenedLiterals;
+  private final LNGVector<LNGIntVector> pendingCores;
+  private final LNGLongVector pendingWeights;
+  private MiniSatStyleSolver solver;
+  private int nbLoadedHard;
+  private int nbLoadedSoft;
+
+  /**
+   * Constructs a new solver with default values.
+   */
+  public OLL() {
+    this(new MaxSATConfig.Builder().build());
+  }
+
+  /**
+   * Constructs a new solver with a given configuration.
+   * @param config the configuration
+   */
+  public OLL(final MaxSATConfig config) {
+    super(config);
+    this.solver = null;
+    this.verbosity = config.verbosity;
+    this.output = config.output;
+    this.weights = new TreeMap<>();
+    this.sums = new HashMap<>();
+    this.hardenedLiterals = new HashSet<>();
+    this.pendingCores = new LNGVector<>();
+    this.pendingWeights = new LNGLongVector();
+  }
+
+  @Override
+  public boolean supportsIncrementalSolving() {
+    return !this.preprocessing;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * At the optimum, every model with optimal cost satisfies all residual soft literals and falsifies exactly one
+   * literal of each pending core.  Hence the residual soft literals become hard unit clauses and each pending core is
+   * relaxed by a totalizer whose output for at most one falsified literal becomes a hard unit clause.  The SAT solver
+   * with its learnt clauses and totalizers is kept.
+   */
+  @Override
+  public void freezeObjective() {
+    if (!this.supportsIncrementalSolving())
+      throw new UnsupportedOperationException("Freezing an objective is not supported by OLL with preprocessing");
+    if (this.solver == null || ubCost != lbCost)
+      throw new IllegalStateException("The objective can only be frozen after its optimum was found.");
+    for (final int lit : this.weights.keySet()) {
+      final LNGIntVector unit = new LNGIntVector();
+      unit.push(lit);
+      addHardClause(unit);
+    }
+    for (int c = 0; c < this.pendingCores.size(); c++) {
+      final Sum sum = new Sum(this.pendingCores.get(c), this.pendingWeights.get(c));
+      sum.encoder.buildCardinality(this.solver, sum.inputs, 1);
+      final LNGIntVector unit = new LNGIntVector();
+      unit.push(sum.literal(this.solver, 1));
+      addHardClause(unit);
+    }
+    nbVars = this.solver.nVars();
+    this.weights.clear();
+    this.sums.clear();
+    this.hardenedLiterals.clear();
+    this.pendingCores.clear();
+    this.pendingWeights.clear();
+    this.nbLoadedSoft = 0;
+    clearObjective();
+  }
+
+  @Override
+  public MaxSATResult search() {
+    nbInitialVariables = nVars();
+    this.loadFormula();
+    final State state = externalAssumptions.empty() ? null : new State();
+    final MaxSATResult result = this.oll();
+    nbVars = this.solver.nVars();
+    if (state != null)
+      state.restore();
+    return result;
+  }
+
+  private MaxSATResult oll() {
+    this.hardenedLiterals.clear();
+    final Tristate initial = searchSATSolver(this.solver, satHandler(), externalAssumptions);
+    if (initial == UNDEF)
+      return MaxSATResult.UNDEF;
+    else if (initial == FALSE)
+      return MaxSATResult.UNSATISFIABLE;
+    nbSatisfiable++;
+    if (!this.updateModel(true))
+      return MaxSATResult.UNDEF;
+    long stratum = this.nextStratum(Long.MAX_VALUE);
+    while (true) {
+      if (ubCost == lbCost || ubCost <= sharedLowerBound())
+        return MaxSATResult.OPTIMUM;
+      final LNGIntVector assumptions = new LNGIntVector(externalAssumptions);
+      for (final Map.Entry<Integer, Long> entry : this.weights.entrySet())
+        if (entry.getValue() >= stratum || this.hardenedLiterals.contains(entry.getKey()))
+          assumptions.push(entry.getKey());
+      final Tristate res = searchSATSolver(this.solver, satHandler(), assumptions);
+      if (res == UNDEF)
+        return MaxSATResult.UNDEF;
+      else if (res == TRUE) {
+        nbSatisfiable++;
+        if (!this.updateModel(false))
+          return MaxSATResult.UNDEF;
+        if (!this.pendingCores.empty()) {
+          if (!this.relaxPendingCores())
+            return MaxSATResult.UNDEF;
+        } else {
+          stratum = this.nextStratum(stratum);
+          if (stratum == 0) {
+            assert ubCost == lbCost;
+            return MaxSATResult.OPTIMUM;
+          }
+        }
+      } else {
+        nbCores++;
+        final LNGIntVector softCore = new LNGIntVector();
+        for (int i = 0; i < this.solver.conflict().size(); i++)
+          if (this.weights.containsKey(not(this.solver.conflict().get(i))))
+            softCore.push(not(this.solver.conflict().get(i)));
+        if (softCore.empty())
+          return MaxSATResult.UNSATISFIABLE;
+        final LNGIntVector core = this.minimizeCore(softCore);
+        if (core == null)
+          return MaxSATResult.UNDEF;
+        sumSizeCores += core.size();
+        long minWeight = Long.MAX_VALUE;
+        for (int i = 0; i < core.size(); i++)
+          minWeight = Math.min(minWeight, this.weights.get(core.get(i)));
+        lbCost += minWeight;
+        if (verbosity != Verbosity.NONE)
+          this.output.println("c LB : " + lbCost);
+        if (!foundLowerBound(lbCost, null))
+          return MaxSATResult.UNDEF;
+        for (int i = 0; i < core.size(); i++) {
+          final int lit = core.get(i);
+          final long weight = this.weights.get(lit) - minWeight;
+          if (weight == 0) {
+            this.weights.remove(lit);
+            this.hardenedLiterals.remove(lit);
+          } else
+            this.weights.put(lit, weight);
+          final Sum sum = this.sums.get(lit);
+          if (sum != null && sum.lastLiteral == lit)
+            this.increaseBound(sum);
+        }
+        this.harden();
+        if (core.size() > 1) {
+          final LNGIntVector inputs = new LNGIntVector(core.size());
+          for (int i = 0; i < core.size(); i++)
+            inputs.push(not(core.get(i)));
+          this.pendingCores.push(inputs);
+          this.pendingWeights.push(minWeight);
+        }
+      }
+    }
+  }
+
+  /**
+   * Loads the hard and soft clauses which were added since the last search into the SAT solver.  Each new soft
+   * clause gets a fresh relaxation variable.
+   */
+  private void loadFormula() {
+    if (this.solver == null)
+      this.solver = newSATSolver();
+    while (this.solver.nVars() < nVars())
+      newSATVariable(this.solver);
+    for (int i = this.nbLoadedHard; i < nHard(); i++)
+      this.solver.addClause(hardClauses.get(i).clause(), null);
+    for (int i = this.nbLoadedSoft; i < nSoft(); i++) {
+      final MSSoftClause softClause = softClauses.get(i);
+      final int l = newLiteral(false);
+      newSATVariable(this.solver);
+      softClause.relaxationVars().push(l);
+      softClause.setAssumptionVar(l);
+      final LNGIntVector clause = new LNGIntVector(softClause.clause());
+      clause.push(l);
+      this.solver.addClause(clause, null);
+      this.weights.put(not(l), softClause.weight());
+    }
+    this.nbLoadedHard = nHard();
+    this.nbLoadedSoft = nSoft();
+  }
+
+  /**
+   * Computes the cost of the current model of the SAT solver and updates the upper bound.
+   * @param first whether this is the first model of the search
+   * @return {@code false} if the handler aborted the computation, {@code true} otherwise
+   */
+  private boolean updateModel(final boolean first) {
+    final long newCost = computeCostModel(this.solver.model(), Long.MAX_VALUE);
+    if (newCost < ubCost || first) {
+      saveModel(this.solver.model());
+      if (verbosity != Verbosity.NONE)
+        this.output.println("o " + newCost);
+      ubCost = newCost;
+      this.harden();
+    }
+    return foundUpperBound(ubCost, null);
+  }
+
+  /**
+   * Hardens all soft literals whose residual weight exceeds the gap between the upper and the lower bound.  The upper
+   * bound may be a shared upper bound of the handler.  Since
+   * clauses can be added incrementally, hardened literals are not added as unit clauses but assumed in all further
+   * solver calls of the current search, independent of the weight level.
+   */
+  private void harden() {
+    int nbHardened = 0;
+    final long gap = hardeningUpperBound() - lbCost;
+    for (final Map.Entry<Integer, Long> entry : this.weights.entrySet())
+      if (entry.getValue() > gap && this.hardenedLiterals.add(entry.getKey()))
+        nbHardened++;
+    if (nbHardened > 0 && verbosity != Verbosity.NONE)
+      this.output.println("c Hardened soft clauses : " + nbHardened);
+  }
+
+  /**
+   * Returns the next weight level below the given one.
+   * @param stratum the current weight level
+   * @return the next weight level or 0 if there is none
+   */
+  private long nextStratum(final long stratum) {
+    long next = 0;
+    for (final long weight : this.weights.values())
+      if (weight < stratum && weight > next)
+        next = weight;
+    return next;
+  }
+
+  /**
+   * Minimizes a core by trying to remove each of its literals.  Each solver call is limited by a conflict budget, if
+   * the budget is exceeded, the literal is kept.
+   * @param softCore the soft literals of the conflict of the solver
+   * @return the minimized core in terms of the assumption literals or {@code null} if the handler aborted the
+   * computation
+   */
+  private LNGIntVector minimizeCore(final LNGIntVector softCore) {
+    final List<Integer> core = new ArrayList<>(softCore.size());
+    for (int i = 0; i < softCore.size(); i++)
+      core.add(softCore.get(i));
+    Collections.sort(core, new Comparator<Integer>() {
+      @Override
+      public int compare(final Integer lit1, final Integer lit2) {
+        final int weightComparison = OLL.this.weights.get(lit1).compareTo(OLL.this.weights.get(lit2));
+        return weightComparison != 0 ? weightComparison : lit1.compareTo(lit2);
+      }
+    });
+    int i = 0;
+    while (core.size() > 1 && i < core.size()) {
+      final LNGIntVector candidate = new LNGIntVector(core.size() - 1);
+      for (int j = 0; j < core.size(); j++)
+        if (j != i)
+          candidate.push(core.get(j));
+      final LNGIntVector assumptions = new LNGIntVector(externalAssumptions);
+      for (int j = 0; j < candidate.size(); j++)
+        assumptions.push(candidate.get(j));
+      final BudgetHandler budgetHandler = new BudgetHandler(satHandler(), MINIMIZATION_BUDGET);
+      final Tristate res = searchSATSolver(this.solver, budgetHandler, assumptions);
+      if (budgetHandler.aborted())
+        return null;
+      if (res == FALSE) {
+        final LNGIntVector reduced = new LNGIntVector(this.solver.conflict().size());
+        for (int j = 0; j < this.solver.conflict().size(); j++)
+          reduced.push(not(this.solver.conflict().get(j)));
+        final List<Integer> newCore = new ArrayList<>(reduced.size());
+        for (int j = 0; j < candidate.size(); j++)
+          if (contains(reduced, candidate.get(j)))
+            newCore.add(candidate.get(j));
+        core.clear();
+        core.addAll(newCore);
+      } else
+        i++;
+    }
+    final LNGIntVector result = new LNGIntVector(core.size());
+    for (final int lit : core)
+      result.push(lit);
+    return result;
+  }
+
+  /**
+   * Relaxes all pending cores by totalizers and exhausts their bounds.
+   * @return {@code false} if the handler aborted the computation, {@code true} otherwise
+   */
+  private boolean relaxPendingCores() {
+    for (int c = 0; c < this.pendingCores.size(); c++) {
+      final Sum sum = new Sum(this.pendingCores.get(c), this.pendingWeights.get(c));
+      sum.encoder.buildCardinality(this.solver, sum.inputs, 1);
+      int lit = sum.literal(this.solver, 1);
+      while (lit != -1) {
+        final BudgetHandler budgetHandler = new BudgetHandler(satHandler(), EXHAUSTION_BUDGET);
+        final LNGIntVector assumption = new LNGIntVector(externalAssumptions);
+        assumption.push(lit);
+        final Tristate res = searchSATSolver(this.solver, budgetHandler, assumption);
+        if (budgetHandler.aborted())
+          return false;
+        if (res != FALSE)
+          break;
+        lbCost += sum.weight;
+        if (verbosity != Verbosity.NONE)
+          this.output.println("c LB : " + lbCost);
+        if (!foundLowerBound(lbCost, null))
+          return false;
+        lit = sum.literal(this.solver, sum.bound + 1);
+      }
+      if (lit != -1) {
+        this.weights.put(lit, sum.weight);
+        this.sums.put(lit, sum);
+      }
+    }
+    this.pendingCores.clear();
+    this.pendingWeights.clear();
+    return true;
+  }
+
+  /**
+   * Adds the next output of a totalizer as soft literal.
+   * @param sum the totalizer
+   */
+  private void increaseBound(final Sum sum) {
+    final int lit = sum.literal(this.solver, sum.bound + 1);
+    if (lit != -1) {
+      this.weights.put(lit, sum.weight);
+      this.sums.put(lit, sum);
+    }
+  }
+
+  private static boolean contains(final LNGIntVector vector, final int lit) {
+    for (int i = 0; i < vector.size(); i++)
+      if (vector.get(i) == lit)
+        return true;
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName();
+  }
+
+  /**
+   * A snapshot of the state of the algorithm before a search under assumptions.
+   */
+  private final class State {
+    private final SortedMap<Integer, Long> weights;
+    private final Map<Integer, Sum> sums;
+    private final Map<Sum, int[]> bounds;
+    private final LNGVector<LNGIntVector> pendingCores;
+    private final LNGLongVector pendingWeights;
+    private final long lbCost;
+
+    private State() {
+      this.weights = new TreeMap<>(OLL.this.weights);
+      this.sums = new HashMap<>(OLL.this.sums);
+      this.bounds = new HashMap<>();
+      for (final Sum sum : this.sums.values())
+        this.bounds.put(sum, new int[]{sum.bound, sum.lastLiteral});
+      this.pendingCores = new LNGVector<>(OLL.this.pendingCores.size());
+      for (final LNGIntVector core : OLL.this.pendingCores)
+        this.pendingCores.push(core);
+      this.pendingWeights = new LNGLongVector(OLL.this.pendingWeights);
+      this.lbCost = OLL.this.lbCost;
+    }
+
+    private void restore() {
+      OLL.this.weights.clear();
+      OLL.this.weights.putAll(this.weights);
+      OLL.this.sums.clear();
+      OLL.this.sums.putAll(this.sums);
+      for (final Map.Entry<Sum, int[]> entry : this.bounds.entrySet()) {
+        entry.getKey().bound = entry.getValue()[0];
+        entry.getKey().lastLiteral = entry.getValue()[1];
+      }
+      OLL.this.pendingCores.clear();
+      for (final LNGIntVector core : this.pendingCores)
+        OLL.this.pendingCores.push(core);
+      OLL.this.pendingWeights.clear();
+      for (int i = 0; i < this.pendingWeights.size(); i++)
+        OLL.this.pendingWeights.push(this.pendingWeights.get(i));
+      OLL.this.lbCost = this.lbCost;
+      OLL.this.hardenedLiterals.clear();
+    }
+  }
+
+  /**
+   * An incremental totalizer over the relaxation literals of a core.
+   */
+  private static final class Sum {
+    private final Encoder encoder;
+    private final LNGIntVector inputs;
+    private final long weight;
+    private int bound;
+    private int lastLiteral;
+
+    private Sum(final LNGIntVector inputs, final long weight) {
+      this.encoder = new Encoder(CardinalityEncoding.TOTALIZER);
+      this.encoder.setIncremental(IncrementalStrategy.ITERATIVE);
+      this.inputs = inputs;
+      this.weight = weight;
+      this.bound = 0;
+      this.lastLiteral = -1;
+    }
+
+    /**
+     * Returns the soft literal which states that at most {@code bound} inputs are true.
+     * @param s     the solver
+     * @param bound the bound
+     * @return the soft literal or -1 if the bound is trivial
+     */
+    private int literal(final MiniSatStyleSolver s, final int bound) {
+      if (bound >= this.inputs.size())
+        return -1;
+      final LNGIntVector assumptions = new LNGIntVector();
+      this.encoder.incUpdateCardinality(s, new LNGIntVector(), this.inputs, bound, assumptions);
+      this.bound = bound;
+      this.lastLiteral = assumptions.get(0);
+      return this.lastLiteral;
+    }
+  }
+}
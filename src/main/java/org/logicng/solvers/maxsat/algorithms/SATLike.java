@@ -0,0 +1,421 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.maxsat.algorithms;
+
+import org.logicng.collections.LNGBooleanVector;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.collections.LNGVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.handlers.SATHandler;
+import org.logicng.solvers.datastructures.MSHardClause;
+import org.logicng.solvers.datastructures.MSSoftClause;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.logicng.solvers.sat.MiniSatStyleSolver.not;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.sign;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.var;
+
+/**
+ * A stochastic local search for MaxSAT in the style of SATLike.
+ * <p>
+ * The search flips single variables of a complete assignment.  Each clause has a dynamic weight and the score of a
+ * variable is the change of the dynamic weight of the falsified clauses when the variable is flipped.  As long as
+ * there are variables with a positive score, the best of a few sampled variables is flipped.  Otherwise the search is
+ * stuck in a local optimum: the dynamic weights of the falsified hard clauses and of the falsified soft clauses are
+ * increased, or with a small probability the weights of the satisfied clauses are smoothed, and a variable of a random
+ * falsified clause is flipped.  The dynamic weight of a soft clause is limited proportionally to its original weight
+ * relative to the average soft weight.  Whenever the assignment satisfies all hard clauses and its cost is smaller
+ * than the best cost so far, it is recorded as new best model.
+ * <p>
+ * The search is incomplete, it can neither prove optimality nor unsatisfiability.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+final class SATLike {
+
+  private static final int BMS_SAMPLES = 15;
+  private static final int HARD_INCREMENT = 3;
+  private static final int SOFT_LIMIT = 100;
+  private static final double SMOOTH_PROBABILITY = 0.01;
+  private static final int HANDLER_INTERVAL = 1024;
+
+  private final int nVars;
+  private final int nHard;
+  private final int[][] clauses;
+  private final long[] originalWeights;
+  private final int[] weights;
+  private final int[] softLimits;
+  private final int[][] occurrences;
+  private final boolean[] assignment;
+  private final int[] satCount;
+  private final int[] satVar;
+  private final long[] scores;
+  private final long[] lastFlip;
+  private final int[] falseHard;
+  private final int[] falseSoft;
+  private final int[] falsePos;
+  private final int[] goodVars;
+  private final int[] goodPos;
+  private final Random random;
+  private final long maxFlips;
+  private final boolean infeasible;
+  private final long constantCost;
+  private int nbFalseHard;
+  private int nbFalseSoft;
+  private int nbGoodVars;
+  private long cost;
+  private long flips;
+  private long bestCost;
+  private boolean[] bestModel;
+
+  /**
+   * Constructs a new local search for the given clauses.
+   * @param nVars    the number of variables of the clauses
+   * @param hards    the hard clauses
+   * @param softs    the soft clauses
+   * @param initial  the initial assignment or {@code null} for a random initial assignment
+   * @param maxFlips the maximal number of flips
+   * @param seed     the seed of the random generator
+   */
+  SATLike(final int nVars, final LNGVector<MSHardClause> hards, final LNGVector<MSSoftClause> softs,
+          final LNGBooleanVector initial, final long maxFlips, final long seed) {
+    this.nVars = nVars;
+    this.maxFlips = maxFlips;
+    this.random = new Random(seed);
+    final int[][] allClauses = new int[hards.size() + softs.size()][];
+    final long[] allWeights = new long[allClauses.length];
+    boolean emptyHard = false;
+    long constant = 0;
+    int n = 0;
+    for (final MSHardClause hard : hards) {
+      final int[] clause = normalize(hard.clause());
+      if (clause == null)
+        continue;
+      if (clause.length == 0)
+        emptyHard = true;
+      allClauses[n++] = clause;
+    }
+    this.nHard = n;
+    double softWeightSum = 0;
+    for (final MSSoftClause soft : softs) {
+      final int[] clause = normalize(soft.clause());
+      if (clause == null)
+        continue;
+      if (clause.length == 0) {
+        constant += soft.weight();
+        continue;
+      }
+      allWeights[n] = soft.weight();
+      softWeightSum += soft.weight();
+      allClauses[n++] = clause;
+    }
+    this.infeasible = emptyHard;
+    this.constantCost = constant;
+    this.clauses = Arrays.copyOf(allClauses, n);
+    this.originalWeights = Arrays.copyOf(allWeights, n);
+    this.weights = new int[n];
+    this.softLimits = new int[n];
+    for (int c = 0; c < n; c++) {
+      this.weights[c] = 1;
+      this.softLimits[c] = c < this.nHard ? 0 : (int) Math.min(Integer.MAX_VALUE,
+              Math.max(1, SOFT_LIMIT * (this.originalWeights[c] / softWeightSum) * (n - this.nHard)));
+    }
+    final int[] occurrenceCounts = new int[nVars];
+    for (final int[] clause : this.clauses)
+      for (final int lit : clause)
+        occurrenceCounts[var(lit)]++;
+    this.occurrences = new int[nVars][];
+    for (int v = 0; v < nVars; v++)
+      this.occurrences[v] = new int[occurrenceCounts[v]];
+    Arrays.fill(occurrenceCounts, 0);
+    for (int c = 0; c < n; c++)
+      for (final int lit : this.clauses[c])
+        this.occurrences[var(lit)][occurrenceCounts[var(lit)]++] = c;
+    this.assignment = new boolean[nVars];
+    for (int v = 0; v < nVars; v++)
+      this.assignment[v] = initial != null && v < initial.size() ? initial.get(v) : this.random.nextBoolean();
+    this.satCount = new int[n];
+    this.satVar = new int[n];
+    this.scores = new long[nVars];
+    this.lastFlip = new long[nVars];
+    this.falseHard = new int[this.nHard];
+    this.falseSoft = new int[n - this.nHard];
+    this.falsePos = new int[n];
+    this.goodVars = new int[nVars];
+    this.goodPos = new int[nVars];
+    this.bestCost = -1;
+    this.initialize();
+  }
+
+  /**
+   * Returns the normalized literals of a clause without duplicates and variables outside of the search, or
+   * {@code null} if the clause is a tautology.
+   * @param clause the clause
+   * @return the normalized clause or {@code null}
+   */
+  private int[] normalize(final LNGIntVector clause) {
+    final LNGIntVector result = new LNGIntVector(clause.size());
+    for (int i = 0; i < clause.size(); i++) {
+      final int lit = clause.get(i);
+      if (var(lit) >= this.nVars)
+        continue;
+      boolean duplicate = false;
+      for (int j = 0; j < result.size(); j++) {
+        if (result.get(j) == not(lit))
+          return null;
+        if (result.get(j) == lit)
+          duplicate = true;
+      }
+      if (!duplicate)
+        result.push(lit);
+    }
+    return result.toArray();
+  }
+
+  private void initialize() {
+    for (int c = 0; c < this.clauses.length; c++) {
+      for (final int lit : this.clauses[c]) {
+        if (this.isTrue(lit)) {
+          this.satCount[c]++;
+          this.satVar[c] = var(lit);
+        }
+      }
+      if (this.satCount[c] == 0) {
+        this.addFalse(c);
+        for (final int lit : this.clauses[c])
+          this.scores[var(lit)] += this.weights[c];
+      } else if (this.satCount[c] == 1)
+        this.scores[this.satVar[c]] -= this.weights[c];
+    }
+    for (int v = 0; v < this.nVars; v++)
+      if (this.scores[v] > 0)
+        this.addGood(v);
+  }
+
+  /**
+   * Continues the search until a new best model is found or the search is finished.
+   * @param handler a SAT handler which is asked regularly whether the search should be continued, may be {@code null}
+   * @return {@code TRUE} if a new best model was found, {@code FALSE} if the flip limit was reached or the search
+   * cannot find a better model, {@code UNDEF} if the handler aborted the search
+   */
+  Tristate improve(final SATHandler handler) {
+    if (this.infeasible || this.bestCost == this.constantCost)
+      return Tristate.FALSE;
+    if (this.flips == 0 && this.isBetter())
+      return this.recordBest();
+    while (this.flips < this.maxFlips) {
+      if (handler != null && this.flips % HANDLER_INTERVAL == 0 && !handler.detectedConflict())
+        return Tristate.UNDEF;
+      this.flip(this.pickVariable());
+      if (this.isBetter())
+        return this.recordBest();
+    }
+    return Tristate.FALSE;
+  }
+
+  /**
+   * Returns the best model found so far or {@code null} if no model was found.
+   * @return the best model found so far
+   */
+  LNGBooleanVector bestModel() {
+    return this.bestModel == null ? null : new LNGBooleanVector(this.bestModel);
+  }
+
+  /**
+   * Returns the cost of the best model found so far or -1 if no model was found.
+   * @return the cost of the best model found so far
+   */
+  long bestCost() {
+    return this.bestCost;
+  }
+
+  /**
+   * Returns the number of flips performed so far.
+   * @return the number of flips
+   */
+  long flips() {
+    return this.flips;
+  }
+
+  private boolean isBetter() {
+    return this.nbFalseHard == 0 && (this.bestCost == -1 || this.cost + this.constantCost < this.bestCost);
+  }
+
+  private Tristate recordBest() {
+    this.bestCost = this.cost + this.constantCost;
+    this.bestModel = Arrays.copyOf(this.assignment, this.nVars);
+    return Tristate.TRUE;
+  }
+
+  private int pickVariable() {
+    if (this.nbGoodVars > 0) {
+      int best;
+      if (this.nbGoodVars <= BMS_SAMPLES) {
+        best = this.goodVars[0];
+        for (int i = 1; i < this.nbGoodVars; i++)
+          best = this.better(this.goodVars[i], best);
+      } else {
+        best = this.goodVars[this.random.nextInt(this.nbGoodVars)];
+        for (int i = 1; i < BMS_SAMPLES; i++)
+          best = this.better(this.goodVars[this.random.nextInt(this.nbGoodVars)], best);
+      }
+      return best;
+    }
+    this.updateWeights();
+    final int clause = this.nbFalseHard > 0 ? this.falseHard[this.random.nextInt(this.nbFalseHard)]
+            : this.falseSoft[this.random.nextInt(this.nbFalseSoft)];
+    int best = var(this.clauses[clause][0]);
+    for (int i = 1; i < this.clauses[clause].length; i++)
+      best = this.better(var(this.clauses[clause][i]), best);
+    return best;
+  }
+
+  private int better(final int v1, final int v2) {
+    if (this.scores[v1] != this.scores[v2])
+      return this.scores[v1] > this.scores[v2] ? v1 : v2;
+    return this.lastFlip[v1] < this.lastFlip[v2] ? v1 : v2;
+  }
+
+  private void updateWeights() {
+    if (this.random.nextDouble() < SMOOTH_PROBABILITY) {
+      for (int c = 0; c < this.clauses.length; c++) {
+        if (this.satCount[c] > 0 && this.weights[c] > 1) {
+          final int decrement = c < this.nHard ? Math.min(HARD_INCREMENT, this.weights[c] - 1) : 1;
+          this.weights[c] -= decrement;
+          if (this.satCount[c] == 1)
+            this.addScore(this.satVar[c], decrement);
+        }
+      }
+    } else {
+      for (int i = 0; i < this.nbFalseHard; i++)
+        this.increaseWeight(this.falseHard[i], HARD_INCREMENT);
+      for (int i = 0; i < this.nbFalseSoft; i++) {
+        final int c = this.falseSoft[i];
+        if (this.weights[c] < this.softLimits[c])
+          this.increaseWeight(c, 1);
+      }
+    }
+  }
+
+  private void increaseWeight(final int c, final int increment) {
+    this.weights[c] += increment;
+    for (final int lit : this.clauses[c])
+      this.addScore(var(lit), increment);
+  }
+
+  private void flip(final int v) {
+    this.assignment[v] = !this.assignment[v];
+    this.lastFlip[v] = ++this.flips;
+    for (final int c : this.occurrences[v]) {
+      final int w = this.weights[c];
+      if (this.isTrue(this.literalOf(c, v))) {
+        this.satCount[c]++;
+        if (this.satCount[c] == 1) {
+          this.satVar[c] = v;
+          this.removeFalse(c);
+          for (final int lit : this.clauses[c])
+            this.addScore(var(lit), var(lit) == v ? -2L * w : -w);
+        } else if (this.satCount[c] == 2)
+          this.addScore(this.satVar[c], w);
+      } else {
+        this.satCount[c]--;
+        if (this.satCount[c] == 0) {
+          this.addFalse(c);
+          for (final int lit : this.clauses[c])
+            this.addScore(var(lit), var(lit) == v ? 2L * w : w);
+        } else if (this.satCount[c] == 1) {
+          for (final int lit : this.clauses[c]) {
+            if (this.isTrue(lit)) {
+              this.satVar[c] = var(lit);
+              break;
+            }
+          }
+          this.addScore(this.satVar[c], -w);
+        }
+      }
+    }
+  }
+
+  private int literalOf(final int c, final int v) {
+    for (final int lit : this.clauses[c])
+      if (var(lit) == v)
+        return lit;
+    throw new IllegalStateException("Variable " + v + " does not occur in clause " + c);
+  }
+
+  private boolean isTrue(final int lit) {
+    return this.assignment[var(lit)] != sign(lit);
+  }
+
+  private void addScore(final int v, final long delta) {
+    final long old = this.scores[v];
+    this.scores[v] = old + delta;
+    if (old <= 0 && this.scores[v] > 0)
+      this.addGood(v);
+    else if (old > 0 && this.scores[v] <= 0)
+      this.removeGood(v);
+  }
+
+  private void addGood(final int v) {
+    this.goodPos[v] = this.nbGoodVars;
+    this.goodVars[this.nbGoodVars++] = v;
+  }
+
+  private void removeGood(final int v) {
+    final int last = this.goodVars[--this.nbGoodVars];
+    this.goodVars[this.goodPos[v]] = last;
+    this.goodPos[last] = this.goodPos[v];
+  }
+
+  private void addFalse(final int c) {
+    if (c < this.nHard) {
+      this.falsePos[c] = this.nbFalseHard;
+      this.falseHard[this.nbFalseHard++] = c;
+    } else {
+      this.falsePos[c] = this.nbFalseSoft;
+      this.falseSoft[this.nbFalseSoft++] = c;
+      this.cost += this.originalWeights[c];
+    }
+  }
+
+  private void removeFalse(final int c) {
+    if (c < this.nHard) {
+      final int last = this.falseHard[--this.nbFalseHard];
+      this.falseHard[this.falsePos[c]] = last;
+      this.falsePos[last] = this.falsePos[c];
+    } else {
+      final int last = this.falseSoft[--this.nbFalseSoft];
+      this.falseSoft[this.falsePos[c]] = last;
+      this.falsePos[last] = this.falsePos[c];
+      this.cost -= this.originalWeights[c];
+    }
+  }
+}
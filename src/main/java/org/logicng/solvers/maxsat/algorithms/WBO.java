@@ -59,9 +59,7 @@ import java.io.PrintStream;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.SortedMap;
-import java.util.SortedSet;
 import java.util.TreeMap;
-import java.util.TreeSet;
 
 import static org.logicng.datastructures.Tristate.FALSE;
 import static org.logicng.datastructures.Tristate.TRUE;
@@ -73,7 +71,7 @@ import static org.logicng.solvers.sat.MiniSatStyleSolver.var;
 
 /**
  * Weighted Boolean Optimization solver.
- * @version 1.3
+ * @version 1.4.1
  * @since 1.0
  */
 public class WBO extends MaxSAT {
@@ -191,51 +189,6 @@ public class WBO extends MaxSAT {
     return s;
   }
 
-  void updateCurrentWeight(final WeightStrategy strategy) {
-    assert strategy == WeightStrategy.NORMAL || strategy == WeightStrategy.DIVERSIFY;
-    if (strategy == WeightStrategy.NORMAL)
-      currentWeight = this.findNextWeight(currentWeight);
-    else if (strategy == WeightStrategy.DIVERSIFY)
-      currentWeight = this.findNextWeightDiversity(currentWeight);
-  }
-
-
-  private int findNextWeight(int weight) {
-    int nextWeight = 1;
-    for (int i = 0; i < nSoft(); i++) {
-      if (softClauses.get(i).weight() > nextWeight && softClauses.get(i).weight() < weight)
-        nextWeight = softClauses.get(i).weight();
-    }
-    return nextWeight;
-  }
-
-  private int findNextWeightDiversity(int weight) {
-    assert this.weightStrategy == WeightStrategy.DIVERSIFY;
-    assert nbSatisfiable > 0;
-    int nextWeight = weight;
-    int nbClauses;
-    final SortedSet<Integer> nbWeights = new TreeSet<>();
-    double alpha = 1.25;
-    boolean findNext = false;
-    while (true) {
-      if (nbSatisfiable > 1 || findNext)
-        nextWeight = this.findNextWeight(nextWeight);
-      nbClauses = 0;
-      nbWeights.clear();
-      for (int i = 0; i < nSoft(); i++) {
-        if (softClauses.get(i).weight() >= nextWeight) {
-          nbClauses++;
-          nbWeights.add(softClauses.get(i).weight());
-        }
-      }
-      if ((double) nbClauses / nbWeights.size() > alpha || nbClauses == nSoft())
-        break;
-      if (nbSatisfiable == 1 && !findNext)
-        findNext = true;
-    }
-    return nextWeight;
-  }
-
   private void encodeEO(final LNGIntVector lits) {
     assert lits.size() != 0;
     LNGIntVector clause = new LNGIntVector();
@@ -288,7 +241,7 @@ public class WBO extends MaxSAT {
     }
   }
 
-  private void relaxCore(final LNGIntVector conflict, int weightCore, final LNGIntVector assumps) {
+  private void relaxCore(final LNGIntVector conflict, long weightCore, final LNGIntVector assumps) {
     assert conflict.size() > 0;
     assert weightCore > 0;
     LNGIntVector lits = new LNGIntVector();
@@ -322,11 +275,11 @@ public class WBO extends MaxSAT {
     sumSizeCores += conflict.size();
   }
 
-  int computeCostCore(final LNGIntVector conflict) {
+  long computeCostCore(final LNGIntVector conflict) {
     assert conflict.size() != 0;
     if (problemType == ProblemType.UNWEIGHTED)
       return 1;
-    int coreCost = Integer.MAX_VALUE;
+    long coreCost = Long.MAX_VALUE;
     for (int i = 0; i < conflict.size(); i++) {
       int indexSoft = this.coreMapping.get(conflict.get(i));
       if (softClauses.get(indexSoft).weight() < coreCost)
@@ -421,7 +374,7 @@ public class WBO extends MaxSAT {
       nbCores++;
     else if (res == TRUE) {
       nbSatisfiable++;
-      int cost = computeCostModel(this.solver.model(), Integer.MAX_VALUE);
+      long cost = computeCostModel(this.solver.model(), Long.MAX_VALUE);
       assert cost <= ubCost;
       ubCost = cost;
       saveModel(this.solver.model());
@@ -449,7 +402,7 @@ public class WBO extends MaxSAT {
       else if (res == FALSE) {
         nbCores++;
         assert this.solver.conflict().size() > 0;
-        int coreCost = this.computeCostCore(this.solver.conflict());
+        long coreCost = this.computeCostCore(this.solver.conflict());
         lbCost += coreCost;
         if (verbosity != Verbosity.NONE)
           this.output.println(String.format("c LB : %d CS : %d W : %d", lbCost, this.solver.conflict().size(), coreCost));
@@ -460,7 +413,7 @@ public class WBO extends MaxSAT {
       } else {
         nbSatisfiable++;
         if (this.nbCurrentSoft == nSoft()) {
-          assert computeCostModel(this.solver.model(), Integer.MAX_VALUE) == lbCost;
+          assert computeCostModel(this.solver.model(), Long.MAX_VALUE) == lbCost;
           if (lbCost == ubCost && verbosity != Verbosity.NONE)
             this.output.println("c LB = UB");
           if (lbCost < ubCost) {
@@ -472,7 +425,7 @@ public class WBO extends MaxSAT {
           return MaxSATResult.OPTIMUM;
         } else {
           this.updateCurrentWeight(this.weightStrategy);
-          int cost = computeCostModel(this.solver.model(), Integer.MAX_VALUE);
+          long cost = computeCostModel(this.solver.model(), Long.MAX_VALUE);
           if (cost < ubCost) {
             ubCost = cost;
             saveModel(this.solver.model());
@@ -485,6 +438,9 @@ public class WBO extends MaxSAT {
             return MaxSATResult.OPTIMUM;
           } else if (!foundUpperBound(ubCost, null))
             return MaxSATResult.UNDEF;
+          final int nbHardened = hardenSoftClauses(null, lbCost, false, null);
+          if (nbHardened > 0 && verbosity != Verbosity.NONE)
+            this.output.println("c Hardened soft clauses : " + nbHardened);
           this.solver = this.rebuildWeightSolver(this.weightStrategy);
         }
       }
@@ -506,7 +462,7 @@ public class WBO extends MaxSAT {
       else if (res == FALSE) {
         nbCores++;
         assert this.solver.conflict().size() > 0;
-        int coreCost = this.computeCostCore(this.solver.conflict());
+        long coreCost = this.computeCostCore(this.solver.conflict());
         lbCost += coreCost;
         if (verbosity != Verbosity.NONE)
           this.output.println(String.format("c LB : %d CS : %d W : %d", lbCost, this.solver.conflict().size(), coreCost));
@@ -520,7 +476,7 @@ public class WBO extends MaxSAT {
         this.solver = this.rebuildSolver();
       } else {
         nbSatisfiable++;
-        ubCost = computeCostModel(this.solver.model(), Integer.MAX_VALUE);
+        ubCost = computeCostModel(this.solver.model(), Long.MAX_VALUE);
         assert lbCost == ubCost;
         if (verbosity != Verbosity.NONE)
           this.output.println("o " + lbCost);
@@ -65,11 +65,12 @@ import static org.logicng.datastructures.Tristate.UNDEF;
 import static org.logicng.solvers.maxsat.algorithms.MaxSATConfig.CardinalityEncoding;
 import static org.logicng.solvers.maxsat.algorithms.MaxSATConfig.IncrementalStrategy;
 import static org.logicng.solvers.maxsat.algorithms.MaxSATConfig.Verbosity;
+import static org.logicng.solvers.maxsat.algorithms.MaxSATConfig.WeightStrategy;
 import static org.logicng.solvers.sat.MiniSatStyleSolver.not;
 
 /**
  * The weighted MSU3 algorithm.
- * @version 1.3
+ * @version 1.4.1
  * @since 1.0
  */
 public final class WMSU3 extends MaxSAT {
@@ -77,6 +78,7 @@ public final class WMSU3 extends MaxSAT {
   final boolean bmoStrategy;
   final private Encoder encoder;
   final private IncrementalStrategy incrementalStrategy;
+  final private WeightStrategy weightStrategy;
   final private LNGIntVector assumptions;
   final private LNGIntVector objFunction;
   final private LNGIntVector coeffs;
@@ -102,6 +104,7 @@ public final class WMSU3 extends MaxSAT {
     this.solver = null;
     this.verbosity = config.verbosity;
     this.incrementalStrategy = config.incrementalStrategy;
+    this.weightStrategy = config.weightStrategy;
     this.encoder = new Encoder(config.cardinalityEncoding);
     this.encoder.setPBEncoding(config.pbEncoding);
     this.bmoStrategy = config.bmo;
@@ -137,9 +140,11 @@ public final class WMSU3 extends MaxSAT {
   public MaxSATResult search() {
     if (problemType == ProblemType.UNWEIGHTED)
       throw new IllegalStateException("Error: Currently algorithm WMSU3 does not support unweighted MaxSAT instances.");
+    if (ubCost > Integer.MAX_VALUE)
+      throw new IllegalStateException("Error: Currently algorithm WMSU3 only supports MaxSAT instances whose sum of weights fits into an integer.");
     if (this.bmoStrategy)
       this.isBmo = isBMO(true);
-    if (!this.isBmo)
+    if (!this.isBmo && this.weightStrategy == WeightStrategy.NONE)
       currentWeight = 1;
     switch (this.incrementalStrategy) {
       case NONE:
@@ -174,7 +179,7 @@ public final class WMSU3 extends MaxSAT {
         return MaxSATResult.UNDEF;
       else if (res == TRUE) {
         nbSatisfiable++;
-        int newCost = computeCostModel(this.solver.model(), Integer.MAX_VALUE);
+        long newCost = computeCostModel(this.solver.model(), Long.MAX_VALUE);
         if (newCost < ubCost || nbSatisfiable == 1) {
           saveModel(this.solver.model());
           if (verbosity != Verbosity.NONE)
@@ -187,9 +192,8 @@ public final class WMSU3 extends MaxSAT {
           return MaxSATResult.OPTIMUM;
         } else if (!foundUpperBound(ubCost, null))
           return MaxSATResult.UNDEF;
-        for (int i = 0; i < nSoft(); i++)
-          if (softClauses.get(i).weight() >= currentWeight && !this.activeSoft.get(i))
-            this.assumptions.push(not(softClauses.get(i).assumptionVar()));
+        this.harden();
+        this.updateStratum();
       } else {
         nbCores++;
         if (nbSatisfiable == 0)
@@ -212,7 +216,7 @@ public final class WMSU3 extends MaxSAT {
           if (!this.activeSoft.get(indexSoft)) {
             this.activeSoft.set(indexSoft, true);
             this.objFunction.push(softClauses.get(indexSoft).relaxationVars().get(0));
-            this.coeffs.push(softClauses.get(indexSoft).weight());
+            this.coeffs.push((int) softClauses.get(indexSoft).weight());
           }
         }
         for (int i = 0; i < nSoft(); i++)
@@ -225,14 +229,14 @@ public final class WMSU3 extends MaxSAT {
         if (verbosity != Verbosity.NONE)
           this.output.println(String.format("c Relaxed soft clauses %d / %d", fullCoeffsFunction.size(), nSoft()));
         lbCost++;
-        while (!subsetSum(fullCoeffsFunction, lbCost))
+        while (!subsetSum(fullCoeffsFunction, (int) lbCost))
           lbCost++;
         if (verbosity != Verbosity.NONE)
           this.output.println("c LB : " + lbCost);
         if (!this.encoder.hasPBEncoding())
-          this.encoder.incEncodePB(this.solver, this.objFunction, this.coeffs, lbCost, this.assumptions, nSoft());
+          this.encoder.incEncodePB(this.solver, this.objFunction, this.coeffs, (int) lbCost, this.assumptions, nSoft());
         else {
-          this.encoder.incUpdatePB(this.solver, this.objFunction, this.coeffs, lbCost);
+          this.encoder.incUpdatePB(this.solver, this.objFunction, this.coeffs, (int) lbCost);
           this.encoder.incUpdatePBAssumptions(this.assumptions);
         }
       }
@@ -255,7 +259,7 @@ public final class WMSU3 extends MaxSAT {
         return MaxSATResult.UNDEF;
       else if (res == TRUE) {
         nbSatisfiable++;
-        int newCost = computeCostModel(this.solver.model(), Integer.MAX_VALUE);
+        long newCost = computeCostModel(this.solver.model(), Long.MAX_VALUE);
         if (newCost < ubCost || nbSatisfiable == 1) {
           saveModel(this.solver.model());
           if (verbosity != Verbosity.NONE)
@@ -267,9 +271,8 @@ public final class WMSU3 extends MaxSAT {
           return MaxSATResult.OPTIMUM;
         } else if (!foundUpperBound(ubCost, null))
           return MaxSATResult.UNDEF;
-        for (int i = 0; i < nSoft(); i++)
-          if (softClauses.get(i).weight() >= currentWeight && !this.activeSoft.get(i))
-            this.assumptions.push(not(softClauses.get(i).assumptionVar()));
+        this.harden();
+        this.updateStratum();
       } else {
         nbCores++;
         if (nbSatisfiable == 0)
@@ -293,7 +296,7 @@ public final class WMSU3 extends MaxSAT {
         for (int i = 0; i < nSoft(); i++) {
           if (this.activeSoft.get(i)) {
             this.objFunction.push(softClauses.get(i).relaxationVars().get(0));
-            this.coeffs.push(softClauses.get(i).weight());
+            this.coeffs.push((int) softClauses.get(i).weight());
           } else if (softClauses.get(i).weight() >= currentWeight)
             this.assumptions.push(not(softClauses.get(i).assumptionVar()));
         }
@@ -301,11 +304,11 @@ public final class WMSU3 extends MaxSAT {
           this.output.println(String.format("c Relaxed soft clauses %d / %d", this.objFunction.size(), nSoft()));
         this.solver = this.rebuildSolver();
         lbCost++;
-        while (!subsetSum(this.coeffs, lbCost))
+        while (!subsetSum(this.coeffs, (int) lbCost))
           lbCost++;
         if (verbosity != Verbosity.NONE)
           this.output.println("c LB : " + lbCost);
-        this.encoder.encodePB(this.solver, this.objFunction, this.coeffs, lbCost);
+        this.encoder.encodePB(this.solver, this.objFunction, this.coeffs, (int) lbCost);
       }
     }
   }
@@ -323,7 +326,7 @@ public final class WMSU3 extends MaxSAT {
     this.activeSoft.growTo(nSoft(), false);
     for (int i = 0; i < nSoft(); i++)
       this.coreMapping.put(softClauses.get(i).assumptionVar(), i);
-    int minWeight = 0;
+    long minWeight = 0;
     int posWeight = 0;
     int localCost = 0;
     LNGVector<LNGIntVector> functions = new LNGVector<>();
@@ -343,7 +346,7 @@ public final class WMSU3 extends MaxSAT {
         return MaxSATResult.UNDEF;
       else if (res == TRUE) {
         nbSatisfiable++;
-        int newCost = computeCostModel(this.solver.model(), Integer.MAX_VALUE);
+        long newCost = computeCostModel(this.solver.model(), Long.MAX_VALUE);
         if (newCost < ubCost || nbSatisfiable == 1) {
           saveModel(this.solver.model());
           if (verbosity != Verbosity.NONE)
@@ -369,7 +372,7 @@ public final class WMSU3 extends MaxSAT {
             if (!foundUpperBound(ubCost, null))
               return MaxSATResult.UNDEF;
             this.assumptions.clear();
-            int previousWeight = currentWeight;
+            long previousWeight = currentWeight;
             posWeight++;
             assert posWeight < orderWeights.size();
             currentWeight = orderWeights.get(posWeight);
@@ -422,7 +425,7 @@ public final class WMSU3 extends MaxSAT {
             assert softClauses.get(this.coreMapping.get(this.solver.conflict().get(i))).weight() == currentWeight;
             this.activeSoft.set(this.coreMapping.get(this.solver.conflict().get(i)), true);
             joinObjFunction.push(softClauses.get(this.coreMapping.get(this.solver.conflict().get(i))).relaxationVars().get(0));
-            joinCoeffs.push(softClauses.get(this.coreMapping.get(this.solver.conflict().get(i))).weight());
+            joinCoeffs.push((int) softClauses.get(this.coreMapping.get(this.solver.conflict().get(i))).weight());
           }
         }
         this.objFunction.clear();
@@ -432,7 +435,7 @@ public final class WMSU3 extends MaxSAT {
           if (this.activeSoft.get(i)) {
             assert softClauses.get(i).weight() == currentWeight;
             this.objFunction.push(softClauses.get(i).relaxationVars().get(0));
-            this.coeffs.push(softClauses.get(i).weight());
+            this.coeffs.push((int) softClauses.get(i).weight());
           } else if (currentWeight == softClauses.get(i).weight())
             this.assumptions.push(not(softClauses.get(i).assumptionVar()));
         }
@@ -456,6 +459,35 @@ public final class WMSU3 extends MaxSAT {
     }
   }
 
+  /**
+   * Hardens the soft clauses whose weight exceeds the current upper bound.  The lower bound of this algorithm is not
+   * extracted from the working formula and therefore cannot be used for the hardening.
+   */
+  private void harden() {
+    final int nbHardened = hardenSoftClauses(this.solver, 0, true, null);
+    if (nbHardened > 0 && verbosity != Verbosity.NONE)
+      this.output.println("c Hardened soft clauses : " + nbHardened);
+  }
+
+  /**
+   * Adds the assumptions of the inactive soft clauses after a model was found.  Without a weight strategy, all soft
+   * clauses are assumed after the first model.  Otherwise, the weight level is lowered by the weight strategy after
+   * each model and the soft clauses of the new levels are assumed in addition.
+   */
+  private void updateStratum() {
+    long previousWeight = Long.MAX_VALUE;
+    if (this.weightStrategy != WeightStrategy.NONE) {
+      if (nbSatisfiable > 1)
+        previousWeight = currentWeight;
+      updateCurrentWeight(this.weightStrategy);
+      if (verbosity != Verbosity.NONE)
+        this.output.println("c Weight level : " + currentWeight);
+    }
+    for (int i = 0; i < nSoft(); i++)
+      if (softClauses.get(i).weight() >= currentWeight && softClauses.get(i).weight() < previousWeight && !this.activeSoft.get(i))
+        this.assumptions.push(not(softClauses.get(i).assumptionVar()));
+  }
+
   private MiniSatStyleSolver rebuildSolver() {
     final MiniSatStyleSolver s = newSATSolver();
     for (int i = 0; i < nVars(); i++)
@@ -60,7 +60,7 @@ import static org.logicng.solvers.sat.MiniSatStyleSolver.not;
 
 /**
  * A sequential weight counter for the encoding of pseudo-Boolean constraints in CNF.
- * @version 1.3
+ * @version 1.4.1
  * @since 1.0
  */
 final class SequentialWeightCounter extends Encoding {
@@ -128,11 +128,7 @@ final class SequentialWeightCounter extends Encoding {
       } else
         addUnitClause(s, not(simpLits.get(i)));
     }
-    if (lits.size() == 1) {
-      addUnitClause(s, not(lits.get(0)));
-      return;
-    }
-    if (lits.size() == 0)
+    if (lits.size() <= 1)
       return;
     int n = lits.size();
     final LNGIntVector[] seqAuxiliary = new LNGIntVector[n + 1];
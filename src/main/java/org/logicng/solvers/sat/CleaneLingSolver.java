@@ -78,7 +78,6 @@ public final class CleaneLingSolver extends CleaneLingStyleSolver {
   private boolean dense;
   private boolean schedule;
   private int touched;
-  private LNGIntVector original;
   private LNGVector<CLClause> clauses;
   private LNGVector<CLOccs[]> occs;
   private LNGLongPriorityQueue candsElim;
@@ -105,7 +104,6 @@ public final class CleaneLingSolver extends CleaneLingStyleSolver {
     this.schedule = false;
     this.touched = 0;
     this.distilled = 0;
-    this.original = new LNGIntVector();
     this.clauses = new LNGVector<>();
     this.occs = new LNGVector<>();
     this.candsElim = new LNGLongPriorityQueue();
@@ -115,19 +113,6 @@ public final class CleaneLingSolver extends CleaneLingStyleSolver {
     this.simplifier = Simplifier.NOSIMP;
   }
 
-  @Override
-  public void addlit(int lit) {
-    original.push(lit);
-    if (lit != 0) {
-      importLit(lit);
-      addedlits.push(lit);
-    } else {
-      if (!trivialClause())
-        newPushConnectClause();
-      addedlits.clear();
-    }
-  }
-
   @Override
   public Tristate solve(final SATHandler handler) {
     this.handler = handler;
@@ -84,6 +84,7 @@ public abstract class CleaneLingStyleSolver {
   protected LNGVector<LNGVector<CLWatch>> watches;
   protected LNGIntVector trail;
   protected LNGIntVector addedlits;
+  protected LNGIntVector original;
   protected LNGIntVector seen;
   protected LNGIntVector frames;
   protected CLClause ignore;
@@ -151,6 +152,7 @@ public abstract class CleaneLingStyleSolver {
     this.control = new LNGVector<>();
     this.trail = new LNGIntVector();
     this.addedlits = new LNGIntVector(100);
+    this.original = new LNGIntVector();
     this.seen = new LNGIntVector();
     this.frames = new LNGIntVector();
     this.watches = new LNGVector<>();
@@ -165,6 +167,7 @@ public abstract class CleaneLingStyleSolver {
    * @param lit the literal
    */
   public void addlit(int lit) {
+    original.push(lit);
     if (lit != 0) {
       importLit(lit);
       addedlits.push(lit);
@@ -193,6 +196,15 @@ public abstract class CleaneLingStyleSolver {
     return this.model;
   }
 
+  /**
+   * Returns all literals which were added to the solver via {@link #addlit(int)}, i.e. the original clauses separated
+   * by the clause terminator 0.
+   * @return the literals of the original clauses
+   */
+  public LNGIntVector originalLiterals() {
+    return this.original;
+  }
+
   /**
    * Resets the solver.
    */
@@ -89,6 +89,9 @@ import org.logicng.solvers.datastructures.MSClause;
 import org.logicng.solvers.datastructures.MSVariable;
 import org.logicng.solvers.datastructures.MSWatcher;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 /**
  * Glucose 4.0 solver.
  * @version 1.3
@@ -159,6 +162,31 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
     this.initializeGlucose();
   }
 
+  /**
+   * Constructs a deep copy of a given Glucose solver.
+   * @param other     the solver to copy
+   * @param clauseMap the map which is filled with the mapping from original clauses to copied clauses
+   */
+  private GlucoseSyrup(final GlucoseSyrup other, final Map<MSClause, MSClause> clauseMap) {
+    super(other, clauseMap);
+    this.glucoseConfig = other.glucoseConfig;
+    this.initializeGlucoseConfig();
+    this.watchesBin = copyWatches(other.watchesBin, clauseMap);
+    this.permDiff = new LNGIntVector(other.permDiff);
+    this.lastDecisionLevel = new LNGIntVector(other.lastDecisionLevel);
+    this.lbdQueue = new LNGBoundedLongQueue(other.lbdQueue);
+    this.trailQueue = new LNGBoundedIntQueue(other.trailQueue);
+    this.assump = new LNGBooleanVector(other.assump);
+    this.myflag = other.myflag;
+    this.analyzeLBD = other.analyzeLBD;
+    this.analyzeSzWithoutSelectors = other.analyzeSzWithoutSelectors;
+    this.nbclausesbeforereduce = other.nbclausesbeforereduce;
+    this.conflicts = other.conflicts;
+    this.conflictsRestarts = other.conflictsRestarts;
+    this.sumLBD = other.sumLBD;
+    this.curRestart = other.curRestart;
+  }
+
   /**
    * Initializes the additional parameters.
    */
@@ -220,8 +248,9 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
   }
 
   @Override
-  public boolean addClause(final LNGIntVector ps, final Proposition proposition) {
-    assert decisionLevel() == 0;
+  public boolean addClause(final LNGIntVector lits, final Proposition proposition) {
+    cancelUntil(0);
+    final LNGIntVector ps = scopedClause(lits);
     int p;
     int i;
     int j;
@@ -291,10 +320,11 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
     this.handler = handler;
     if (this.handler != null)
       this.handler.startedSolving();
-    model.clear();
+    model = new LNGBooleanVector();
     conflict.clear();
     if (!ok)
       return Tristate.FALSE;
+    backtrackForAssumptions();
     for (int i = 0; i < assumptions.size(); i++)
       this.assump.set(var(this.assumptions.get(i)), !sign(this.assumptions.get(i)));
 
@@ -315,7 +345,7 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
       ok = false;
     if (this.handler != null)
       this.handler.finishedSolving();
-    cancelUntil(0);
+    backtrackAfterSolve(status);
     this.handler = null;
     this.canceledByHandler = false;
     for (int i = 0; i < assumptions.size(); i++)
@@ -323,6 +353,11 @@ public final class GlucoseSyrup extends MiniSatStyleSolver {
     return status;
   }
 
+  @Override
+  public GlucoseSyrup copy() {
+    return new GlucoseSyrup(this, new IdentityHashMap<MSClause, MSClause>());
+  }
+
   @Override
   public void reset() {
     super.initialize();
@@ -60,6 +60,9 @@ import org.logicng.solvers.datastructures.MSClause;
 import org.logicng.solvers.datastructures.MSVariable;
 import org.logicng.solvers.datastructures.MSWatcher;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 /**
  * A cardinality solver based on MiniCard.
  * @version 1.3
@@ -93,6 +96,21 @@ public final class MiniCard extends MiniSatStyleSolver {
     this.initializeMiniSAT();
   }
 
+  /**
+   * Constructs a deep copy of a given MiniCard solver.
+   * @param other     the solver to copy
+   * @param clauseMap the map which is filled with the mapping from original clauses to copied clauses
+   */
+  private MiniCard(final MiniCard other, final Map<MSClause, MSClause> clauseMap) {
+    super(other, clauseMap);
+    this.unitClauses = new LNGIntVector(other.unitClauses);
+    this.learntsizeAdjustConfl = other.learntsizeAdjustConfl;
+    this.learntsizeAdjustCnt = other.learntsizeAdjustCnt;
+    this.learntsizeAdjustStartConfl = other.learntsizeAdjustStartConfl;
+    this.learntsizeAdjustInc = other.learntsizeAdjustInc;
+    this.maxLearnts = other.maxLearnts;
+  }
+
   /**
    * Initializes the additional parameters.
    */
@@ -119,8 +137,9 @@ public final class MiniCard extends MiniSatStyleSolver {
   }
 
   @Override
-  public boolean addClause(final LNGIntVector ps, final Proposition proposition) {
-    assert decisionLevel() == 0;
+  public boolean addClause(final LNGIntVector lits, final Proposition proposition) {
+    cancelUntil(0);
+    final LNGIntVector ps = scopedClause(lits);
     if (!ok)
       return false;
     ps.sort();
@@ -157,10 +176,11 @@ public final class MiniCard extends MiniSatStyleSolver {
     this.handler = handler;
     if (this.handler != null)
       this.handler.startedSolving();
-    model.clear();
+    model = new LNGBooleanVector();
     conflict.clear();
     if (!ok)
       return Tristate.FALSE;
+    backtrackForAssumptions();
     learntsizeAdjustConfl = learntsizeAdjustStartConfl;
     learntsizeAdjustCnt = (int) learntsizeAdjustConfl;
     maxLearnts = clauses.size() * learntsizeFactor;
@@ -179,12 +199,17 @@ public final class MiniCard extends MiniSatStyleSolver {
       ok = false;
     if (this.handler != null)
       this.handler.finishedSolving();
-    cancelUntil(0);
+    backtrackAfterSolve(status);
     this.handler = null;
     this.canceledByHandler = false;
     return status;
   }
 
+  @Override
+  public MiniCard copy() {
+    return new MiniCard(this, new IdentityHashMap<MSClause, MSClause>());
+  }
+
   @Override
   public void reset() {
     super.initialize();
@@ -223,6 +248,7 @@ public final class MiniCard extends MiniSatStyleSolver {
     for (i = this.vars.size() - 1; i >= newVarsSize; i--)
       this.orderHeap.remove(this.name2idx.remove(this.idx2name.remove(i)));
     vars.shrinkTo(newVarsSize);
+    shrinkFreeScopeVars(newVarsSize);
     int newClausesSize = Math.min(state[2], this.clauses.size());
     for (i = this.clauses.size() - 1; i >= newClausesSize; i--)
       simpleRemoveClause(this.clauses.get(i));
@@ -546,10 +572,13 @@ public final class MiniCard extends MiniSatStyleSolver {
    * @param ps  the literals of the constraint
    * @param rhs the right hand side of the constraint
    * @return {@code true} if the constraint was added, {@code false} otherwise
+   * @throws IllegalStateException if there is an open scope
    */
   public boolean addAtMost(final LNGIntVector ps, int rhs) {
+    if (!this.scopeSelectors.empty())
+      throw new IllegalStateException("Cannot add a native at-most constraint within an open scope.");
     int k = rhs;
-    assert decisionLevel() == 0;
+    cancelUntil(0);
     if (!ok)
       return false;
     ps.sort();
@@ -46,13 +46,19 @@ package org.logicng.solvers.sat;
 
 import org.logicng.collections.LNGBooleanVector;
 import org.logicng.collections.LNGIntVector;
+import org.logicng.collections.LNGLongVector;
 import org.logicng.collections.LNGVector;
 import org.logicng.datastructures.Tristate;
 import org.logicng.handlers.SATHandler;
 import org.logicng.propositions.Proposition;
 import org.logicng.solvers.datastructures.MSClause;
+import org.logicng.solvers.datastructures.MSPBConstraint;
 import org.logicng.solvers.datastructures.MSVariable;
 import org.logicng.solvers.datastructures.MSWatcher;
+import org.logicng.solvers.datastructures.MSXorMatrix;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 /**
  * A solver based on MiniSAT 2.2.0.  If the incremental mode is deactivated, this version should behave exactly
@@ -62,17 +68,34 @@ import org.logicng.solvers.datastructures.MSWatcher;
  * Therefore clause deletion and simplifications are deactivated in this mode.  This mode is most efficient on small
  * to mid-size industrial formulas (up to 50,000 variables, 100,000 clauses).  Whenever you have lots of small formulas
  * to solve or need the ability to add and delete formulas from the solver, we recommend to consider this mode.
- * @version 1.3
+ * <p>
+ * Additionally to clauses, this solver supports native XOR constraints which are propagated by Gauss-Jordan
+ * elimination (see {@link MSXorMatrix}) and native pseudo-Boolean constraints which are propagated by their slack (see
+ * {@link MSPBConstraint}).
+ * @version 1.4.1
  * @since 1.0
  */
 public class MiniSat2Solver extends MiniSatStyleSolver {
 
+  /**
+   * The reason of a literal implied by a pseudo-Boolean constraint as long as its reason clause was not generated.
+   */
+  private static final MSClause PB_REASON = new MSClause(new LNGIntVector(), false);
+
   private LNGIntVector unitClauses;
   private double learntsizeAdjustConfl;
   private int learntsizeAdjustCnt;
   private int learntsizeAdjustStartConfl;
   private double learntsizeAdjustInc;
   private double maxLearnts;
+  private MSXorMatrix xors;
+  private int xorQhead;
+  private LNGVector<MSPBConstraint> pbs;
+  private LNGVector<LNGIntVector> pbOccurrences;
+  private int pbQhead;
+  private boolean pbDirty;
+  private LNGIntVector pbReasons;
+  private LNGIntVector trailPositions;
 
   /**
    * Constructs a new MiniSAT 2 solver with the default values for solver configuration.  By default, incremental mode
@@ -91,6 +114,33 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
     this.initializeMiniSAT();
   }
 
+  /**
+   * Constructs a deep copy of a given MiniSAT 2 solver.
+   * @param other     the solver to copy
+   * @param clauseMap the map which is filled with the mapping from original clauses to copied clauses
+   */
+  private MiniSat2Solver(final MiniSat2Solver other, final Map<MSClause, MSClause> clauseMap) {
+    super(other, clauseMap);
+    this.unitClauses = new LNGIntVector(other.unitClauses);
+    this.learntsizeAdjustConfl = other.learntsizeAdjustConfl;
+    this.learntsizeAdjustCnt = other.learntsizeAdjustCnt;
+    this.learntsizeAdjustStartConfl = other.learntsizeAdjustStartConfl;
+    this.learntsizeAdjustInc = other.learntsizeAdjustInc;
+    this.maxLearnts = other.maxLearnts;
+    this.xors = new MSXorMatrix(other.xors);
+    this.xorQhead = other.xorQhead;
+    this.pbs = new LNGVector<>(other.pbs.size());
+    for (final MSPBConstraint pb : other.pbs)
+      this.pbs.push(new MSPBConstraint(pb));
+    this.pbOccurrences = new LNGVector<>(other.pbOccurrences.size());
+    for (final LNGIntVector occurrences : other.pbOccurrences)
+      this.pbOccurrences.push(new LNGIntVector(occurrences));
+    this.pbQhead = other.pbQhead;
+    this.pbDirty = other.pbDirty;
+    this.pbReasons = new LNGIntVector(other.pbReasons);
+    this.trailPositions = new LNGIntVector(other.trailPositions);
+  }
+
   /**
    * Initializes the additional parameters.
    */
@@ -101,6 +151,14 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
     this.learntsizeAdjustStartConfl = 100;
     this.learntsizeAdjustInc = 1.5;
     this.maxLearnts = 0;
+    this.xors = new MSXorMatrix();
+    this.xorQhead = 0;
+    this.pbs = new LNGVector<>();
+    this.pbOccurrences = new LNGVector<>();
+    this.pbQhead = 0;
+    this.pbDirty = false;
+    this.pbReasons = new LNGIntVector();
+    this.trailPositions = new LNGIntVector();
   }
 
   @Override
@@ -111,14 +169,17 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
     watches.push(new LNGVector<MSWatcher>());
     watches.push(new LNGVector<MSWatcher>());
     seen.push(false);
+    this.pbReasons.push(-1);
+    this.trailPositions.push(-1);
     newVar.setDecision(dvar);
     insertVarOrder(v);
     return v;
   }
 
   @Override
-  public boolean addClause(final LNGIntVector ps, final Proposition proposition) {
-    assert decisionLevel() == 0;
+  public boolean addClause(final LNGIntVector lits, final Proposition proposition) {
+    cancelUntil(0);
+    final LNGIntVector ps = scopedClause(lits);
     int p;
     int i;
     int j;
@@ -183,15 +244,97 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
     return true;
   }
 
+  /**
+   * Adds a XOR constraint {@code x_1 + ... + x_n = rhs} over GF(2) to the solver.
+   * @param vars the variables of the constraint
+   * @param rhs  the right-hand side of the constraint
+   * @return {@code true} if the constraint was added successfully, {@code false} otherwise
+   * @throws UnsupportedOperationException if proof generation is activated
+   * @throws IllegalStateException         if there is an open scope
+   */
+  public boolean addXor(final LNGIntVector vars, boolean rhs) {
+    if (this.config.proofGeneration)
+      throw new UnsupportedOperationException("XOR constraints are not supported with proof generation");
+    if (!this.scopeSelectors.empty())
+      throw new IllegalStateException("Cannot add a native XOR constraint within an open scope.");
+    cancelUntil(0);
+    if (!ok)
+      return false;
+    final LNGIntVector sorted = new LNGIntVector(vars);
+    sorted.sort();
+    final LNGIntVector row = new LNGIntVector(sorted.size());
+    for (int i = 0; i < sorted.size(); i++)
+      if (!row.empty() && row.back() == sorted.get(i))
+        row.pop();
+      else
+        row.push(sorted.get(i));
+    this.xors.addRow(row, rhs);
+    ok = propagate() == null;
+    return ok;
+  }
+
+  /**
+   * Adds a pseudo-Boolean constraint {@code a_1 * l_1 + ... + a_n * l_n >= rhs} with positive coefficients to the
+   * solver.  Each variable may occur only once in the constraint.  The constraint is not encoded to clauses but
+   * propagated natively.
+   * @param lits   the literals of the constraint
+   * @param coeffs the positive coefficients of the literals
+   * @param rhs    the right-hand side of the constraint
+   * @return {@code true} if the constraint was added successfully, {@code false} otherwise
+   * @throws UnsupportedOperationException if proof generation is activated
+   * @throws IllegalStateException         if there is an open scope
+   */
+  public boolean addPB(final LNGIntVector lits, final LNGLongVector coeffs, long rhs) {
+    if (this.config.proofGeneration)
+      throw new UnsupportedOperationException("Native pseudo-Boolean constraints are not supported with proof generation");
+    if (!this.scopeSelectors.empty())
+      throw new IllegalStateException("Cannot add a native pseudo-Boolean constraint within an open scope.");
+    cancelUntil(0);
+    if (!ok)
+      return false;
+    if (propagate() != null) {
+      ok = false;
+      return false;
+    }
+    this.pbQhead = trail.size();
+    if (rhs <= 0)
+      return true;
+    final LNGLongVector saturated = new LNGLongVector(coeffs.size());
+    long sum = 0;
+    for (int i = 0; i < coeffs.size(); i++) {
+      saturated.push(Math.min(coeffs.get(i), rhs));
+      sum += saturated.back();
+    }
+    if (sum < rhs) {
+      ok = false;
+      return false;
+    }
+    final MSPBConstraint pb = new MSPBConstraint(lits, saturated, rhs);
+    final int index = this.pbs.size();
+    this.pbs.push(pb);
+    for (int i = 0; i < pb.size(); i++) {
+      final int lit = pb.lit(i);
+      while (this.pbOccurrences.size() <= lit)
+        this.pbOccurrences.push(new LNGIntVector());
+      this.pbOccurrences.get(lit).push(index);
+      this.pbOccurrences.get(lit).push(i);
+      if (value(lit) == Tristate.FALSE)
+        pb.updateSlack(-pb.coeff(i));
+    }
+    ok = propagatePB(index) == null && propagate() == null;
+    return ok;
+  }
+
   @Override
   public Tristate solve(final SATHandler handler) {
     this.handler = handler;
     if (this.handler != null)
       this.handler.startedSolving();
-    model.clear();
+    model = new LNGBooleanVector();
     conflict.clear();
     if (!ok)
       return Tristate.FALSE;
+    backtrackForAssumptions();
     learntsizeAdjustConfl = learntsizeAdjustStartConfl;
     learntsizeAdjustCnt = (int) learntsizeAdjustConfl;
     maxLearnts = clauses.size() * learntsizeFactor;
@@ -216,12 +359,19 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
       ok = false;
     if (this.handler != null)
       this.handler.finishedSolving();
-    cancelUntil(0);
+    backtrackAfterSolve(status);
     this.handler = null;
     this.canceledByHandler = false;
     return status;
   }
 
+  @Override
+  public MiniSat2Solver copy() {
+    final Map<MSClause, MSClause> clauseMap = new IdentityHashMap<>();
+    clauseMap.put(PB_REASON, PB_REASON);
+    return new MiniSat2Solver(this, clauseMap);
+  }
+
   @Override
   public void reset() {
     super.initialize();
@@ -230,9 +380,10 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
 
   /**
    * Saves and returns the solver state expressed as an integer array which stores the length of the internal data
-   * structures.  The array has length 5 and has the following layout:
+   * structures.  The array has length 9 and has the following layout:
    * <p>
-   * {@code | current solver state | #vars | #clauses | #learnt clauses | #unit clauses | #pg original | #pg proof}
+   * {@code | current solver state | #vars | #clauses | #learnt clauses | #unit clauses | #pg original | #pg proof | #xors
+   * | #pbs}
    * @return the current solver state
    */
   @Override
@@ -240,7 +391,7 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
     if (!incremental)
       throw new IllegalStateException("Cannot save a state when the incremental mode is deactivated");
     int[] state;
-    state = new int[7];
+    state = new int[9];
     state[0] = ok ? 1 : 0;
     state[1] = vars.size();
     state[2] = clauses.size();
@@ -250,6 +401,8 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
       state[5] = pgOriginalClauses.size();
       state[6] = pgProof.size();
     }
+    state[7] = xors.size();
+    state[8] = pbs.size();
     return state;
   }
 
@@ -264,6 +417,9 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
     for (i = this.vars.size() - 1; i >= newVarsSize; i--)
       this.orderHeap.remove(this.name2idx.remove(this.idx2name.remove(i)));
     vars.shrinkTo(newVarsSize);
+    this.pbReasons.shrinkTo(newVarsSize);
+    this.trailPositions.shrinkTo(newVarsSize);
+    shrinkFreeScopeVars(newVarsSize);
     int newClausesSize = Math.min(state[2], this.clauses.size());
     for (i = this.clauses.size() - 1; i >= newClausesSize; i--)
       simpleRemoveClause(this.clauses.get(i));
@@ -273,6 +429,8 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
       simpleRemoveClause(this.learnts.get(i));
     this.learnts.shrinkTo(newLearntsSize);
     this.watches.shrinkTo(newVarsSize * 2);
+    this.xors.shrinkTo(state[7]);
+    shrinkPBs(state[8], newVarsSize);
     this.unitClauses.shrinkTo(state[4]);
     for (i = 0; this.ok && i < this.unitClauses.size(); i++) {
       uncheckedEnqueue(this.unitClauses.get(i), null);
@@ -293,6 +451,7 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
     var.assign(Tristate.fromBool(!sign(lit)));
     var.setReason(reason);
     var.setLevel(decisionLevel());
+    this.trailPositions.set(var(lit), trail.size());
     trail.push(lit);
   }
 
@@ -335,6 +494,160 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
 
   @Override
   protected MSClause propagate() {
+    while (true) {
+      MSClause confl = propagateClauses();
+      if (confl != null || this.xors.empty() && this.pbs.empty())
+        return confl;
+      final int trailSize = trail.size();
+      if (!this.xors.empty()) {
+        confl = propagateXors();
+        if (confl != null)
+          return confl;
+      }
+      if (!this.pbs.empty()) {
+        confl = propagatePBs();
+        if (confl != null)
+          return confl;
+      }
+      if (trail.size() == trailSize)
+        return null;
+    }
+  }
+
+  /**
+   * Propagates the pseudo-Boolean constraints.  For each literal on the trail which was not processed yet, the slack
+   * of all constraints containing its negation is decreased.  Afterwards the affected constraints are checked for
+   * conflicts and implied literals.  If the constraints are marked as dirty, all constraints are checked.
+   * @return the conflict clause or {@code null} if there is no conflict
+   */
+  private MSClause propagatePBs() {
+    MSClause confl = null;
+    if (this.pbDirty) {
+      this.pbDirty = false;
+      for (int i = 0; confl == null && i < this.pbs.size(); i++)
+        confl = propagatePB(i);
+    }
+    while (confl == null && this.pbQhead < trail.size()) {
+      final int falseLit = not(trail.get(this.pbQhead++));
+      if (falseLit >= this.pbOccurrences.size())
+        continue;
+      final LNGIntVector occurrences = this.pbOccurrences.get(falseLit);
+      for (int i = 0; i < occurrences.size(); i += 2) {
+        final MSPBConstraint pb = this.pbs.get(occurrences.get(i));
+        pb.updateSlack(-pb.coeff(occurrences.get(i + 1)));
+      }
+      for (int i = 0; confl == null && i < occurrences.size(); i += 2)
+        confl = propagatePB(occurrences.get(i));
+    }
+    return confl;
+  }
+
+  /**
+   * Checks a single pseudo-Boolean constraint for a conflict and enqueues all literals implied by it.  The conflict
+   * clause consists of the currently false literals of the constraint.  The reason clauses of implied literals are
+   * only generated when the conflict analysis requests them (see {@link #reason(int)}).
+   * @param index the index of the constraint
+   * @return the conflict clause or {@code null} if there is no conflict
+   */
+  private MSClause propagatePB(int index) {
+    final MSPBConstraint pb = this.pbs.get(index);
+    if (pb.slack() < 0) {
+      final LNGIntVector conflict = new LNGIntVector(pb.size());
+      for (int i = 0; i < pb.size(); i++)
+        if (value(pb.lit(i)) == Tristate.FALSE)
+          conflict.push(pb.lit(i));
+      return new MSClause(conflict, false);
+    }
+    if (pb.maxCoeff() <= pb.slack())
+      return null;
+    for (int i = 0; i < pb.size(); i++) {
+      final int lit = pb.lit(i);
+      if (pb.coeff(i) > pb.slack() && value(lit) == Tristate.UNDEF) {
+        this.pbReasons.set(var(lit), index);
+        uncheckedEnqueue(lit, PB_REASON);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the reason clause of an assigned variable.  The reason clause of a literal implied by a pseudo-Boolean
+   * constraint is generated on the first request: it consists of the implied literal and all literals of the
+   * constraint which were assigned to false before it.
+   * @param var the variable
+   * @return the reason clause or {@code null} if the variable was assigned by a decision
+   */
+  private MSClause reason(int var) {
+    final MSVariable v = this.vars.get(var);
+    if (v.reason() != PB_REASON)
+      return v.reason();
+    final MSPBConstraint pb = this.pbs.get(this.pbReasons.get(var));
+    final int position = this.trailPositions.get(var);
+    final LNGIntVector lits = new LNGIntVector(pb.size());
+    lits.push(mkLit(var, v.assignment() == Tristate.FALSE));
+    for (int i = 0; i < pb.size(); i++) {
+      final int lit = pb.lit(i);
+      if (value(lit) == Tristate.FALSE && this.trailPositions.get(var(lit)) < position)
+        lits.push(lit);
+    }
+    final MSClause reason = new MSClause(lits, false);
+    v.setReason(reason);
+    return reason;
+  }
+
+  @Override
+  protected boolean isNonClausalVariable(int var) {
+    if (this.xors.contains(var))
+      return true;
+    final int lit = mkLit(var, false);
+    return lit < this.pbOccurrences.size() && !this.pbOccurrences.get(lit).empty()
+            || lit + 1 < this.pbOccurrences.size() && !this.pbOccurrences.get(lit + 1).empty();
+  }
+
+  /**
+   * Removes all pseudo-Boolean constraints with an index greater or equal to the given size and all occurrences of
+   * removed variables.
+   * @param newPBsSize  the new number of pseudo-Boolean constraints
+   * @param newVarsSize the new number of variables
+   */
+  private void shrinkPBs(int newPBsSize, int newVarsSize) {
+    this.pbOccurrences.shrinkTo(Math.min(this.pbOccurrences.size(), newVarsSize * 2));
+    if (newPBsSize >= this.pbs.size())
+      return;
+    this.pbs.shrinkTo(newPBsSize);
+    for (final LNGIntVector occurrences : this.pbOccurrences) {
+      int j = 0;
+      for (int i = 0; i < occurrences.size(); i += 2)
+        if (occurrences.get(i) < newPBsSize) {
+          occurrences.set(j++, occurrences.get(i));
+          occurrences.set(j++, occurrences.get(i + 1));
+        }
+      occurrences.shrinkTo(j);
+    }
+  }
+
+  /**
+   * Propagates the XOR constraints wrt. the literals on the trail which were not processed yet.  All implied literals
+   * are enqueued with their reason clauses.  They are processed by the next call, since their assignment changes the
+   * pivots of the matrix.
+   * @return the conflict clause or {@code null} if there is no conflict
+   */
+  private MSClause propagateXors() {
+    final LNGVector<LNGIntVector> reasons = new LNGVector<>();
+    final LNGIntVector conflictClause = this.xors.propagate(this.vars, trail, this.xorQhead, reasons);
+    this.xorQhead = trail.size();
+    if (conflictClause != null)
+      return new MSClause(conflictClause, false);
+    for (final LNGIntVector reason : reasons)
+      uncheckedEnqueue(reason.get(0), new MSClause(reason, false));
+    return null;
+  }
+
+  /**
+   * Propagates the clauses of the solver.
+   * @return the conflict clause or {@code null} if there is no conflict
+   */
+  private MSClause propagateClauses() {
     MSClause confl = null;
     int numProps = 0;
     while (qhead < trail.size()) {
@@ -397,7 +710,7 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
     int top = analyzeToClear.size();
     while (analyzeStack.size() > 0) {
       assert v(analyzeStack.back()).reason() != null;
-      MSClause c = v(analyzeStack.back()).reason();
+      MSClause c = reason(var(analyzeStack.back()));
       analyzeStack.pop();
       for (int i = 1; i < c.size(); i++) {
         final int q = c.get(i);
@@ -435,7 +748,7 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
           assert v.level() > 0;
           outConflict.push(not(trail.get(i)));
         } else {
-          final MSClause c = v.reason();
+          final MSClause c = reason(x);
           for (int j = 1; j < c.size(); j++)
             if (v(c.get(j)).level() > 0)
               seen.set(var(c.get(j)), true);
@@ -456,12 +769,36 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
         v.setPolarity(sign(trail.get(c)));
         insertVarOrder(x);
       }
+      for (int c = Math.min(pbQhead, trail.size()) - 1; c >= trailLim.get(level); c--) {
+        final int falseLit = not(trail.get(c));
+        if (falseLit < pbOccurrences.size()) {
+          final LNGIntVector occurrences = pbOccurrences.get(falseLit);
+          for (int i = 0; i < occurrences.size(); i += 2) {
+            final MSPBConstraint pb = pbs.get(occurrences.get(i));
+            pb.updateSlack(pb.coeff(occurrences.get(i + 1)));
+          }
+        }
+      }
+      pbQhead = Math.min(pbQhead, trailLim.get(level));
       qhead = trailLim.get(level);
       trail.removeElements(trail.size() - trailLim.get(level));
       trailLim.removeElements(trailLim.size() - level);
+      xorQhead = Math.min(xorQhead, trail.size());
+      xors.backtrack();
     }
   }
 
+  @Override
+  protected int unassignOnLevelZero(final int var) {
+    final int pos = super.unassignOnLevelZero(var);
+    if (this.pbQhead > pos)
+      this.pbQhead--;
+    if (this.xorQhead > pos)
+      this.xorQhead--;
+    this.xors.backtrack();
+    return pos;
+  }
+
   @Override
   protected void reduceDB() {
     int i;
@@ -643,7 +980,7 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
       }
       while (!seen.get(var(trail.get(index--)))) ;
       p = trail.get(index + 1);
-      c = v(p).reason();
+      c = reason(var(p));
       seen.set(var(p), false);
       pathC--;
     } while (pathC > 0);
@@ -671,7 +1008,7 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
         if (v(outLearnt.get(i)).reason() == null)
           outLearnt.set(j++, outLearnt.get(i));
         else {
-          MSClause c = v(outLearnt.get(i)).reason();
+          MSClause c = reason(var(outLearnt.get(i)));
           for (int k = 1; k < c.size(); k++)
             if (!seen.get(var(c.get(k))) && v(c.get(k)).level() > 0) {
               outLearnt.set(j++, outLearnt.get(i));
@@ -711,6 +1048,12 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
     trail.clear();
     trailLim.clear();
     qhead = 0;
+    xorQhead = 0;
+    xors.backtrack();
+    for (final MSPBConstraint pb : pbs)
+      pb.resetSlack();
+    pbQhead = 0;
+    pbDirty = true;
   }
 
   /**
@@ -62,6 +62,8 @@ public final class MiniSatConfig extends Configuration {
   final boolean incremental;
   final boolean initialPhase;
   final boolean proofGeneration;
+  final boolean reuseTrail;
+  final boolean pbPropagation;
 
   /**
    * Constructs a new MiniSAT configuration from a given builder.
@@ -81,6 +83,8 @@ public final class MiniSatConfig extends Configuration {
     this.incremental = builder.incremental;
     this.initialPhase = builder.initialPhase;
     this.proofGeneration = builder.proofGeneration;
+    this.reuseTrail = builder.reuseTrail;
+    this.pbPropagation = builder.pbPropagation;
   }
 
   /**
@@ -107,6 +111,22 @@ public final class MiniSatConfig extends Configuration {
     return this.proofGeneration;
   }
 
+  /**
+   * Returns whether the trail of the common assumption prefix is reused between consecutive solver calls.
+   * @return whether the trail of the common assumption prefix is reused
+   */
+  public boolean reuseTrail() {
+    return this.reuseTrail;
+  }
+
+  /**
+   * Returns whether pseudo-Boolean constraints are propagated natively instead of being encoded to CNF.
+   * @return whether pseudo-Boolean constraints are propagated natively
+   */
+  public boolean pbPropagation() {
+    return this.pbPropagation;
+  }
+
   @Override
   public String toString() {
     final StringBuilder sb = new StringBuilder("MiniSatConfig{").append(System.lineSeparator());
@@ -122,6 +142,8 @@ public final class MiniSatConfig extends Configuration {
     sb.append("incremental=").append(this.incremental).append(System.lineSeparator());
     sb.append("initialPhase=").append(this.initialPhase).append(System.lineSeparator());
     sb.append("proofGeneration=").append(this.proofGeneration).append(System.lineSeparator());
+    sb.append("reuseTrail=").append(this.reuseTrail).append(System.lineSeparator());
+    sb.append("pbPropagation=").append(this.pbPropagation).append(System.lineSeparator());
     sb.append("}").append(System.lineSeparator());
     return sb.toString();
   }
@@ -142,6 +164,8 @@ public final class MiniSatConfig extends Configuration {
     private boolean incremental = true;
     private boolean initialPhase = false;
     private boolean proofGeneration = false;
+    private boolean reuseTrail = false;
+    private boolean pbPropagation = false;
 
     /**
      * Sets the variable activity decay factor to a given value. The default value is 0.95.
@@ -267,6 +291,33 @@ public final class MiniSatConfig extends Configuration {
       return this;
     }
 
+    /**
+     * Sets whether the trail should be reused between consecutive solver calls with assumptions.  If turned on, the
+     * solver keeps the decision levels of the assumptions after a solver call and only backtracks to the first
+     * assumption which differs in the next call.  Assumptions which were already part of the previous call are moved
+     * to the front in order to maximize the reused prefix.  The default value is {@code false}.
+     * @param reuseTrail {@code true} if the trail should be reused, {@code false} otherwise
+     * @return the builder
+     */
+    public Builder reuseTrail(boolean reuseTrail) {
+      this.reuseTrail = reuseTrail;
+      return this;
+    }
+
+    /**
+     * Sets whether pseudo-Boolean constraints should be handled natively by the solver.  If turned on, pseudo-Boolean
+     * and cardinality constraints added to a MiniSat solver are not encoded to CNF but propagated directly by a
+     * slack-based propagator.  This is only supported for the MiniSat solver style without proof generation; other
+     * solver styles still encode the constraints.  The default value is {@code false}.
+     * @param pbPropagation {@code true} if pseudo-Boolean constraints should be propagated natively, {@code false}
+     *                      otherwise
+     * @return the builder
+     */
+    public Builder pbPropagation(boolean pbPropagation) {
+      this.pbPropagation = pbPropagation;
+      return this;
+    }
+
     /**
      * Builds the MiniSAT configuration.
      * @return the configuration
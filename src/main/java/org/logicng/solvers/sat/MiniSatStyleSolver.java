@@ -48,6 +48,7 @@ import org.logicng.collections.LNGBooleanVector;
 import org.logicng.collections.LNGIntVector;
 import org.logicng.collections.LNGVector;
 import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.FormulaFactory;
 import org.logicng.handlers.SATHandler;
 import org.logicng.propositions.Proposition;
 import org.logicng.solvers.datastructures.LNGHeap;
@@ -55,12 +56,14 @@ import org.logicng.solvers.datastructures.MSClause;
 import org.logicng.solvers.datastructures.MSVariable;
 import org.logicng.solvers.datastructures.MSWatcher;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.Random;
 
 /**
  * The super class for all MiniSAT-style solvers.
- * @version 1.3
+ * @version 1.4.1
  * @since 1.0
  */
 public abstract class MiniSatStyleSolver {
@@ -86,6 +89,9 @@ public abstract class MiniSatStyleSolver {
   protected LNGBooleanVector model;
   protected LNGIntVector conflict;
   protected LNGIntVector assumptions;
+  protected LNGIntVector trailAssumptions;
+  protected LNGIntVector scopeSelectors;
+  protected LNGIntVector freeScopeVars;
   protected LNGBooleanVector seen;
   protected LNGIntVector analyzeStack;
   protected LNGIntVector analyzeToClear;
@@ -107,6 +113,7 @@ public abstract class MiniSatStyleSolver {
   protected double learntsizeFactor;
   protected double learntsizeInc;
   protected boolean incremental;
+  protected boolean reuseTrail;
 
   // mapping of variable names to variable indices
   protected Map<String, Integer> name2idx;
@@ -129,6 +136,105 @@ public abstract class MiniSatStyleSolver {
     this.initialize();
   }
 
+  /**
+   * Constructs a deep copy of a given MiniSAT-style solver.  The clause database, the learnt clauses, the trail, the
+   * variable heuristics, and the name mapping are copied.  The given map is filled with the mapping from the clauses
+   * of the given solver to their copies, so that subclasses can copy their own clause references.
+   * @param other     the solver to copy
+   * @param clauseMap the map which is filled with the mapping from original clauses to copied clauses
+   */
+  protected MiniSatStyleSolver(final MiniSatStyleSolver other, final Map<MSClause, MSClause> clauseMap) {
+    this.config = other.config;
+    this.ok = other.ok;
+    this.qhead = other.qhead;
+    this.clauses = copyClauses(other.clauses, clauseMap);
+    this.learnts = copyClauses(other.learnts, clauseMap);
+    this.watches = copyWatches(other.watches, clauseMap);
+    this.vars = new LNGVector<>(other.vars.size());
+    for (final MSVariable var : other.vars) {
+      final MSVariable copy = new MSVariable(var);
+      if (var.reason() != null) {
+        final MSClause reason = clauseMap.get(var.reason());
+        copy.setReason(reason != null ? reason : new MSClause(var.reason()));
+      }
+      this.vars.push(copy);
+    }
+    this.orderHeap = new LNGHeap(this, other.orderHeap);
+    this.trail = new LNGIntVector(other.trail);
+    this.trailLim = new LNGIntVector(other.trailLim);
+    this.model = new LNGBooleanVector(other.model);
+    this.conflict = new LNGIntVector(other.conflict);
+    this.assumptions = new LNGIntVector(other.assumptions);
+    this.trailAssumptions = new LNGIntVector(other.trailAssumptions);
+    this.scopeSelectors = new LNGIntVector(other.scopeSelectors);
+    this.freeScopeVars = new LNGIntVector(other.freeScopeVars);
+    this.seen = new LNGBooleanVector(other.seen);
+    this.analyzeStack = new LNGIntVector();
+    this.analyzeToClear = new LNGIntVector();
+    this.analyzeBtLevel = other.analyzeBtLevel;
+    this.claInc = other.claInc;
+    this.simpDBAssigns = other.simpDBAssigns;
+    this.simpDBProps = other.simpDBProps;
+    this.clausesLiterals = other.clausesLiterals;
+    this.learntsLiterals = other.learntsLiterals;
+    this.varDecay = other.varDecay;
+    this.varInc = other.varInc;
+    this.ccminMode = other.ccminMode;
+    this.restartFirst = other.restartFirst;
+    this.restartInc = other.restartInc;
+    this.clauseDecay = other.clauseDecay;
+    this.removeSatisfied = other.removeSatisfied;
+    this.learntsizeFactor = other.learntsizeFactor;
+    this.learntsizeInc = other.learntsizeInc;
+    this.incremental = other.incremental;
+    this.reuseTrail = other.reuseTrail;
+    this.name2idx = new HashMap<>(other.name2idx);
+    this.idx2name = new HashMap<>(other.idx2name);
+    this.canceledByHandler = false;
+    if (this.config.proofGeneration) {
+      this.pgOriginalClauses = new LNGVector<>(other.pgOriginalClauses.size());
+      for (final ProofInformation pi : other.pgOriginalClauses)
+        this.pgOriginalClauses.push(pi);
+      this.pgProof = new LNGVector<>(other.pgProof.size());
+      for (final LNGIntVector proofClause : other.pgProof)
+        this.pgProof.push(proofClause);
+    }
+  }
+
+  /**
+   * Copies a vector of clauses and records the mapping from the original clauses to their copies.
+   * @param clauses   the clauses
+   * @param clauseMap the mapping from original clauses to copied clauses
+   * @return the copied clauses
+   */
+  protected static LNGVector<MSClause> copyClauses(final LNGVector<MSClause> clauses, final Map<MSClause, MSClause> clauseMap) {
+    final LNGVector<MSClause> copy = new LNGVector<>(clauses.size());
+    for (final MSClause c : clauses) {
+      final MSClause cc = new MSClause(c);
+      clauseMap.put(c, cc);
+      copy.push(cc);
+    }
+    return copy;
+  }
+
+  /**
+   * Copies watch lists.  All clauses referenced in the watch lists must already be contained in the clause mapping.
+   * @param watches   the watch lists
+   * @param clauseMap the mapping from original clauses to copied clauses
+   * @return the copied watch lists
+   */
+  protected static LNGVector<LNGVector<MSWatcher>> copyWatches(final LNGVector<LNGVector<MSWatcher>> watches,
+                                                               final Map<MSClause, MSClause> clauseMap) {
+    final LNGVector<LNGVector<MSWatcher>> copy = new LNGVector<>(watches.size());
+    for (final LNGVector<MSWatcher> ws : watches) {
+      final LNGVector<MSWatcher> wsCopy = new LNGVector<>(ws.size());
+      for (final MSWatcher w : ws)
+        wsCopy.push(new MSWatcher(clauseMap.get(w.clause()), w.blocker()));
+      copy.push(wsCopy);
+    }
+    return copy;
+  }
+
   /**
    * Creates a literal for a given variable number and literal.
    * @param var  the variable number
@@ -205,6 +311,9 @@ public abstract class MiniSatStyleSolver {
     this.model = new LNGBooleanVector();
     this.conflict = new LNGIntVector();
     this.assumptions = new LNGIntVector();
+    this.trailAssumptions = new LNGIntVector();
+    this.scopeSelectors = new LNGIntVector();
+    this.freeScopeVars = new LNGIntVector();
     this.seen = new LNGBooleanVector();
     this.analyzeStack = new LNGIntVector();
     this.analyzeToClear = new LNGIntVector();
@@ -214,8 +323,8 @@ public abstract class MiniSatStyleSolver {
     this.simpDBProps = 0;
     this.clausesLiterals = 0;
     this.learntsLiterals = 0;
-    this.name2idx = new TreeMap<>();
-    this.idx2name = new TreeMap<>();
+    this.name2idx = new HashMap<>();
+    this.idx2name = new HashMap<>();
     this.canceledByHandler = false;
     if (this.config.proofGeneration) {
       this.pgOriginalClauses = new LNGVector<>();
@@ -237,6 +346,7 @@ public abstract class MiniSatStyleSolver {
     this.learntsizeFactor = this.config.learntsizeFactor;
     this.learntsizeInc = this.config.learntsizeInc;
     this.incremental = this.config.incremental;
+    this.reuseTrail = this.config.reuseTrail;
   }
 
   /**
@@ -346,7 +456,12 @@ public abstract class MiniSatStyleSolver {
    * not satisfiable, or {@link Tristate#UNDEF} if the computation was canceled.
    */
   public Tristate solve(final SATHandler handler, final LNGIntVector assumptions) {
-    this.assumptions = new LNGIntVector(assumptions);
+    final LNGIntVector scopedAssumptions = new LNGIntVector(this.scopeSelectors.size() + assumptions.size());
+    for (int i = 0; i < this.scopeSelectors.size(); i++)
+      scopedAssumptions.push(this.scopeSelectors.get(i));
+    for (int i = 0; i < assumptions.size(); i++)
+      scopedAssumptions.push(assumptions.get(i));
+    this.assumptions = this.reuseTrail ? this.orderAssumptionsForReuse(scopedAssumptions) : scopedAssumptions;
     final Tristate result = this.solve(handler);
     this.assumptions.clear();
     return result;
@@ -373,6 +488,192 @@ public abstract class MiniSatStyleSolver {
     return this.conflict;
   }
 
+  /**
+   * Shrinks the current model to a cube over a given set of relevant variables such that each assignment of the
+   * relevant variables which extends the cube can be extended to a model with the values of the irrelevant variables
+   * in the current model.
+   * <p>
+   * The cube is computed greedily on the original clauses: a relevant literal can be removed if each clause containing
+   * it is still satisfied by another literal.  Variables assigned on level 0 and variables of constraints which are
+   * not clauses are always kept.  Since blocking clauses are original clauses, the cube does not intersect cubes
+   * which were blocked before.
+   * @param relevantVars the indices of the relevant variables
+   * @return the literals of the cube
+   */
+  public LNGIntVector shrinkModel(final LNGIntVector relevantVars) {
+    final LNGBooleanVector relevant = new LNGBooleanVector(this.model.size(), false);
+    final LNGBooleanVector required = new LNGBooleanVector(this.model.size(), false);
+    for (int i = 0; i < relevantVars.size(); i++) {
+      final int var = relevantVars.get(i);
+      if (var == -1 || var >= this.model.size())
+        continue;
+      relevant.set(var, true);
+      final MSVariable v = this.vars.get(var);
+      required.set(var, v.assignment() != Tristate.UNDEF && v.level() == 0 || isNonClausalVariable(var));
+    }
+    final int[] trueLits = new int[this.clauses.size()];
+    final LNGVector<LNGIntVector> occurrences = new LNGVector<>(this.model.size());
+    for (int i = 0; i < this.model.size(); i++)
+      occurrences.push(null);
+    for (int i = 0; i < this.clauses.size(); i++) {
+      final MSClause c = this.clauses.get(i);
+      for (int j = 0; j < c.size(); j++) {
+        final int var = var(c.get(j));
+        if (var >= this.model.size())
+          continue;
+        final boolean isTrue = this.model.get(var) != sign(c.get(j));
+        if (isTrue)
+          trueLits[i]++;
+        if (relevant.get(var) && c.isAtMost())
+          required.set(var, true);
+        else if (relevant.get(var) && isTrue) {
+          if (occurrences.get(var) == null)
+            occurrences.set(var, new LNGIntVector());
+          occurrences.get(var).push(i);
+        }
+      }
+    }
+    final LNGIntVector cube = new LNGIntVector();
+    for (int i = 0; i < relevantVars.size(); i++) {
+      final int var = relevantVars.get(i);
+      if (var == -1 || var >= this.model.size() || !relevant.get(var))
+        continue;
+      relevant.set(var, false);
+      final LNGIntVector occs = occurrences.get(var);
+      boolean removable = !required.get(var);
+      for (int j = 0; removable && occs != null && j < occs.size(); j++)
+        removable = trueLits[occs.get(j)] > 1;
+      if (removable) {
+        for (int j = 0; occs != null && j < occs.size(); j++)
+          trueLits[occs.get(j)]--;
+      } else
+        cube.push(mkLit(var, !this.model.get(var)));
+    }
+    return cube;
+  }
+
+  /**
+   * Returns whether a variable occurs in a constraint of the solver which is not a clause.  Such variables are never
+   * removed from a cube when a model is shrunk.
+   * @param var the variable index
+   * @return {@code true} if the variable occurs in a constraint which is not a clause, {@code false} otherwise
+   */
+  protected boolean isNonClausalVariable(int var) {
+    return false;
+  }
+
+  /**
+   * Computes the backbone of the formula in the solver restricted to a given set of relevant variables.
+   * <p>
+   * The candidates for the backbone are the literals of an initial model.  Each further model removes all candidates
+   * which it does not satisfy, and candidates which are assigned on level 0 after a solver call are backbone literals
+   * without a further call.  The remaining candidates are tested in chunks: the negation of a chunk is added as clause
+   * in a new assertion scope.  If the formula is unsatisfiable with this clause, all literals of the chunk are backbone
+   * literals and the chunk size is doubled, otherwise the model filters the candidates and the chunk size is halved.
+   * Chunks of size 1 are tested by assuming the negated candidate.  The backbone literals found so far are assumed in
+   * each solver call.
+   * @param relevantVars the indices of the relevant variables
+   * @param maxChunkSize the maximal chunk size, 1 disables the chunking
+   * @return the backbone literals or {@code null} if the formula is unsatisfiable
+   */
+  public LNGIntVector computeBackbone(final LNGIntVector relevantVars, final int maxChunkSize) {
+    return this.computeBackbone(relevantVars, new LNGIntVector(), maxChunkSize);
+  }
+
+  /**
+   * Computes the backbone of the formula in the solver together with the given assumptions restricted to a given set
+   * of relevant variables (see {@link #computeBackbone(LNGIntVector, int)}).
+   * @param relevantVars the indices of the relevant variables
+   * @param assumptions  the assumptions
+   * @param maxChunkSize the maximal chunk size, 1 disables the chunking
+   * @return the backbone literals or {@code null} if the formula is unsatisfiable together with the assumptions
+   */
+  public LNGIntVector computeBackbone(final LNGIntVector relevantVars, final LNGIntVector assumptions,
+                                      final int maxChunkSize) {
+    if (this.solve(null, assumptions) != Tristate.TRUE)
+      return null;
+    final LNGIntVector backbone = new LNGIntVector();
+    LNGIntVector candidates = new LNGIntVector(relevantVars.size());
+    for (int i = 0; i < relevantVars.size(); i++)
+      candidates.push(mkLit(relevantVars.get(i), !this.model.get(relevantVars.get(i))));
+    int chunkSize = 1;
+    while (!candidates.empty()) {
+      final LNGIntVector remaining = new LNGIntVector(candidates.size());
+      for (int i = 0; i < candidates.size(); i++) {
+        final int lit = candidates.get(i);
+        if (value(lit) == Tristate.TRUE && v(lit).level() == 0)
+          backbone.push(lit);
+        else if (value(lit) != Tristate.FALSE || v(lit).level() > 0)
+          remaining.push(lit);
+      }
+      candidates = remaining;
+      if (candidates.empty())
+        break;
+      final int size = Math.min(chunkSize, candidates.size());
+      final LNGIntVector callAssumptions = new LNGIntVector(assumptions);
+      for (int i = 0; i < backbone.size(); i++)
+        callAssumptions.push(backbone.get(i));
+      final Tristate result;
+      if (size == 1) {
+        callAssumptions.push(not(candidates.back()));
+        result = this.solve(null, callAssumptions);
+      } else {
+        this.push();
+        final LNGIntVector clause = new LNGIntVector(size);
+        for (int i = candidates.size() - size; i < candidates.size(); i++)
+          clause.push(not(candidates.get(i)));
+        this.addClause(clause, null);
+        result = this.solve(null, callAssumptions);
+        this.pop();
+      }
+      if (result == Tristate.FALSE) {
+        for (int i = candidates.size() - size; i < candidates.size(); i++)
+          backbone.push(candidates.get(i));
+        candidates.shrinkTo(candidates.size() - size);
+        chunkSize = Math.min(maxChunkSize, 2 * chunkSize);
+      } else {
+        final LNGIntVector filtered = new LNGIntVector(candidates.size());
+        for (int i = 0; i < candidates.size(); i++)
+          if (this.model.get(var(candidates.get(i))) != sign(candidates.get(i)))
+            filtered.push(candidates.get(i));
+        candidates = filtered;
+        chunkSize = Math.max(1, chunkSize / 2);
+      }
+    }
+    return backbone;
+  }
+
+  /**
+   * Returns the literals which are implied by unit propagation of the given assumptions (and the activation literals of
+   * the open scopes).  The result contains the assumptions and all literals assigned on level 0.
+   * @param assumptions the assumptions
+   * @return the implied literals or {@code null} if the propagation of the assumptions leads to a conflict
+   */
+  public LNGIntVector impliedLiterals(final LNGIntVector assumptions) {
+    cancelUntil(0);
+    if (!this.ok)
+      return null;
+    final LNGIntVector allAssumptions = new LNGIntVector(this.scopeSelectors);
+    for (int i = 0; i < assumptions.size(); i++)
+      allAssumptions.push(assumptions.get(i));
+    LNGIntVector implied = null;
+    boolean conflict = propagate() != null;
+    for (int i = 0; !conflict && i < allAssumptions.size(); i++) {
+      final int lit = allAssumptions.get(i);
+      if (value(lit) == Tristate.FALSE)
+        conflict = true;
+      else if (value(lit) == Tristate.UNDEF) {
+        this.trailLim.push(this.trail.size());
+        uncheckedEnqueue(lit, null);
+        conflict = propagate() != null;
+      }
+    }
+    if (!conflict)
+      implied = new LNGIntVector(this.trail);
+    cancelUntil(0);
+    return implied;
+  }
+
   /**
    * Saves and returns the solver state expressed as an integer array which stores the length of the internal data
    * structures.
@@ -395,6 +696,138 @@ public abstract class MiniSatStyleSolver {
    */
   public abstract void loadState(int[] state);
 
+  /**
+   * Opens a new assertion scope.  The scope gets an activation literal which is added to all clauses which are added
+   * to the solver until the scope is closed by {@link #pop()}.  The activation literals of all open scopes are assumed
+   * in each call of {@link #solve(SATHandler, LNGIntVector)}.  Therefore a solver with open scopes must always be
+   * solved with this method (with an empty vector if there are no further assumptions).  The variable of the activation
+   * literal is a variable of a closed scope if there is one, otherwise a new variable.
+   */
+  public void push() {
+    cancelUntil(0);
+    final int var;
+    if (this.freeScopeVars.empty()) {
+      var = this.newVar(false, false);
+      this.addName(FormulaFactory.SCOPE_PREFIX + var, var);
+    } else {
+      var = this.freeScopeVars.back();
+      this.freeScopeVars.pop();
+    }
+    this.scopeSelectors.push(mkLit(var, false));
+  }
+
+  /**
+   * Closes the innermost assertion scope.  The activation literal of the scope is fixed to false and all clauses of the
+   * scope as well as all learnt clauses which depend on the scope are deleted from the solver.  Since the activation
+   * literal then occurs in no clause anymore, its variable is unassigned again and reused by the next scope.
+   * @throws IllegalStateException if there is no open scope
+   */
+  public void pop() {
+    if (this.scopeSelectors.empty())
+      throw new IllegalStateException("There is no open scope which could be closed.");
+    cancelUntil(0);
+    final int selector = this.scopeSelectors.back();
+    this.scopeSelectors.pop();
+    if (!this.ok)
+      return;
+    if (value(selector) == Tristate.UNDEF) {
+      uncheckedEnqueue(not(selector), null);
+      this.ok = propagate() == null;
+    }
+    if (this.ok) {
+      removeClausesWithLiteral(this.learnts, not(selector));
+      removeClausesWithLiteral(this.clauses, not(selector));
+      this.unassignOnLevelZero(var(selector));
+      this.freeScopeVars.push(var(selector));
+      rebuildOrderHeap();
+    }
+  }
+
+  /**
+   * Removes the level 0 assignment of a variable which does not occur in any constraint of the solver anymore.
+   * @param var the variable
+   * @return the former position of the variable on the trail
+   */
+  protected int unassignOnLevelZero(final int var) {
+    assert decisionLevel() == 0;
+    int pos = 0;
+    while (var(this.trail.get(pos)) != var)
+      pos++;
+    for (int i = pos + 1; i < this.trail.size(); i++)
+      this.trail.set(i - 1, this.trail.get(i));
+    this.trail.pop();
+    if (this.qhead > pos)
+      this.qhead--;
+    final MSVariable v = this.vars.get(var);
+    v.assign(Tristate.UNDEF);
+    v.setReason(null);
+    return pos;
+  }
+
+  /**
+   * Forgets the variables of closed scopes which are removed by loading an older solver state.
+   * @param newVarsSize the number of variables after loading the state
+   */
+  protected void shrinkFreeScopeVars(final int newVarsSize) {
+    int j = 0;
+    for (int i = 0; i < this.freeScopeVars.size(); i++)
+      if (this.freeScopeVars.get(i) < newVarsSize)
+        this.freeScopeVars.set(j++, this.freeScopeVars.get(i));
+    this.freeScopeVars.shrinkTo(j);
+  }
+
+  /**
+   * Removes all clauses which contain a given literal from a given vector of clauses.
+   * @param cs  the vector of clauses
+   * @param lit the literal
+   */
+  protected void removeClausesWithLiteral(final LNGVector<MSClause> cs, int lit) {
+    int i;
+    int j;
+    for (i = j = 0; i < cs.size(); i++) {
+      final MSClause c = cs.get(i);
+      boolean found = false;
+      for (int k = 0; !found && k < c.size(); k++)
+        found = c.get(k) == lit;
+      if (found)
+        removeClause(c);
+      else
+        cs.set(j++, c);
+    }
+    cs.removeElements(i - j);
+  }
+
+  /**
+   * Returns the number of open assertion scopes.
+   * @return the number of open assertion scopes
+   */
+  public int scopes() {
+    return this.scopeSelectors.size();
+  }
+
+  /**
+   * Returns the given clause extended by the negated activation literal of the innermost open scope.  If there is no
+   * open scope, the given clause is returned.
+   * @param ps the literals of the clause
+   * @return the clause for the current scope
+   */
+  protected LNGIntVector scopedClause(final LNGIntVector ps) {
+    if (this.scopeSelectors.empty())
+      return ps;
+    final LNGIntVector clause = new LNGIntVector(ps.size() + 1);
+    for (int i = 0; i < ps.size(); i++)
+      clause.push(ps.get(i));
+    clause.push(not(this.scopeSelectors.back()));
+    return clause;
+  }
+
+  /**
+   * Returns a deep copy of this solver.  The copy is completely independent of this solver and can e.g. be used in
+   * another thread.
+   * @return a copy of this solver
+   */
+  public abstract MiniSatStyleSolver copy();
+
   /**
    * Returns the number of variables of the solver.
    * @return the number of variables of the solver
@@ -502,6 +935,31 @@ public abstract class MiniSatStyleSolver {
     this.orderHeap.build(vs);
   }
 
+  /**
+   * Sets the polarity of a variable, i.e. the phase which is chosen when the solver decides on the variable.  This can
+   * be used to give phase hints to the solver, e.g. from a model of a previous solver call.  Since the solver saves
+   * the phases of assigned variables, the polarity is overwritten when the variable is unassigned again.
+   * @param var      the variable
+   * @param polarity {@code true} if the variable should be decided negative, {@code false} if positive
+   */
+  public void setPolarity(final int var, final boolean polarity) {
+    this.vars.get(var).setPolarity(polarity);
+  }
+
+  /**
+   * Randomizes the decision heuristics of this solver.  Each variable gets a random polarity and its activity is
+   * perturbed by a random value up to the current activity increment.  This can be used to obtain more diverse models
+   * in subsequent solver calls.
+   * @param random the random generator
+   */
+  public void randomizeHeuristics(final Random random) {
+    for (int v = 0; v < this.vars.size(); v++) {
+      this.vars.get(v).setPolarity(random.nextBoolean());
+      this.varBumpActivity(v, random.nextDouble() * this.varInc);
+    }
+    this.rebuildOrderHeap();
+  }
+
   /**
    * Returns {@code true} if the given clause is locked and therefore cannot be removed, {@code false} otherwise.
    * @param c the clause
@@ -531,6 +989,66 @@ public abstract class MiniSatStyleSolver {
     }
   }
 
+  /**
+   * Orders the given assumptions such that the longest prefix of the assumptions of the last solver call, which is
+   * still contained in the given assumptions, comes first.  All other assumptions follow in their original order.
+   * @param assumptions the assumptions
+   * @return the ordered assumptions
+   */
+  protected LNGIntVector orderAssumptionsForReuse(final LNGIntVector assumptions) {
+    final int[] sorted = assumptions.toArray();
+    Arrays.sort(sorted);
+    int prefix = 0;
+    while (prefix < this.trailAssumptions.size() && Arrays.binarySearch(sorted, this.trailAssumptions.get(prefix)) >= 0)
+      prefix++;
+    final LNGIntVector ordered = new LNGIntVector(assumptions.size());
+    for (int i = 0; i < prefix; i++)
+      ordered.push(this.trailAssumptions.get(i));
+    if (prefix == 0) {
+      for (int i = 0; i < assumptions.size(); i++)
+        ordered.push(assumptions.get(i));
+      return ordered;
+    }
+    final int[] sortedPrefix = new int[prefix];
+    for (int i = 0; i < prefix; i++)
+      sortedPrefix[i] = this.trailAssumptions.get(i);
+    Arrays.sort(sortedPrefix);
+    for (int i = 0; i < assumptions.size(); i++)
+      if (Arrays.binarySearch(sortedPrefix, assumptions.get(i)) < 0)
+        ordered.push(assumptions.get(i));
+    return ordered;
+  }
+
+  /**
+   * Backtracks to the deepest decision level of the trail which can be reused for the current assumptions.  This is
+   * the number of leading assumptions of the current call which are equal to the assumptions of the last call.  If
+   * trail reuse is deactivated, the solver is always on level 0 at this point.
+   */
+  protected void backtrackForAssumptions() {
+    final int maxLevel = Math.min(decisionLevel(), Math.min(this.assumptions.size(), this.trailAssumptions.size()));
+    int level = 0;
+    while (level < maxLevel && this.assumptions.get(level) == this.trailAssumptions.get(level))
+      level++;
+    cancelUntil(level);
+  }
+
+  /**
+   * Backtracks at the end of a solver call.  If trail reuse is activated and the call was not canceled, the decision
+   * levels of the assumptions are kept for the next call, otherwise the solver backtracks to level 0.
+   * @param status the result of the solver call
+   */
+  protected void backtrackAfterSolve(final Tristate status) {
+    if (!this.reuseTrail || status == Tristate.UNDEF || !this.ok) {
+      cancelUntil(0);
+      return;
+    }
+    final int level = Math.min(decisionLevel(), this.assumptions.size());
+    cancelUntil(level);
+    this.trailAssumptions.clear();
+    for (int i = 0; i < level; i++)
+      this.trailAssumptions.push(this.assumptions.get(i));
+  }
+
   /**
    * Assigns a literal (= a variable to the respective value).
    * @param lit    the literal
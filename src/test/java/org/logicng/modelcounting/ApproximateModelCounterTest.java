@@ -0,0 +1,164 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.modelcounting;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.solvers.MiniSat;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Unit tests for the approximate model counter.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public class ApproximateModelCounterTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+
+  @Test
+  public void testExactForFewModels() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(f);
+    final MiniSat solver = MiniSat.miniSat(f);
+    solver.add(p.parse("(a | b) & (c => d)"));
+    final List<Variable> vars = Arrays.asList(f.variable("a"), f.variable("b"), f.variable("c"), f.variable("d"),
+            f.variable("e"));
+    final ApproximateCount count = new ApproximateModelCounter().count(solver, vars);
+    Assert.assertTrue(count.isExact());
+    Assert.assertEquals(BigInteger.valueOf(18), count.estimate());
+    Assert.assertEquals(0, count.iterations());
+    Assert.assertEquals(0.8, count.epsilon(), 0.0);
+    Assert.assertEquals(0.2, count.delta(), 0.0);
+  }
+
+  @Test
+  public void testIndependentClauses() {
+    final List<Formula> formulas = new ArrayList<>();
+    final List<Variable> variables = new ArrayList<>();
+    for (int i = 0; i < 12; i++) {
+      final Variable a = f.variable("a" + i);
+      final Variable b = f.variable("b" + i);
+      final Variable c = f.variable("c" + i);
+      formulas.add(f.or(a, b, c));
+      variables.addAll(Arrays.asList(a, b, c));
+    }
+    final MiniSat solver = MiniSat.miniSat(f);
+    solver.add(formulas);
+    final ApproximateCount count = new ApproximateModelCounter().count(solver, variables);
+    Assert.assertFalse(count.isExact());
+    Assert.assertEquals(new ApproximateModelCounterConfig.Builder().build().iterations(), count.iterations());
+    assertWithinTolerance(BigInteger.valueOf(7).pow(12), count);
+  }
+
+  @Test
+  public void testWithoutSolverStates() {
+    final List<Formula> formulas = new ArrayList<>();
+    final List<Variable> variables = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      final Variable a = f.variable("a" + i);
+      final Variable b = f.variable("b" + i);
+      final Variable c = f.variable("c" + i);
+      formulas.add(f.or(a, b, c));
+      variables.addAll(Arrays.asList(a, b, c));
+    }
+    final MiniSat solver = MiniSat.glucose(f);
+    solver.add(formulas);
+    assertWithinTolerance(BigInteger.valueOf(7).pow(6), new ApproximateModelCounter().count(solver, variables));
+  }
+
+  @Test
+  public void testRandomProjectedInParallel() {
+    final Random random = new Random(42);
+    final List<Variable> vars = new ArrayList<>();
+    for (int i = 0; i < 24; i++)
+      vars.add(f.variable("r" + i));
+    final List<Variable> projection = vars.subList(0, 18);
+    final ApproximateModelCounter counter = new ApproximateModelCounter(new ApproximateModelCounterConfig.Builder()
+            .epsilon(0.5).delta(0.1).seed(7).build());
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      for (int instance = 0; instance < 3; instance++) {
+        final List<Formula> clauses = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+          final List<Literal> clause = new ArrayList<>();
+          for (int j = 0; j < 3; j++)
+            clause.add(f.literal("r" + random.nextInt(vars.size()), random.nextBoolean()));
+          clauses.add(f.or(clause));
+        }
+        final MiniSat solver = MiniSat.miniSat(f);
+        solver.add(clauses);
+        final BigInteger exact = new ModelCounter().count(clauses, projection);
+        final ApproximateCount parallel = counter.count(solver, projection, executor);
+        assertWithinTolerance(exact, parallel);
+        Assert.assertEquals(counter.count(solver, projection).estimate(), parallel.estimate());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testConfig() {
+    final ApproximateModelCounterConfig config = new ApproximateModelCounterConfig.Builder().build();
+    Assert.assertEquals(73, config.threshold());
+    Assert.assertEquals(67, config.iterations());
+    Assert.assertEquals(String.format("ApproximateModelCounterConfig{%nepsilon=0.8%ndelta=0.2%nseed=42%n}%n"), config.toString());
+    Assert.assertEquals("ApproximateModelCounter", new ApproximateModelCounter().toString());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalEpsilon() {
+    new ApproximateModelCounterConfig.Builder().epsilon(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalDelta() {
+    new ApproximateModelCounterConfig.Builder().delta(1);
+  }
+
+  private static void assertWithinTolerance(final BigInteger exact, final ApproximateCount count) {
+    final double ratio = new BigDecimal(count.estimate()).doubleValue() / new BigDecimal(exact).doubleValue();
+    Assert.assertTrue("ratio " + ratio, ratio <= 1 + count.epsilon() && ratio >= 1 / (1 + count.epsilon()));
+  }
+}
@@ -0,0 +1,141 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.modelcounting;
+
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.logicng.bdds.BDDFactory;
+import org.logicng.bdds.orderings.ForceOrdering;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.io.readers.DimacsReader;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Performance tests for the exact model counter in comparison to the model counting of BDDs.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public class ModelCounterPerformanceTest {
+
+  private static final String[] BOTH = new String[]{
+          "sat/x1_16.shuffled.cnf",
+          "sat/unsat/aim-50-1_6-no-1.cnf",
+          "sat/unsat/aim-100-1_6-no-1.cnf",
+          "sat/unsat/aim-200-2_0-no-1.cnf",
+          "sat/unsat/pret60_25.cnf",
+          "sat/unsat/pret150_25.cnf"
+  };
+
+  /**
+   * On these files the construction of the BDD with a FORCE variable ordering did not finish within 30 seconds.
+   */
+  private static final String[] COUNTER_ONLY = new String[]{
+          "sat/D1119_M23.cnf",
+          "sat/dp02s02.shuffled.cnf",
+          "sat/3col40_5_10.shuffled.cnf",
+          "sat/unsat/bf0432-007.cnf"
+  };
+
+  @Ignore
+  @Test
+  public void testAgainstBDD() throws IOException {
+    for (final String file : BOTH) {
+      final FormulaFactory f = new FormulaFactory();
+      final List<Formula> clauses = DimacsReader.readCNF("src/test/resources/" + file, f);
+      long start = System.nanoTime();
+      final BigInteger count = new ModelCounter().count(clauses);
+      final long counterTime = System.nanoTime() - start;
+      start = System.nanoTime();
+      final Formula cnf = f.and(clauses);
+      final BDDFactory factory = new BDDFactory(100000, 100000, f);
+      factory.setVariableOrder(new ForceOrdering().getOrder(cnf));
+      final BigInteger bddCount = factory.build(cnf).modelCount().toBigInteger();
+      final long bddTime = System.nanoTime() - start;
+      Assert.assertEquals(bddCount, count);
+      System.out.println(String.format("%-35s %20s models, counter: %6d ms, BDD: %6d ms", file, count,
+              counterTime / 1_000_000, bddTime / 1_000_000));
+    }
+  }
+
+  @Ignore
+  @Test
+  public void testRandomAgainstBDD() {
+    for (final int numClauses : new int[]{40, 80, 120, 160}) {
+      long counterTime = 0;
+      long bddTime = 0;
+      for (int seed = 0; seed < 10; seed++) {
+        final FormulaFactory f = new FormulaFactory();
+        final List<Formula> clauses = randomCNF(f, 40, numClauses, new Random(seed));
+        long start = System.nanoTime();
+        final BigInteger count = new ModelCounter().count(clauses);
+        counterTime += System.nanoTime() - start;
+        start = System.nanoTime();
+        final Formula cnf = f.and(clauses);
+        final BDDFactory factory = new BDDFactory(100000, 100000, f);
+        factory.setVariableOrder(new ForceOrdering().getOrder(cnf));
+        final BigInteger bddCount = factory.build(cnf).modelCount().toBigInteger();
+        bddTime += System.nanoTime() - start;
+        Assert.assertEquals(bddCount, count);
+      }
+      System.out.println(String.format("40 variables, %3d clauses: counter: %6d ms, BDD: %6d ms", numClauses,
+              counterTime / 1_000_000, bddTime / 1_000_000));
+    }
+  }
+
+  @Ignore
+  @Test
+  public void testCounterOnly() throws IOException {
+    for (final String file : COUNTER_ONLY) {
+      final FormulaFactory f = new FormulaFactory();
+      final List<Formula> clauses = DimacsReader.readCNF("src/test/resources/" + file, f);
+      final long start = System.nanoTime();
+      final BigInteger count = new ModelCounter().count(clauses);
+      System.out.println(String.format("%-35s %20s models, counter: %6d ms", file, count, (System.nanoTime() - start) / 1_000_000));
+    }
+  }
+
+  private static List<Formula> randomCNF(final FormulaFactory f, final int numVars, final int numClauses, final Random random) {
+    final List<Formula> clauses = new ArrayList<>(numClauses);
+    for (int i = 0; i < numClauses; i++) {
+      final List<Literal> clause = new ArrayList<>(3);
+      for (int j = 0; j < 3; j++)
+        clause.add(f.literal("v" + random.nextInt(numVars), random.nextBoolean()));
+      clauses.add(f.or(clause));
+    }
+    return clauses;
+  }
+}
@@ -0,0 +1,184 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.modelcounting;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.bdds.BDDFactory;
+import org.logicng.bdds.datastructures.BDD;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.io.readers.DimacsReader;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+import org.logicng.testutils.NQueensGenerator;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedSet;
+
+/**
+ * Unit tests for the exact model counter.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public class ModelCounterTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+  private final ModelCounter counter = new ModelCounter();
+
+  @Test
+  public void testSimple() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(f);
+    final List<Variable> abc = Arrays.asList(f.variable("a"), f.variable("b"), f.variable("c"));
+    Assert.assertEquals(BigInteger.ONE, counter.count(Collections.<Formula>emptyList()));
+    Assert.assertEquals(BigInteger.valueOf(8), counter.count(Collections.<Formula>emptyList(), abc));
+    Assert.assertEquals(BigInteger.ZERO, counter.count(Collections.singletonList(f.falsum()), abc));
+    Assert.assertEquals(BigInteger.valueOf(3), counter.count(Collections.singletonList(p.parse("a | b"))));
+    Assert.assertEquals(BigInteger.valueOf(6), counter.count(Collections.singletonList(p.parse("a | b")), abc));
+    Assert.assertEquals(BigInteger.ZERO, counter.count(Arrays.asList(p.parse("a | b"), p.parse("~a"), p.parse("~b"))));
+    Assert.assertEquals(BigInteger.valueOf(6), counter.count(Arrays.asList(p.parse("a | ~a"), p.parse("b => c")), abc));
+    Assert.assertEquals(BigInteger.valueOf(3), counter.count(Collections.singletonList(p.parse("(a | b) & (a => c)")),
+            Arrays.asList(f.variable("a"), f.variable("b"))));
+  }
+
+  @Test
+  public void testNQueens() {
+    final NQueensGenerator generator = new NQueensGenerator(f);
+    final int[] expected = {0, 2, 10, 4, 40, 92};
+    for (int n = 3; n <= 8; n++)
+      Assert.assertEquals(BigInteger.valueOf(expected[n - 3]), counter.count(Collections.singletonList(generator.generate(n))));
+  }
+
+  @Test
+  public void testIndependentComponents() {
+    final List<Formula> formulas = new ArrayList<>();
+    final List<Variable> variables = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      final Variable a = f.variable("a" + i);
+      final Variable b = f.variable("b" + i);
+      final Variable c = f.variable("c" + i);
+      formulas.add(f.or(a, b, c));
+      variables.addAll(Arrays.asList(a, b, c));
+    }
+    Assert.assertEquals(BigInteger.valueOf(7).pow(100), counter.count(formulas, variables));
+  }
+
+  @Test
+  public void testProjectionWithAuxiliaryVariables() {
+    final List<Variable> vars = new ArrayList<>();
+    for (int i = 0; i < 10; i++)
+      vars.add(f.variable("x" + i));
+    final Formula cc = f.cc(CType.LE, 2, vars);
+    Assert.assertTrue(cc.cnf().variables().size() > vars.size());
+    Assert.assertEquals(BigInteger.valueOf(1 + 10 + 45), counter.count(Collections.singletonList(cc), vars));
+    Assert.assertEquals(BigInteger.valueOf(1 + 9 + 36), counter.count(Arrays.asList(cc, f.literal("x0", false)), vars));
+  }
+
+  @Test
+  public void testRandomAgainstBDD() {
+    final Random random = new Random(42);
+    final List<Variable> vars = new ArrayList<>();
+    for (int i = 0; i < 12; i++)
+      vars.add(f.variable("r" + i));
+    for (int instance = 0; instance < 100; instance++) {
+      final List<Formula> clauses = randomClauses(random, 5 + random.nextInt(30), vars.size());
+      final BDDFactory factory = new BDDFactory(10000, 10000, f);
+      factory.setNumberOfVars(vars.size());
+      final BDD bdd = factory.build(f.and(clauses));
+      final BigInteger expected = bdd.modelCount().toBigInteger();
+      Assert.assertEquals(expected, counter.count(clauses, vars));
+      Assert.assertEquals(expected, new ModelCounter(new ModelCounterConfig.Builder().cacheSize(0).build()).count(clauses, vars));
+    }
+  }
+
+  @Test
+  public void testRandomProjectedAgainstEnumeration() {
+    final Random random = new Random(17);
+    final List<Variable> vars = new ArrayList<>();
+    for (int i = 0; i < 12; i++)
+      vars.add(f.variable("r" + i));
+    final List<Variable> projection = vars.subList(0, 7);
+    for (int instance = 0; instance < 100; instance++) {
+      final List<Formula> clauses = randomClauses(random, 5 + random.nextInt(30), vars.size());
+      final SATSolver solver = MiniSat.miniSat(f);
+      solver.add(clauses);
+      final SortedSet<Variable> occurring = f.and(clauses).variables();
+      int free = 0;
+      for (final Variable var : projection)
+        if (!occurring.contains(var))
+          free++;
+      final BigInteger expected = BigInteger.valueOf(solver.enumerateAllModels(projection).size()).shiftLeft(free);
+      Assert.assertEquals(expected, counter.count(clauses, projection));
+    }
+  }
+
+  @Test
+  public void testBundledCNF() throws IOException {
+    final List<Formula> cnf = DimacsReader.readCNF("src/test/resources/sat/3col40_5_10.shuffled.cnf", f);
+    final BigInteger count = counter.count(cnf);
+    Assert.assertEquals(count, new ModelCounter(new ModelCounterConfig.Builder().cacheSize(10).build()).count(cnf));
+    Assert.assertEquals(0, count.mod(BigInteger.valueOf(6)).signum());
+  }
+
+  @Test
+  public void testConfig() {
+    Assert.assertEquals(String.format("ModelCounterConfig{%ncacheSize=100000%n}%n"), new ModelCounterConfig.Builder().build().toString());
+    Assert.assertEquals(42, new ModelCounterConfig.Builder().cacheSize(42).build().cacheSize());
+    Assert.assertEquals("ModelCounter", counter.toString());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalCacheSize() {
+    new ModelCounterConfig.Builder().cacheSize(-1);
+  }
+
+  private List<Formula> randomClauses(final Random random, final int numClauses, final int numVars) {
+    final List<Formula> clauses = new ArrayList<>();
+    for (int i = 0; i < numClauses; i++) {
+      final List<Literal> clause = new ArrayList<>();
+      final int size = 1 + random.nextInt(3);
+      for (int j = 0; j < size; j++)
+        clause.add(f.literal("r" + random.nextInt(numVars), random.nextBoolean()));
+      clauses.add(f.or(clause));
+    }
+    return clauses;
+  }
+}
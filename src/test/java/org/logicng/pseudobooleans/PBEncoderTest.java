@@ -167,6 +167,23 @@ public class PBEncoderTest {
     }
   }
 
+  @Test
+  public void testSingleRemainingLiteral() {
+    final Variable a = f.variable("a");
+    final Variable b = f.variable("b");
+    final Variable c = f.variable("c");
+    final PBConstraint pbc = f.pbc(CType.LE, 2, new Literal[]{a.negate(), b.negate(), c.negate()}, new int[]{3, 2, 4});
+    for (final PBEncoder encoder : this.encoders) {
+      final SATSolver solver = MiniSat.miniSat(f);
+      solver.add(encoder.encode(pbc));
+      solver.add(f.or(a, b, c));
+      final List<Assignment> models = solver.enumerateAllModels(new Variable[]{a, b, c});
+      Assert.assertEquals(2, models.size());
+      for (final Assignment model : models)
+        Assert.assertTrue(model.evaluateLit(a) && model.evaluateLit(c));
+    }
+  }
+
   @Test
   public void testCCNormalized() {
     List<Literal> lits = new ArrayList<>();
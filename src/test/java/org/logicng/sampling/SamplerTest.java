@@ -0,0 +1,179 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.sampling;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.solvers.MiniSat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Unit tests for the solution sampler.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public class SamplerTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+
+  private Formula formula(final List<Variable> vars) {
+    final List<Formula> clauses = new ArrayList<>();
+    for (int i = 0; i + 2 < vars.size(); i += 2)
+      clauses.add(f.or(vars.get(i), vars.get(i + 1).negate(), vars.get(i + 2)));
+    return f.and(clauses);
+  }
+
+  private List<Variable> variables(final int n) {
+    final List<Variable> vars = new ArrayList<>();
+    for (int i = 0; i < n; i++)
+      vars.add(f.variable("v" + i));
+    return vars;
+  }
+
+  @Test
+  public void testHashing() {
+    final List<Variable> vars = variables(16);
+    final Formula formula = formula(vars);
+    final MiniSat solver = MiniSat.miniSat(f);
+    solver.add(formula);
+    final List<Assignment> samples = new Sampler().sample(solver, vars, 300);
+    Assert.assertEquals(300, samples.size());
+    final Set<Assignment> distinct = new HashSet<>();
+    for (final Assignment sample : samples) {
+      Assert.assertTrue(formula.evaluate(sample));
+      Assert.assertEquals(16, sample.size());
+      distinct.add(sample);
+    }
+    Assert.assertTrue(distinct.size() > 250);
+  }
+
+  @Test
+  public void testSmallSolutionSpaceIsUniform() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(f);
+    final Formula formula = p.parse("(a | b) & (b => c)");
+    final MiniSat solver = MiniSat.miniSat(f);
+    solver.add(formula);
+    final List<Variable> vars = Arrays.asList(f.variable("a"), f.variable("b"), f.variable("c"));
+    final Map<Assignment, Integer> counts = new HashMap<>();
+    for (final Assignment sample : new Sampler().sample(solver, vars, 4000)) {
+      Assert.assertTrue(formula.evaluate(sample));
+      final Integer count = counts.get(sample);
+      counts.put(sample, count == null ? 1 : count + 1);
+    }
+    Assert.assertEquals(4, counts.size());
+    for (final int count : counts.values())
+      Assert.assertTrue(count > 850 && count < 1150);
+  }
+
+  @Test
+  public void testRandomPhase() {
+    final List<Variable> vars = variables(16);
+    final Formula formula = formula(vars);
+    for (final MiniSat solver : Arrays.asList(MiniSat.miniSat(f), MiniSat.glucose(f), MiniSat.miniCard(f))) {
+      solver.add(formula);
+      final List<Assignment> samples = new Sampler(new SamplerConfig.Builder().mode(SamplerConfig.Mode.RANDOM_PHASE)
+              .build()).sample(solver, vars, 200);
+      Assert.assertEquals(200, samples.size());
+      final Set<Assignment> distinct = new HashSet<>();
+      for (final Assignment sample : samples) {
+        Assert.assertTrue(formula.evaluate(sample));
+        distinct.add(sample);
+      }
+      Assert.assertTrue(distinct.size() > 50);
+    }
+  }
+
+  @Test
+  public void testParallelIsDeterministic() {
+    final List<Variable> vars = variables(14);
+    final MiniSat solver = MiniSat.miniSat(f);
+    solver.add(formula(vars));
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final Sampler sampler = new Sampler(new SamplerConfig.Builder().samplesPerCell(4).batchSize(10).build());
+      Assert.assertEquals(sampler.sample(solver, vars, 100), sampler.sample(solver, vars, 100, executor));
+      final Sampler randomPhase = new Sampler(new SamplerConfig.Builder().mode(SamplerConfig.Mode.RANDOM_PHASE).build());
+      Assert.assertEquals(100, randomPhase.sample(solver, vars, 100, executor).size());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testUnsatAndFreeVariables() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(f);
+    final MiniSat solver = MiniSat.miniSat(f);
+    solver.add(p.parse("a | b"));
+    final List<Variable> vars = Arrays.asList(f.variable("a"), f.variable("x"));
+    final List<Assignment> samples = new Sampler().sample(solver, vars, 100);
+    final Set<Assignment> distinct = new HashSet<>(samples);
+    Assert.assertEquals(4, distinct.size());
+    Assert.assertTrue(new Sampler().sample(solver, vars, 0).isEmpty());
+    solver.add(p.parse("~a & ~b"));
+    for (final SamplerConfig.Mode mode : SamplerConfig.Mode.values())
+      Assert.assertTrue(new Sampler(new SamplerConfig.Builder().mode(mode).build()).sample(solver, vars, 10).isEmpty());
+  }
+
+  @Test
+  public void testConfig() {
+    final SamplerConfig config = new SamplerConfig.Builder().build();
+    Assert.assertEquals(27, config.pivot());
+    Assert.assertEquals(64, config.hiThreshold());
+    Assert.assertEquals(11, config.loThreshold());
+    Assert.assertEquals(String.format("SamplerConfig{%nmode=HASHING%nkappa=0.638%nsamplesPerCell=1%nbatchSize=16%nseed=42%n}%n"),
+            config.toString());
+    Assert.assertEquals("Sampler", new Sampler().toString());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalKappa() {
+    new SamplerConfig.Builder().kappa(1.0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalNumber() {
+    new Sampler().sample(MiniSat.miniSat(f), variables(2), -1);
+  }
+}
@@ -0,0 +1,310 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.maxsat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.solvers.MaxSATSolver;
+import org.logicng.solvers.maxsat.algorithms.MaxSAT;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Unit tests for the incremental interface of the MaxSAT solver.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public class IncrementalMaxSATTest {
+
+  private static final String[] files = new String[]{
+          "8.wcsp.log.wcnf",
+          "54.wcsp.log.wcnf",
+          "404.wcsp.log.wcnf"
+  };
+  private static final int[] results = new int[]{
+          2, 37, 114
+  };
+  private final FormulaFactory f = new FormulaFactory();
+
+  @Test
+  public void testIncrementalFiles() throws IOException {
+    for (int i = 0; i < files.length; i++) {
+      final List<Formula> formulas = new ArrayList<>();
+      final List<Integer> weights = new ArrayList<>();
+      readWCNF("src/test/resources/partialweightedmaxsat/" + files[i], formulas, weights);
+      final MaxSATSolver solver = MaxSATSolver.oll();
+      final int half = formulas.size() / 2;
+      add(solver, formulas, weights, 0, half);
+      final MaxSATSolver fresh = MaxSATSolver.oll();
+      add(fresh, formulas, weights, 0, half);
+      Assert.assertEquals(fresh.solve(), solver.solve());
+      Assert.assertEquals(fresh.result(), solver.result());
+      add(solver, formulas, weights, half, formulas.size());
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+      Assert.assertEquals(results[i], solver.result());
+    }
+  }
+
+  @Test
+  public void testAssumptions() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(this.f);
+    final MaxSATSolver solver = MaxSATSolver.oll();
+    solver.addHardFormula(p.parse("a | b | c"));
+    solver.addSoftFormula(p.parse("~a"), 3);
+    solver.addSoftFormula(p.parse("~b"), 2);
+    solver.addSoftFormula(p.parse("~c"), 4);
+    solver.addSoftFormula(p.parse("a | d"), 1);
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+    Assert.assertEquals(2, solver.result());
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve(Collections.singletonList(this.f.literal("b", false))));
+    Assert.assertEquals(3, solver.result());
+    Assert.assertTrue(solver.model().negativeLiterals().contains(this.f.literal("b", false)));
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve(Arrays.asList(this.f.literal("a", true), this.f.literal("d", false))));
+    Assert.assertEquals(3, solver.result());
+    Assert.assertEquals(MaxSAT.MaxSATResult.UNSATISFIABLE, solver.solve(Arrays.asList(this.f.literal("a", false),
+            this.f.literal("b", false), this.f.literal("c", false))));
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+    Assert.assertEquals(2, solver.result());
+    solver.addHardFormula(p.parse("~b"));
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+    Assert.assertEquals(3, solver.result());
+    solver.addSoftFormula(p.parse("~a & ~e"), 5);
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+    Assert.assertEquals(4, solver.result());
+  }
+
+  @Test
+  public void testRandom() {
+    final Random random = new Random(42);
+    for (int instance = 0; instance < 20; instance++) {
+      final MaxSATSolver solver = MaxSATSolver.oll();
+      final List<Formula> hards = new ArrayList<>();
+      final List<Formula> softs = new ArrayList<>();
+      final List<Integer> weights = new ArrayList<>();
+      for (int round = 0; round < 4; round++) {
+        for (int i = 0; i < 8; i++) {
+          final Formula hard = randomClause(random, 3);
+          hards.add(hard);
+          solver.addHardFormula(hard);
+        }
+        for (int i = 0; i < 10; i++) {
+          final Formula soft = randomClause(random, 1 + random.nextInt(2));
+          final int weight = 1 + random.nextInt(5);
+          softs.add(soft);
+          weights.add(weight);
+          solver.addSoftFormula(soft, weight);
+        }
+        final List<Literal> assumptions = Arrays.asList(randomLiteral(random), randomLiteral(random));
+        final MaxSATSolver fresh = freshSolver(hards, softs, weights, Collections.<Literal>emptyList());
+        final MaxSATSolver freshWithAssumptions = freshSolver(hards, softs, weights, assumptions);
+        final MaxSAT.MaxSATResult expectedWithAssumptions = freshWithAssumptions.solve();
+        Assert.assertEquals(expectedWithAssumptions, solver.solve(assumptions));
+        if (expectedWithAssumptions == MaxSAT.MaxSATResult.OPTIMUM) {
+          Assert.assertEquals(freshWithAssumptions.result(), solver.result());
+          final Assignment model = solver.model();
+          for (final Literal lit : assumptions)
+            Assert.assertTrue(lit.evaluate(model));
+        }
+        final MaxSAT.MaxSATResult expected = fresh.solve();
+        Assert.assertEquals(expected, solver.solve());
+        if (expected == MaxSAT.MaxSATResult.OPTIMUM)
+          Assert.assertEquals(fresh.result(), solver.result());
+      }
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testNonIncrementalAlgorithm() {
+    final MaxSATSolver solver = MaxSATSolver.wbo();
+    solver.addSoftFormula(this.f.variable("a"), 1);
+    solver.solve();
+    solver.addSoftFormula(this.f.variable("b"), 1);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testNonIncrementalAssumptions() {
+    final MaxSATSolver solver = MaxSATSolver.wbo();
+    solver.addSoftFormula(this.f.variable("a"), 1);
+    solver.solve(Collections.singletonList(this.f.literal("a", false)));
+  }
+
+  @Test
+  public void testLexicographic() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(this.f);
+    final MaxSATSolver solver = MaxSATSolver.oll();
+    solver.addHardFormula(p.parse("a | b"));
+    solver.addHardFormula(p.parse("~a | ~c"));
+    solver.addSoftFormula(p.parse("~a"), 1);
+    solver.addSoftFormula(p.parse("~b"), 1);
+    solver.addSoftFormula(p.parse("c"), 3, 1);
+    solver.addSoftFormula(p.parse("a"), 5, 2);
+    solver.addSoftFormula(p.parse("~c"), 1, 2);
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+    Assert.assertEquals(1, solver.result());
+    final SortedMap<Integer, Long> expected = new TreeMap<>();
+    expected.put(0, 1L);
+    expected.put(1, 0L);
+    expected.put(2, 6L);
+    Assert.assertEquals(expected, solver.lexicographicResult());
+    final Assignment model = solver.model();
+    Assert.assertTrue(model.positiveLiterals().contains(this.f.variable("b")));
+    Assert.assertTrue(model.positiveLiterals().contains(this.f.variable("c")));
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+  }
+
+  @Test
+  public void testLexicographicRandom() {
+    final Random random = new Random(42);
+    final int factor = 51;
+    for (int instance = 0; instance < 50; instance++) {
+      final MaxSATSolver solver = MaxSATSolver.oll();
+      final MaxSATSolver encoded = MaxSATSolver.wbo();
+      for (int i = 0; i < 15; i++) {
+        final Formula hard = randomClause(random, 3);
+        solver.addHardFormula(hard);
+        encoded.addHardFormula(hard);
+      }
+      for (int level = 0; level < 3; level++) {
+        for (int i = 0; i < 10; i++) {
+          final Formula soft = randomClause(random, 1 + random.nextInt(2));
+          final int weight = 1 + random.nextInt(5);
+          solver.addSoftFormula(soft, weight, level);
+          encoded.addSoftFormula(soft, weight * (long) Math.pow(factor, 2 - level));
+        }
+      }
+      final MaxSAT.MaxSATResult expected = encoded.solve();
+      Assert.assertEquals(expected, solver.solve());
+      if (expected == MaxSAT.MaxSATResult.OPTIMUM) {
+        final long cost = encoded.result();
+        final SortedMap<Integer, Long> levels = solver.lexicographicResult();
+        Assert.assertEquals(Long.valueOf(cost / (factor * factor)), levels.get(0));
+        Assert.assertEquals(Long.valueOf(cost / factor % factor), levels.get(1));
+        Assert.assertEquals(Long.valueOf(cost % factor), levels.get(2));
+        Assert.assertEquals(cost / (factor * factor), solver.result());
+      }
+    }
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testLexicographicNonIncrementalAlgorithm() {
+    final MaxSATSolver solver = MaxSATSolver.wbo();
+    solver.addSoftFormula(this.f.variable("a"), 1, 1);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testLexicographicAfterSolve() {
+    final MaxSATSolver solver = MaxSATSolver.oll();
+    solver.addSoftFormula(this.f.variable("a"), 1);
+    solver.addSoftFormula(this.f.literal("a", false), 1, 1);
+    solver.solve();
+    solver.addSoftFormula(this.f.variable("b"), 1);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testLexicographicAssumptions() {
+    final MaxSATSolver solver = MaxSATSolver.oll();
+    solver.addSoftFormula(this.f.variable("a"), 1, 1);
+    solver.solve(Collections.singletonList(this.f.literal("a", false)));
+  }
+
+  private MaxSATSolver freshSolver(final List<Formula> hards, final List<Formula> softs, final List<Integer> weights,
+                                   final List<Literal> assumptions) {
+    final MaxSATSolver solver = MaxSATSolver.wbo();
+    for (final Formula hard : hards)
+      solver.addHardFormula(hard);
+    for (final Literal lit : assumptions)
+      solver.addHardFormula(lit);
+    for (int i = 0; i < softs.size(); i++)
+      solver.addSoftFormula(softs.get(i), weights.get(i));
+    return solver;
+  }
+
+  private Formula randomClause(final Random random, final int size) {
+    final List<Literal> literals = new ArrayList<>(size);
+    for (int i = 0; i < size; i++)
+      literals.add(randomLiteral(random));
+    return this.f.or(literals);
+  }
+
+  private Literal randomLiteral(final Random random) {
+    return this.f.literal("v" + random.nextInt(12), random.nextBoolean());
+  }
+
+  private static void add(final MaxSATSolver solver, final List<Formula> formulas, final List<Integer> weights,
+                          final int from, final int to) {
+    for (int i = from; i < to; i++)
+      if (weights.get(i) == -1)
+        solver.addHardFormula(formulas.get(i));
+      else
+        solver.addSoftFormula(formulas.get(i), weights.get(i));
+  }
+
+  private void readWCNF(final String fileName, final List<Formula> formulas, final List<Integer> weights) throws IOException {
+    final BufferedReader reader = new BufferedReader(new FileReader(fileName));
+    int hardWeight = 0;
+    while (reader.ready()) {
+      final String line = reader.readLine();
+      if (line.startsWith("p wcnf")) {
+        final String[] header = line.split(" ", -1);
+        hardWeight = Integer.parseInt(header[4]);
+        break;
+      }
+    }
+    final List<Literal> literals = new ArrayList<>();
+    while (reader.ready()) {
+      final String[] tokens = reader.readLine().split(" ");
+      literals.clear();
+      final int weight = Integer.parseInt(tokens[0]);
+      for (int i = 1; i < tokens.length - 1; i++) {
+        if (!tokens[i].isEmpty()) {
+          final int parsedLit = Integer.parseInt(tokens[i]);
+          literals.add(this.f.literal("v" + Math.abs(parsedLit), parsedLit > 0));
+        }
+      }
+      formulas.add(this.f.or(literals));
+      weights.add(weight == hardWeight ? -1 : weight);
+    }
+    reader.close();
+  }
+}
@@ -0,0 +1,275 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.solvers.maxsat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.handlers.MaxSATEnumerationHandler;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.solvers.MaxSATSolver;
+import org.logicng.solvers.maxsat.algorithms.MaxSATConfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Unit tests for the enumeration of optimal and best models of the MaxSAT solver.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public class MaxSATEnumerationTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+  private final MaxSATConfig config = new MaxSATConfig.Builder().enumeration(true).build();
+
+  private MaxSATSolver[] weightedSolvers() {
+    return new MaxSATSolver[]{
+            MaxSATSolver.wbo(this.config),
+            MaxSATSolver.incWBO(this.config),
+            MaxSATSolver.linearSU(this.config),
+            MaxSATSolver.wmsu3(this.config),
+            MaxSATSolver.oll(this.config),
+            MaxSATSolver.ihs(this.config)
+    };
+  }
+
+  @Test
+  public void testSimple() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(this.f);
+    for (final MaxSATSolver solver : weightedSolvers()) {
+      solver.addHardFormula(p.parse("a | b | c"));
+      solver.addSoftFormula(p.parse("~a"), 2);
+      solver.addSoftFormula(p.parse("~b"), 2);
+      solver.addSoftFormula(p.parse("~c"), 3);
+      final List<Assignment> optimal = solver.enumerateOptimalModels(null);
+      Assert.assertEquals(2, optimal.size());
+      Assert.assertEquals(new HashSet<>(Arrays.asList(
+              new Assignment(this.f.variable("a"), this.f.literal("b", false), this.f.literal("c", false)),
+              new Assignment(this.f.literal("a", false), this.f.variable("b"), this.f.literal("c", false)))),
+              new HashSet<>(optimal));
+      Assert.assertEquals(2, solver.result());
+      final List<Long> costs = new ArrayList<>();
+      final List<Assignment> best = solver.enumerateBestModels(4, null, new MaxSATEnumerationHandler() {
+        @Override
+        public boolean foundModel(final Assignment model, final long cost) {
+          costs.add(cost);
+          return true;
+        }
+      });
+      Assert.assertEquals(4, best.size());
+      Assert.assertEquals(Arrays.asList(2L, 2L, 3L, 4L), costs);
+      Assert.assertEquals(7, solver.enumerateBestModels(10, null).size());
+    }
+  }
+
+  @Test
+  public void testProjection() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(this.f);
+    for (final MaxSATSolver solver : weightedSolvers()) {
+      solver.addHardFormula(p.parse("a | b"));
+      solver.addSoftFormula(p.parse("~a | c"), 1);
+      solver.addSoftFormula(p.parse("~b | ~c"), 2);
+      final List<Variable> vars = Arrays.asList(this.f.variable("a"), this.f.variable("b"), this.f.variable("x"));
+      final List<Assignment> optimal = solver.enumerateOptimalModels(vars);
+      Assert.assertEquals(new HashSet<>(Arrays.asList(
+              new Assignment(this.f.variable("a"), this.f.literal("b", false)),
+              new Assignment(this.f.literal("a", false), this.f.variable("b")))), new HashSet<>(optimal));
+      Assert.assertEquals(3, solver.enumerateBestModels(5, vars).size());
+    }
+  }
+
+  @Test
+  public void testRandom() {
+    final Random random = new Random(42);
+    final List<Variable> vars = new ArrayList<>();
+    for (int i = 0; i < 8; i++)
+      vars.add(this.f.variable("e" + i));
+    for (int instance = 0; instance < 20; instance++) {
+      final List<Formula> hard = new ArrayList<>();
+      hard.add(this.f.or(vars));
+      for (int i = 0; i < 6; i++)
+        hard.add(this.f.or(randomLiteral(random, vars), randomLiteral(random, vars), randomLiteral(random, vars)));
+      final List<Formula> soft = new ArrayList<>();
+      final List<Integer> weights = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        soft.add(this.f.or(randomLiteral(random, vars), randomLiteral(random, vars)));
+        weights.add(1 + random.nextInt(4));
+      }
+      final List<Variable> projection = vars.subList(0, 6);
+      final Map<Assignment, Long> expected = bruteForce(vars, projection, hard, soft, weights);
+      long optimum = Long.MAX_VALUE;
+      for (final long cost : expected.values())
+        optimum = Math.min(optimum, cost);
+      final List<Long> sortedCosts = new ArrayList<>(expected.values());
+      Collections.sort(sortedCosts);
+      for (final MaxSATSolver solver : weightedSolvers()) {
+        for (final Formula formula : hard)
+          solver.addHardFormula(formula);
+        for (int i = 0; i < soft.size(); i++)
+          solver.addSoftFormula(soft.get(i), weights.get(i));
+        final List<Assignment> optimal = solver.enumerateOptimalModels(projection);
+        final List<Assignment> expectedOptimal = new ArrayList<>();
+        for (final Map.Entry<Assignment, Long> entry : expected.entrySet())
+          if (entry.getValue() == optimum)
+            expectedOptimal.add(entry.getKey());
+        Assert.assertEquals(expectedOptimal.size(), optimal.size());
+        Assert.assertEquals(new HashSet<>(expectedOptimal), new HashSet<>(optimal));
+        final int k = 1 + random.nextInt(12);
+        final List<Long> costs = new ArrayList<>();
+        final List<Assignment> best = solver.enumerateBestModels(k, projection, new MaxSATEnumerationHandler() {
+          @Override
+          public boolean foundModel(final Assignment model, final long cost) {
+            costs.add(cost);
+            return true;
+          }
+        });
+        Assert.assertEquals(Math.min(k, expected.size()), best.size());
+        Assert.assertEquals(sortedCosts.subList(0, best.size()), costs);
+        for (int i = 0; i < best.size(); i++)
+          Assert.assertEquals(expected.get(best.get(i)), costs.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void testUnweighted() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(this.f);
+    for (final MaxSATSolver solver : Arrays.asList(MaxSATSolver.msu3(this.config), MaxSATSolver.linearUS(this.config))) {
+      solver.addHardFormula(p.parse("a | b | c"));
+      solver.addSoftFormula(p.parse("~a"), 1);
+      solver.addSoftFormula(p.parse("~b"), 1);
+      solver.addSoftFormula(p.parse("~c"), 1);
+      Assert.assertEquals(3, solver.enumerateOptimalModels(null).size());
+      Assert.assertEquals(6, solver.enumerateBestModels(6, null).size());
+    }
+  }
+
+  @Test
+  public void testHandlerAbort() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(this.f);
+    final MaxSATSolver solver = MaxSATSolver.oll(this.config);
+    solver.addHardFormula(p.parse("a | b | c"));
+    solver.addSoftFormula(p.parse("~a"), 1);
+    solver.addSoftFormula(p.parse("~b"), 1);
+    solver.addSoftFormula(p.parse("~c"), 1);
+    final List<Assignment> models = solver.enumerateBestModels(5, null, new MaxSATEnumerationHandler() {
+      @Override
+      public boolean foundModel(final Assignment model, final long cost) {
+        return false;
+      }
+    });
+    Assert.assertEquals(1, models.size());
+    Assert.assertEquals(1, solver.result());
+  }
+
+  @Test
+  public void testSpecialCases() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(this.f);
+    final MaxSATSolver unsat = MaxSATSolver.oll(this.config);
+    unsat.addHardFormula(p.parse("a & ~a"));
+    unsat.addSoftFormula(p.parse("b"), 1);
+    Assert.assertTrue(unsat.enumerateOptimalModels(null).isEmpty());
+    Assert.assertTrue(unsat.enumerateBestModels(3, null).isEmpty());
+    final MaxSATSolver hardOnly = MaxSATSolver.wbo(this.config);
+    hardOnly.addHardFormula(p.parse("a | b"));
+    Assert.assertEquals(3, hardOnly.enumerateOptimalModels(null).size());
+    Assert.assertEquals(3, hardOnly.enumerateBestModels(5, null).size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalNumberOfModels() {
+    MaxSATSolver.oll(this.config).enumerateBestModels(0, null);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testEnumerationNotTurnedOn() {
+    final MaxSATSolver solver = MaxSATSolver.oll();
+    solver.addSoftFormula(this.f.variable("a"), 1);
+    solver.enumerateOptimalModels(null);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testLexicographic() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(this.f);
+    final MaxSATSolver solver = MaxSATSolver.oll(this.config);
+    solver.addSoftFormula(p.parse("a"), 1);
+    solver.addSoftFormula(p.parse("~a"), 1, 1);
+    solver.enumerateOptimalModels(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWeightOverflow() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(this.f);
+    final MaxSATSolver solver = MaxSATSolver.oll(this.config);
+    solver.addSoftFormula(p.parse("a"), Integer.MAX_VALUE);
+    solver.addSoftFormula(p.parse("~a"), 1);
+  }
+
+  private Map<Assignment, Long> bruteForce(final List<Variable> vars, final List<Variable> projection, final List<Formula> hard,
+                                           final List<Formula> soft, final List<Integer> weights) {
+    final Map<Assignment, Long> result = new HashMap<>();
+    for (int bits = 0; bits < 1 << vars.size(); bits++) {
+      final Assignment assignment = new Assignment();
+      final Assignment projected = new Assignment();
+      for (int i = 0; i < vars.size(); i++) {
+        final Literal lit = (bits & (1 << i)) != 0 ? vars.get(i) : vars.get(i).negate();
+        assignment.addLiteral(lit);
+        if (projection.contains(vars.get(i)))
+          projected.addLiteral(lit);
+      }
+      if (!this.f.and(hard).evaluate(assignment))
+        continue;
+      long cost = 0;
+      for (int i = 0; i < soft.size(); i++)
+        if (!soft.get(i).evaluate(assignment))
+          cost += weights.get(i);
+      final Long current = result.get(projected);
+      if (current == null || cost < current)
+        result.put(projected, cost);
+    }
+    return result;
+  }
+
+  private Literal randomLiteral(final Random random, final List<Variable> vars) {
+    return this.f.literal(vars.get(random.nextInt(vars.size())).name(), random.nextBoolean());
+  }
+}
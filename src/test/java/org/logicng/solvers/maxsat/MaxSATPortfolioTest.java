@@ -0,0 +1,295 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.maxsat;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.handlers.MaxSATHandler;
+import org.logicng.handlers.SATHandler;
+import org.logicng.handlers.SharedBoundsMaxSATHandler;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.solvers.MaxSATPortfolio;
+import org.logicng.solvers.MaxSATSolver;
+import org.logicng.solvers.maxsat.algorithms.MaxSAT;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Unit tests for the parallel MaxSAT portfolio.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public class MaxSATPortfolioTest {
+
+  private static final String[] files = new String[]{
+          "8.wcsp.log.wcnf",
+          "54.wcsp.log.wcnf",
+          "404.wcsp.log.wcnf",
+          "term1_gr_2pin_w4.shuffled.cnf"
+  };
+  private static final int[] results = new int[]{
+          2, 37, 114, 0
+  };
+  private static ExecutorService executor;
+  private final FormulaFactory f = new FormulaFactory();
+
+  @BeforeClass
+  public static void startExecutor() {
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterClass
+  public static void stopExecutor() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testDefaultPortfolio() throws IOException {
+    for (int i = 0; i < files.length; i++) {
+      final MaxSATPortfolio portfolio = new MaxSATPortfolio(executor);
+      final List<Formula> softs = new ArrayList<>();
+      final List<Integer> weights = new ArrayList<>();
+      readWCNF(portfolio, "src/test/resources/partialweightedmaxsat/" + files[i], softs, weights);
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, portfolio.solve());
+      Assert.assertEquals(results[i], portfolio.result());
+      final Assignment model = portfolio.model();
+      int cost = 0;
+      for (int j = 0; j < softs.size(); j++)
+        if (!softs.get(j).evaluate(model))
+          cost += weights.get(j);
+      Assert.assertEquals(results[i], cost);
+    }
+  }
+
+  @Test
+  public void testCustomMembers() throws IOException {
+    final MaxSATPortfolio portfolio = new MaxSATPortfolio(executor, MaxSATSolver.wbo(), MaxSATSolver.wmsu3(),
+            MaxSATSolver.linearSU());
+    Assert.assertEquals(3, portfolio.members().size());
+    Assert.assertEquals(3, new MaxSATPortfolio(executor).members().size());
+    readWCNF(portfolio, "src/test/resources/partialweightedmaxsat/" + files[1], new ArrayList<Formula>(),
+            new ArrayList<Integer>());
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, portfolio.solve());
+    Assert.assertEquals(results[1], portfolio.result());
+  }
+
+  @Test
+  public void testSharedBounds() throws IOException {
+    final MaxSATPortfolio portfolio = new MaxSATPortfolio(executor);
+    readWCNF(portfolio, "src/test/resources/partialweightedmaxsat/" + files[2], new ArrayList<Formula>(),
+            new ArrayList<Integer>());
+    final BoundsHandler handler = new BoundsHandler();
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, portfolio.solve(handler));
+    Assert.assertEquals(results[2], portfolio.result());
+    Assert.assertTrue(handler.started && handler.finished);
+    Assert.assertTrue(handler.lowerBound <= results[2]);
+    Assert.assertTrue(handler.upperBound == -1 || handler.upperBound >= results[2]);
+  }
+
+  @Test
+  public void testSharedBoundsFedBackToMembers() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(this.f);
+    final Formula hard = p.parse("(a | b) & (b | c)");
+    final MaxSATSolver[] solvers = new MaxSATSolver[]{MaxSATSolver.linearSU(), MaxSATSolver.oll()};
+    for (final MaxSATSolver solver : solvers) {
+      solver.addHardFormula(hard);
+      solver.addSoftFormula(p.parse("~a"), 2);
+      solver.addSoftFormula(p.parse("~b"), 3);
+      solver.addSoftFormula(p.parse("~c"), 2);
+      final SharedHandler lowerBoundHandler = new SharedHandler(3, -1);
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve(lowerBoundHandler));
+      Assert.assertEquals(3, solver.result());
+      solver.reset();
+    }
+    final MaxSATSolver linearSU = MaxSATSolver.linearSU();
+    linearSU.addHardFormula(hard);
+    linearSU.addSoftFormula(p.parse("~a"), 2);
+    linearSU.addSoftFormula(p.parse("~b"), 3);
+    linearSU.addSoftFormula(p.parse("~c"), 2);
+    final SharedHandler upperBoundHandler = new SharedHandler(0, 3);
+    Assert.assertEquals(MaxSAT.MaxSATResult.UNDEF, linearSU.solve(upperBoundHandler));
+    Assert.assertEquals(3, upperBoundHandler.lowerBound);
+    Assert.assertEquals(-1, upperBoundHandler.upperBound);
+  }
+
+  @Test
+  public void testUnsatisfiable() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(this.f);
+    final MaxSATPortfolio portfolio = new MaxSATPortfolio(executor);
+    portfolio.addHardFormula(p.parse("a & (a => b) & ~b"));
+    portfolio.addSoftFormula(p.parse("c"), 2);
+    portfolio.addSoftFormula(p.parse("~c"), 1);
+    Assert.assertEquals(MaxSAT.MaxSATResult.UNSATISFIABLE, portfolio.solve());
+    Assert.assertEquals(-1, portfolio.result());
+    Assert.assertNull(portfolio.model());
+  }
+
+  @Test
+  public void testReset() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(this.f);
+    final MaxSATPortfolio portfolio = new MaxSATPortfolio(executor);
+    portfolio.addHardFormula(p.parse("a | b"));
+    portfolio.addSoftFormula(p.parse("~a"), 2);
+    portfolio.addSoftFormula(p.parse("~b"), 3);
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, portfolio.solve());
+    Assert.assertEquals(2, portfolio.result());
+    Assert.assertTrue(portfolio.model().positiveLiterals().contains(this.f.variable("a")));
+    portfolio.reset();
+    portfolio.addSoftFormula(p.parse("~a"), 2);
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, portfolio.solve());
+    Assert.assertEquals(0, portfolio.result());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testAddAfterSolve() {
+    final MaxSATPortfolio portfolio = new MaxSATPortfolio(executor);
+    portfolio.addSoftFormula(this.f.variable("a"), 1);
+    portfolio.solve();
+    portfolio.addSoftFormula(this.f.variable("b"), 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoMembers() {
+    new MaxSATPortfolio(executor, new MaxSATSolver[0]);
+  }
+
+  private void readWCNF(final MaxSATPortfolio portfolio, final String fileName, final List<Formula> softs,
+                        final List<Integer> weights) throws IOException {
+    final BufferedReader reader = new BufferedReader(new FileReader(fileName));
+    int hardWeight = 0;
+    while (reader.ready()) {
+      final String line = reader.readLine();
+      if (line.startsWith("p wcnf")) {
+        final String[] header = line.split(" ", -1);
+        hardWeight = Integer.parseInt(header[4]);
+        break;
+      }
+    }
+    final List<Literal> literals = new ArrayList<>();
+    while (reader.ready()) {
+      final String[] tokens = reader.readLine().split(" ");
+      literals.clear();
+      final int weight = Integer.parseInt(tokens[0]);
+      for (int i = 1; i < tokens.length - 1; i++) {
+        if (!tokens[i].isEmpty()) {
+          final int parsedLit = Integer.parseInt(tokens[i]);
+          literals.add(this.f.literal("v" + Math.abs(parsedLit), parsedLit > 0));
+        }
+      }
+      final Formula clause = this.f.or(literals);
+      if (weight == hardWeight)
+        portfolio.addHardFormula(clause);
+      else {
+        portfolio.addSoftFormula(clause, weight);
+        softs.add(clause);
+        weights.add(weight);
+      }
+    }
+    reader.close();
+  }
+
+  private static class BoundsHandler implements MaxSATHandler {
+    private boolean started;
+    private boolean finished;
+    long lowerBound = -1;
+    long upperBound = -1;
+
+    @Override
+    public SATHandler satHandler() {
+      return null;
+    }
+
+    @Override
+    public boolean foundLowerBound(final long lowerBound, final Assignment model) {
+      Assert.assertTrue(lowerBound > this.lowerBound);
+      this.lowerBound = lowerBound;
+      return true;
+    }
+
+    @Override
+    public boolean foundUpperBound(final long upperBound, final Assignment model) {
+      Assert.assertTrue(this.upperBound == -1 || upperBound < this.upperBound);
+      this.upperBound = upperBound;
+      return true;
+    }
+
+    @Override
+    public void startedSolving() {
+      this.started = true;
+    }
+
+    @Override
+    public void finishedSolving() {
+      this.finished = true;
+    }
+
+    @Override
+    public long lowerBoundApproximation() {
+      return this.lowerBound;
+    }
+
+    @Override
+    public long upperBoundApproximation() {
+      return this.upperBound;
+    }
+  }
+
+  private static final class SharedHandler extends BoundsHandler implements SharedBoundsMaxSATHandler {
+    private final long sharedLowerBound;
+    private final long sharedUpperBound;
+
+    private SharedHandler(final long sharedLowerBound, final long sharedUpperBound) {
+      this.sharedLowerBound = sharedLowerBound;
+      this.sharedUpperBound = sharedUpperBound;
+    }
+
+    @Override
+    public long sharedLowerBound() {
+      return this.sharedLowerBound;
+    }
+
+    @Override
+    public long sharedUpperBound() {
+      return this.sharedUpperBound;
+    }
+  }
+}
@@ -30,6 +30,7 @@ package org.logicng.solvers.maxsat;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.logicng.datastructures.Assignment;
 import org.logicng.formulas.FormulaFactory;
 import org.logicng.formulas.Literal;
 import org.logicng.handlers.MaxSATHandler;
@@ -152,6 +153,87 @@ public class PartialMaxSATTest {
     }
   }
 
+  @Test
+  public void testOLL() throws IOException {
+    final MaxSATConfig[] configs = new MaxSATConfig[1];
+    configs[0] = new MaxSATConfig.Builder().verbosity(SOME).output(logStream).build();
+    for (final MaxSATConfig config : configs) {
+      for (int i = 0; i < files.length; i++) {
+        final MaxSATSolver solver = MaxSATSolver.oll(config);
+        readCNF(solver, "src/test/resources/partialmaxsat/" + files[i]);
+        Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+        Assert.assertEquals(results[i], solver.result());
+      }
+    }
+  }
+
+  @Test
+  public void testIHS() throws IOException {
+    final MaxSATConfig config = new MaxSATConfig.Builder().verbosity(SOME).output(logStream).build();
+    for (int i = 0; i < files.length; i++) {
+      final MaxSATSolver solver = MaxSATSolver.ihs(config);
+      readCNF(solver, "src/test/resources/partialmaxsat/" + files[i]);
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+      Assert.assertEquals(results[i], solver.result());
+    }
+  }
+
+  @Test
+  public void testPreprocessing() throws IOException {
+    final MaxSATConfig config = new MaxSATConfig.Builder().preprocessing(true).verbosity(SOME).output(logStream).build();
+    for (int i = 0; i < files.length; i++) {
+      final MaxSATSolver[] solvers = new MaxSATSolver[]{
+              MaxSATSolver.wbo(config), MaxSATSolver.linearUS(config), MaxSATSolver.msu3(config), MaxSATSolver.oll(config)
+      };
+      for (final MaxSATSolver solver : solvers) {
+        readCNF(solver, "src/test/resources/partialmaxsat/" + files[i]);
+        Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+        Assert.assertEquals(results[i], solver.result());
+      }
+    }
+  }
+
+  @Test
+  public void testPreprocessingWithoutSoftClauses() {
+    final MaxSATSolver solver = MaxSATSolver.msu3(new MaxSATConfig.Builder().preprocessing(true).build());
+    solver.addHardFormula(f.variable("a"));
+    solver.addHardFormula(f.or(f.literal("a", false), f.variable("b")));
+    solver.addHardFormula(f.or(f.literal("b", false), f.variable("c"), f.variable("d")));
+    solver.addSoftFormula(f.literal("b", false), 1);
+    solver.addSoftFormula(f.variable("a"), 1);
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+    Assert.assertEquals(1, solver.result());
+    final Assignment model = solver.model();
+    Assert.assertTrue(model.evaluateLit(f.variable("a")));
+    Assert.assertTrue(model.evaluateLit(f.variable("b")));
+    Assert.assertTrue(model.evaluateLit(f.variable("c")) || model.evaluateLit(f.variable("d")));
+  }
+
+  @Test
+  public void testPreprocessingConflict() {
+    final MaxSATSolver solver = MaxSATSolver.linearSU(new MaxSATConfig.Builder().preprocessing(true).build());
+    solver.addHardFormula(f.or(f.variable("a"), f.variable("b")));
+    solver.addHardFormula(f.literal("a", false));
+    solver.addHardFormula(f.literal("b", false));
+    solver.addSoftFormula(f.variable("c"), 1);
+    Assert.assertEquals(MaxSAT.MaxSATResult.UNSATISFIABLE, solver.solve());
+  }
+
+  @Test
+  public void testPreprocessingIncremental() {
+    final MaxSATSolver solver = MaxSATSolver.oll(new MaxSATConfig.Builder().preprocessing(true).build());
+    solver.addHardFormula(f.or(f.variable("a"), f.variable("b")));
+    solver.addSoftFormula(f.literal("a", false), 1);
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+    Assert.assertEquals(0, solver.result());
+    try {
+      solver.addHardFormula(f.literal("b", false));
+      Assert.fail("Expected an exception");
+    } catch (final IllegalStateException e) {
+      // expected
+    }
+  }
+
   @Test
   public void testTimeoutHandler() throws IOException {
     MaxSATSolver solver = MaxSATSolver.wbo(new MaxSATConfig.Builder().verbosity(SOME).output(logStream).build());
@@ -30,8 +30,12 @@ package org.logicng.solvers.maxsat;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.logicng.formulas.Formula;
 import org.logicng.formulas.FormulaFactory;
 import org.logicng.formulas.Literal;
+import org.logicng.datastructures.Assignment;
+import org.logicng.handlers.MaxSATHandler;
+import org.logicng.handlers.SATHandler;
 import org.logicng.solvers.MaxSATSolver;
 import org.logicng.solvers.maxsat.algorithms.MaxSAT;
 import org.logicng.solvers.maxsat.algorithms.MaxSATConfig;
@@ -43,6 +47,7 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static org.logicng.solvers.maxsat.algorithms.MaxSATConfig.Builder;
 import static org.logicng.solvers.maxsat.algorithms.MaxSATConfig.CardinalityEncoding;
@@ -129,6 +134,39 @@ public class PartialWeightedMaxSATTest {
     }
   }
 
+  @Test
+  public void testLinearSULocalSearch() throws IOException {
+    final MaxSATConfig[] configs = new MaxSATConfig[2];
+    configs[0] = new Builder().cardinality(CardinalityEncoding.TOTALIZER).bmo(false).localSearch(20000).verbosity(SOME).output(logStream).build();
+    configs[1] = new Builder().cardinality(CardinalityEncoding.MTOTALIZER).bmo(false).localSearch(20000).verbosity(SOME).output(logStream).build();
+    for (final MaxSATConfig config : configs) {
+      for (int i = 0; i < files.length; i++) {
+        final MaxSATSolver solver = MaxSATSolver.linearSU(config);
+        readCNF(solver, "src/test/resources/partialweightedmaxsat/" + files[i]);
+        Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+        Assert.assertEquals(results[i], solver.result());
+      }
+    }
+  }
+
+  @Test
+  public void testLocalSearchUpperBound() throws IOException {
+    final MaxSATConfig config = new Builder().bmo(false).localSearch(20000).build();
+    for (int i = 0; i < files.length; i++) {
+      final MaxSATSolver solver = MaxSATSolver.linearSU(config);
+      readCNF(solver, "src/test/resources/partialweightedmaxsat/" + files[i]);
+      final FirstUpperBoundHandler handler = new FirstUpperBoundHandler();
+      final MaxSAT.MaxSATResult result = solver.solve(handler);
+      if (result == MaxSAT.MaxSATResult.OPTIMUM)
+        Assert.assertEquals(results[i], solver.result());
+      else {
+        Assert.assertEquals(MaxSAT.MaxSATResult.UNDEF, result);
+        Assert.assertTrue(handler.upperBoundApproximation() >= results[i]);
+        Assert.assertEquals(0, solver.stats().satCalls());
+      }
+    }
+  }
+
   @Test
   public void testWMSU3() throws IOException {
     final MaxSATConfig[] configs = new MaxSATConfig[3];
@@ -145,6 +183,88 @@ public class PartialWeightedMaxSATTest {
     }
   }
 
+  @Test
+  public void testWMSU3Stratified() throws IOException {
+    final MaxSATConfig[] configs = new MaxSATConfig[4];
+    configs[0] = new Builder().incremental(MaxSATConfig.IncrementalStrategy.NONE).weight(MaxSATConfig.WeightStrategy.NORMAL).bmo(false).verbosity(SOME).output(logStream).build();
+    configs[1] = new Builder().incremental(MaxSATConfig.IncrementalStrategy.NONE).weight(MaxSATConfig.WeightStrategy.DIVERSIFY).bmo(false).verbosity(SOME).output(logStream).build();
+    configs[2] = new Builder().incremental(MaxSATConfig.IncrementalStrategy.ITERATIVE).weight(MaxSATConfig.WeightStrategy.NORMAL).bmo(false).verbosity(SOME).output(logStream).build();
+    configs[3] = new Builder().incremental(MaxSATConfig.IncrementalStrategy.ITERATIVE).weight(MaxSATConfig.WeightStrategy.DIVERSIFY).bmo(false).verbosity(SOME).output(logStream).build();
+    for (final MaxSATConfig config : configs) {
+      for (int i = 0; i < files.length; i++) {
+        final MaxSATSolver solver = MaxSATSolver.wmsu3(config);
+        readCNF(solver, "src/test/resources/partialweightedmaxsat/" + files[i]);
+        Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+        Assert.assertEquals(results[i], solver.result());
+      }
+    }
+  }
+
+  @Test
+  public void testHardening() {
+    final MaxSATSolver[] solvers = new MaxSATSolver[]{
+            MaxSATSolver.wbo(new Builder().weight(MaxSATConfig.WeightStrategy.NORMAL).build()),
+            MaxSATSolver.incWBO(new Builder().weight(MaxSATConfig.WeightStrategy.DIVERSIFY).build()),
+            MaxSATSolver.linearSU(new Builder().bmo(false).build()),
+            MaxSATSolver.wmsu3(new Builder().incremental(MaxSATConfig.IncrementalStrategy.ITERATIVE).weight(MaxSATConfig.WeightStrategy.NORMAL).bmo(false).build()),
+            MaxSATSolver.oll()
+    };
+    for (final MaxSATSolver solver : solvers) {
+      solver.addHardFormula(f.or(f.variable("a"), f.variable("b"), f.variable("c")));
+      solver.addHardFormula(f.or(f.literal("a", false), f.literal("b", false)));
+      solver.addSoftFormula(f.literal("a", false), 1);
+      solver.addSoftFormula(f.literal("b", false), 2);
+      solver.addSoftFormula(f.literal("c", false), 3);
+      solver.addSoftFormula(f.variable("c"), 100);
+      solver.addSoftFormula(f.or(f.variable("a"), f.variable("d")), 1000);
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+      Assert.assertEquals(3, solver.result());
+      Assert.assertTrue(solver.model().literals().contains(f.variable("c")));
+    }
+  }
+
+  @Test
+  public void testOLL() throws IOException {
+    final MaxSATConfig[] configs = new MaxSATConfig[2];
+    configs[0] = new Builder().solver(MaxSATConfig.SolverType.GLUCOSE).verbosity(SOME).output(logStream).build();
+    configs[1] = new Builder().solver(MaxSATConfig.SolverType.MINISAT).verbosity(SOME).output(logStream).build();
+    for (final MaxSATConfig config : configs) {
+      for (int i = 0; i < files.length; i++) {
+        final MaxSATSolver solver = MaxSATSolver.oll(config);
+        readCNF(solver, "src/test/resources/partialweightedmaxsat/" + files[i]);
+        Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+        Assert.assertEquals(results[i], solver.result());
+      }
+      for (int i = 0; i < bmoFiles.length; i++) {
+        final MaxSATSolver solver = MaxSATSolver.oll(config);
+        readCNF(solver, "src/test/resources/partialweightedmaxsat/bmo/" + bmoFiles[i]);
+        Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+        Assert.assertEquals(bmoResults[i], solver.result());
+      }
+    }
+  }
+
+  @Test
+  public void testIHS() throws IOException {
+    final MaxSATConfig[] configs = new MaxSATConfig[2];
+    configs[0] = new Builder().solver(MaxSATConfig.SolverType.GLUCOSE).verbosity(SOME).output(logStream).build();
+    configs[1] = new Builder().solver(MaxSATConfig.SolverType.MINISAT).verbosity(SOME).output(logStream).build();
+    for (final MaxSATConfig config : configs) {
+      for (int i = 0; i < files.length; i++) {
+        final MaxSATSolver solver = MaxSATSolver.ihs(config);
+        readCNF(solver, "src/test/resources/partialweightedmaxsat/" + files[i]);
+        Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+        Assert.assertEquals(results[i], solver.result());
+      }
+      for (int i = 0; i < bmoFiles.length; i++) {
+        final MaxSATSolver solver = MaxSATSolver.ihs(config);
+        readCNF(solver, "src/test/resources/partialweightedmaxsat/bmo/" + bmoFiles[i]);
+        Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+        Assert.assertEquals(bmoResults[i], solver.result());
+      }
+    }
+  }
+
   @Test
   public void testWMSU3BMO() throws IOException {
     final MaxSATConfig[] configs = new MaxSATConfig[1];
@@ -174,6 +294,202 @@ public class PartialWeightedMaxSATTest {
     }
   }
 
+  @Test
+  public void testPreprocessing() throws IOException {
+    final MaxSATConfig config = new Builder().preprocessing(true).bmo(false).verbosity(SOME).output(logStream).build();
+    final MaxSATConfig ollConfig = new Builder().preprocessing(true).verbosity(SOME).output(logStream).build();
+    for (int i = 0; i < files.length; i++) {
+      final MaxSATSolver[] solvers = new MaxSATSolver[]{
+              MaxSATSolver.wbo(config), MaxSATSolver.incWBO(config), MaxSATSolver.linearSU(config),
+              MaxSATSolver.wmsu3(config), MaxSATSolver.oll(ollConfig)
+      };
+      for (final MaxSATSolver solver : solvers) {
+        final String fileName = "src/test/resources/partialweightedmaxsat/" + files[i];
+        readCNF(solver, fileName);
+        Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+        Assert.assertEquals(results[i], solver.result());
+        Assert.assertEquals(results[i], modelCost(fileName, solver.model()));
+      }
+    }
+  }
+
+  @Test
+  public void testPreprocessingBMO() throws IOException {
+    final MaxSATConfig config = new Builder().preprocessing(true).verbosity(SOME).output(logStream).build();
+    for (int i = 0; i < bmoFiles.length; i++) {
+      final MaxSATSolver solver = MaxSATSolver.oll(config);
+      final String fileName = "src/test/resources/partialweightedmaxsat/bmo/" + bmoFiles[i];
+      readCNF(solver, fileName);
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+      Assert.assertEquals(bmoResults[i], solver.result());
+      Assert.assertEquals(bmoResults[i], modelCost(fileName, solver.model()));
+    }
+  }
+
+  @Test
+  public void testLongWeights() {
+    final long large = 3L * Integer.MAX_VALUE;
+    final MaxSATSolver[] solvers = new MaxSATSolver[]{
+            MaxSATSolver.wbo(),
+            MaxSATSolver.incWBO(),
+            MaxSATSolver.linearSU(),
+            MaxSATSolver.oll(),
+            MaxSATSolver.ihs(),
+            MaxSATSolver.oll(new Builder().preprocessing(true).build())
+    };
+    for (final MaxSATSolver solver : solvers) {
+      solver.addHardFormula(f.or(f.variable("a"), f.variable("b"), f.variable("c")));
+      solver.addHardFormula(f.or(f.literal("a", false), f.literal("b", false)));
+      solver.addSoftFormula(f.literal("a", false), large);
+      solver.addSoftFormula(f.literal("b", false), 2 * large);
+      solver.addSoftFormula(f.literal("c", false), 4 * large);
+      solver.addSoftFormula(f.or(f.variable("a"), f.variable("d")), 1);
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+      Assert.assertEquals(large, solver.result());
+      Assert.assertTrue(solver.model().literals().contains(f.variable("a")));
+    }
+  }
+
+  @Test
+  public void testLongWeightsLowerBoundIHS() {
+    final long large = 3L * Integer.MAX_VALUE;
+    final MaxSATSolver solver = MaxSATSolver.ihs();
+    solver.addHardFormula(f.or(f.variable("a"), f.variable("b")));
+    solver.addSoftFormula(f.literal("a", false), large);
+    solver.addSoftFormula(f.literal("b", false), 2 * large);
+    final LowerBoundHandler handler = new LowerBoundHandler();
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve(handler));
+    Assert.assertEquals(large, solver.result());
+    Assert.assertFalse(handler.lowerBounds.isEmpty());
+    for (final long lowerBound : handler.lowerBounds)
+      Assert.assertTrue(lowerBound >= 0 && lowerBound <= large);
+    Assert.assertEquals(large, (long) handler.lowerBounds.get(handler.lowerBounds.size() - 1));
+  }
+
+  @Test
+  public void testLongWeightsPseudoBooleanEncoding() {
+    final MaxSATSolver[] solvers = new MaxSATSolver[]{
+            MaxSATSolver.linearSU(new Builder().bmo(false).build()),
+            MaxSATSolver.wmsu3(),
+            MaxSATSolver.wmsu3(new Builder().bmo(false).build())
+    };
+    for (final MaxSATSolver solver : solvers) {
+      solver.addSoftFormula(f.variable("a"), Integer.MAX_VALUE / 2);
+      try {
+        solver.addSoftFormula(f.and(f.variable("b"), f.variable("c")), Integer.MAX_VALUE / 4 + 2);
+        Assert.fail("Expected an IllegalArgumentException");
+      } catch (final IllegalArgumentException e) {
+        // expected
+      }
+      solver.addSoftFormula(f.and(f.variable("b"), f.variable("c")), Integer.MAX_VALUE / 4 + 1);
+      try {
+        solver.addSoftFormula(f.variable("d"), 1);
+        Assert.fail("Expected an IllegalArgumentException");
+      } catch (final IllegalArgumentException e) {
+        // expected
+      }
+      solver.reset();
+      solver.addSoftFormula(f.variable("a"), 3);
+      solver.addSoftFormula(f.and(f.variable("b"), f.variable("c")), 2);
+      solver.addHardFormula(f.literal("a", false));
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+      Assert.assertEquals(3, solver.result());
+    }
+  }
+
+  @Test
+  public void testPreprocessingGrouping() {
+    final MaxSATSolver solver = MaxSATSolver.wbo(new Builder().preprocessing(true).build());
+    solver.addHardFormula(f.or(f.variable("a"), f.variable("b")));
+    solver.addSoftFormula(f.literal("a", false), 2);
+    solver.addSoftFormula(f.literal("a", false), 3);
+    solver.addSoftFormula(f.literal("b", false), 4);
+    solver.addSoftFormula(f.variable("b"), 1);
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+    Assert.assertEquals(4, solver.result());
+    Assert.assertTrue(solver.model().evaluateLit(f.literal("a", false)));
+    Assert.assertTrue(solver.model().evaluateLit(f.variable("b")));
+  }
+
+  @Test
+  public void testPreprocessingRandom() {
+    final Random random = new Random(42);
+    for (int run = 0; run < 200; run++) {
+      final MaxSATSolver solver = MaxSATSolver.oll();
+      final MaxSATSolver preprocessed = MaxSATSolver.linearSU(new Builder().preprocessing(true).bmo(false).build());
+      final List<Formula> hards = new ArrayList<>();
+      final List<Formula> softs = new ArrayList<>();
+      final List<Integer> weights = new ArrayList<>();
+      for (int i = 0; i < 30; i++) {
+        final List<Literal> literals = new ArrayList<>();
+        final int size = 1 + random.nextInt(3);
+        for (int j = 0; j < size; j++)
+          literals.add(f.literal("v" + random.nextInt(12), random.nextBoolean()));
+        final Formula clause = f.or(literals);
+        if (random.nextInt(3) == 0) {
+          hards.add(clause);
+          solver.addHardFormula(clause);
+          preprocessed.addHardFormula(clause);
+        } else {
+          final int weight = 1 + random.nextInt(3);
+          softs.add(clause);
+          weights.add(weight);
+          solver.addSoftFormula(clause, weight);
+          preprocessed.addSoftFormula(clause, weight);
+        }
+      }
+      final MaxSAT.MaxSATResult result = solver.solve();
+      Assert.assertEquals(result, preprocessed.solve());
+      if (result == MaxSAT.MaxSATResult.OPTIMUM) {
+        Assert.assertEquals(solver.result(), preprocessed.result());
+        final Assignment model = preprocessed.model();
+        int cost = 0;
+        for (final Formula hard : hards)
+          Assert.assertTrue(hard.evaluate(model));
+        for (int i = 0; i < softs.size(); i++)
+          if (!softs.get(i).evaluate(model))
+            cost += weights.get(i);
+        Assert.assertEquals(solver.result(), cost);
+      }
+    }
+  }
+
+  /**
+   * Returns the cost of a model in the given file and asserts that all hard clauses are satisfied.
+   * @param fileName the file name
+   * @param model    the model
+   * @return the cost of the model
+   * @throws IOException if the file could not be read
+   */
+  private int modelCost(final String fileName, final Assignment model) throws IOException {
+    final BufferedReader reader = new BufferedReader(new FileReader(fileName));
+    int hardWeight = 0;
+    while (reader.ready()) {
+      final String line = reader.readLine();
+      if (line.startsWith("p wcnf")) {
+        hardWeight = Integer.parseInt(line.split(" ", -1)[4]);
+        break;
+      }
+    }
+    int cost = 0;
+    while (reader.ready()) {
+      final String[] tokens = reader.readLine().split(" ");
+      final int weight = Integer.parseInt(tokens[0]);
+      boolean satisfied = false;
+      for (int i = 1; i < tokens.length - 1; i++) {
+        if (!tokens[i].isEmpty()) {
+          final int parsedLit = Integer.parseInt(tokens[i]);
+          satisfied |= model.evaluateLit(f.literal("v" + Math.abs(parsedLit), parsedLit > 0));
+        }
+      }
+      if (weight == hardWeight)
+        Assert.assertTrue(satisfied);
+      else if (!satisfied)
+        cost += weight;
+    }
+    return cost;
+  }
+
   private void readCNF(final MaxSATSolver solver, final String fileName) throws IOException {
     final BufferedReader reader = new BufferedReader(new FileReader(fileName));
     int hardWeight = 0;
@@ -207,4 +523,84 @@ public class PartialWeightedMaxSATTest {
       }
     }
   }
+
+  private static final class FirstUpperBoundHandler implements MaxSATHandler {
+    private long upperBound = -1;
+
+    @Override
+    public SATHandler satHandler() {
+      return null;
+    }
+
+    @Override
+    public boolean foundLowerBound(final long lowerBound, final Assignment model) {
+      return true;
+    }
+
+    @Override
+    public boolean foundUpperBound(final long upperBound, final Assignment model) {
+      this.upperBound = upperBound;
+      return false;
+    }
+
+    @Override
+    public void startedSolving() {
+      // nothing to do here
+    }
+
+    @Override
+    public void finishedSolving() {
+      // nothing to do here
+    }
+
+    @Override
+    public long lowerBoundApproximation() {
+      return -1;
+    }
+
+    @Override
+    public long upperBoundApproximation() {
+      return this.upperBound;
+    }
+  }
+
+  private static final class LowerBoundHandler implements MaxSATHandler {
+    private final List<Long> lowerBounds = new ArrayList<>();
+
+    @Override
+    public SATHandler satHandler() {
+      return null;
+    }
+
+    @Override
+    public boolean foundLowerBound(final long lowerBound, final Assignment model) {
+      this.lowerBounds.add(lowerBound);
+      return true;
+    }
+
+    @Override
+    public boolean foundUpperBound(final long upperBound, final Assignment model) {
+      return true;
+    }
+
+    @Override
+    public void startedSolving() {
+      // nothing to do here
+    }
+
+    @Override
+    public void finishedSolving() {
+      // nothing to do here
+    }
+
+    @Override
+    public long lowerBoundApproximation() {
+      return this.lowerBounds.isEmpty() ? -1 : this.lowerBounds.get(this.lowerBounds.size() - 1);
+    }
+
+    @Override
+    public long upperBoundApproximation() {
+      return -1;
+    }
+  }
 }
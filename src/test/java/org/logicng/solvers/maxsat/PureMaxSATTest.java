@@ -172,6 +172,39 @@ public class PureMaxSATTest {
     }
   }
 
+  @Test
+  public void testOLL() throws IOException {
+    final MaxSATConfig[] configs = new MaxSATConfig[1];
+    configs[0] = new Builder().verbosity(SOME).output(logStream).build();
+    for (final MaxSATConfig config : configs) {
+      for (final String file : files) {
+        final MaxSATSolver solver = MaxSATSolver.oll(config);
+        readCNF(solver, "src/test/resources/maxsat/" + file);
+        Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+        Assert.assertEquals(1, solver.result());
+      }
+      final MaxSATSolver solver = MaxSATSolver.oll(config);
+      readCNF(solver, "src/test/resources/sat/9symml_gr_rcs_w6.shuffled.cnf");
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+      Assert.assertEquals(0, solver.result());
+    }
+  }
+
+  @Test
+  public void testIHS() throws IOException {
+    final MaxSATConfig config = new Builder().verbosity(SOME).output(logStream).build();
+    for (final String file : files) {
+      final MaxSATSolver solver = MaxSATSolver.ihs(config);
+      readCNF(solver, "src/test/resources/maxsat/" + file);
+      Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+      Assert.assertEquals(1, solver.result());
+    }
+    final MaxSATSolver solver = MaxSATSolver.ihs(config);
+    readCNF(solver, "src/test/resources/sat/9symml_gr_rcs_w6.shuffled.cnf");
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solve());
+    Assert.assertEquals(0, solver.result());
+  }
+
   @Test
   public void testSingle() throws IOException {
     final MaxSATSolver solver = MaxSATSolver.incWBO(new MaxSATConfig.Builder().cardinality(CardinalityEncoding.MTOTALIZER)
@@ -233,17 +266,18 @@ public class PureMaxSATTest {
 
   @Test
   public void testToString() {
-    MaxSATSolver[] solvers = new MaxSATSolver[6];
+    MaxSATSolver[] solvers = new MaxSATSolver[7];
     solvers[0] = MaxSATSolver.incWBO();
     solvers[1] = MaxSATSolver.linearSU();
     solvers[2] = MaxSATSolver.linearUS();
     solvers[3] = MaxSATSolver.msu3();
     solvers[4] = MaxSATSolver.wbo();
     solvers[5] = MaxSATSolver.wmsu3();
+    solvers[6] = MaxSATSolver.oll();
 
     String expected = "MaxSATSolver{result=OPTIMUM, var2index={a=0, b=1}}";
 
-    for (int i = 0; i < 6; i++) {
+    for (int i = 0; i < 7; i++) {
       MaxSATSolver s = solvers[i];
       s.addHardFormula(F.OR3);
       s.addSoftFormula(F.A, 1);
@@ -30,11 +30,16 @@ package org.logicng.solvers.maxsat.encodings;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Tristate;
 import org.logicng.solvers.maxsat.algorithms.MaxSATConfig;
+import org.logicng.solvers.sat.MiniSat2Solver;
+
+import static org.logicng.solvers.sat.MiniSatStyleSolver.mkLit;
 
 /**
  * Unit test for the package {@link org.logicng.solvers.maxsat.encodings}.
- * @version 1.1
+ * @version 1.4.1
  * @since 1.1
  */
 public class EncodingsTest {
@@ -66,6 +71,25 @@ public class EncodingsTest {
     Assert.assertEquals("SequentialWeightCounter", swc.toString());
   }
 
+  @Test
+  public void testSequentialWeightCounterSingleRemainingLiteral() {
+    final MiniSat2Solver solver = new MiniSat2Solver();
+    solver.newVar(true, true);
+    solver.newVar(true, true);
+    final LNGIntVector lits = new LNGIntVector();
+    lits.push(mkLit(0, false));
+    lits.push(mkLit(1, false));
+    final LNGIntVector coeffs = new LNGIntVector();
+    coeffs.push(1);
+    coeffs.push(5);
+    new SequentialWeightCounter().encode(solver, lits, coeffs, 3);
+    final LNGIntVector assumptions = new LNGIntVector();
+    assumptions.push(mkLit(0, false));
+    Assert.assertEquals(Tristate.TRUE, solver.solve(null, assumptions));
+    assumptions.push(mkLit(1, false));
+    Assert.assertEquals(Tristate.FALSE, solver.solve(null, assumptions));
+  }
+
   @Test
   public void testLadder() {
     Ladder ladder = new Ladder();
@@ -30,22 +30,27 @@ package org.logicng.solvers.sat;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.logicng.datastructures.Tristate;
 import org.logicng.formulas.FormulaFactory;
 import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
 import org.logicng.io.parsers.ParserException;
 import org.logicng.io.parsers.PropositionalParser;
 import org.logicng.solvers.MiniSat;
 import org.logicng.solvers.SATSolver;
+import org.logicng.testutils.NQueensGenerator;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import static org.logicng.datastructures.Tristate.FALSE;
 import static org.logicng.datastructures.Tristate.TRUE;
 
 /**
  * Unit tests for the assume functionality of the MiniSat style SAT solvers.
- * @version 1.1
+ * @version 1.4.1
  * @since 1.0
  */
 public class AssumeTest {
@@ -57,7 +62,7 @@ public class AssumeTest {
   public AssumeTest() {
     this.f = new FormulaFactory();
     this.parser = new PropositionalParser(f);
-    this.solvers = new SATSolver[6];
+    this.solvers = new SATSolver[9];
     this.solvers[0] = MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(true).build());
     this.solvers[1] = MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(false).build());
     this.solvers[2] = MiniSat.glucose(f, new MiniSatConfig.Builder().incremental(true).build(),
@@ -66,6 +71,10 @@ public class AssumeTest {
             new GlucoseConfig.Builder().build());
     this.solvers[4] = MiniSat.miniCard(f, new MiniSatConfig.Builder().incremental(true).build());
     this.solvers[5] = MiniSat.miniCard(f, new MiniSatConfig.Builder().incremental(false).build());
+    this.solvers[6] = MiniSat.miniSat(f, new MiniSatConfig.Builder().reuseTrail(true).build());
+    this.solvers[7] = MiniSat.glucose(f, new MiniSatConfig.Builder().reuseTrail(true).build(),
+            new GlucoseConfig.Builder().build());
+    this.solvers[8] = MiniSat.miniCard(f, new MiniSatConfig.Builder().reuseTrail(true).build());
   }
 
   @Test
@@ -106,4 +115,40 @@ public class AssumeTest {
       s.reset();
     }
   }
+
+  @Test
+  public void testTrailReuse() {
+    final NQueensGenerator generator = new NQueensGenerator(f);
+    final SATSolver reference = MiniSat.miniSat(f);
+    final SATSolver[] reusing = {
+            MiniSat.miniSat(f, new MiniSatConfig.Builder().reuseTrail(true).build()),
+            MiniSat.miniSat(f, new MiniSatConfig.Builder().reuseTrail(true).incremental(false).build()),
+            MiniSat.glucose(f, new MiniSatConfig.Builder().reuseTrail(true).build(), new GlucoseConfig.Builder().build()),
+            MiniSat.miniCard(f, new MiniSatConfig.Builder().reuseTrail(true).build())
+    };
+    reference.add(generator.generate(8));
+    for (final SATSolver s : reusing)
+      s.add(generator.generate(8));
+    final List<Variable> variables = new ArrayList<>(reference.knownVariables());
+    final Random random = new Random(42);
+    List<Literal> assumptions = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      if (assumptions.size() > 0 && random.nextInt(3) == 0)
+        assumptions = new ArrayList<>(assumptions.subList(0, random.nextInt(assumptions.size())));
+      final Variable var = variables.get(random.nextInt(variables.size()));
+      assumptions.add(random.nextInt(4) == 0 ? var : var.negate());
+      final Tristate expected = reference.sat(assumptions);
+      for (final SATSolver s : reusing) {
+        Assert.assertEquals(expected, s.sat(assumptions));
+        if (expected == TRUE)
+          for (final Literal lit : assumptions)
+            Assert.assertTrue(s.model().evaluateLit(lit));
+      }
+    }
+    for (final SATSolver s : reusing) {
+      s.add(f.variable(variables.get(0).name()));
+      Assert.assertEquals(reference.sat(Arrays.asList(variables.get(0), variables.get(1).negate())),
+              s.sat(Arrays.asList(variables.get(1).negate())));
+    }
+  }
 }
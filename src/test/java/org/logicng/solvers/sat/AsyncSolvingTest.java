@@ -0,0 +1,158 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.handlers.TimeoutSATHandler;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.solvers.BoundedSolverExecutor;
+import org.logicng.solvers.CleaneLing;
+import org.logicng.solvers.MaxSATSolver;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+import org.logicng.solvers.maxsat.algorithms.MaxSAT;
+import org.logicng.testutils.PigeonHoleGenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.logicng.datastructures.Tristate.FALSE;
+import static org.logicng.datastructures.Tristate.TRUE;
+import static org.logicng.datastructures.Tristate.UNDEF;
+
+/**
+ * Unit tests for the asynchronous solver calls and the bounded solver executor.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public class AsyncSolvingTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+  private final PropositionalParser parser = new PropositionalParser(f);
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+  @After
+  public void shutdown() {
+    this.executor.shutdownNow();
+  }
+
+  @Test
+  public void testSatAsync() throws ParserException, ExecutionException, InterruptedException {
+    final SATSolver[] solvers = new SATSolver[]{MiniSat.miniSat(f), MiniSat.glucose(f), MiniSat.miniCard(f),
+            CleaneLing.minimalistic(f), CleaneLing.full(f)};
+    for (final SATSolver s : solvers) {
+      s.add(parser.parse("(a | b) & (~a | c) & ~c"));
+      Assert.assertEquals(TRUE, s.satAsync(this.executor).get());
+      Assert.assertTrue(s.model().positiveLiterals().contains(f.variable("b")));
+      s.add(parser.parse("~b"));
+      Assert.assertEquals(FALSE, s.satAsync(this.executor).get());
+    }
+  }
+
+  @Test
+  public void testSatAsyncWithAssumptions() throws ParserException, ExecutionException, InterruptedException {
+    final MiniSat s = MiniSat.miniSat(f);
+    s.add(parser.parse("(a | b) & (~a | c)"));
+    Assert.assertEquals(FALSE, s.satAsync(this.executor, Arrays.asList(f.literal("b", false), f.literal("c", false))).get());
+    Assert.assertEquals(TRUE, s.satAsync(this.executor, Arrays.asList(f.literal("b", false))).get());
+    Assert.assertEquals(TRUE, s.sat());
+  }
+
+  @Test
+  public void testSatAsyncWithHandler() throws ExecutionException, InterruptedException {
+    final MiniSat s = MiniSat.miniSat(f);
+    s.add(new PigeonHoleGenerator(f).generate(10));
+    Assert.assertEquals(UNDEF, s.satAsync(this.executor, new TimeoutSATHandler(100), new ArrayList<Literal>()).get());
+  }
+
+  @Test(timeout = 10000)
+  public void testCancel() throws InterruptedException {
+    final MiniSat s = MiniSat.miniSat(f);
+    s.add(new PigeonHoleGenerator(f).generate(10));
+    final Future<?> future = s.satAsync(this.executor);
+    Thread.sleep(50);
+    Assert.assertTrue(future.cancel(true));
+    Assert.assertTrue(future.isCancelled());
+    try {
+      future.get();
+      Assert.fail("Expected a cancellation exception");
+    } catch (final CancellationException | ExecutionException e) {
+      Assert.assertTrue(e instanceof CancellationException);
+    }
+    this.executor.shutdown();
+    Assert.assertTrue(this.executor.awaitTermination(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testSolveAsync() throws ParserException, ExecutionException, InterruptedException {
+    final MaxSATSolver solver = MaxSATSolver.wbo();
+    solver.addHardFormula(parser.parse("a | b"));
+    solver.addSoftFormula(parser.parse("~a"), 1);
+    solver.addSoftFormula(parser.parse("~b"), 1);
+    solver.addSoftFormula(parser.parse("c"), 1);
+    Assert.assertEquals(MaxSAT.MaxSATResult.OPTIMUM, solver.solveAsync(this.executor).get());
+    Assert.assertEquals(1, solver.result());
+  }
+
+  @Test(timeout = 10000)
+  public void testBoundedSolverExecutor() throws InterruptedException {
+    final BoundedSolverExecutor bounded = new BoundedSolverExecutor(this.executor, 2);
+    final List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      final MiniSat s = MiniSat.miniSat(new FormulaFactory());
+      s.add(new PigeonHoleGenerator(s.factory()).generate(10));
+      futures.add(s.satAsync(bounded));
+    }
+    Assert.assertEquals(2, bounded.queued());
+    Assert.assertTrue(bounded.running() <= 2);
+    for (final Future<?> future : futures)
+      future.cancel(true);
+    this.executor.shutdown();
+    Assert.assertTrue(this.executor.awaitTermination(5, TimeUnit.SECONDS));
+    Assert.assertEquals(0, bounded.running());
+    Assert.assertEquals(0, bounded.queued());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBoundedSolverExecutorIllegalSize() {
+    new BoundedSolverExecutor(this.executor, 0);
+  }
+}
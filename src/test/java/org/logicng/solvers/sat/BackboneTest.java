@@ -0,0 +1,173 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.solvers.Backbone;
+import org.logicng.solvers.CleaneLing;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Unit tests for the backbone computation.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public class BackboneTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+
+  private SATSolver[] solvers() {
+    return new SATSolver[]{
+            MiniSat.miniSat(f),
+            MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(false).build()),
+            MiniSat.miniSat(f, new MiniSatConfig.Builder().proofGeneration(true).build()),
+            MiniSat.glucose(f),
+            MiniSat.miniCard(f)
+    };
+  }
+
+  @Test
+  public void testSimple() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(f);
+    final List<Variable> vars = Arrays.asList(f.variable("a"), f.variable("b"), f.variable("c"), f.variable("d"),
+            f.variable("e"), f.variable("x"));
+    final Backbone expected = new Backbone(Arrays.asList(f.variable("a"), f.variable("e")),
+            Collections.singletonList(f.variable("d")), Arrays.asList(f.variable("b"), f.variable("c"), f.variable("x")));
+    for (final SATSolver solver : solvers()) {
+      solver.add(p.parse("a & (b | c) & ~d & (a => e)"));
+      final Backbone backbone = solver.backbone(vars);
+      Assert.assertEquals(expected, backbone);
+      Assert.assertEquals(p.parse("a & ~d & e"), backbone.toFormula(f));
+      Assert.assertEquals(Tristate.TRUE, solver.sat());
+      Assert.assertEquals(3, solver.enumerateAllModels(Arrays.asList(f.variable("b"), f.variable("c"))).size());
+    }
+  }
+
+  @Test
+  public void testUnsat() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(f);
+    for (final SATSolver solver : solvers()) {
+      solver.add(p.parse("a & (a => b) & ~b"));
+      final Backbone backbone = solver.backbone(Arrays.asList(f.variable("a"), f.variable("b")));
+      Assert.assertFalse(backbone.isSat());
+      Assert.assertEquals(Backbone.unsatBackbone(), backbone);
+      Assert.assertEquals(f.falsum(), backbone.toFormula(f));
+    }
+  }
+
+  @Test
+  public void testScopes() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(f);
+    for (final SATSolver solver : solvers()) {
+      solver.add(p.parse("a | b"));
+      Assert.assertTrue(solver.backbone(null).completeBackbone().isEmpty());
+      solver.push();
+      solver.add(p.parse("~a"));
+      Assert.assertEquals(new Backbone(Collections.singletonList(f.variable("b")), Collections.singletonList(f.variable("a")),
+              Collections.<Variable>emptyList()), solver.backbone(null));
+      solver.pop();
+      Assert.assertTrue(solver.backbone(Arrays.asList(f.variable("a"), f.variable("b"))).completeBackbone().isEmpty());
+    }
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testCleaneLing() throws ParserException {
+    final SATSolver solver = CleaneLing.minimalistic(f);
+    solver.add(new PropositionalParser(f).parse("a | b"));
+    solver.backbone(null);
+  }
+
+  @Test
+  public void testRandomAgainstAssumptions() {
+    final Random random = new Random(42);
+    final List<Variable> vars = new ArrayList<>();
+    for (int i = 0; i < 30; i++)
+      vars.add(f.variable("v" + i));
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      for (int instance = 0; instance < 50; instance++) {
+        final List<Formula> clauses = new ArrayList<>();
+        final int numClauses = 20 + random.nextInt(60);
+        for (int i = 0; i < numClauses; i++) {
+          final List<Literal> clause = new ArrayList<>();
+          final int size = 1 + random.nextInt(i % 4 == 0 ? 2 : 3);
+          for (int j = 0; j < size; j++)
+            clause.add(f.literal("v" + random.nextInt(vars.size()), random.nextBoolean()));
+          clauses.add(f.or(clause));
+        }
+        final Backbone expected = expectedBackbone(clauses, vars);
+        for (final SATSolver solver : solvers()) {
+          solver.add(clauses);
+          Assert.assertEquals(expected, solver.backbone(vars));
+          if (solver instanceof MiniSat)
+            Assert.assertEquals(expected, ((MiniSat) solver).backbone(vars, executor));
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private Backbone expectedBackbone(final List<Formula> clauses, final List<Variable> vars) {
+    final MiniSat solver = MiniSat.miniSat(f);
+    solver.add(clauses);
+    if (solver.sat() != Tristate.TRUE)
+      return Backbone.unsatBackbone();
+    final List<Variable> positive = new ArrayList<>();
+    final List<Variable> negative = new ArrayList<>();
+    final List<Variable> optional = new ArrayList<>();
+    for (final Variable var : vars) {
+      if (solver.sat(var.negate()) == Tristate.FALSE)
+        positive.add(var);
+      else if (solver.sat(var) == Tristate.FALSE)
+        negative.add(var);
+      else
+        optional.add(var);
+    }
+    return new Backbone(positive, negative, optional);
+  }
+}
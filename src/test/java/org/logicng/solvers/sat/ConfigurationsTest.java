@@ -69,6 +69,8 @@ public class ConfigurationsTest {
             "incremental=false%n" +
             "initialPhase=true%n" +
             "proofGeneration=false%n" +
+            "reuseTrail=false%n" +
+            "pbPropagation=false%n" +
             "}%n");
     Assert.assertEquals(expected, config.toString());
   }
@@ -210,6 +212,9 @@ public class ConfigurationsTest {
             "symmetry=false%n" +
             "limit=1000%n" +
             "bmo=false%n" +
+            "localSearchFlips=0%n" +
+            "preprocessing=false%n" +
+            "enumeration=false%n" +
             "}%n");
     Assert.assertEquals(expected, config.toString());
   }
@@ -0,0 +1,181 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.solvers.Backbone;
+import org.logicng.solvers.Configurator;
+import org.logicng.solvers.MiniSat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for the configurator.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public class ConfiguratorTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+
+  private MiniSat[] solvers() {
+    return new MiniSat[]{
+            MiniSat.miniSat(f),
+            MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(false).build()),
+            MiniSat.miniSat(f, new MiniSatConfig.Builder().proofGeneration(true).build()),
+            MiniSat.glucose(f),
+            MiniSat.miniCard(f)
+    };
+  }
+
+  @Test
+  public void testSimple() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(f);
+    final List<Variable> vars = Arrays.asList(f.variable("a"), f.variable("b"), f.variable("c"), f.variable("d"),
+            f.variable("x"));
+    for (final MiniSat solver : solvers()) {
+      solver.add(p.parse("(a => b) & (b => ~c) & (c | d)"));
+      final Configurator configurator = solver.configurator(vars);
+      Assert.assertEquals(new Backbone(Collections.<Variable>emptyList(), Collections.<Variable>emptyList(), vars),
+              configurator.validDomains(Collections.<Literal>emptyList()));
+      Assert.assertEquals(new Backbone(Arrays.asList(f.variable("a"), f.variable("b"), f.variable("d")),
+                      Collections.singletonList(f.variable("c")), Collections.singletonList(f.variable("x"))),
+              configurator.validDomains(Collections.singletonList(f.literal("a", true))));
+      Assert.assertEquals(new Backbone(Arrays.asList(f.variable("a"), f.variable("b"), f.variable("d"), f.variable("x")),
+                      Collections.singletonList(f.variable("c")), Collections.<Variable>emptyList()),
+              configurator.validDomains(Arrays.asList(f.literal("a", true), f.literal("x", true))));
+      Assert.assertEquals(new Backbone(Collections.singletonList(f.variable("c")),
+                      Arrays.asList(f.variable("a"), f.variable("b")), Arrays.asList(f.variable("d"), f.variable("x"))),
+              configurator.validDomains(Collections.singletonList(f.literal("c", true))));
+      Assert.assertEquals(Tristate.TRUE, solver.sat());
+    }
+  }
+
+  @Test
+  public void testUnsatDecisions() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(f);
+    final List<Variable> vars = Arrays.asList(f.variable("a"), f.variable("b"), f.variable("c"), f.variable("d"));
+    for (final MiniSat solver : solvers()) {
+      solver.add(p.parse("(a | b) & (c | d) & (~a | ~c) & (~b | ~d)"));
+      final Configurator configurator = solver.configurator(vars);
+      Assert.assertTrue(configurator.validDomains(Collections.singletonList(f.literal("a", true))).isSat());
+      Assert.assertFalse(configurator.validDomains(Arrays.asList(f.literal("a", true), f.literal("c", true))).isSat());
+      Assert.assertFalse(configurator.validDomains(Arrays.asList(f.literal("a", true), f.literal("d", false))).isSat());
+      Assert.assertFalse(configurator.validDomains(Arrays.asList(f.literal("a", true), f.literal("d", false),
+              f.literal("b", true))).isSat());
+      Assert.assertFalse(configurator.validDomains(Arrays.asList(f.literal("y", true), f.literal("y", false))).isSat());
+      Assert.assertTrue(configurator.validDomains(Collections.singletonList(f.literal("d", true))).isSat());
+      Assert.assertEquals(Tristate.TRUE, solver.sat());
+    }
+  }
+
+  @Test
+  public void testReset() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(f);
+    final List<Variable> vars = Arrays.asList(f.variable("a"), f.variable("b"));
+    for (final MiniSat solver : solvers()) {
+      solver.add(p.parse("a | b"));
+      final Configurator configurator = solver.configurator(vars);
+      Assert.assertEquals(2, configurator.validDomains(Collections.<Literal>emptyList()).optionalVariables().size());
+      solver.add(p.parse("~a"));
+      configurator.reset();
+      Assert.assertEquals(new Backbone(Collections.singletonList(f.variable("b")),
+                      Collections.singletonList(f.variable("a")), Collections.<Variable>emptyList()),
+              configurator.validDomains(Collections.<Literal>emptyList()));
+    }
+  }
+
+  @Test
+  public void testRandomDecisionSequences() {
+    final Random random = new Random(42);
+    final List<Variable> vars = new ArrayList<>();
+    for (int i = 0; i < 25; i++)
+      vars.add(f.variable("v" + i));
+    for (int instance = 0; instance < 30; instance++) {
+      final List<Formula> clauses = new ArrayList<>();
+      final int numClauses = 20 + random.nextInt(50);
+      for (int i = 0; i < numClauses; i++) {
+        final List<Literal> clause = new ArrayList<>();
+        final int size = 2 + random.nextInt(2);
+        for (int j = 0; j < size; j++)
+          clause.add(f.literal("v" + random.nextInt(vars.size()), random.nextBoolean()));
+        clauses.add(f.or(clause));
+      }
+      for (final MiniSat solver : solvers()) {
+        solver.add(clauses);
+        final MiniSat reference = MiniSat.miniSat(f);
+        reference.add(clauses);
+        final Configurator configurator = solver.configurator(vars);
+        for (int sequence = 0; sequence < 3; sequence++) {
+          final List<Literal> decisions = new ArrayList<>();
+          for (int step = 0; step < 6; step++) {
+            decisions.add(f.literal("v" + random.nextInt(vars.size()), random.nextBoolean()));
+            final Backbone domains = configurator.validDomains(decisions);
+            Assert.assertEquals(bruteForce(reference, vars, decisions), domains);
+            Assert.assertEquals(domains, configurator.validDomains(decisions));
+          }
+        }
+      }
+    }
+  }
+
+  private Backbone bruteForce(final MiniSat solver, final List<Variable> vars, final List<Literal> decisions) {
+    if (solver.sat(decisions) != Tristate.TRUE)
+      return Backbone.unsatBackbone();
+    final List<Variable> positive = new ArrayList<>();
+    final List<Variable> negative = new ArrayList<>();
+    final List<Variable> optional = new ArrayList<>();
+    for (final Variable var : vars) {
+      final List<Literal> assumptions = new ArrayList<>(decisions);
+      assumptions.add(var);
+      final boolean canBeTrue = solver.sat(assumptions) == Tristate.TRUE;
+      assumptions.set(assumptions.size() - 1, var.negate());
+      final boolean canBeFalse = solver.sat(assumptions) == Tristate.TRUE;
+      if (canBeTrue && canBeFalse)
+        optional.add(var);
+      else if (canBeTrue)
+        positive.add(var);
+      else
+        negative.add(var);
+    }
+    return new Backbone(positive, negative, optional);
+  }
+}
@@ -0,0 +1,159 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.ModelCube;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for the model enumeration with don't-care cubes of the MiniSat solvers.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public class CubeEnumerationTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+  private final PropositionalParser p = new PropositionalParser(f);
+
+  private MiniSat[] solvers() {
+    return new MiniSat[]{
+            MiniSat.miniSat(f),
+            MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(false).build()),
+            MiniSat.miniSat(f, new MiniSatConfig.Builder().pbPropagation(true).build()),
+            MiniSat.glucose(f),
+            MiniSat.miniCard(f)
+    };
+  }
+
+  @Test
+  public void testDontCares() throws ParserException {
+    final List<Variable> vars = vars("a", "b", "c", "d", "e", "g");
+    for (final MiniSat s : solvers()) {
+      s.add(p.parse("(a | b) & (c | ~d) & (e | g)"));
+      final List<ModelCube> cubes = s.enumerateAllCubes(vars);
+      Assert.assertTrue(cubes.size() < 10);
+      Assert.assertEquals(BigInteger.valueOf(27), countModels(cubes));
+      Assert.assertEquals(27, s.enumerateAllModels(vars).size());
+    }
+  }
+
+  @Test
+  public void testTautologyAndUnsat() throws ParserException {
+    for (final MiniSat s : solvers()) {
+      s.add(p.parse("a | ~a | b"));
+      final List<ModelCube> cubes = s.enumerateAllCubes(vars("a", "b", "x"));
+      Assert.assertEquals(1, cubes.size());
+      Assert.assertEquals(0, cubes.get(0).cube().size());
+      Assert.assertEquals(0, cubes.get(0).dontCares());
+      Assert.assertEquals(BigInteger.ONE, cubes.get(0).numberOfModels());
+    }
+    for (final MiniSat s : solvers()) {
+      s.add(p.parse("a | b"));
+      final List<ModelCube> cubes = s.enumerateAllCubes(vars("a", "b", "x"));
+      Assert.assertTrue(cubes.size() <= 2);
+      Assert.assertEquals(BigInteger.valueOf(3), countModels(cubes));
+    }
+    for (final MiniSat s : solvers()) {
+      s.add(p.parse("a & ~a"));
+      Assert.assertTrue(s.enumerateAllCubes(vars("a")).isEmpty());
+    }
+  }
+
+  @Test
+  public void testCardinalityConstraints() {
+    final List<Variable> vars = vars("a", "b", "c", "d");
+    for (final MiniSat s : solvers()) {
+      s.add(f.cc(CType.LE, 1, vars));
+      Assert.assertEquals(BigInteger.valueOf(5), countModels(s.enumerateAllCubes(vars)));
+    }
+  }
+
+  @Test
+  public void testRandomFormulas() {
+    final Random random = new Random(42);
+    final List<Variable> vars = new ArrayList<>();
+    for (int i = 0; i < 10; i++)
+      vars.add(f.variable("v" + i));
+    for (int instance = 0; instance < 50; instance++) {
+      final List<Formula> clauses = new ArrayList<>();
+      for (int i = 0; i < 8 + random.nextInt(10); i++) {
+        final List<Literal> clause = new ArrayList<>();
+        for (int j = 0; j < 3; j++)
+          clause.add(f.literal("v" + random.nextInt(vars.size()), random.nextBoolean()));
+        clauses.add(f.or(clause));
+      }
+      final List<Variable> projection = vars.subList(0, 3 + random.nextInt(vars.size() - 3));
+      for (final MiniSat s : solvers()) {
+        s.add(clauses);
+        final List<ModelCube> cubes = s.enumerateAllCubes(projection);
+        final List<Assignment> models = s.enumerateAllModels(projection);
+        Assert.assertEquals(BigInteger.valueOf(models.size()), countModels(cubes));
+        for (final Assignment model : models) {
+          int covering = 0;
+          for (final ModelCube cube : cubes)
+            if (model.positiveLiterals().containsAll(cube.cube().positiveLiterals())
+                    && model.negativeLiterals().containsAll(cube.cube().negativeLiterals()))
+              covering++;
+          Assert.assertEquals(1, covering);
+        }
+      }
+    }
+  }
+
+  private List<Variable> vars(final String... names) {
+    final List<Variable> vars = new ArrayList<>();
+    for (final String name : names)
+      vars.add(f.variable(name));
+    return vars;
+  }
+
+  private BigInteger countModels(final List<ModelCube> cubes) {
+    BigInteger count = BigInteger.ZERO;
+    for (final ModelCube cube : cubes)
+      count = count.add(cube.numberOfModels());
+    return count;
+  }
+}
@@ -66,7 +66,7 @@ public class IncDecTest {
       if (s.underlyingSolver() instanceof MiniCard)
         Assert.assertEquals("SolverState{id=0, state=[1, 1, 0, 0, 1]}", state1.toString());
       else
-        Assert.assertEquals("SolverState{id=0, state=[1, 1, 0, 0, 1, 0, 0]}", state1.toString());
+        Assert.assertEquals("SolverState{id=0, state=[1, 1, 0, 0, 1, 0, 0, 0, 0]}", state1.toString());
       Assert.assertEquals(TRUE, s.sat());
       s.add(pg.generate(5));
       Assert.assertEquals(FALSE, s.sat());
@@ -81,7 +81,7 @@ public class IncDecTest {
       if (s.underlyingSolver() instanceof MiniCard)
         Assert.assertEquals("SolverState{id=1, state=[1, 31, 81, 0, 1]}", state2.toString());
       else
-        Assert.assertEquals("SolverState{id=1, state=[1, 31, 81, 0, 1, 0, 0]}", state2.toString());
+        Assert.assertEquals("SolverState{id=1, state=[1, 31, 81, 0, 1, 0, 0, 0, 0]}", state2.toString());
       s.add(pg.generate(4));
       Assert.assertEquals(FALSE, s.sat());
       s.loadState(state2);
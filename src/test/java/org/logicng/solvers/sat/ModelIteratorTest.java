@@ -0,0 +1,160 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.Model;
+import org.logicng.solvers.ModelIterator;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static org.logicng.datastructures.Tristate.TRUE;
+
+/**
+ * Unit tests for the streaming model enumeration of the MiniSat solvers.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public class ModelIteratorTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+  private final PropositionalParser p = new PropositionalParser(f);
+  private final Variable a = f.variable("a");
+  private final Variable b = f.variable("b");
+  private final Variable c = f.variable("c");
+  private final Variable d = f.variable("d");
+  private final Variable x = f.variable("x");
+
+  private MiniSat[] solvers() {
+    return new MiniSat[]{
+            MiniSat.miniSat(f),
+            MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(false).build()),
+            MiniSat.glucose(f),
+            MiniSat.glucose(f, new MiniSatConfig.Builder().incremental(false).build(), new GlucoseConfig.Builder().build()),
+            MiniSat.miniCard(f)
+    };
+  }
+
+  @Test
+  public void testCompleteEnumeration() throws ParserException {
+    for (final MiniSat s : solvers()) {
+      s.add(p.parse("(a | b) & (c | d)"));
+      final Set<Assignment> models = new HashSet<>();
+      try (final ModelIterator iterator = s.modelIterator(Arrays.asList(a, b, c, d))) {
+        while (iterator.hasNext())
+          Assert.assertTrue(models.add(iterator.next().assignment()));
+        Assert.assertTrue(iterator.isClosed());
+      }
+      Assert.assertEquals(9, models.size());
+      Assert.assertEquals(new HashSet<>(s.enumerateAllModels(Arrays.asList(a, b, c, d))), models);
+    }
+  }
+
+  @Test
+  public void testEarlyTermination() throws ParserException {
+    for (final MiniSat s : solvers()) {
+      s.add(p.parse("(a | b) & (c | d)"));
+      try (final ModelIterator iterator = s.modelIterator(Arrays.asList(a, b, c, d))) {
+        for (int i = 0; i < 9; i++)
+          iterator.next();
+        Assert.assertFalse(iterator.isClosed());
+      }
+      Assert.assertEquals(TRUE, s.sat(Arrays.<Literal>asList(a, b, c, d)));
+      Assert.assertEquals(9, s.enumerateAllModels(Arrays.asList(a, b, c, d)).size());
+    }
+  }
+
+  @Test
+  public void testProjection() throws ParserException {
+    for (final MiniSat s : solvers()) {
+      s.add(p.parse("(a | b) & (c | d)"));
+      int count = 0;
+      try (final ModelIterator iterator = s.modelIterator(Arrays.asList(a, b), Collections.singletonList(c))) {
+        while (iterator.hasNext()) {
+          final Model model = iterator.next();
+          Assert.assertEquals(3, model.size());
+          Assert.assertTrue(model.evaluateLit(a) || model.evaluateLit(b));
+          count++;
+        }
+      }
+      Assert.assertEquals(3, count);
+    }
+  }
+
+  @Test
+  public void testUnknownAndNoVariables() throws ParserException {
+    for (final MiniSat s : solvers()) {
+      s.add(p.parse("a | b"));
+      final List<Variable> unknown = Collections.singletonList(x);
+      int count = 0;
+      try (final ModelIterator iterator = s.modelIterator(unknown)) {
+        while (iterator.hasNext()) {
+          Assert.assertEquals(0, iterator.next().size());
+          count++;
+        }
+      }
+      Assert.assertEquals(1, count);
+      Assert.assertEquals(TRUE, s.sat());
+    }
+  }
+
+  @Test
+  public void testUnsat() throws ParserException {
+    for (final MiniSat s : solvers()) {
+      s.add(p.parse("a & ~a"));
+      final ModelIterator iterator = s.modelIterator(Collections.singletonList(a));
+      Assert.assertFalse(iterator.hasNext());
+      Assert.assertTrue(iterator.isClosed());
+      iterator.close();
+    }
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void testExhausted() throws ParserException {
+    final MiniSat s = MiniSat.miniSat(f);
+    s.add(p.parse("a & b"));
+    final ModelIterator iterator = s.modelIterator(Arrays.asList(a, b));
+    iterator.next();
+    iterator.next();
+  }
+}
@@ -0,0 +1,126 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.Model;
+
+import java.util.Arrays;
+
+/**
+ * Unit tests for the lazy model views of the MiniSat solvers.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public class ModelViewTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+  private final Variable a = f.variable("a");
+  private final Variable b = f.variable("b");
+  private final Variable c = f.variable("c");
+  private final Variable x = f.variable("x");
+
+  private MiniSat[] solvers() {
+    return new MiniSat[]{MiniSat.miniSat(f), MiniSat.glucose(f), MiniSat.miniCard(f)};
+  }
+
+  @Test
+  public void testValues() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(f);
+    for (final MiniSat s : solvers()) {
+      s.add(p.parse("a & ~b & (c | ~a)"));
+      Assert.assertEquals(Tristate.TRUE, s.sat());
+      final Model model = s.modelView();
+      Assert.assertEquals(3, model.size());
+      Assert.assertEquals(Tristate.TRUE, model.value(a));
+      Assert.assertEquals(Tristate.FALSE, model.value(b));
+      Assert.assertEquals(Tristate.TRUE, model.value(c));
+      Assert.assertEquals(Tristate.UNDEF, model.value(x));
+      Assert.assertTrue(model.evaluateLit(a));
+      Assert.assertTrue(model.evaluateLit(b.negate()));
+      Assert.assertFalse(model.evaluateLit(c.negate()));
+      Assert.assertFalse(model.evaluateLit(x));
+      Assert.assertTrue(model.evaluateLit(x.negate()));
+      Assert.assertEquals(new Assignment(a, b.negate(), c), model.assignment());
+      Assert.assertEquals(s.model(), model.assignment());
+    }
+  }
+
+  @Test
+  public void testRelevantVariables() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(f);
+    for (final MiniSat s : solvers()) {
+      s.add(p.parse("a & ~b & c"));
+      s.sat();
+      final Model model = s.modelView(Arrays.asList(a, b, x));
+      Assert.assertEquals(2, model.size());
+      Assert.assertEquals(Tristate.TRUE, model.value(c));
+      Assert.assertEquals(new Assignment(a, b.negate()), model.assignment());
+      Assert.assertEquals(s.model(Arrays.asList(a, b, x)), model.assignment(true));
+    }
+  }
+
+  @Test
+  public void testViewSurvivesFurtherCalls() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(f);
+    for (final MiniSat s : solvers()) {
+      s.add(p.parse("a | b"));
+      s.add(p.parse("~a | ~b"));
+      s.sat(a);
+      final Model first = s.modelView(Arrays.asList(a, b));
+      s.sat(b);
+      final Model second = s.modelView(Arrays.asList(a, b));
+      Assert.assertEquals(new Assignment(a, b.negate()), first.assignment());
+      Assert.assertEquals(new Assignment(a.negate(), b), second.assignment());
+    }
+  }
+
+  @Test
+  public void testUnsat() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(f);
+    final MiniSat s = MiniSat.miniSat(f);
+    s.add(p.parse("a & ~a"));
+    Assert.assertEquals(Tristate.FALSE, s.sat());
+    Assert.assertNull(s.modelView());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testNotSolved() {
+    MiniSat.miniSat(f).modelView();
+  }
+}
@@ -0,0 +1,343 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.handlers.OptimizationHandler;
+import org.logicng.handlers.SATHandler;
+import org.logicng.solvers.CleaneLing;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.Objective;
+import org.logicng.solvers.OptimizationResult;
+import org.logicng.solvers.Optimizer;
+import org.logicng.solvers.SATSolver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedSet;
+
+import static org.logicng.datastructures.Tristate.FALSE;
+import static org.logicng.datastructures.Tristate.TRUE;
+import static org.logicng.datastructures.Tristate.UNDEF;
+import static org.logicng.solvers.Optimizer.Direction.MAXIMIZE;
+import static org.logicng.solvers.Optimizer.Direction.MINIMIZE;
+
+/**
+ * Unit tests for the optimization of linear objectives on SAT solvers.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public class OptimizationTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+  private final Variable a = f.variable("a");
+  private final Variable b = f.variable("b");
+  private final Variable c = f.variable("c");
+
+  private SATSolver[] solvers() {
+    return new SATSolver[]{
+            MiniSat.miniSat(f),
+            MiniSat.miniSat(f, new MiniSatConfig.Builder().pbPropagation(true).build()),
+            MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(false).build()),
+            MiniSat.miniCard(f),
+            MiniSat.glucose(f)
+    };
+  }
+
+  @Test
+  public void testSimpleObjectives() {
+    for (final SATSolver s : solvers()) {
+      s.add(f.or(a, b, c));
+      s.add(f.or(a.negate(), b.negate()));
+      final Objective objective = new Objective(Arrays.asList(a, b, c), Arrays.asList(3, 2, 4));
+      for (final Optimizer.Strategy strategy : Optimizer.Strategy.values()) {
+        final OptimizationResult min = s.optimize(objective, MINIMIZE, strategy, null);
+        Assert.assertEquals(TRUE, min.result());
+        Assert.assertEquals(2, min.value());
+        Assert.assertEquals(new Assignment(a.negate(), b, c.negate()), min.model());
+        final OptimizationResult max = s.optimize(objective, MAXIMIZE, strategy, null);
+        Assert.assertEquals(TRUE, max.result());
+        Assert.assertEquals(7, max.value());
+      }
+      Assert.assertEquals(5, s.enumerateAllModels(Arrays.asList(a, b, c)).size());
+    }
+  }
+
+  @Test
+  public void testNegativeCoefficientsAndUnknownVariables() {
+    final Variable x = f.variable("x_unknown");
+    for (final SATSolver s : solvers()) {
+      s.add(f.or(a, b));
+      final Objective objective = new Objective(Arrays.asList(a, b.negate(), x, a.negate(), x.negate()),
+              Arrays.asList(-2, 3, 5, 1, -1));
+      for (final Optimizer.Strategy strategy : Optimizer.Strategy.values()) {
+        final OptimizationResult min = s.optimize(objective, MINIMIZE, strategy, null);
+        Assert.assertEquals(-3, min.value());
+        Assert.assertEquals(min.value(), objective.value(min.model()));
+        final OptimizationResult max = s.optimize(objective, MAXIMIZE, strategy, null);
+        Assert.assertEquals(6, max.value());
+        Assert.assertEquals(max.value(), objective.value(max.model()));
+      }
+      Assert.assertFalse(s.knownVariables().contains(x));
+    }
+  }
+
+  @Test
+  public void testAuxiliaryObjectiveVariables() {
+    final Variable r1 = f.newPBVariable();
+    final Variable r2 = f.newPBVariable();
+    for (final SATSolver s : solvers()) {
+      s.add(f.or(a, r1));
+      s.add(f.or(a.negate(), r2));
+      final OptimizationResult result = s.optimize(new Objective(Arrays.asList(r1, r2), Arrays.asList(2, 3)), MINIMIZE);
+      Assert.assertEquals(2, result.value());
+      Assert.assertTrue(result.model().positiveLiterals().contains(r1));
+    }
+  }
+
+  @Test
+  public void testUnsatisfiable() {
+    for (final SATSolver s : solvers()) {
+      s.add(f.and(f.or(a, b), a.negate(), b.negate()));
+      for (final Optimizer.Strategy strategy : Optimizer.Strategy.values()) {
+        final OptimizationResult result = s.optimize(Objective.sum(Arrays.asList(a, b)), MINIMIZE, strategy, null);
+        Assert.assertEquals(FALSE, result.result());
+        Assert.assertNull(result.model());
+      }
+    }
+  }
+
+  @Test
+  public void testCardinalityObjective() {
+    final List<Variable> vars = new ArrayList<>();
+    for (int i = 0; i < 12; i++)
+      vars.add(f.variable("v" + i));
+    for (final SATSolver s : solvers()) {
+      s.add(f.cc(CType.GE, 7, vars));
+      for (int i = 0; i < 11; i += 2)
+        s.add(f.or(vars.get(i), vars.get(i + 1)));
+      s.add(f.or(vars.get(0), vars.get(2)));
+      for (final Optimizer.Strategy strategy : Optimizer.Strategy.values()) {
+        Assert.assertEquals(7, s.optimize(Objective.sum(vars), MINIMIZE, strategy, null).value());
+        Assert.assertEquals(12, s.optimize(Objective.sum(vars), MAXIMIZE, strategy, null).value());
+      }
+      Assert.assertEquals(TRUE, s.sat((SATHandler) null, vars));
+    }
+    final SATSolver s = MiniSat.miniSat(f, new MiniSatConfig.Builder().initialPhase(true).build());
+    for (int i = 0; i < 11; i++)
+      s.add(f.or(vars.get(i), vars.get(i + 1).negate()));
+    final OptimizationResult result = s.optimize(Objective.sum(vars), MINIMIZE);
+    Assert.assertEquals(0, result.value());
+    Assert.assertEquals(12, s.optimize(Objective.sum(vars), MAXIMIZE).value());
+  }
+
+  @Test
+  public void testRandom() {
+    final Random random = new Random(42);
+    final int numVars = 10;
+    final List<Variable> vars = new ArrayList<>();
+    for (int i = 0; i < numVars; i++)
+      vars.add(f.variable("r" + i));
+    for (int instance = 0; instance < 40; instance++) {
+      final List<Formula> clauses = new ArrayList<>();
+      for (int i = 0; i < 25 + random.nextInt(15); i++)
+        clauses.add(f.or(randomLiteral(random, vars), randomLiteral(random, vars), randomLiteral(random, vars)));
+      final List<Literal> literals = new ArrayList<>();
+      final List<Integer> coefficients = new ArrayList<>();
+      for (int i = 0; i < 3 + random.nextInt(10); i++) {
+        literals.add(randomLiteral(random, vars));
+        coefficients.add(random.nextInt(12) - 3);
+      }
+      final Objective objective = new Objective(literals, coefficients);
+      final SATSolver reference = MiniSat.miniSat(f);
+      reference.add(clauses);
+      final List<Assignment> models = reference.enumerateAllModels(vars);
+      long min = Long.MAX_VALUE;
+      long max = Long.MIN_VALUE;
+      for (final Assignment model : models) {
+        min = Math.min(min, objective.value(model));
+        max = Math.max(max, objective.value(model));
+      }
+      for (final SATSolver s : solvers()) {
+        s.add(clauses);
+        final SortedSet<Variable> known = s.knownVariables();
+        for (final Optimizer.Strategy strategy : Optimizer.Strategy.values())
+          for (final Optimizer.Direction direction : Optimizer.Direction.values()) {
+            final OptimizationResult result = s.optimize(objective, direction, strategy, null);
+            if (models.isEmpty()) {
+              Assert.assertEquals(FALSE, result.result());
+              continue;
+            }
+            Assert.assertEquals(TRUE, result.result());
+            Assert.assertEquals(direction == MINIMIZE ? min : max, result.value());
+            Assert.assertEquals(result.value(), objective.value(result.model()));
+            Assert.assertTrue(f.and(clauses).evaluate(result.model()));
+          }
+        Assert.assertTrue(s.knownVariables().containsAll(known));
+        if (!models.isEmpty()) {
+          final List<Variable> knownVars = new ArrayList<>(vars);
+          knownVars.retainAll(known);
+          Assert.assertEquals(models.size(), s.enumerateAllModels(knownVars).size() << (numVars - knownVars.size()));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testHandler() {
+    final List<Variable> vars = new ArrayList<>();
+    for (int i = 0; i < 10; i++)
+      vars.add(f.variable("h" + i));
+    final List<Integer> weights = new ArrayList<>();
+    for (int i = 0; i < 10; i++)
+      weights.add(i + 1);
+    final Objective objective = new Objective(vars, weights);
+    for (final Optimizer.Strategy strategy : Optimizer.Strategy.values()) {
+      final SATSolver s = MiniSat.miniSat(f);
+      s.add(f.cc(CType.GE, 4, vars));
+      final TestHandler handler = new TestHandler(Integer.MAX_VALUE);
+      final OptimizationResult result = s.optimize(objective, MINIMIZE, strategy, handler);
+      Assert.assertEquals(TRUE, result.result());
+      Assert.assertEquals(10, result.value());
+      Assert.assertTrue(handler.started && handler.finished);
+      Assert.assertEquals(10, handler.solutions.get(handler.solutions.size() - 1).longValue());
+      for (int i = 1; i < handler.solutions.size(); i++)
+        Assert.assertTrue(handler.solutions.get(i) < handler.solutions.get(i - 1));
+      for (final long bound : handler.bounds)
+        Assert.assertTrue(bound <= 10);
+      if (strategy == Optimizer.Strategy.CORE_GUIDED)
+        Assert.assertFalse(handler.bounds.isEmpty());
+    }
+  }
+
+  @Test
+  public void testHandlerAbort() {
+    final List<Variable> vars = new ArrayList<>();
+    for (int i = 0; i < 10; i++)
+      vars.add(f.variable("h" + i));
+    for (final Optimizer.Strategy strategy : Arrays.asList(Optimizer.Strategy.LINEAR, Optimizer.Strategy.BINARY)) {
+      final SATSolver s = MiniSat.miniSat(f);
+      s.add(f.cc(CType.GE, 4, vars));
+      final TestHandler handler = new TestHandler(1);
+      final OptimizationResult result = s.optimize(Objective.sum(vars), MAXIMIZE, strategy, handler);
+      Assert.assertEquals(UNDEF, result.result());
+      Assert.assertNotNull(result.model());
+      Assert.assertEquals(1, handler.solutions.size());
+      Assert.assertEquals(handler.solutions.get(0).longValue(), result.value());
+      Assert.assertTrue(handler.finished);
+      Assert.assertEquals(TRUE, s.sat(Collections.<Literal>singletonList(vars.get(0).negate())));
+    }
+  }
+
+  @Test
+  public void testFailedAssumptions() {
+    final SATSolver s = MiniSat.miniSat(f);
+    s.add(f.or(a.negate(), b.negate()));
+    Assert.assertEquals(FALSE, s.sat(Arrays.<Literal>asList(a, b, c)));
+    Assert.assertEquals(new Assignment(a, b).literals(), s.failedAssumptions());
+    Assert.assertEquals(TRUE, s.sat(Arrays.<Literal>asList(a, c)));
+    try {
+      s.failedAssumptions();
+      Assert.fail("Expected IllegalStateException");
+    } catch (final IllegalStateException e) {
+      // expected
+    }
+    s.add(f.and(a, b));
+    Assert.assertEquals(FALSE, s.sat(Collections.<Literal>singletonList(c)));
+    Assert.assertTrue(s.failedAssumptions().isEmpty());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testCleaneLing() {
+    final SATSolver s = CleaneLing.minimalistic(f);
+    s.add(f.or(a, b));
+    s.optimize(Objective.sum(Arrays.asList(a, b)), MINIMIZE);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCoefficientOverflow() {
+    final SATSolver s = MiniSat.miniSat(f);
+    s.add(f.or(a, b));
+    s.optimize(new Objective(Arrays.asList(a, b), Arrays.asList(Integer.MAX_VALUE, -1)), MINIMIZE);
+  }
+
+  private Literal randomLiteral(final Random random, final List<Variable> vars) {
+    return f.literal(vars.get(random.nextInt(vars.size())).name(), random.nextBoolean());
+  }
+
+  private static final class TestHandler implements OptimizationHandler {
+    private final int maxSolutions;
+    private final List<Long> solutions = new ArrayList<>();
+    private final List<Long> bounds = new ArrayList<>();
+    private boolean started;
+    private boolean finished;
+
+    private TestHandler(final int maxSolutions) {
+      this.maxSolutions = maxSolutions;
+    }
+
+    @Override
+    public SATHandler satHandler() {
+      return null;
+    }
+
+    @Override
+    public boolean foundSolution(final long value, final Assignment model) {
+      this.solutions.add(value);
+      return this.solutions.size() < this.maxSolutions;
+    }
+
+    @Override
+    public boolean foundBound(final long bound) {
+      this.bounds.add(bound);
+      return true;
+    }
+
+    @Override
+    public void startedSolving() {
+      this.started = true;
+    }
+
+    @Override
+    public void finishedSolving() {
+      this.finished = true;
+    }
+  }
+}
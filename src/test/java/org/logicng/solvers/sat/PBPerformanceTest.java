@@ -0,0 +1,154 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.solvers.MiniSat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Performance tests for the native propagation of pseudo-Boolean constraints in comparison to their CNF encoding.
+ * <p>
+ * The workloads consist of random constraints which are solved repeatedly with random assumptions.  The first one has
+ * large coefficients, which makes the encoding huge.  The second one has small coefficients but many conflicts, so the
+ * generation of reason clauses for the conflict analysis dominates the native propagation.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public class PBPerformanceTest {
+
+  @Test
+  public void testSameResults() {
+    for (int seed = 0; seed < 5; seed++) {
+      final List<Tristate> expected = this.run(false, 30, 6, 12, 20, seed).results;
+      final List<Tristate> actual = this.run(true, 30, 6, 12, 20, seed).results;
+      Assert.assertEquals(expected, actual);
+    }
+  }
+
+  @Ignore
+  @Test
+  public void testLargeCoefficients() {
+    this.compare(50, 10, 20, 100);
+  }
+
+  @Ignore
+  @Test
+  public void testManyConflicts() {
+    this.compare(300, 10, 200, 3);
+  }
+
+  private void compare(final int numVars, final int numConstraints, final int size, final int maxCoeff) {
+    for (final boolean pbPropagation : new boolean[]{true, false}) {
+      long build = 0;
+      long solve = 0;
+      long heap = 0;
+      long vars = 0;
+      for (int seed = 0; seed < 5; seed++) {
+        final Result result = this.run(pbPropagation, numVars, numConstraints, size, maxCoeff, seed);
+        build += result.build;
+        solve += result.solve;
+        heap += result.heap;
+        vars += result.vars;
+      }
+      System.out.println(String.format("%s: build %6d ms, solve %6d ms, heap %8d KB, variables %8d",
+              pbPropagation ? "native " : "encoded", build / 5_000_000, solve / 5_000_000, heap / 5 / 1024, vars / 5));
+    }
+  }
+
+  /**
+   * Generates random pseudo-Boolean constraints and solves them with twenty sets of random assumptions.
+   * @param pbPropagation  whether the constraints should be propagated natively or encoded to CNF
+   * @param numVars        the number of variables
+   * @param numConstraints the number of constraints
+   * @param size           the number of literals of each constraint
+   * @param maxCoeff       the maximal coefficient
+   * @param seed           the random seed
+   * @return the results and the measurements
+   */
+  private Result run(final boolean pbPropagation, final int numVars, final int numConstraints, final int size,
+                     final int maxCoeff, final int seed) {
+    final FormulaFactory f = new FormulaFactory();
+    final Random random = new Random(seed);
+    final Runtime runtime = Runtime.getRuntime();
+    final Result result = new Result();
+    System.gc();
+    final long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+    long start = System.nanoTime();
+    final MiniSat solver = MiniSat.miniSat(f, new MiniSatConfig.Builder().pbPropagation(pbPropagation).build());
+    for (int i = 0; i < numConstraints; i++) {
+      final Literal[] lits = new Literal[size];
+      final int[] coeffs = new int[size];
+      final Set<Integer> used = new HashSet<>();
+      int sum = 0;
+      for (int j = 0; j < size; j++) {
+        int var;
+        do
+          var = random.nextInt(numVars);
+        while (!used.add(var));
+        lits[j] = f.literal("x" + var, random.nextBoolean());
+        coeffs[j] = 1 + random.nextInt(maxCoeff);
+        sum += coeffs[j];
+      }
+      solver.add(f.pbc(random.nextBoolean() ? CType.LE : CType.GE, sum / 2, lits, coeffs));
+    }
+    result.build = System.nanoTime() - start;
+    System.gc();
+    result.heap = runtime.totalMemory() - runtime.freeMemory() - heapBefore;
+    result.vars = solver.underlyingSolver().nVars();
+    start = System.nanoTime();
+    for (int i = 0; i < 20; i++) {
+      final List<Literal> assumptions = new ArrayList<>(10);
+      for (int j = 0; j < 10; j++)
+        assumptions.add(f.literal("x" + random.nextInt(numVars), random.nextBoolean()));
+      result.results.add(solver.sat(assumptions));
+    }
+    result.solve = System.nanoTime() - start;
+    return result;
+  }
+
+  private static final class Result {
+    private final List<Tristate> results = new ArrayList<>();
+    private long build;
+    private long solve;
+    private long heap;
+    private int vars;
+  }
+}
@@ -0,0 +1,234 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+import org.logicng.solvers.SolverState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.logicng.datastructures.Tristate.FALSE;
+import static org.logicng.datastructures.Tristate.TRUE;
+
+/**
+ * Unit tests for the native pseudo-Boolean propagation of the MiniSat solver.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public class PBTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+  private final Variable a = f.variable("a");
+  private final Variable b = f.variable("b");
+  private final Variable c = f.variable("c");
+
+  private SATSolver[] solvers() {
+    return new SATSolver[]{
+            MiniSat.miniSat(f, new MiniSatConfig.Builder().pbPropagation(true).build()),
+            MiniSat.miniSat(f, new MiniSatConfig.Builder().pbPropagation(true).incremental(false).build()),
+            MiniSat.miniSat(f, new MiniSatConfig.Builder().pbPropagation(true).reuseTrail(true).build()),
+            MiniSat.miniSat(f, new MiniSatConfig.Builder().pbPropagation(true).proofGeneration(true).build()),
+            MiniSat.miniSat(f),
+            MiniSat.miniCard(f)
+    };
+  }
+
+  private SATSolver[] nativeSolvers() {
+    return new SATSolver[]{
+            MiniSat.miniSat(f, new MiniSatConfig.Builder().pbPropagation(true).build()),
+            MiniSat.miniSat(f, new MiniSatConfig.Builder().pbPropagation(true).incremental(false).build()),
+            MiniSat.miniSat(f, new MiniSatConfig.Builder().pbPropagation(true).reuseTrail(true).build())
+    };
+  }
+
+  @Test
+  public void testSimpleConstraints() {
+    for (final SATSolver s : solvers()) {
+      s.add(f.pbc(CType.GE, 5, new Literal[]{a, b, c}, new int[]{3, 2, 1}));
+      Assert.assertEquals(TRUE, s.sat(Arrays.<Literal>asList(a, b)));
+      Assert.assertEquals(FALSE, s.sat(Arrays.<Literal>asList(a, b.negate())));
+      s.add(f.pbc(CType.LE, 1, new Literal[]{a, b, c}, new int[]{1, 1, 1}));
+      Assert.assertEquals(FALSE, s.sat());
+    }
+    for (final SATSolver s : solvers()) {
+      s.add(f.pbc(CType.GE, 5, new Literal[]{a, b, c}, new int[]{3, 2, 1}));
+      s.add(f.pbc(CType.LE, 2, new Literal[]{a, b, c.negate()}, new int[]{1, 1, 1}));
+      Assert.assertEquals(1, s.enumerateAllModels(Arrays.asList(a, b, c)).size());
+    }
+  }
+
+  @Test
+  public void testUnsatConstraints() {
+    for (final SATSolver s : solvers()) {
+      s.add(f.pbc(CType.GT, 6, new Literal[]{a, b, c}, new int[]{3, 2, 1}));
+      Assert.assertEquals(FALSE, s.sat());
+    }
+    for (final SATSolver s : solvers()) {
+      s.add(f.pbc(CType.EQ, 2, new Literal[]{a, b, c}, new int[]{2, 2, 2}));
+      s.add(f.cc(CType.GE, 2, a, b, c));
+      Assert.assertEquals(FALSE, s.sat());
+    }
+  }
+
+  @Test
+  public void testPigeonHole() {
+    final int holes = 6;
+    for (final SATSolver s : solvers()) {
+      for (int p = 0; p <= holes; p++) {
+        final List<Variable> pigeon = new ArrayList<>();
+        for (int h = 0; h < holes; h++)
+          pigeon.add(f.variable("p" + p + "_" + h));
+        s.add(f.cc(CType.GE, 1, pigeon));
+      }
+      for (int h = 0; h < holes; h++) {
+        final List<Variable> hole = new ArrayList<>();
+        for (int p = 0; p <= holes; p++)
+          hole.add(f.variable("p" + p + "_" + h));
+        s.add(f.cc(CType.LE, 1, hole));
+      }
+      Assert.assertEquals(FALSE, s.sat());
+    }
+  }
+
+  @Test
+  public void testRandomConstraints() {
+    final Random random = new Random(42);
+    final CType[] comparators = CType.values();
+    for (int instance = 0; instance < 100; instance++) {
+      final int numVars = 8;
+      final List<Variable> vars = new ArrayList<>();
+      for (int i = 0; i < numVars; i++)
+        vars.add(f.variable("x" + i));
+      final List<Formula> formulas = new ArrayList<>();
+      final int numConstraints = 1 + random.nextInt(4);
+      for (int i = 0; i < numConstraints; i++) {
+        final int width = 1 + random.nextInt(6);
+        final Literal[] lits = new Literal[width];
+        final int[] coeffs = new int[width];
+        final List<Variable> shuffled = new ArrayList<>(vars);
+        Collections.shuffle(shuffled, random);
+        int sum = 0;
+        for (int j = 0; j < width; j++) {
+          lits[j] = f.literal(shuffled.get(j).name(), random.nextBoolean());
+          coeffs[j] = random.nextInt(9) - 3;
+          sum += Math.abs(coeffs[j]);
+        }
+        final int rhs = random.nextInt(sum + 3) - sum / 2;
+        formulas.add(f.pbc(comparators[random.nextInt(comparators.length)], rhs, lits, coeffs));
+      }
+      formulas.add(f.or(f.literal("x" + random.nextInt(numVars), random.nextBoolean()),
+              f.literal("x" + random.nextInt(numVars), random.nextBoolean())));
+      final int expected = countModels(vars, formulas);
+      for (final SATSolver s : nativeSolvers()) {
+        s.add(formulas);
+        final List<Variable> knownVars = new ArrayList<>(vars);
+        knownVars.retainAll(s.knownVariables());
+        final List<Assignment> models = s.enumerateAllModels(knownVars);
+        Assert.assertEquals(expected, models.size() << (vars.size() - knownVars.size()));
+      }
+    }
+  }
+
+  @Test
+  public void testRandomConstraintsWithAssumptions() {
+    final Random random = new Random(17);
+    final int numVars = 40;
+    final List<Variable> vars = new ArrayList<>();
+    for (int i = 0; i < numVars; i++)
+      vars.add(f.variable("y" + i));
+    final MiniSat nativeSolver = MiniSat.miniSat(f, new MiniSatConfig.Builder().pbPropagation(true).build());
+    final MiniSat encodedSolver = MiniSat.miniSat(f);
+    for (int i = 0; i < 30; i++) {
+      final Literal[] lits = new Literal[8];
+      final int[] coeffs = new int[8];
+      for (int j = 0; j < lits.length; j++) {
+        lits[j] = f.literal("y" + random.nextInt(numVars), random.nextBoolean());
+        coeffs[j] = 1 + random.nextInt(5);
+      }
+      final Formula constraint = f.pbc(CType.GE, 6 + random.nextInt(6), lits, coeffs);
+      nativeSolver.add(constraint);
+      encodedSolver.add(constraint);
+    }
+    for (int i = 0; i < 50; i++) {
+      final List<Literal> assumptions = new ArrayList<>();
+      for (int j = 0; j < 8; j++)
+        assumptions.add(f.literal("y" + random.nextInt(numVars), random.nextBoolean()));
+      Assert.assertEquals(encodedSolver.sat(assumptions), nativeSolver.sat(assumptions));
+    }
+  }
+
+  @Test
+  public void testStatesAndCopies() {
+    final MiniSat s = MiniSat.miniSat(f, new MiniSatConfig.Builder().pbPropagation(true).build());
+    s.add(f.cc(CType.LE, 1, a, b, c));
+    final SolverState state = s.saveState();
+    s.add(f.pbc(CType.GE, 3, new Literal[]{a, b, c}, new int[]{2, 2, 1}));
+    final MiniSat copy = s.copy();
+    Assert.assertEquals(FALSE, s.sat());
+    s.loadState(state);
+    Assert.assertEquals(4, s.enumerateAllModels(Arrays.asList(a, b, c)).size());
+    Assert.assertEquals(TRUE, s.sat(Arrays.<Literal>asList(a, c.negate())));
+    Assert.assertEquals(FALSE, s.sat(Arrays.<Literal>asList(a, c)));
+    Assert.assertEquals(FALSE, copy.sat());
+    s.push();
+    s.add(f.cc(CType.GE, 1, a, b));
+    Assert.assertEquals(2, s.enumerateAllModels(Arrays.asList(a, b, c)).size());
+    s.pop();
+    Assert.assertEquals(4, s.enumerateAllModels(Arrays.asList(a, b, c)).size());
+  }
+
+  private int countModels(final List<Variable> vars, final List<Formula> formulas) {
+    int count = 0;
+    for (int bits = 0; bits < (1 << vars.size()); bits++) {
+      final Assignment assignment = new Assignment();
+      for (int i = 0; i < vars.size(); i++)
+        assignment.addLiteral(f.literal(vars.get(i).name(), (bits & (1 << i)) != 0));
+      boolean satisfied = true;
+      for (final Formula formula : formulas)
+        satisfied &= formula.evaluate(assignment);
+      if (satisfied)
+        count++;
+    }
+    return count;
+  }
+}
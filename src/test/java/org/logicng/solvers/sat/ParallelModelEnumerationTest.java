@@ -0,0 +1,177 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+
+package org.logicng.solvers.sat;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.ParallelModelEnumeration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for the parallel model enumeration.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public class ParallelModelEnumerationTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+  private final ForkJoinPool pool = new ForkJoinPool(4);
+
+  @After
+  public void shutdown() throws InterruptedException {
+    this.pool.shutdown();
+    Assert.assertTrue(this.pool.awaitTermination(10, TimeUnit.SECONDS));
+  }
+
+  private MiniSat[] solvers() {
+    return new MiniSat[]{
+            MiniSat.miniSat(f),
+            MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(false).build()),
+            MiniSat.glucose(f),
+            MiniSat.miniCard(f)
+    };
+  }
+
+  @Test
+  public void testRandomFormulas() {
+    final Random random = new Random(42);
+    final List<Variable> vars = new ArrayList<>();
+    for (int i = 0; i < 14; i++)
+      vars.add(f.variable("v" + i));
+    final List<Variable> projection = vars.subList(0, 10);
+    for (int instance = 0; instance < 10; instance++) {
+      final List<Formula> clauses = new ArrayList<>();
+      for (int i = 0; i < 12; i++) {
+        final List<Literal> clause = new ArrayList<>();
+        for (int j = 0; j < 3; j++)
+          clause.add(f.literal("v" + random.nextInt(vars.size()), random.nextBoolean()));
+        clauses.add(f.or(clause));
+      }
+      for (final MiniSat s : solvers()) {
+        s.add(clauses);
+        final Set<Assignment> found = new HashSet<>();
+        try (final ParallelModelEnumeration enumeration = new ParallelModelEnumeration(s, projection, null, 2, 5, pool)) {
+          while (enumeration.hasNext())
+            Assert.assertTrue(found.add(enumeration.next().assignment()));
+        }
+        Assert.assertEquals(new HashSet<>(s.enumerateAllModels(projection)), found);
+      }
+    }
+  }
+
+  @Test
+  public void testDefaultSplit() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(f);
+    final MiniSat s = MiniSat.miniSat(f);
+    s.add(p.parse("(a | b | c) & (d | e) & (~a | ~e)"));
+    final List<Variable> vars = Arrays.asList(f.variable("a"), f.variable("b"), f.variable("c"), f.variable("d"),
+            f.variable("e"));
+    final int expected = s.enumerateAllModels(vars).size();
+    int count = 0;
+    try (final ParallelModelEnumeration enumeration = new ParallelModelEnumeration(s, vars, pool)) {
+      while (enumeration.hasNext()) {
+        enumeration.next();
+        count++;
+      }
+    }
+    Assert.assertEquals(expected, count);
+  }
+
+  @Test
+  public void testEarlyClose() {
+    final List<Variable> vars = new ArrayList<>();
+    for (int i = 0; i < 16; i++)
+      vars.add(f.variable("w" + i));
+    final MiniSat s = MiniSat.miniSat(f);
+    s.add(f.or(vars));
+    final ParallelModelEnumeration enumeration = new ParallelModelEnumeration(s, vars, vars.subList(0, 4), 2, 10, pool);
+    for (int i = 0; i < 100; i++)
+      enumeration.next();
+    enumeration.close();
+    Assert.assertFalse(enumeration.hasNext());
+    Assert.assertEquals(1 << 10, s.enumerateAllModels(vars.subList(0, 10)).size());
+  }
+
+  @Test
+  public void testSameThreadExecutor() {
+    final Executor direct = new Executor() {
+      @Override
+      public void execute(final Runnable command) {
+        command.run();
+      }
+    };
+    final List<Variable> vars = new ArrayList<>();
+    for (int i = 0; i < 12; i++)
+      vars.add(f.variable("x" + i));
+    final MiniSat s = MiniSat.miniSat(f);
+    s.add(f.or(vars));
+    final Set<Assignment> found = new HashSet<>();
+    try (final ParallelModelEnumeration enumeration = new ParallelModelEnumeration(s, vars, null, 2, 100, direct)) {
+      while (enumeration.hasNext())
+        Assert.assertTrue(found.add(enumeration.next().assignment()));
+    }
+    Assert.assertEquals((1 << 12) - 1, found.size());
+  }
+
+  @Test
+  public void testUnsat() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(f);
+    final MiniSat s = MiniSat.miniSat(f);
+    s.add(p.parse("a & ~a"));
+    final ParallelModelEnumeration enumeration = new ParallelModelEnumeration(s, Arrays.asList(f.variable("a")), pool);
+    Assert.assertFalse(enumeration.hasNext());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalSplitVariable() throws ParserException {
+    final PropositionalParser p = new PropositionalParser(f);
+    final MiniSat s = MiniSat.miniSat(f);
+    s.add(p.parse("a | b"));
+    new ParallelModelEnumeration(s, Arrays.asList(f.variable("a")), Arrays.asList(f.variable("b")), 1, 10, pool);
+  }
+}
@@ -0,0 +1,246 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.solvers.CleaneLing;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+import org.logicng.testutils.PigeonHoleGenerator;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.logicng.datastructures.Tristate.FALSE;
+import static org.logicng.datastructures.Tristate.TRUE;
+
+/**
+ * Unit tests for the assertion scopes of the SAT solvers.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public class ScopeTest {
+
+  private final FormulaFactory f;
+  private final MiniSat[] solvers;
+  private final PropositionalParser parser;
+
+  public ScopeTest() {
+    this.f = new FormulaFactory();
+    this.parser = new PropositionalParser(f);
+    this.solvers = new MiniSat[7];
+    this.solvers[0] = MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(true).build());
+    this.solvers[1] = MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(false).build());
+    this.solvers[2] = MiniSat.glucose(f, new MiniSatConfig.Builder().incremental(true).build(),
+            new GlucoseConfig.Builder().build());
+    this.solvers[3] = MiniSat.glucose(f, new MiniSatConfig.Builder().incremental(false).build(),
+            new GlucoseConfig.Builder().build());
+    this.solvers[4] = MiniSat.miniCard(f, new MiniSatConfig.Builder().incremental(true).build());
+    this.solvers[5] = MiniSat.miniCard(f, new MiniSatConfig.Builder().incremental(false).build());
+    this.solvers[6] = MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(false).reuseTrail(true).build());
+  }
+
+  @Test
+  public void testPushPop() throws ParserException {
+    for (final MiniSat s : this.solvers) {
+      s.add(parser.parse("a | b"));
+      s.push();
+      s.add(parser.parse("~a"));
+      Assert.assertEquals(TRUE, s.sat());
+      Assert.assertTrue(s.model().positiveLiterals().contains(f.variable("b")));
+      s.add(parser.parse("~b"));
+      Assert.assertEquals(FALSE, s.sat());
+      s.pop();
+      Assert.assertEquals(TRUE, s.sat());
+      Assert.assertEquals(TRUE, s.sat(f.literal("b", false)));
+      Assert.assertEquals(FALSE, s.sat(Arrays.asList(f.literal("a", false), f.literal("b", false))));
+    }
+  }
+
+  @Test
+  public void testNestedScopes() throws ParserException {
+    for (final MiniSat s : this.solvers) {
+      s.add(parser.parse("a | b | c"));
+      s.push();
+      s.add(parser.parse("~a"));
+      s.push();
+      s.add(parser.parse("~b"));
+      Assert.assertEquals(TRUE, s.sat());
+      Assert.assertTrue(s.model().positiveLiterals().contains(f.variable("c")));
+      Assert.assertEquals(FALSE, s.sat(f.literal("c", false)));
+      s.pop();
+      Assert.assertEquals(TRUE, s.sat(f.literal("c", false)));
+      Assert.assertEquals(FALSE, s.sat(Arrays.asList(f.literal("b", false), f.literal("c", false))));
+      s.push();
+      s.add(parser.parse("~c"));
+      Assert.assertEquals(TRUE, s.sat());
+      Assert.assertTrue(s.model().positiveLiterals().contains(f.variable("b")));
+      s.pop();
+      s.pop();
+      Assert.assertEquals(TRUE, s.sat(Arrays.asList(f.literal("b", false), f.literal("c", false))));
+    }
+  }
+
+  @Test
+  public void testUnsatScopeWithLearntClauses() {
+    for (final MiniSat s : this.solvers) {
+      s.add(f.or(f.variable("x"), f.variable("y")));
+      s.push();
+      s.add(new PigeonHoleGenerator(f).generate(5));
+      s.add(f.literal("x", false));
+      Assert.assertEquals(FALSE, s.sat());
+      s.pop();
+      Assert.assertEquals(TRUE, s.sat());
+      Assert.assertEquals(TRUE, s.sat(f.literal("x", false)));
+      s.push();
+      s.add(f.literal("y", false));
+      Assert.assertEquals(FALSE, s.sat(f.literal("x", false)));
+      s.pop();
+      Assert.assertEquals(TRUE, s.sat(f.literal("x", false)));
+    }
+  }
+
+  @Test
+  public void testCardinalityConstraintsInScope() throws ParserException {
+    for (final MiniSat s : this.solvers) {
+      s.add(parser.parse("a | b | c | d"));
+      s.push();
+      s.add(f.amo(f.variable("a"), f.variable("b"), f.variable("c"), f.variable("d")));
+      s.add(parser.parse("a & b"));
+      Assert.assertEquals(FALSE, s.sat());
+      s.pop();
+      s.add(parser.parse("a & b"));
+      Assert.assertEquals(TRUE, s.sat());
+    }
+  }
+
+  @Test
+  public void testEnumerationInScope() throws ParserException {
+    for (final MiniSat s : this.solvers) {
+      final List<Variable> vars = Arrays.asList(f.variable("a"), f.variable("b"), f.variable("c"));
+      s.add(parser.parse("a | b | c"));
+      s.push();
+      s.add(parser.parse("~a"));
+      Assert.assertEquals(3, s.enumerateAllModels(vars).size());
+      s.pop();
+      Assert.assertEquals(7, s.enumerateAllModels(vars).size());
+    }
+  }
+
+  @Test
+  public void testClausesAreDeleted() {
+    final MiniSat s = MiniSat.glucose(f);
+    s.add(f.or(f.variable("x"), f.variable("y")));
+    s.push();
+    s.add(new PigeonHoleGenerator(f).generate(5));
+    Assert.assertEquals(FALSE, s.sat());
+    s.pop();
+    Assert.assertEquals(1, s.underlyingSolver().clauses.size());
+    Assert.assertEquals(0, s.underlyingSolver().learnts.size());
+    Assert.assertEquals(TRUE, s.sat());
+  }
+
+  @Test
+  public void testVariablesAreRecycled() {
+    final MiniSat s = MiniSat.miniSat(f);
+    s.add(f.or(f.variable("x"), f.variable("y")));
+    s.push();
+    s.add(new PigeonHoleGenerator(f).generate(5));
+    Assert.assertEquals(FALSE, s.sat());
+    s.pop();
+    Assert.assertEquals(2, s.underlyingSolver().nVars());
+    Assert.assertEquals(2, s.knownVariables().size());
+  }
+
+  @Test
+  public void testSelectorsAreRecycled() throws ParserException {
+    final List<Variable> variables = Arrays.asList(f.variable("a"), f.variable("b"), f.variable("c"), f.variable("d"));
+    for (final MiniSat s : this.solvers) {
+      s.add(parser.parse("(a | b) & (~a | c) & (c => d)"));
+      s.push();
+      s.add(parser.parse("~c"));
+      Assert.assertEquals(TRUE, s.sat());
+      s.pop();
+      final int nVars = s.underlyingSolver().nVars();
+      for (int i = 0; i < 100; i++) {
+        s.push();
+        s.add(parser.parse(i % 2 == 0 ? "~c" : "~b"));
+        s.push();
+        s.add(parser.parse("~d"));
+        Assert.assertEquals(i % 2 == 0 ? TRUE : FALSE, s.sat());
+        s.pop();
+        Assert.assertEquals(TRUE, s.sat());
+        s.pop();
+        Assert.assertTrue(s.backbone(variables).isSat());
+        Assert.assertTrue(s.underlyingSolver().nVars() <= nVars + 1);
+      }
+      Assert.assertEquals(TRUE, s.sat(f.literal("c", false)));
+      Assert.assertEquals(FALSE, s.sat(Arrays.asList(f.literal("b", false), f.literal("d", false))));
+    }
+  }
+
+  @Test
+  public void testCopyWithScopes() throws ParserException {
+    for (final MiniSat s : this.solvers) {
+      s.add(parser.parse("a | b"));
+      s.push();
+      s.add(parser.parse("~a"));
+      final MiniSat copy = s.copy();
+      copy.add(parser.parse("~b"));
+      Assert.assertEquals(FALSE, copy.sat());
+      copy.pop();
+      Assert.assertEquals(TRUE, copy.sat());
+      Assert.assertEquals(TRUE, s.sat());
+      Assert.assertEquals(FALSE, s.sat(f.literal("b", false)));
+    }
+  }
+
+  @Test
+  public void testIllegalPop() {
+    for (final MiniSat s : this.solvers) {
+      try {
+        s.pop();
+        Assert.fail("Expected an IllegalStateException");
+      } catch (final IllegalStateException e) {
+        // expected
+      }
+    }
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testCleaneLingPush() {
+    final SATSolver s = CleaneLing.minimalistic(f);
+    s.push();
+  }
+}
@@ -0,0 +1,241 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+import org.logicng.solvers.CleaneLing;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+import org.logicng.solvers.SolverPool;
+import org.logicng.testutils.NQueensGenerator;
+import org.logicng.testutils.PigeonHoleGenerator;
+
+import static org.logicng.datastructures.Tristate.FALSE;
+import static org.logicng.datastructures.Tristate.TRUE;
+
+/**
+ * Unit tests for copying SAT solvers and for the solver pool.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public class SolverCopyTest {
+
+  private final FormulaFactory f;
+  private final MiniSat[] solvers;
+  private final PropositionalParser parser;
+
+  public SolverCopyTest() {
+    this.f = new FormulaFactory();
+    this.parser = new PropositionalParser(f);
+    this.solvers = new MiniSat[6];
+    this.solvers[0] = MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(true).build());
+    this.solvers[1] = MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(false).build());
+    this.solvers[2] = MiniSat.glucose(f, new MiniSatConfig.Builder().incremental(false).build(),
+            new GlucoseConfig.Builder().build());
+    this.solvers[3] = MiniSat.miniCard(f, new MiniSatConfig.Builder().incremental(true).build());
+    this.solvers[4] = MiniSat.miniCard(f, new MiniSatConfig.Builder().incremental(false).build());
+    this.solvers[5] = MiniSat.miniSat(f, new MiniSatConfig.Builder().proofGeneration(true).build());
+  }
+
+  @Test
+  public void testCopyIsIndependent() throws ParserException {
+    for (final MiniSat s : this.solvers) {
+      s.add(parser.parse("(a | b) & (~a | c) & (~b | c)"));
+      Assert.assertEquals(TRUE, s.sat());
+      final MiniSat copy = s.copy();
+      Assert.assertEquals(TRUE, copy.sat());
+      Assert.assertTrue(copy.model().positiveLiterals().contains(f.variable("c")));
+      copy.add(parser.parse("~c"));
+      Assert.assertEquals(FALSE, copy.sat());
+      Assert.assertEquals(TRUE, s.sat());
+      s.add(parser.parse("~a"));
+      Assert.assertEquals(TRUE, s.sat());
+      Assert.assertEquals(FALSE, copy.sat());
+      Assert.assertEquals(FALSE, s.sat(f.literal("c", false)));
+      Assert.assertEquals(TRUE, s.copy().sat(f.literal("b", true)));
+    }
+  }
+
+  @Test
+  public void testCopyAfterSolving() {
+    final Formula queens = new NQueensGenerator(f).generate(8);
+    for (final MiniSat s : this.solvers) {
+      s.add(queens);
+      Assert.assertEquals(TRUE, s.sat());
+      final MiniSat copy = s.copy();
+      Assert.assertEquals(92, copy.enumerateAllModels(queens.variables()).size());
+      Assert.assertEquals(TRUE, s.sat());
+      Assert.assertEquals(92, s.copy().enumerateAllModels(queens.variables()).size());
+    }
+  }
+
+  @Test
+  public void testCopyWithOwnFactory() {
+    final Formula pigeons = new PigeonHoleGenerator(f).generate(5);
+    for (final MiniSat s : this.solvers) {
+      s.add(pigeons);
+      final FormulaFactory f2 = new FormulaFactory();
+      final MiniSat copy = s.copy(f2);
+      Assert.assertSame(f2, copy.factory());
+      Assert.assertEquals(FALSE, copy.sat());
+      Assert.assertEquals(FALSE, s.sat());
+    }
+  }
+
+  @Test
+  public void testCopyUnsatCore() throws ParserException {
+    final MiniSat s = this.solvers[5];
+    s.add(parser.parse("a | b"));
+    s.add(parser.parse("~a"));
+    s.add(parser.parse("c"));
+    final MiniSat copy = s.copy();
+    copy.add(parser.parse("~b"));
+    Assert.assertEquals(FALSE, copy.sat());
+    Assert.assertEquals(3, copy.unsatCore().propositions().size());
+    Assert.assertEquals(TRUE, s.sat());
+  }
+
+  @Test
+  public void testCopyCleaneLing() throws ParserException {
+    final SATSolver[] cleaneLings = new SATSolver[]{CleaneLing.minimalistic(f), CleaneLing.full(f)};
+    for (final SATSolver solver : cleaneLings) {
+      final CleaneLing s = (CleaneLing) solver;
+      s.add(new NQueensGenerator(f).generate(6));
+      Assert.assertEquals(TRUE, s.sat());
+      final CleaneLing copy = s.copy();
+      Assert.assertEquals(TRUE, copy.sat());
+      Assert.assertEquals(s.model().size(), copy.model().size());
+      copy.add(parser.parse("v1 & v2"));
+      Assert.assertEquals(FALSE, copy.sat());
+      Assert.assertEquals(TRUE, s.sat());
+      Assert.assertEquals(TRUE, s.copy(new FormulaFactory()).sat());
+    }
+  }
+
+  @Test
+  public void testSolverPool() throws ParserException {
+    final MiniSat template = MiniSat.miniSat(f);
+    template.add(parser.parse("(a | b) & (~a | c)"));
+    final SolverPool pool = new SolverPool(template, 2);
+    Assert.assertEquals(2, pool.idle());
+    final MiniSat s1 = pool.acquire();
+    final MiniSat s2 = pool.acquire();
+    final MiniSat s3 = pool.acquire();
+    Assert.assertEquals(0, pool.idle());
+    Assert.assertNotSame(s1.factory(), s2.factory());
+    s1.add(s1.factory().literal("c", false));
+    Assert.assertEquals(TRUE, s1.sat());
+    Assert.assertEquals(FALSE, s1.sat(s1.factory().literal("b", false)));
+    Assert.assertEquals(TRUE, s2.sat(s2.factory().literal("b", false)));
+    pool.release(s1);
+    pool.release(s2);
+    pool.release(s3);
+    Assert.assertEquals(2, pool.idle());
+    final MiniSat reused = pool.acquire();
+    Assert.assertEquals(TRUE, reused.sat(reused.factory().literal("b", false)));
+    Assert.assertEquals("SolverPool{size=2, idle=1}", pool.toString());
+  }
+
+  @Test
+  public void testSolverPoolGlucose() throws ParserException {
+    final MiniSat template = MiniSat.glucose(f);
+    template.add(parser.parse("(a | b) & (~a | c)"));
+    final SolverPool pool = new SolverPool(template, 1);
+    final MiniSat s = pool.acquire();
+    s.add(s.factory().literal("c", false));
+    Assert.assertEquals(FALSE, s.sat(s.factory().literal("b", false)));
+    pool.release(s);
+    Assert.assertEquals(0, pool.idle());
+    final MiniSat fresh = pool.acquire();
+    Assert.assertEquals(TRUE, fresh.sat(fresh.factory().literal("b", false)));
+  }
+
+  @Test
+  public void testSolverPoolWithOpenScope() throws ParserException {
+    final MiniSat template = MiniSat.miniSat(f);
+    template.add(parser.parse("(a | b) & (~a | c)"));
+    final SolverPool pool = new SolverPool(template, 1);
+    final MiniSat s = pool.acquire();
+    s.push();
+    s.add(s.factory().literal("c", false));
+    Assert.assertEquals(FALSE, s.sat(s.factory().literal("b", false)));
+    pool.release(s);
+    final MiniSat reused = pool.acquire();
+    Assert.assertSame(s, reused);
+    try {
+      reused.pop();
+      Assert.fail("Expected an IllegalStateException");
+    } catch (final IllegalStateException e) {
+      // expected
+    }
+    reused.push();
+    reused.add(reused.factory().literal("b", false));
+    Assert.assertEquals(TRUE, reused.sat());
+    reused.pop();
+    Assert.assertEquals(TRUE, reused.sat(reused.factory().literal("a", false)));
+  }
+
+  @Test
+  public void testSolverPoolConcurrentRelease() throws InterruptedException {
+    final SolverPool pool = new SolverPool(MiniSat.miniSat(f), 1);
+    final MiniSat[] copies = new MiniSat[8];
+    for (int i = 0; i < copies.length; i++)
+      copies[i] = pool.acquire();
+    final Thread[] threads = new Thread[copies.length];
+    for (int i = 0; i < copies.length; i++) {
+      final MiniSat copy = copies[i];
+      threads[i] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          pool.release(copy);
+        }
+      });
+      threads[i].start();
+    }
+    for (final Thread thread : threads)
+      thread.join();
+    Assert.assertEquals(1, pool.idle());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSolverPoolForeignSolver() {
+    final SolverPool pool = new SolverPool(MiniSat.miniSat(f), 1);
+    pool.release(MiniSat.miniSat(f));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSolverPoolNegativeSize() {
+    new SolverPool(MiniSat.miniSat(f), -1);
+  }
+}
@@ -0,0 +1,120 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.solvers.MiniSat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Performance tests for the reuse of the trail between solver calls with assumptions.
+ * <p>
+ * The workload mimics a configurator: each option implies a long chain of derived features and each solver call
+ * assumes all options plus two varying user choices on a small and easy remaining formula.  Thus, the propagation of
+ * the common assumption prefix dominates each call.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public class TrailReusePerformanceTest {
+
+  @Test
+  public void testSameResults() {
+    final List<Tristate> expected = this.run(false, 50, 10, 50, 200);
+    final List<Tristate> actual = this.run(true, 50, 10, 50, 200);
+    Assert.assertEquals(expected, actual);
+    Assert.assertTrue(expected.contains(Tristate.TRUE));
+  }
+
+  @Ignore
+  @Test
+  public void testThroughput() {
+    for (int round = 0; round < 3; round++) {
+      final long start = System.nanoTime();
+      final List<Tristate> expected = this.run(false, 300, 30, 200, 5000);
+      final long withoutReuse = System.nanoTime() - start;
+      final long restart = System.nanoTime();
+      final List<Tristate> actual = this.run(true, 300, 30, 200, 5000);
+      final long withReuse = System.nanoTime() - restart;
+      Assert.assertEquals(expected, actual);
+      System.out.println(String.format("5000 calls without trail reuse: %d ms, with trail reuse: %d ms",
+              withoutReuse / 1_000_000, withReuse / 1_000_000));
+      if (round > 0)
+        Assert.assertTrue(withReuse < withoutReuse);
+    }
+  }
+
+  /**
+   * Generates the configurator formula and solves it repeatedly with a common assumption prefix.
+   * @param reuseTrail whether the trail should be reused
+   * @param options    the number of options, i.e. the length of the common assumption prefix
+   * @param chain      the number of derived features of each option
+   * @param free       the number of user choices
+   * @param calls      the number of solver calls
+   * @return the results of the solver calls
+   */
+  private List<Tristate> run(final boolean reuseTrail, final int options, final int chain, final int free, final int calls) {
+    final FormulaFactory f = new FormulaFactory();
+    final Random random = new Random(42);
+    final MiniSat solver = MiniSat.miniSat(f, new MiniSatConfig.Builder().reuseTrail(reuseTrail).build());
+    final List<Literal> prefix = new ArrayList<>(options + 2);
+    for (int i = 0; i < options; i++) {
+      Variable previous = f.variable("o" + i);
+      prefix.add(random.nextBoolean() ? previous : previous.negate());
+      for (int j = 0; j < chain; j++) {
+        final Variable feature = f.variable("d" + i + "_" + j);
+        solver.add(f.or(previous.negate(), feature));
+        solver.add(f.or(previous, feature.negate()));
+        previous = feature;
+      }
+    }
+    for (int i = 0; i < 2 * free; i++)
+      solver.add(f.or(this.choice(f, random, free), this.choice(f, random, free), this.choice(f, random, free)));
+    final List<Tristate> results = new ArrayList<>(calls);
+    for (int i = 0; i < calls; i++) {
+      final List<Literal> assumptions = new ArrayList<>(prefix);
+      assumptions.add(this.choice(f, random, free));
+      assumptions.add(this.choice(f, random, free));
+      results.add(solver.sat(assumptions));
+    }
+    return results;
+  }
+
+  private Literal choice(final FormulaFactory f, final Random random, final int free) {
+    return f.literal("c" + random.nextInt(free), random.nextBoolean());
+  }
+}
@@ -0,0 +1,252 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-2018 Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.solvers.CleaneLing;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+import org.logicng.solvers.SolverState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.logicng.datastructures.Tristate.FALSE;
+import static org.logicng.datastructures.Tristate.TRUE;
+
+/**
+ * Unit tests for XOR constraints in the SAT solvers.
+ * @version 1.4.1
+ * @since 1.4.1
+ */
+public class XorTest {
+
+  private final FormulaFactory f = new FormulaFactory();
+  private final Variable a = f.variable("a");
+  private final Variable b = f.variable("b");
+  private final Variable c = f.variable("c");
+
+  private SATSolver[] solvers() {
+    return new SATSolver[]{
+            MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(true).build()),
+            MiniSat.miniSat(f, new MiniSatConfig.Builder().incremental(false).build()),
+            MiniSat.miniSat(f, new MiniSatConfig.Builder().reuseTrail(true).build()),
+            MiniSat.miniSat(f, new MiniSatConfig.Builder().proofGeneration(true).build()),
+            MiniSat.glucose(f),
+            MiniSat.miniCard(f),
+            CleaneLing.minimalistic(f)
+    };
+  }
+
+  @Test
+  public void testSimpleXors() {
+    for (final SATSolver s : solvers()) {
+      s.addXor(Arrays.asList(a, b), true);
+      s.addXor(Arrays.asList(a, b, c), false);
+      Assert.assertEquals(TRUE, s.sat());
+      Assert.assertTrue(s.model().positiveLiterals().contains(c));
+      s.addXor(Arrays.asList(a.negate(), c), true);
+      Assert.assertEquals(TRUE, s.sat());
+      final Assignment model = s.model();
+      Assert.assertTrue(model.positiveLiterals().contains(a));
+      Assert.assertTrue(model.negativeVariables().contains(b));
+    }
+  }
+
+  @Test
+  public void testUnsatXors() {
+    for (final SATSolver s : solvers()) {
+      s.addXor(Arrays.asList(a, b), true);
+      s.addXor(Arrays.asList(b, c), true);
+      s.addXor(Arrays.asList(a, c), true);
+      Assert.assertEquals(FALSE, s.sat());
+    }
+    for (final SATSolver s : solvers()) {
+      s.addXor(Collections.<Literal>emptyList(), true);
+      Assert.assertEquals(FALSE, s.sat());
+    }
+    for (final SATSolver s : solvers()) {
+      s.addXor(Arrays.asList(a, a.negate()), false);
+      Assert.assertEquals(FALSE, s.sat());
+    }
+  }
+
+  @Test
+  public void testXorsWithClauses() {
+    for (final SATSolver s : solvers()) {
+      s.addXor(Arrays.asList(a, b, c), true);
+      s.add(f.or(a.negate(), b.negate()));
+      s.add(f.or(b.negate(), c.negate()));
+      s.add(f.or(a.negate(), c.negate()));
+      Assert.assertEquals(3, s.enumerateAllModels(Arrays.asList(a, b, c)).size());
+    }
+  }
+
+  @Test
+  public void testRandomXorSystems() {
+    final Random random = new Random(42);
+    for (int instance = 0; instance < 60; instance++) {
+      final int numVars = 10;
+      final List<Variable> vars = new ArrayList<>();
+      for (int i = 0; i < numVars; i++)
+        vars.add(f.variable("x" + i));
+      final List<List<Literal>> xors = new ArrayList<>();
+      final List<Boolean> rhs = new ArrayList<>();
+      final int numXors = 2 + random.nextInt(6);
+      for (int i = 0; i < numXors; i++) {
+        final List<Literal> xor = new ArrayList<>();
+        final int width = 1 + random.nextInt(5);
+        for (int j = 0; j < width; j++)
+          xor.add(f.literal("x" + random.nextInt(numVars), random.nextBoolean()));
+        xors.add(xor);
+        rhs.add(random.nextBoolean());
+      }
+      final List<Formula> clauses = new ArrayList<>();
+      for (int i = 0; i < 3; i++)
+        clauses.add(f.or(f.literal("x" + random.nextInt(numVars), random.nextBoolean()),
+                f.literal("x" + random.nextInt(numVars), random.nextBoolean()),
+                f.literal("x" + random.nextInt(numVars), random.nextBoolean())));
+      final int expected = countModels(vars, xors, rhs, clauses);
+      for (final SATSolver s : solvers()) {
+        for (int i = 0; i < xors.size(); i++)
+          s.addXor(xors.get(i), rhs.get(i));
+        s.add(clauses);
+        final List<Variable> knownVars = new ArrayList<>(vars);
+        knownVars.retainAll(s.knownVariables());
+        final List<Assignment> models = s.enumerateAllModels(knownVars);
+        Assert.assertEquals(expected, models.size() << (vars.size() - knownVars.size()));
+        for (final Assignment model : models)
+          Assert.assertTrue(satisfies(model, xors, rhs));
+      }
+    }
+  }
+
+  @Test
+  public void testParitySystems() {
+    final Random random = new Random(17);
+    for (final int numVars : new int[]{30, 300}) {
+      final List<Variable> vars = new ArrayList<>();
+      for (int i = 0; i < numVars; i++)
+        vars.add(f.variable("y" + i));
+      final Assignment solution = new Assignment();
+      for (final Variable var : vars)
+        solution.addLiteral(f.literal(var.name(), random.nextBoolean()));
+      final List<List<Literal>> xors = new ArrayList<>();
+      final List<Boolean> rhs = new ArrayList<>();
+      final MiniSat nativeSolver = MiniSat.miniSat(f);
+      final MiniSat encodedSolver = MiniSat.glucose(f);
+      for (int i = 0; i < numVars - 5; i++) {
+        final List<Literal> xor = new ArrayList<>();
+        for (int j = 0; j < 4; j++)
+          xor.add(vars.get(random.nextInt(numVars)));
+        xors.add(xor);
+        rhs.add(parity(solution, xor));
+        nativeSolver.addXor(xor, rhs.get(i));
+        if (numVars <= 30)
+          encodedSolver.addXor(xor, rhs.get(i));
+      }
+      for (int i = 0; i < 20; i++) {
+        final List<Literal> assumptions = new ArrayList<>();
+        for (int j = 0; j < 5; j++)
+          assumptions.add(f.literal("y" + random.nextInt(numVars), random.nextBoolean()));
+        if (numVars <= 30)
+          Assert.assertEquals(encodedSolver.sat(assumptions), nativeSolver.sat(assumptions));
+        else if (nativeSolver.sat(assumptions) == TRUE)
+          Assert.assertTrue(satisfies(nativeSolver.model(vars), xors, rhs));
+      }
+      final List<Literal> solutionLiterals = new ArrayList<>(solution.literals());
+      final List<Literal> fromSolution = new ArrayList<>();
+      for (int i = 0; i < 10; i++)
+        fromSolution.add(solutionLiterals.get(random.nextInt(numVars)));
+      Assert.assertEquals(TRUE, nativeSolver.sat(fromSolution));
+      Assert.assertTrue(satisfies(nativeSolver.model(vars), xors, rhs));
+    }
+  }
+
+  @Test
+  public void testStatesAndCopies() {
+    final MiniSat s = MiniSat.miniSat(f);
+    s.addXor(Arrays.asList(a, b), true);
+    final SolverState state = s.saveState();
+    s.addXor(Arrays.asList(b, c), true);
+    s.addXor(Arrays.asList(a, c), true);
+    final MiniSat copy = s.copy();
+    Assert.assertEquals(FALSE, s.sat());
+    s.loadState(state);
+    Assert.assertEquals(TRUE, s.sat());
+    Assert.assertEquals(TRUE, s.sat(Arrays.<Literal>asList(a, c)));
+    Assert.assertEquals(FALSE, s.sat(Arrays.<Literal>asList(a, b)));
+    Assert.assertEquals(FALSE, copy.sat());
+    s.push();
+    s.addXor(Arrays.asList(a, c), false);
+    Assert.assertEquals(TRUE, s.sat());
+    Assert.assertEquals(FALSE, s.sat(Arrays.asList(a, c.negate())));
+    s.pop();
+    Assert.assertEquals(TRUE, s.sat(Arrays.asList(a, c.negate())));
+  }
+
+  private int countModels(final List<Variable> vars, final List<List<Literal>> xors, final List<Boolean> rhs,
+                          final List<Formula> clauses) {
+    int count = 0;
+    for (int bits = 0; bits < (1 << vars.size()); bits++) {
+      final Assignment assignment = new Assignment();
+      for (int i = 0; i < vars.size(); i++)
+        assignment.addLiteral(f.literal(vars.get(i).name(), (bits & (1 << i)) != 0));
+      boolean satisfied = satisfies(assignment, xors, rhs);
+      for (final Formula clause : clauses)
+        satisfied &= clause.evaluate(assignment);
+      if (satisfied)
+        count++;
+    }
+    return count;
+  }
+
+  private boolean satisfies(final Assignment assignment, final List<List<Literal>> xors, final List<Boolean> rhs) {
+    for (int i = 0; i < xors.size(); i++)
+      if (parity(assignment, xors.get(i)) != rhs.get(i))
+        return false;
+    return true;
+  }
+
+  private boolean parity(final Assignment assignment, final List<Literal> xor) {
+    boolean parity = false;
+    for (final Literal lit : xor)
+      parity ^= lit.evaluate(assignment);
+    return parity;
+  }
+}